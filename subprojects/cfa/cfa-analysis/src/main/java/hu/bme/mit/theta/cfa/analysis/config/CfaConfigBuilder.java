@@ -22,12 +22,14 @@ import hu.bme.mit.theta.analysis.*;
 import hu.bme.mit.theta.analysis.algorithm.SafetyChecker;
 import hu.bme.mit.theta.analysis.algorithm.arg.ARG;
 import hu.bme.mit.theta.analysis.algorithm.arg.ArgBuilder;
+import hu.bme.mit.theta.analysis.algorithm.arg.ArgNode;
 import hu.bme.mit.theta.analysis.algorithm.arg.ArgNodeComparators;
 import hu.bme.mit.theta.analysis.algorithm.arg.ArgNodeComparators.ArgNodeComparator;
 import hu.bme.mit.theta.analysis.algorithm.cegar.ArgAbstractor;
 import hu.bme.mit.theta.analysis.algorithm.cegar.ArgCegarChecker;
 import hu.bme.mit.theta.analysis.algorithm.cegar.ArgRefiner;
 import hu.bme.mit.theta.analysis.algorithm.cegar.BasicArgAbstractor;
+import hu.bme.mit.theta.analysis.algorithm.cegar.ParallelArgAbstractor;
 import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterion;
 import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterions;
 import hu.bme.mit.theta.analysis.expl.*;
@@ -38,6 +40,9 @@ import hu.bme.mit.theta.analysis.multi.MultiAnalysisSide;
 import hu.bme.mit.theta.analysis.pred.*;
 import hu.bme.mit.theta.analysis.pred.ExprSplitters.ExprSplitter;
 import hu.bme.mit.theta.analysis.pred.PredAbstractors.PredAbstractor;
+import hu.bme.mit.theta.analysis.reachedset.CandidateIndex;
+import hu.bme.mit.theta.analysis.reachedset.CandidateIndexes;
+import hu.bme.mit.theta.analysis.reachedset.CoverageFeatures;
 import hu.bme.mit.theta.analysis.unit.UnitPrec;
 import hu.bme.mit.theta.analysis.unit.UnitState;
 import hu.bme.mit.theta.analysis.waitlist.PriorityWaitlist;
@@ -55,9 +60,13 @@ import hu.bme.mit.theta.common.logging.Logger;
 import hu.bme.mit.theta.common.logging.NullLogger;
 import hu.bme.mit.theta.solver.Solver;
 import hu.bme.mit.theta.solver.SolverFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 public class CfaConfigBuilder {
 
@@ -73,6 +82,9 @@ public class CfaConfigBuilder {
     private int maxEnum = 0;
     private InitPrec initPrec = InitPrec.EMPTY;
     private PruneStrategy pruneStrategy = PruneStrategy.LAZY;
+    private int abstractionThreads = 1;
+    private int refinementThreads = Runtime.getRuntime().availableProcessors();
+    private boolean indexedCoverage = false;
 
     public CfaConfigBuilder(
             final Domain domain, final Refinement refinement, final SolverFactory solverFactory) {
@@ -133,6 +145,33 @@ public class CfaConfigBuilder {
         return this;
     }
 
+    /**
+     * Number of threads expanding the ARG. With more than one thread, each thread gets its own
+     * analysis (and abstraction solver).
+     */
+    public CfaConfigBuilder abstractionThreads(final int abstractionThreads) {
+        this.abstractionThreads = abstractionThreads;
+        return this;
+    }
+
+    /**
+     * Maximal number of counterexamples checked concurrently by parallel refinements. Each thread
+     * gets its own refinement solver.
+     */
+    public CfaConfigBuilder refinementThreads(final int refinementThreads) {
+        this.refinementThreads = refinementThreads;
+        return this;
+    }
+
+    /**
+     * Use an index to narrow down the candidates for coverage. For predicate domains, only
+     * syntactic coverage (subset of predicates) is detected then.
+     */
+    public CfaConfigBuilder indexedCoverage(final boolean indexedCoverage) {
+        this.indexedCoverage = indexedCoverage;
+        return this;
+    }
+
     public CfaConfig<? extends State, ? extends Action, ? extends Prec> build(
             final CFA cfa, final CFA.Loc errLoc) {
         if (domain == Domain.EXPL) {
@@ -233,6 +272,28 @@ public class CfaConfigBuilder {
                         builderStrategy.getLogger());
             }
         },
+        PAR_MULTI_SEQ {
+            @Override
+            public <S extends ExprState> StopCriterion<S, CfaAction> getStopCriterion() {
+                return StopCriterions.fullExploration();
+            }
+
+            @Override
+            public <S extends ExprState, P extends Prec>
+                    ArgRefiner<CfaState<S>, CfaAction, CfaPrec<P>> getRefiner(
+                            BuilderStrategy<S, P> builderStrategy) {
+                final SolverFactory solverFactory = builderStrategy.getRefinementSolverFactory();
+                return ParallelExprTraceRefiner.create(
+                        solverFactory::createItpSolver,
+                        solver -> ExprTraceSeqItpChecker.create(True(), True(), solver),
+                        builderStrategy
+                                .getPrecGranularity()
+                                .createRefiner(builderStrategy.getItpRefToPrec()),
+                        builderStrategy.getPruneStrategy(),
+                        builderStrategy.getLogger(),
+                        builderStrategy.getRefinementThreads());
+            }
+        },
         UNSAT_CORE {
             @Override
             public <S extends ExprState, P extends Prec>
@@ -602,12 +663,20 @@ public class CfaConfigBuilder {
 
         public abstract Set<InitPrec> getSupportedInitPrecs();
 
-        public abstract Analysis<S, StmtAction, ? super P> getDataAnalysis();
+        public Analysis<S, StmtAction, ? super P> getDataAnalysis() {
+            return getDataAnalysis(abstractionSolverFactory.createSolver());
+        }
+
+        public abstract Analysis<S, StmtAction, ? super P> getDataAnalysis(Solver solver);
 
         public CfaAnalysis<S, P> getAnalysis() {
             return CfaAnalysis.create(cfa.getInitLoc(), getDataAnalysis());
         }
 
+        public CfaAnalysis<S, P> getAnalysis(final Solver solver) {
+            return CfaAnalysis.create(cfa.getInitLoc(), getDataAnalysis(solver));
+        }
+
         public abstract RefutationToPrec<P, ItpRefutation> getItpRefToPrec();
 
         public RefutationToPrec<P, VarsRefutation> getVarsRefToPrec() {
@@ -617,10 +686,40 @@ public class CfaConfigBuilder {
                             getClass().getSimpleName()));
         }
 
+        public Function<? super S, ? extends Collection<?>> getCoverageFeatures() {
+            throw new UnsupportedOperationException(
+                    String.format(
+                            "Builder strategy %s can not provide coverage features",
+                            getClass().getSimpleName()));
+        }
+
+        protected Supplier<CandidateIndex<ArgNode<CfaState<S>, CfaAction>>> getCandidateIndex() {
+            if (!indexedCoverage) {
+                return CandidateIndexes::linear;
+            }
+            final Function<? super S, ? extends Collection<?>> features = getCoverageFeatures();
+            return () ->
+                    CandidateIndexes.subset(
+                            n -> {
+                                final Collection<?> dataFeatures =
+                                        features.apply(n.getState().getState());
+                                if (dataFeatures == null) {
+                                    return null;
+                                }
+                                final List<Object> result = new ArrayList<>(dataFeatures);
+                                result.add(n.getState().getLoc());
+                                return result;
+                            });
+        }
+
         protected SolverFactory getRefinementSolverFactory() {
             return refinementSolverFactory;
         }
 
+        protected int getRefinementThreads() {
+            return refinementThreads;
+        }
+
         protected PrecGranularity getPrecGranularity() {
             return precGranularity;
         }
@@ -648,12 +747,35 @@ public class CfaConfigBuilder {
             final Analysis<CfaState<S>, CfaAction, CfaPrec<P>> analysis = getAnalysis();
             final ArgBuilder<CfaState<S>, CfaAction, CfaPrec<P>> argBuilder =
                     ArgBuilder.create(getLts(errLoc), analysis, target, true);
-            final ArgAbstractor<CfaState<S>, CfaAction, CfaPrec<P>> abstractor =
-                    BasicArgAbstractor.builder(argBuilder)
-                            .waitlist(PriorityWaitlist.create(search.getComp(cfa, errLoc)))
-                            .stopCriterion(refinement.getStopCriterion())
-                            .logger(logger)
-                            .build();
+            final ArgAbstractor<CfaState<S>, CfaAction, CfaPrec<P>> abstractor;
+            if (abstractionThreads > 1) {
+                abstractor =
+                        ParallelArgAbstractor.builder(
+                                        argBuilder,
+                                        resources ->
+                                                ArgBuilder.create(
+                                                        getLts(errLoc),
+                                                        getAnalysis(
+                                                                resources.register(
+                                                                        abstractionSolverFactory
+                                                                                .createSolver())),
+                                                        target,
+                                                        true))
+                                .threads(abstractionThreads)
+                                .waitlist(PriorityWaitlist.create(search.getComp(cfa, errLoc)))
+                                .stopCriterion(refinement.getStopCriterion())
+                                .candidateIndex(getCandidateIndex())
+                                .logger(logger)
+                                .build();
+            } else {
+                abstractor =
+                        BasicArgAbstractor.builder(argBuilder)
+                                .waitlist(PriorityWaitlist.create(search.getComp(cfa, errLoc)))
+                                .stopCriterion(refinement.getStopCriterion())
+                                .candidateIndex(getCandidateIndex())
+                                .logger(logger)
+                                .build();
+            }
             final ArgRefiner<CfaState<S>, CfaAction, CfaPrec<P>> refiner =
                     refinement.getRefiner(this);
             final SafetyChecker<
@@ -702,9 +824,9 @@ public class CfaConfigBuilder {
         }
 
         @Override
-        public Analysis<ExplState, StmtAction, ? super ExplPrec> getDataAnalysis() {
-            return ExplStmtAnalysis.create(
-                    abstractionSolverFactory.createSolver(), True(), maxEnum);
+        public Analysis<ExplState, StmtAction, ? super ExplPrec> getDataAnalysis(
+                final Solver solver) {
+            return ExplStmtAnalysis.create(solver, True(), maxEnum);
         }
 
         @Override
@@ -717,6 +839,11 @@ public class CfaConfigBuilder {
             return new VarsRefToExplPrec();
         }
 
+        @Override
+        public Function<? super ExplState, ? extends Collection<?>> getCoverageFeatures() {
+            return CoverageFeatures::expl;
+        }
+
         @Override
         public CfaPrec<ExplPrec> createInitPrec() {
             return switch (initPrec) {
@@ -751,6 +878,7 @@ public class CfaConfigBuilder {
                     Refinement.BW_BIN_ITP,
                     Refinement.SEQ_ITP,
                     Refinement.MULTI_SEQ,
+                    Refinement.PAR_MULTI_SEQ,
                     Refinement.UCB,
                     Refinement.NWT_SP,
                     Refinement.NWT_WP,
@@ -768,8 +896,8 @@ public class CfaConfigBuilder {
         }
 
         @Override
-        public Analysis<PredState, StmtAction, ? super PredPrec> getDataAnalysis() {
-            Solver solver = abstractionSolverFactory.createSolver();
+        public Analysis<PredState, StmtAction, ? super PredPrec> getDataAnalysis(
+                final Solver solver) {
             return PredAnalysis.create(solver, domain.predAbstractorFunction.apply(solver), True());
         }
 
@@ -778,6 +906,11 @@ public class CfaConfigBuilder {
             return new ItpRefToPredPrec(predSplit.splitter);
         }
 
+        @Override
+        public Function<? super PredState, ? extends Collection<?>> getCoverageFeatures() {
+            return CoverageFeatures::pred;
+        }
+
         @Override
         public CfaPrec<PredPrec> createInitPrec() {
             return switch (initPrec) {
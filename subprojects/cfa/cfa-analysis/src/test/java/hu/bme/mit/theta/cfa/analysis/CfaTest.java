@@ -20,6 +20,7 @@ import static hu.bme.mit.theta.cfa.analysis.config.CfaConfigBuilder.Domain.PRED_
 import static hu.bme.mit.theta.cfa.analysis.config.CfaConfigBuilder.Domain.PRED_CART;
 import static hu.bme.mit.theta.cfa.analysis.config.CfaConfigBuilder.Refinement.BW_BIN_ITP;
 import static hu.bme.mit.theta.cfa.analysis.config.CfaConfigBuilder.Refinement.NWT_IT_WP;
+import static hu.bme.mit.theta.cfa.analysis.config.CfaConfigBuilder.Refinement.PAR_MULTI_SEQ;
 import static hu.bme.mit.theta.cfa.analysis.config.CfaConfigBuilder.Refinement.SEQ_ITP;
 import static hu.bme.mit.theta.cfa.analysis.config.CfaConfigBuilder.Refinement.UCB;
 
@@ -160,6 +161,14 @@ public class CfaTest {
                     {"src/test/resources/counter5_true.cfa", PRED_BOOL, SEQ_ITP, true, 0, "Z3"},
                     {"src/test/resources/counter5_true.cfa", PRED_CART, BW_BIN_ITP, true, 0, "Z3"},
                     {"src/test/resources/counter5_true.cfa", EXPL, SEQ_ITP, true, 0, "Z3"},
+                    {
+                        "src/test/resources/counter5_true.cfa",
+                        PRED_CART,
+                        PAR_MULTI_SEQ,
+                        true,
+                        0,
+                        "Z3"
+                    },
                     {"src/test/resources/counter_bv_true.cfa", EXPL, NWT_IT_WP, true, 0, "Z3"},
                     {"src/test/resources/counter_bv_false.cfa", EXPL, NWT_IT_WP, false, 13, "Z3"},
                     {"src/test/resources/counter_bv_true.cfa", PRED_CART, NWT_IT_WP, true, 0, "Z3"},
@@ -57,6 +57,10 @@ import hu.bme.mit.theta.common.table.BasicTableWriter;
 import hu.bme.mit.theta.common.table.TableWriter;
 import hu.bme.mit.theta.common.visualization.Graph;
 import hu.bme.mit.theta.common.visualization.writer.GraphvizWriter;
+import hu.bme.mit.theta.core.type.ExprInterner;
+import hu.bme.mit.theta.core.utils.ExprSimplifier;
+import hu.bme.mit.theta.core.utils.ExprUtils;
+import hu.bme.mit.theta.core.utils.SimplifierLevel;
 import hu.bme.mit.theta.solver.SolverFactory;
 import hu.bme.mit.theta.solver.SolverManager;
 import hu.bme.mit.theta.solver.SolverPool;
@@ -260,6 +264,16 @@ public class CfaCli {
             description = "Strategy for pruning the ARG after refinement")
     PruneStrategy pruneStrategy = PruneStrategy.LAZY;
 
+    @Parameter(
+            names = "--intern-exprs",
+            description = "Share structurally equal expressions (hash-consing)")
+    boolean internExprs = false;
+
+    @Parameter(
+            names = "--simplifier-cache",
+            description = "Size of the memo table of the expression simplifier (0: no caching)")
+    int simplifierCacheSize = 0;
+
     @Parameter(
             names = {"--reversed"},
             description = "Reversed state space exploration")
@@ -352,6 +366,14 @@ public class CfaCli {
                 SolverManager.registerSolverManager(smtLibSolverManager);
             }
 
+            if (internExprs) {
+                ExprInterner.enable();
+            }
+            if (simplifierCacheSize > 0) {
+                ExprUtils.setExprSimplifier(
+                        ExprSimplifier.createCaching(SimplifierLevel.FULL, simplifierCacheSize));
+            }
+
             final Stopwatch sw = Stopwatch.createStarted();
             final CFA cfa = loadModel();
 
@@ -431,6 +453,9 @@ public class CfaCli {
             }
             sw.stop();
 
+            ExprUtils.getExprSimplifier()
+                    .getCache()
+                    .ifPresent(cache -> logger.write(Level.INFO, "%s%n", cache));
             printResult(status, sw.elapsed(TimeUnit.MILLISECONDS));
             if (status.isUnsafe() && cexfile != null) {
                 writeCex(status.asUnsafe());
@@ -18,14 +18,21 @@ package hu.bme.mit.theta.analysis.algorithm.arg;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import hu.bme.mit.theta.analysis.*;
+import hu.bme.mit.theta.common.Tuple2;
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.common.metrics.Timer;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /** Helper class for building the ARG with a given analysis and precision. */
 public final class ArgBuilder<S extends State, A extends Action, P extends Prec> {
 
+    private static final Timer SUCC_TIMER = Metrics.timer("analysis.transfunc.getSuccStates");
+    private static final Timer LEQ_TIMER = Metrics.timer("analysis.partialord.isLeq");
+
     private final LTS<? super S, A> lts;
     private final Analysis<S, ? super A, ? super P> analysis;
     private final Predicate<? super S> target;
@@ -72,7 +79,7 @@ public final class ArgBuilder<S extends State, A extends Action, P extends Prec>
             if (excludeBottom && initState.isBottom()) {
                 continue;
             }
-            if (arg.getInitStates().noneMatch(s -> analysis.getPartialOrd().isLeq(initState, s))) {
+            if (arg.getInitStates().noneMatch(s -> isLeq(initState, s))) {
                 final boolean isTarget = target.test(initState);
                 final ArgNode<S, A> newNode = arg.createInitNode(initState, isTarget);
                 newInitNodes.add(newNode);
@@ -86,35 +93,74 @@ public final class ArgBuilder<S extends State, A extends Action, P extends Prec>
     public Collection<ArgNode<S, A>> expand(final ArgNode<S, A> node, final P prec) {
         checkNotNull(node);
         checkNotNull(prec);
-        final Collection<ArgNode<S, A>> newSuccNodes = new ArrayList<>();
-        final S state = node.getState();
-        final Collection<A> exploredActions =
-                node.getOutEdges().map(ArgEdge::getAction).collect(Collectors.toSet());
+        final Collection<A> exploredActions = getExploredActions(node);
+        return attachSuccessors(node, getSuccessors(node.getState(), exploredActions, prec));
+    }
+
+    public Collection<A> getExploredActions(final ArgNode<S, A> node) {
+        return node.getOutEdges().map(ArgEdge::getAction).collect(Collectors.toSet());
+    }
+
+    /**
+     * Computes the successors of a state without touching the ARG. Only the LTS and the transfer
+     * function of this builder are used, so builders with separate analyses (and solvers) can run
+     * this concurrently.
+     */
+    public List<Tuple2<A, S>> getSuccessors(
+            final S state, final Collection<A> exploredActions, final P prec) {
+        checkNotNull(state);
+        checkNotNull(prec);
+        final List<Tuple2<A, S>> succs = new ArrayList<>();
         final Collection<? extends A> actions =
                 lts.getEnabledActionsFor(state, exploredActions, prec);
         final TransFunc<S, ? super A, ? super P> transFunc = analysis.getTransFunc();
         for (final A action : actions) {
+            final long start = SUCC_TIMER.start();
             final Collection<? extends S> succStates = transFunc.getSuccStates(state, action, prec);
+            SUCC_TIMER.stop(start);
             for (final S succState : succStates) {
                 if (excludeBottom && succState.isBottom()) {
                     continue;
                 }
-                // Only add state if there is no covering sibling (with the same action)
-                if (node.getSuccNodes()
-                        .noneMatch(
-                                n ->
-                                        n.getInEdge().get().getAction().equals(action)
-                                                && analysis.getPartialOrd()
-                                                        .isLeq(succState, n.getState()))) {
-                    final boolean isTarget = target.test(succState);
-                    final ArgNode<S, A> newNode =
-                            node.arg.createSuccNode(node, action, succState, isTarget);
-                    newSuccNodes.add(newNode);
-                }
+                succs.add(Tuple2.of(action, succState));
+            }
+        }
+        return succs;
+    }
+
+    /**
+     * Attaches successors computed by {@link #getSuccessors} to the node and marks it as expanded.
+     * Must not be called concurrently on the same ARG.
+     */
+    public Collection<ArgNode<S, A>> attachSuccessors(
+            final ArgNode<S, A> node, final List<Tuple2<A, S>> succs) {
+        checkNotNull(node);
+        checkNotNull(succs);
+        final Collection<ArgNode<S, A>> newSuccNodes = new ArrayList<>();
+        for (final Tuple2<A, S> succ : succs) {
+            final A action = succ.get1();
+            final S succState = succ.get2();
+            // Only add state if there is no covering sibling (with the same action)
+            if (node.getSuccNodes()
+                    .noneMatch(
+                            n ->
+                                    n.getInEdge().get().getAction().equals(action)
+                                            && isLeq(succState, n.getState()))) {
+                final boolean isTarget = target.test(succState);
+                final ArgNode<S, A> newNode =
+                        node.arg.createSuccNode(node, action, succState, isTarget);
+                newSuccNodes.add(newNode);
             }
         }
         node.expanded = true;
 
         return newSuccNodes;
     }
+
+    private boolean isLeq(final S state1, final S state2) {
+        final long start = LEQ_TIMER.start();
+        final boolean leq = analysis.getPartialOrd().isLeq(state1, state2);
+        LEQ_TIMER.stop(start);
+        return leq;
+    }
 }
@@ -22,6 +22,8 @@ import hu.bme.mit.theta.analysis.Action;
 import hu.bme.mit.theta.analysis.State;
 import hu.bme.mit.theta.common.Utils;
 import hu.bme.mit.theta.common.container.Containers;
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.common.metrics.Timer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Optional;
@@ -29,6 +31,8 @@ import java.util.stream.Stream;
 
 public final class ArgNode<S extends State, A extends Action> {
 
+    private static final Timer LEQ_TIMER = Metrics.timer("analysis.partialord.isLeq");
+
     final ARG<S, A> arg;
 
     private final int id;
@@ -88,11 +92,14 @@ public final class ArgNode<S extends State, A extends Action> {
     }
 
     public boolean inPartialOrder(final ArgNode<S, A> node) {
-        return arg.getPartialOrd().isLeq(node.getState(), this.getState());
+        final long start = LEQ_TIMER.start();
+        final boolean leq = arg.getPartialOrd().isLeq(node.getState(), this.getState());
+        LEQ_TIMER.stop(start);
+        return leq;
     }
 
     public boolean mayCover(final ArgNode<S, A> node) {
-        if (arg.getPartialOrd().isLeq(node.getState(), this.getState())) {
+        if (inPartialOrder(node)) {
             return ancestors().noneMatch(n -> n.equals(node) || n.isSubsumed());
         } else {
             return false;
@@ -100,7 +107,7 @@ public final class ArgNode<S extends State, A extends Action> {
     }
 
     public boolean mayCoverStandard(final ArgNode<S, A> node) {
-        if (arg.getPartialOrd().isLeq(node.getState(), this.getState())) {
+        if (inPartialOrder(node)) {
             return !(this.equals(node) || this.isSubsumed()); // no need to check ancestors in CEGAR
         } else {
             return false;
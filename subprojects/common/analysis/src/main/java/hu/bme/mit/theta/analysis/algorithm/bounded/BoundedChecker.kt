@@ -26,6 +26,7 @@ import hu.bme.mit.theta.common.logging.Logger
 import hu.bme.mit.theta.core.decl.Decls.Var
 import hu.bme.mit.theta.core.model.Valuation
 import hu.bme.mit.theta.core.type.Expr
+import hu.bme.mit.theta.core.type.Type
 import hu.bme.mit.theta.core.type.abstracttype.AbstractExprs.Eq
 import hu.bme.mit.theta.core.type.booltype.BoolExprs.True
 import hu.bme.mit.theta.core.type.booltype.BoolType
@@ -37,6 +38,7 @@ import hu.bme.mit.theta.core.utils.indexings.VarIndexing
 import hu.bme.mit.theta.core.utils.indexings.VarIndexingFactory
 import hu.bme.mit.theta.solver.ItpSolver
 import hu.bme.mit.theta.solver.Solver
+import hu.bme.mit.theta.solver.SolverStatus
 import hu.bme.mit.theta.solver.utils.WithPushPop
 import java.util.*
 
@@ -58,6 +60,10 @@ import java.util.*
  * @param indSolver The solver for induction checking in KIND.
  * @param kindEnabled A function determining whether k-induction (KIND) is enabled.
  * @param logger The logger for logging.
+ * @param needProof Whether to extract an inductive invariant when safety is proven.
+ * @param lazyLfPath A function determining whether loop-freeness constraints are added lazily,
+ *   i.e., only for the pairs of steps that a model of the unrolling revisits. Only has an effect
+ *   when [lfPathOnly] is enabled.
  */
 class BoundedChecker
 @JvmOverloads
@@ -73,14 +79,17 @@ constructor(
   private val kindEnabled: (Int) -> Boolean = { indSolver != null },
   private val logger: Logger,
   private val needProof: Boolean = false,
+  private val lazyLfPath: () -> Boolean = { false },
 ) : SafetyChecker<PredState, Trace<ExplState, ExprAction>, UnitPrec> {
 
   private val vars = monolithicExpr.vars
   private val unfoldedInitExpr =
     PathUtils.unfold(monolithicExpr.initExpr, VarIndexingFactory.indexing(0))
-  private val unfoldedPropExpr = { i: VarIndexing -> PathUtils.unfold(monolithicExpr.propExpr, i) }
+  private val unfoldCache = IdentityHashMap<VarIndexing, MutableMap<Expr<*>, Expr<*>>>()
+  private val unfoldedPropExpr = { i: VarIndexing -> unfold(monolithicExpr.propExpr, i) }
   private val indices = mutableListOf(VarIndexingFactory.indexing(0))
   private val exprs = mutableListOf<Expr<BoolType>>()
+  private val loopFreePairs = HashSet<Pair<Int, Int>>()
   private var kindLastIterLookup = 0
   private var iteration = 0
 
@@ -110,7 +119,7 @@ constructor(
         "K-Induction needs BMC as an external substep."
       }
 
-      exprs.add(PathUtils.unfold(monolithicExpr.transExpr, indices.last()))
+      exprs.add(unfold(monolithicExpr.transExpr, indices.last()))
 
       indices.add(indices.last().add(monolithicExpr.transOffsetIndex))
 
@@ -161,21 +170,15 @@ constructor(
     bmcSolver.add(exprs.last())
 
     if (lfPathOnly()) { // indices contains currIndex as last()
-      val loopfree = LinkedList<Expr<BoolType>>()
-      for (indexing in indices) {
-        if (indexing != indices.last()) {
-          val allVarsSame =
-            And(
-              vars.map {
-                Eq(PathUtils.unfold(it.ref, indexing), PathUtils.unfold(it.ref, indices.last()))
-              }
-            )
-          loopfree += Not(allVarsSame)
+      val status =
+        if (lazyLfPath()) {
+          checkLoopFreeLazily(bmcSolver)
+        } else {
+          bmcSolver.add((0 until indices.lastIndex).map { loopFree(it, indices.lastIndex) })
+          bmcSolver.check()
         }
-      }
-      bmcSolver.add(loopfree)
 
-      if (bmcSolver.check().isUnsat) {
+      if (status.isUnsat) {
         logger.write(Logger.Level.MAINSTEP, "Safety proven in BMC step\n")
         val proof =
           if (needProof) {
@@ -279,18 +282,7 @@ constructor(
 
     if (lfPathOnly()) { // indices contains currIndex as last()
       itpSolver.push()
-      val loopfree = LinkedList<Expr<BoolType>>()
-      for (indexing in indices) {
-        if (indexing != indices.last()) {
-          val allVarsSame =
-            And(
-              vars.map {
-                Eq(PathUtils.unfold(it.ref, indexing), PathUtils.unfold(it.ref, indices.last()))
-              }
-            )
-          loopfree.add(Not(allVarsSame))
-        }
-      }
+      val loopfree = (0 until indices.lastIndex).map { loopFree(it, indices.lastIndex) }
       itpSolver.add(a, loopfree)
 
       if (itpSolver.check().isUnsat) {
@@ -362,6 +354,45 @@ constructor(
     return null
   }
 
+  /**
+   * Checks the BMC unrolling with loop-freeness constraints added in a CEGAR-like loop: a model
+   * that revisits a state only yields the constraints forbidding the revisits it contains.
+   * Constraints added here stay in the solver, as they also hold for every longer unrolling.
+   */
+  private fun checkLoopFreeLazily(solver: Solver): SolverStatus {
+    while (true) {
+      val status = solver.check()
+      if (status.isUnsat) {
+        return status
+      }
+      val model = solver.model
+      val firstVisits = HashMap<Valuation, Int>()
+      val revisits =
+        indices.indices.mapNotNull { j ->
+          val valuation = PathUtils.extractValuation(model, indices[j], vars)
+          firstVisits
+            .putIfAbsent(valuation, j)
+            ?.takeIf { loopFreePairs.add(Pair(it, j)) }
+            ?.let { loopFree(it, j) }
+        }
+      if (revisits.isEmpty()) {
+        return status
+      }
+      logger.write(Logger.Level.SUBSTEP, "\tAdding ${revisits.size} loop-freeness constraints\n")
+      solver.add(revisits)
+    }
+  }
+
+  /** States that the `i`th and `j`th states of the unrolling differ in at least one variable. */
+  private fun loopFree(i: Int, j: Int): Expr<BoolType> =
+    Not(And(vars.map { Eq(unfold(it.ref, indices[i]), unfold(it.ref, indices[j])) }))
+
+  @Suppress("UNCHECKED_CAST")
+  private fun <T : Type> unfold(expr: Expr<T>, indexing: VarIndexing): Expr<T> =
+    unfoldCache
+      .getOrPut(indexing) { HashMap() }
+      .getOrPut(expr) { PathUtils.unfold(expr, indexing) } as Expr<T>
+
   private fun getTrace(model: Valuation): Trace<ExplState, ExprAction> {
     val stateList = LinkedList<ExplState>()
     val actionList = LinkedList<ExprAction>()
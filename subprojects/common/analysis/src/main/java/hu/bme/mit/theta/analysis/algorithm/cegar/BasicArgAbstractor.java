@@ -26,6 +26,8 @@ import hu.bme.mit.theta.analysis.algorithm.arg.ArgBuilder;
 import hu.bme.mit.theta.analysis.algorithm.arg.ArgNode;
 import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterion;
 import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterions;
+import hu.bme.mit.theta.analysis.reachedset.CandidateIndex;
+import hu.bme.mit.theta.analysis.reachedset.CandidateIndexes;
 import hu.bme.mit.theta.analysis.reachedset.Partition;
 import hu.bme.mit.theta.analysis.waitlist.FifoWaitlist;
 import hu.bme.mit.theta.analysis.waitlist.Waitlist;
@@ -36,6 +38,7 @@ import hu.bme.mit.theta.common.logging.NullLogger;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /** Basic implementation for the abstractor, relying on an ArgBuilder. */
 public class BasicArgAbstractor<S extends State, A extends Action, P extends Prec>
@@ -46,6 +49,7 @@ public class BasicArgAbstractor<S extends State, A extends Action, P extends Pre
     protected final Waitlist<ArgNode<S, A>> waitlist;
     protected final StopCriterion<S, A> stopCriterion;
     protected final Logger logger;
+    protected final Supplier<? extends CandidateIndex<ArgNode<S, A>>> candidateIndex;
 
     protected BasicArgAbstractor(
             final ArgBuilder<S, A, P> argBuilder,
@@ -53,11 +57,22 @@ public class BasicArgAbstractor<S extends State, A extends Action, P extends Pre
             final Waitlist<ArgNode<S, A>> waitlist,
             final StopCriterion<S, A> stopCriterion,
             final Logger logger) {
+        this(argBuilder, projection, waitlist, stopCriterion, logger, CandidateIndexes::linear);
+    }
+
+    protected BasicArgAbstractor(
+            final ArgBuilder<S, A, P> argBuilder,
+            final Function<? super S, ?> projection,
+            final Waitlist<ArgNode<S, A>> waitlist,
+            final StopCriterion<S, A> stopCriterion,
+            final Logger logger,
+            final Supplier<? extends CandidateIndex<ArgNode<S, A>>> candidateIndex) {
         this.argBuilder = checkNotNull(argBuilder);
         this.projection = checkNotNull(projection);
         this.waitlist = checkNotNull(waitlist);
         this.stopCriterion = checkNotNull(stopCriterion);
         this.logger = checkNotNull(logger);
+        this.candidateIndex = checkNotNull(candidateIndex);
     }
 
     public static <S extends State, A extends Action, P extends Prec> Builder<S, A, P> builder(
@@ -93,7 +108,7 @@ public class BasicArgAbstractor<S extends State, A extends Action, P extends Pre
         logger.write(Level.SUBSTEP, "|  |  Building ARG...");
 
         final Partition<ArgNode<S, A>, ?> reachedSet =
-                Partition.of(n -> projection.apply(n.getState()));
+                Partition.of(n -> projection.apply(n.getState()), candidateIndex);
         waitlist.clear();
 
         reachedSet.addAll(arg.getNodes());
@@ -156,6 +171,7 @@ public class BasicArgAbstractor<S extends State, A extends Action, P extends Pre
         protected Waitlist<ArgNode<S, A>> waitlist;
         protected StopCriterion<S, A> stopCriterion;
         protected Logger logger;
+        protected Supplier<? extends CandidateIndex<ArgNode<S, A>>> candidateIndex;
 
         protected Builder(final ArgBuilder<S, A, P> argBuilder) {
             this.argBuilder = argBuilder;
@@ -163,6 +179,7 @@ public class BasicArgAbstractor<S extends State, A extends Action, P extends Pre
             this.waitlist = FifoWaitlist.create();
             this.stopCriterion = StopCriterions.firstCex();
             this.logger = NullLogger.getInstance();
+            this.candidateIndex = CandidateIndexes::linear;
         }
 
         public Builder<S, A, P> projection(final Function<? super S, ?> projection) {
@@ -185,9 +202,20 @@ public class BasicArgAbstractor<S extends State, A extends Action, P extends Pre
             return this;
         }
 
+        /**
+         * Index used within each class of the projection to narrow down the candidates for
+         * coverage, e.g., {@code () -> CandidateIndexes.subset(n ->
+         * CoverageFeatures.expl(n.getState()))}.
+         */
+        public Builder<S, A, P> candidateIndex(
+                final Supplier<? extends CandidateIndex<ArgNode<S, A>>> candidateIndex) {
+            this.candidateIndex = candidateIndex;
+            return this;
+        }
+
         public BasicArgAbstractor<S, A, P> build() {
             return new BasicArgAbstractor<>(
-                    argBuilder, projection, waitlist, stopCriterion, logger);
+                    argBuilder, projection, waitlist, stopCriterion, logger, candidateIndex);
         }
     }
 }
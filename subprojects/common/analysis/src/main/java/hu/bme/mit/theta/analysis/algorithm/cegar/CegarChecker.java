@@ -80,6 +80,32 @@ public final class CegarChecker<P extends Prec, Pr extends Proof, C extends Cex>
 
     @Override
     public SafetyResult<Pr, C> check(final P initPrec) {
+        try {
+            return runCegar(initPrec);
+        } finally {
+            // Abstractors and refiners keeping resources (e.g., worker threads and solvers) between
+            // iterations release them once the loop is over
+            try {
+                close(abstractor);
+            } finally {
+                close(refiner);
+            }
+        }
+    }
+
+    private static void close(final Object component) {
+        if (component instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (final RuntimeException e) {
+                throw e;
+            } catch (final Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    private SafetyResult<Pr, C> runCegar(final P initPrec) {
         logger.write(Level.INFO, "Configuration: %s%n", this);
         final Stopwatch stopwatch = Stopwatch.createStarted();
         long abstractorTime = 0;
@@ -0,0 +1,459 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.cegar;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import hu.bme.mit.theta.analysis.Action;
+import hu.bme.mit.theta.analysis.Prec;
+import hu.bme.mit.theta.analysis.State;
+import hu.bme.mit.theta.analysis.algorithm.arg.ARG;
+import hu.bme.mit.theta.analysis.algorithm.arg.ArgBuilder;
+import hu.bme.mit.theta.analysis.algorithm.arg.ArgNode;
+import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterion;
+import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterions;
+import hu.bme.mit.theta.analysis.reachedset.CandidateIndex;
+import hu.bme.mit.theta.analysis.reachedset.CandidateIndexes;
+import hu.bme.mit.theta.analysis.reachedset.Partition;
+import hu.bme.mit.theta.analysis.waitlist.FifoWaitlist;
+import hu.bme.mit.theta.analysis.waitlist.Waitlist;
+import hu.bme.mit.theta.common.Tuple2;
+import hu.bme.mit.theta.common.Utils;
+import hu.bme.mit.theta.common.logging.Logger;
+import hu.bme.mit.theta.common.logging.Logger.Level;
+import hu.bme.mit.theta.common.logging.NullLogger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Abstractor that expands the ARG on multiple threads. Nodes are taken from the waitlist in
+ * batches and their successors are computed concurrently, each worker using its own {@link
+ * ArgBuilder} (and thus its own analysis and solver). Successors are attached to the ARG by the
+ * calling thread only, so node ids and coverage stay consistent. With deterministic merge the
+ * successors of a batch are attached in waitlist order, which makes the resulting ARG independent
+ * of thread scheduling. Otherwise they are attached in the order of completion.
+ *
+ * <p>The worker threads and builders are kept between calls to {@link #check}, and are released
+ * by {@link #close}, which also closes the resources (e.g., solvers) registered by the workers. A
+ * closed abstractor can still be used, it creates new workers when needed.
+ */
+public final class ParallelArgAbstractor<S extends State, A extends Action, P extends Prec>
+        extends BasicArgAbstractor<S, A, P> implements AutoCloseable {
+
+    /** Collects the resources of a worker, which are closed together with the abstractor. */
+    public interface WorkerResources {
+        <T extends AutoCloseable> T register(T resource);
+    }
+
+    private final Function<? super WorkerResources, ArgBuilder<S, A, P>> workerArgBuilderFactory;
+    private final int threads;
+    private final int batchSize;
+    private final boolean deterministicMerge;
+
+    private final BlockingQueue<ArgBuilder<S, A, P>> idleWorkerArgBuilders;
+    private final List<AutoCloseable> workerResources;
+    private int createdWorkerArgBuilders;
+    private ExecutorService executor;
+
+    private ParallelArgAbstractor(
+            final ArgBuilder<S, A, P> argBuilder,
+            final Function<? super WorkerResources, ArgBuilder<S, A, P>> workerArgBuilderFactory,
+            final Function<? super S, ?> projection,
+            final Waitlist<ArgNode<S, A>> waitlist,
+            final StopCriterion<S, A> stopCriterion,
+            final Logger logger,
+            final Supplier<? extends CandidateIndex<ArgNode<S, A>>> candidateIndex,
+            final int threads,
+            final int batchSize,
+            final boolean deterministicMerge) {
+        super(argBuilder, projection, waitlist, stopCriterion, logger, candidateIndex);
+        checkArgument(threads > 0, "Number of threads must be positive");
+        checkArgument(batchSize > 0, "Batch size must be positive");
+        this.workerArgBuilderFactory = checkNotNull(workerArgBuilderFactory);
+        this.threads = threads;
+        this.batchSize = batchSize;
+        this.deterministicMerge = deterministicMerge;
+        this.idleWorkerArgBuilders = new LinkedBlockingQueue<>();
+        this.workerResources = new ArrayList<>();
+        this.createdWorkerArgBuilders = 0;
+        this.executor = null;
+    }
+
+    /**
+     * Creates a builder for the parallel abstractor.
+     *
+     * @param argBuilder builder used for initializing the ARG and attaching successors (on the
+     *     calling thread)
+     * @param workerArgBuilderFactory creates the builders used for computing successors. Each
+     *     invocation should return a builder with its own analysis (and solver), as workers use
+     *     them concurrently. At most one builder is created per thread. Solvers and other
+     *     resources registered to the given {@link WorkerResources} are closed when the
+     *     abstractor is closed.
+     */
+    public static <S extends State, A extends Action, P extends Prec> Builder<S, A, P> builder(
+            final ArgBuilder<S, A, P> argBuilder,
+            final Function<? super WorkerResources, ArgBuilder<S, A, P>> workerArgBuilderFactory) {
+        return new Builder<>(argBuilder, workerArgBuilderFactory);
+    }
+
+    @Override
+    public AbstractorResult check(final ARG<S, A> arg, final P prec) {
+        checkNotNull(arg);
+        checkNotNull(prec);
+        logger.write(Level.DETAIL, "|  |  Precision: %s%n", prec);
+
+        if (!arg.isInitialized()) {
+            logger.write(Level.SUBSTEP, "|  |  (Re)initializing ARG...");
+            argBuilder.init(arg, prec);
+            logger.write(Level.SUBSTEP, "done%n");
+        }
+
+        assert arg.isInitialized();
+
+        logger.write(
+                Level.INFO,
+                "|  |  Starting ARG: %d nodes, %d incomplete, %d unsafe%n",
+                arg.getNodes().count(),
+                arg.getIncompleteNodes().count(),
+                arg.getUnsafeNodes().count());
+        logger.write(Level.SUBSTEP, "|  |  Building ARG on %d threads...", threads);
+
+        final Partition<ArgNode<S, A>, ?> reachedSet =
+                Partition.of(n -> projection.apply(n.getState()), candidateIndex);
+        waitlist.clear();
+
+        reachedSet.addAll(arg.getNodes());
+        waitlist.addAll(arg.getIncompleteNodes());
+
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(threads, this::newThread);
+        }
+        if (!stopCriterion.canStop(arg)) {
+            while (!waitlist.isEmpty()) {
+                final List<ArgNode<S, A>> batch = new ArrayList<>();
+                while (!waitlist.isEmpty() && batch.size() < batchSize) {
+                    final ArgNode<S, A> node = waitlist.remove();
+                    close(node, reachedSet.get(node));
+                    if (!node.isSubsumed() && !node.isTarget()) {
+                        batch.add(node);
+                    }
+                }
+                if (expandBatch(arg, batch, prec, reachedSet)) break;
+            }
+        }
+
+        logger.write(Level.SUBSTEP, "done%n");
+        logger.write(
+                Level.INFO,
+                "|  |  Finished ARG: %d nodes, %d incomplete, %d unsafe%n",
+                arg.getNodes().count(),
+                arg.getIncompleteNodes().count(),
+                arg.getUnsafeNodes().count());
+
+        waitlist.clear(); // Optimization
+
+        if (arg.isSafe()) {
+            checkState(arg.isComplete(), "Returning incomplete ARG as safe");
+            return AbstractorResult.safe();
+        } else {
+            return AbstractorResult.unsafe();
+        }
+    }
+
+    /**
+     * Expands the nodes of a batch concurrently and attaches the successors on the calling thread.
+     *
+     * @return true if the stop criterion is met
+     */
+    private boolean expandBatch(
+            final ARG<S, A> arg,
+            final List<ArgNode<S, A>> batch,
+            final P prec,
+            final Partition<ArgNode<S, A>, ?> reachedSet) {
+        final CompletionService<List<Tuple2<A, S>>> completionService =
+                new ExecutorCompletionService<>(executor);
+        final AtomicBoolean cancelled = new AtomicBoolean(false);
+        final CountDownLatch finished = new CountDownLatch(batch.size());
+        final List<Future<List<Tuple2<A, S>>>> futures = new ArrayList<>(batch.size());
+        final Map<Future<List<Tuple2<A, S>>>, ArgNode<S, A>> futureToNode =
+                new IdentityHashMap<>();
+        for (final ArgNode<S, A> node : batch) {
+            final S state = node.getState();
+            final Collection<A> exploredActions = argBuilder.getExploredActions(node);
+            final Future<List<Tuple2<A, S>>> future =
+                    completionService.submit(
+                            () -> {
+                                try {
+                                    return cancelled.get()
+                                            ? null
+                                            : getSuccessors(state, exploredActions, prec);
+                                } finally {
+                                    finished.countDown();
+                                }
+                            });
+            futures.add(future);
+            futureToNode.put(future, node);
+        }
+
+        boolean stop = false;
+        try {
+            for (int i = 0; i < futures.size() && !stop; i++) {
+                final Future<List<Tuple2<A, S>>> future =
+                        deterministicMerge ? futures.get(i) : take(completionService);
+                final ArgNode<S, A> node = futureToNode.get(future);
+                final Collection<ArgNode<S, A>> newNodes =
+                        argBuilder.attachSuccessors(node, get(future));
+                reachedSet.addAll(newNodes);
+                waitlist.addAll(newNodes);
+                stop = stopCriterion.canStop(arg, newNodes);
+            }
+        } finally {
+            // Nodes of the batch that are not attached yet remain incomplete in the ARG. Pending
+            // expansions are skipped and running ones are waited for, so that no worker is busy
+            // after returning.
+            cancelled.set(true);
+            await(finished);
+        }
+        return stop;
+    }
+
+    private List<Tuple2<A, S>> getSuccessors(
+            final S state, final Collection<A> exploredActions, final P prec) throws Exception {
+        final ArgBuilder<S, A, P> workerArgBuilder = acquireWorkerArgBuilder();
+        try {
+            return workerArgBuilder.getSuccessors(state, exploredActions, prec);
+        } finally {
+            idleWorkerArgBuilders.add(workerArgBuilder);
+        }
+    }
+
+    private ArgBuilder<S, A, P> acquireWorkerArgBuilder() throws InterruptedException {
+        final ArgBuilder<S, A, P> idle = idleWorkerArgBuilders.poll();
+        if (idle != null) {
+            return idle;
+        }
+        synchronized (idleWorkerArgBuilders) {
+            if (createdWorkerArgBuilders < threads) {
+                createdWorkerArgBuilders++;
+                final WorkerResources resources = this::registerResource;
+                return checkNotNull(workerArgBuilderFactory.apply(resources));
+            }
+        }
+        return idleWorkerArgBuilders.take();
+    }
+
+    private <T extends AutoCloseable> T registerResource(final T resource) {
+        synchronized (idleWorkerArgBuilders) {
+            workerResources.add(checkNotNull(resource));
+        }
+        return resource;
+    }
+
+    /**
+     * Stops the worker threads and closes the resources registered by the workers. Should be
+     * called when the abstractor is no longer used, e.g., at the end of the CEGAR loop.
+     */
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+        final List<AutoCloseable> resources;
+        synchronized (idleWorkerArgBuilders) {
+            resources = new ArrayList<>(workerResources);
+            workerResources.clear();
+            idleWorkerArgBuilders.clear();
+            createdWorkerArgBuilders = 0;
+        }
+        RuntimeException exception = null;
+        for (final AutoCloseable resource : resources) {
+            try {
+                resource.close();
+            } catch (final Exception e) {
+                if (exception == null) {
+                    exception = new RuntimeException("Could not close worker resources", e);
+                } else {
+                    exception.addSuppressed(e);
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    private Thread newThread(final Runnable runnable) {
+        final Thread thread = new Thread(runnable, getClass().getSimpleName() + "-worker");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static <T> Future<T> take(final CompletionService<T> completionService) {
+        try {
+            return completionService.take();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static <T> T get(final Future<T> future) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            } else {
+                throw new RuntimeException(cause);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Utils.lispStringBuilder(getClass().getSimpleName())
+                .add(waitlist)
+                .add("threads=" + threads)
+                .add("batch=" + batchSize)
+                .add(deterministicMerge ? "deterministic" : "nondeterministic")
+                .toString();
+    }
+
+    public static final class Builder<S extends State, A extends Action, P extends Prec> {
+        private final ArgBuilder<S, A, P> argBuilder;
+        private final Function<? super WorkerResources, ArgBuilder<S, A, P>>
+                workerArgBuilderFactory;
+        private Function<? super S, ?> projection;
+        private Waitlist<ArgNode<S, A>> waitlist;
+        private StopCriterion<S, A> stopCriterion;
+        private Logger logger;
+        private Supplier<? extends CandidateIndex<ArgNode<S, A>>> candidateIndex;
+        private int threads;
+        private int batchSize;
+        private boolean deterministicMerge;
+
+        private Builder(
+                final ArgBuilder<S, A, P> argBuilder,
+                final Function<? super WorkerResources, ArgBuilder<S, A, P>>
+                        workerArgBuilderFactory) {
+            this.argBuilder = argBuilder;
+            this.workerArgBuilderFactory = workerArgBuilderFactory;
+            this.projection = s -> 0;
+            this.waitlist = FifoWaitlist.create();
+            this.stopCriterion = StopCriterions.firstCex();
+            this.logger = NullLogger.getInstance();
+            this.candidateIndex = CandidateIndexes::linear;
+            this.threads = Runtime.getRuntime().availableProcessors();
+            this.batchSize = 4 * threads;
+            this.deterministicMerge = true;
+        }
+
+        public Builder<S, A, P> projection(final Function<? super S, ?> projection) {
+            this.projection = projection;
+            return this;
+        }
+
+        public Builder<S, A, P> waitlist(final Waitlist<ArgNode<S, A>> waitlist) {
+            this.waitlist = waitlist;
+            return this;
+        }
+
+        public Builder<S, A, P> stopCriterion(final StopCriterion<S, A> stopCriterion) {
+            this.stopCriterion = stopCriterion;
+            return this;
+        }
+
+        public Builder<S, A, P> logger(final Logger logger) {
+            this.logger = logger;
+            return this;
+        }
+
+        public Builder<S, A, P> candidateIndex(
+                final Supplier<? extends CandidateIndex<ArgNode<S, A>>> candidateIndex) {
+            this.candidateIndex = candidateIndex;
+            return this;
+        }
+
+        /** Number of worker threads (and worker ARG builders). Also resets the batch size. */
+        public Builder<S, A, P> threads(final int threads) {
+            this.threads = threads;
+            this.batchSize = 4 * threads;
+            return this;
+        }
+
+        /** Maximal number of nodes taken from the waitlist and expanded concurrently. */
+        public Builder<S, A, P> batchSize(final int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * If enabled, successors are attached in waitlist order, making node ids and coverage
+         * reproducible across runs.
+         */
+        public Builder<S, A, P> deterministicMerge(final boolean deterministicMerge) {
+            this.deterministicMerge = deterministicMerge;
+            return this;
+        }
+
+        public ParallelArgAbstractor<S, A, P> build() {
+            return new ParallelArgAbstractor<>(
+                    argBuilder,
+                    workerArgBuilderFactory,
+                    projection,
+                    waitlist,
+                    stopCriterion,
+                    logger,
+                    candidateIndex,
+                    threads,
+                    batchSize,
+                    deterministicMerge);
+        }
+    }
+}
@@ -15,6 +15,9 @@
  */
 package hu.bme.mit.theta.analysis.algorithm.ic3;
 
+import static com.google.common.base.Preconditions.checkState;
+import static hu.bme.mit.theta.core.decl.Decls.Const;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
 import static hu.bme.mit.theta.core.type.booltype.SmartBoolExprs.*;
 import static hu.bme.mit.theta.core.utils.ExprUtils.getConjuncts;
 
@@ -26,64 +29,122 @@ import hu.bme.mit.theta.core.type.booltype.BoolType;
 import hu.bme.mit.theta.core.utils.PathUtils;
 import hu.bme.mit.theta.solver.SolverStatus;
 import hu.bme.mit.theta.solver.UCSolver;
-import hu.bme.mit.theta.solver.utils.WithPushPop;
 import java.util.*;
 
+/**
+ * A frame of IC3, stored as a delta: a lemma is only kept in the frame where it was introduced (or
+ * last propagated to), and the frame itself is the conjunction of its lemmas and the lemmas of all
+ * later frames. The initial frame is an exception, it only consists of its own expressions. Lemmas
+ * are asserted to the solver of the frame once, guarded by the activation literal of the frame.
+ * Queries over the frame assume the activation literals of the later frames sharing the solver,
+ * and the lemmas of later frames with a different solver.
+ */
 public class Frame {
     private final Frame parent;
+    private Frame child;
     private final Set<Expr<BoolType>> exprs;
 
     private final UCSolver solver;
     private final MonolithicExpr monolithicExpr;
+    private final Expr<BoolType> activationLiteral;
 
     Frame(final Frame parent, UCSolver solver, MonolithicExpr monolithicExpr) {
         this.parent = parent;
+        this.child = null;
         this.solver = solver;
         this.monolithicExpr = monolithicExpr;
         exprs = new HashSet<>();
+        activationLiteral = Const("__ic3_frame_" + getIndex(), Bool()).getRef();
+        if (parent != null) {
+            parent.child = this;
+        }
+    }
+
+    private int getIndex() {
+        return parent == null ? 0 : parent.getIndex() + 1;
     }
 
     public void refine(Expr<BoolType> expression) {
         Collection<Expr<BoolType>> col = getConjuncts(expression);
         for (Expr<BoolType> e : col) {
-            exprs.add(e);
+            if (exprs.add(e)) {
+                solver.track(Imply(activationLiteral, PathUtils.unfold(e, 0)));
+            }
         }
     }
 
+    /** Moves a lemma of this frame to the next frame. */
+    void propagate(Expr<BoolType> expression) {
+        checkState(child != null, "The last frame has no next frame");
+        exprs.remove(expression);
+        child.refine(expression);
+    }
+
+    /** Returns the lemmas introduced at this frame. */
     public Set<Expr<BoolType>> getExprs() {
         return exprs;
     }
 
-    public Collection<Expr<BoolType>> check(Expr<BoolType> target) {
-        try (var wpp = new WithPushPop(solver)) {
-            solver.track(PathUtils.unfold(target, 0));
-            for (Expr<BoolType> ex : exprs) {
-                solver.track(PathUtils.unfold(ex, 0));
+    /** Returns the lemmas of the frame, including the ones of later frames. */
+    public Set<Expr<BoolType>> getAllExprs() {
+        final Set<Expr<BoolType>> allExprs = new HashSet<>(exprs);
+        if (parent != null) {
+            for (Frame frame = child; frame != null; frame = frame.child) {
+                allExprs.addAll(frame.exprs);
             }
-            SolverStatus status = solver.check();
-
-            if (status.isSat()) {
-                final Valuation model = solver.getModel();
-                final MutableValuation filteredModel = new MutableValuation();
-                monolithicExpr.getVars().stream()
-                        .map(varDecl -> varDecl.getConstDecl(0))
-                        .filter(model.toMap()::containsKey)
-                        .forEach(decl -> filteredModel.put(decl, model.eval(decl).get()));
-                return getConjuncts(PathUtils.foldin(filteredModel.toExpr(), 0));
-            } else {
-                return null;
+        }
+        return allExprs;
+    }
+
+    public Expr<BoolType> getActivationLiteral() {
+        return activationLiteral;
+    }
+
+    /** Returns the assumptions under which the solver of the frame represents the frame. */
+    List<Expr<BoolType>> getAssumptions() {
+        final List<Expr<BoolType>> assumptions = new ArrayList<>();
+        assumptions.add(activationLiteral);
+        if (parent != null) {
+            for (Frame frame = child; frame != null; frame = frame.child) {
+                if (frame.solver == solver) {
+                    assumptions.add(frame.activationLiteral);
+                } else {
+                    frame.exprs.forEach(e -> assumptions.add(PathUtils.unfold(e, 0)));
+                }
             }
         }
+        return assumptions;
+    }
+
+    UCSolver getSolver() {
+        return solver;
+    }
+
+    public Collection<Expr<BoolType>> check(Expr<BoolType> target) {
+        final List<Expr<BoolType>> assumptions = getAssumptions();
+        assumptions.add(PathUtils.unfold(target, 0));
+        SolverStatus status = solver.check(assumptions);
+
+        if (status.isSat()) {
+            final Valuation model = solver.getModel();
+            final MutableValuation filteredModel = new MutableValuation();
+            monolithicExpr.getVars().stream()
+                    .map(varDecl -> varDecl.getConstDecl(0))
+                    .filter(model.toMap()::containsKey)
+                    .forEach(decl -> filteredModel.put(decl, model.eval(decl).get()));
+            return getConjuncts(PathUtils.foldin(filteredModel.toExpr(), 0));
+        } else {
+            return null;
+        }
     }
 
     public boolean equalsParent() {
         if (this.parent.parent == null) {
             return false;
         }
-        try (var wpp = new WithPushPop(solver)) {
-            solver.track(PathUtils.unfold(Not(And(parent.getExprs())), 0));
-            solver.track(PathUtils.unfold(And(exprs), 0));
-            return solver.check().isUnsat();
-        }
+        // The parent is the conjunction of its own lemmas and this frame
+        final List<Expr<BoolType>> assumptions = getAssumptions();
+        assumptions.add(PathUtils.unfold(Not(And(parent.getExprs())), 0));
+        return solver.check(assumptions).isUnsat();
     }
 }
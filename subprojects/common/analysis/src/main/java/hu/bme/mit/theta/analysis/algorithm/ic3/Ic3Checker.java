@@ -16,8 +16,11 @@
 package hu.bme.mit.theta.analysis.algorithm.ic3;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static hu.bme.mit.theta.core.decl.Decls.Const;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
 import static hu.bme.mit.theta.core.type.booltype.SmartBoolExprs.And;
+import static hu.bme.mit.theta.core.type.booltype.SmartBoolExprs.Imply;
 import static hu.bme.mit.theta.core.utils.ExprUtils.getConjuncts;
 
 import hu.bme.mit.theta.analysis.Action;
@@ -46,7 +49,7 @@ import hu.bme.mit.theta.core.utils.PathUtils;
 import hu.bme.mit.theta.core.utils.indexings.VarIndexingFactory;
 import hu.bme.mit.theta.solver.SolverFactory;
 import hu.bme.mit.theta.solver.UCSolver;
-import hu.bme.mit.theta.solver.utils.WithPushPop;
+import hu.bme.mit.theta.solver.impl.AssumptionSolverWrapper;
 import java.util.*;
 
 public class Ic3Checker
@@ -55,6 +58,9 @@ public class Ic3Checker
     private final List<Frame> frames;
     private final SolverFactory solverFactory;
     private final UCSolver solver;
+    private final Expr<BoolType> transActivationLiteral;
+    private final List<Expr<BoolType>> transExprs;
+    private final boolean solverPerFrame;
     private final boolean formerFramesOpt;
     private final boolean unSatOpt;
     private final boolean notBOpt;
@@ -78,6 +84,34 @@ public class Ic3Checker
             boolean filterOpt,
             boolean propertyOpt,
             Logger logger) {
+        this(
+                monolithicExpr,
+                solverFactory,
+                formerFramesOpt,
+                unSatOpt,
+                notBOpt,
+                propagateOpt,
+                filterOpt,
+                propertyOpt,
+                false,
+                logger);
+    }
+
+    /**
+     * @param solverPerFrame use a separate solver for each frame instead of a single solver shared
+     *     among all frames
+     */
+    public Ic3Checker(
+            MonolithicExpr monolithicExpr,
+            SolverFactory solverFactory,
+            boolean formerFramesOpt,
+            boolean unSatOpt,
+            boolean notBOpt,
+            boolean propagateOpt,
+            boolean filterOpt,
+            boolean propertyOpt,
+            boolean solverPerFrame,
+            Logger logger) {
         this.monolithicExpr = monolithicExpr;
         this.formerFramesOpt = formerFramesOpt;
         this.unSatOpt = unSatOpt;
@@ -87,8 +121,14 @@ public class Ic3Checker
         this.propertyOpt = propertyOpt;
         this.logger = logger;
         this.solverFactory = solverFactory;
+        this.solverPerFrame = solverPerFrame;
+        transActivationLiteral = Const("__ic3_trans", Bool()).getRef();
+        transExprs =
+                getConjuncts(monolithicExpr.getTransExpr()).stream()
+                        .map(ex -> Imply(transActivationLiteral, PathUtils.unfold(ex, 0)))
+                        .toList();
         frames = new ArrayList<>();
-        solver = solverFactory.createUCSolver();
+        solver = createSolver();
         frames.add(new Frame(null, solver, monolithicExpr));
         frames.get(0).refine(monolithicExpr.getInitExpr());
         currentFrameNumber = 0;
@@ -96,6 +136,14 @@ public class Ic3Checker
 
     @Override
     public SafetyResult<EmptyProof, Trace<ExplState, ExprAction>> check(UnitPrec prec) {
+        try {
+            return checkFrames();
+        } finally {
+            closeFrameSolvers();
+        }
+    }
+
+    private SafetyResult<EmptyProof, Trace<ExplState, ExprAction>> checkFrames() {
         // check if init violates prop
         var firstTrace = checkFirst();
         if (firstTrace != null) {
@@ -137,71 +185,69 @@ public class Ic3Checker
 
             final Collection<Expr<BoolType>> b;
             final Collection<Expr<BoolType>> unSatCore;
-            try (var wpp = new WithPushPop(solver)) {
-
-                frames.get(proofObligation.getTime() - 1)
-                        .getExprs()
-                        .forEach(ex -> solver.track(PathUtils.unfold(ex, 0)));
-                if (notBOpt) {
-                    solver.track(PathUtils.unfold(Not(And(proofObligation.getExpressions())), 0));
-                }
-                if (proofObligation.getTime() > 2 && formerFramesOpt) { // lehet, hogy 1, vagy 2??
-                    solver.track(
-                            PathUtils.unfold(
-                                    Not(And(frames.get(proofObligation.getTime() - 2).getExprs())),
-                                    monolithicExpr
-                                            .getTransOffsetIndex())); // 2 vel korábbi frame-ban
-                    // levő dolgok
-                }
-
-                getConjuncts(monolithicExpr.getTransExpr())
-                        .forEach(ex -> solver.track(PathUtils.unfold(ex, 0)));
-                proofObligation
-                        .getExpressions()
-                        .forEach(
-                                ex ->
-                                        solver.track(
-                                                PathUtils.unfold(
-                                                        ex, monolithicExpr.getTransOffsetIndex())));
+            final Frame frame = frames.get(proofObligation.getTime() - 1);
+            final UCSolver frameSolver = frame.getSolver();
+            final List<Expr<BoolType>> assumptions = new ArrayList<>();
+            assumptions.addAll(frame.getAssumptions());
+            assumptions.add(transActivationLiteral);
+            if (notBOpt) {
+                assumptions.add(PathUtils.unfold(Not(And(proofObligation.getExpressions())), 0));
+            }
+            if (proofObligation.getTime() > 2 && formerFramesOpt) { // lehet, hogy 1, vagy 2??
+                assumptions.add(
+                        PathUtils.unfold(
+                                Not(
+                                        And(
+                                                frames.get(proofObligation.getTime() - 2)
+                                                        .getAllExprs())),
+                                monolithicExpr.getTransOffsetIndex())); // 2 vel korábbi frame-ban
+                // levő dolgok
+            }
+            proofObligation
+                    .getExpressions()
+                    .forEach(
+                            ex ->
+                                    assumptions.add(
+                                            PathUtils.unfold(
+                                                    ex, monolithicExpr.getTransOffsetIndex())));
 
-                if (solver.check().isSat()) {
-                    final Valuation model = solver.getModel();
+            if (frameSolver.check(assumptions).isSat()) {
+                final Valuation model = frameSolver.getModel();
 
-                    final MutableValuation filteredModel = new MutableValuation();
-                    monolithicExpr.getVars().stream()
-                            .map(varDecl -> varDecl.getConstDecl(0))
-                            .filter(model.toMap()::containsKey)
-                            .forEach(decl -> filteredModel.put(decl, model.eval(decl).get()));
-                    if (filterOpt) {
-                        var vars = new HashSet<>(filteredModel.toMap().keySet());
-                        for (var var : vars) {
-                            if (!(var.getType() instanceof BoolType)) {
-                                continue;
-                            }
-                            var origValue = model.eval(var).get();
-                            var negatedValue =
-                                    BoolLitExpr.of(!((BoolLitExpr) origValue).getValue());
-                            filteredModel.put(var, negatedValue);
-                            try (var wpp2 = new WithPushPop(solver)) {
-                                solver.track(PathUtils.unfold(filteredModel.toExpr(), 0));
-                                if (solver.check().isSat()) {
-                                    filteredModel.remove(var);
-                                } else {
-                                    filteredModel.put(var, origValue);
-                                }
-                            }
+                final MutableValuation filteredModel = new MutableValuation();
+                monolithicExpr.getVars().stream()
+                        .map(varDecl -> varDecl.getConstDecl(0))
+                        .filter(model.toMap()::containsKey)
+                        .forEach(decl -> filteredModel.put(decl, model.eval(decl).get()));
+                if (filterOpt) {
+                    var vars = new HashSet<>(filteredModel.toMap().keySet());
+                    for (var var : vars) {
+                        if (!(var.getType() instanceof BoolType)) {
+                            continue;
+                        }
+                        var origValue = model.eval(var).get();
+                        var negatedValue = BoolLitExpr.of(!((BoolLitExpr) origValue).getValue());
+                        filteredModel.put(var, negatedValue);
+                        final List<Expr<BoolType>> filterAssumptions =
+                                new ArrayList<>(assumptions);
+                        filterAssumptions.addAll(
+                                getConjuncts(PathUtils.unfold(filteredModel.toExpr(), 0)));
+                        if (frameSolver.check(filterAssumptions).isSat()) {
+                            filteredModel.remove(var);
+                        } else {
+                            filteredModel.put(var, origValue);
                         }
                     }
-                    b =
-                            getConjuncts(
-                                    PathUtils.foldin(
-                                            PathUtils.extractValuation(filteredModel, 0).toExpr(),
-                                            0));
-                    unSatCore = null;
-                } else {
-                    b = null;
-                    unSatCore = solver.getUnsatCore();
                 }
+                b =
+                        getConjuncts(
+                                PathUtils.foldin(
+                                        PathUtils.extractValuation(filteredModel, 0).toExpr(),
+                                        0));
+                unSatCore = null;
+            } else {
+                b = null;
+                unSatCore = frameSolver.getUnsatAssumptions();
             }
             if (b == null) {
 
@@ -212,23 +258,19 @@ public class Ic3Checker
                         if (!unSatCore.contains(
                                 PathUtils.unfold(i, monolithicExpr.getTransOffsetIndex()))) {
                             newCore.remove(i);
-                            final boolean isSat;
-                            try (var wpp = new WithPushPop(solver)) {
-                                for (Expr<BoolType> solverex : newCore) {
-                                    solver.track(PathUtils.unfold(solverex, 0));
-                                }
-                                solver.track(PathUtils.unfold(monolithicExpr.getInitExpr(), 0));
-                                isSat = solver.check().isSat();
+                            final List<Expr<BoolType>> initAssumptions = new ArrayList<>();
+                            initAssumptions.add(frames.get(0).getActivationLiteral());
+                            for (Expr<BoolType> solverex : newCore) {
+                                initAssumptions.add(PathUtils.unfold(solverex, 0));
                             }
-                            if (isSat) {
+                            if (solver.check(initAssumptions).isSat()) {
                                 newCore.add(i);
                             }
                         }
                     }
                 }
-                for (int i = 1; i <= proofObligation.getTime(); ++i) {
-                    frames.get(i).refine(Not(And(newCore)));
-                }
+                // Earlier frames contain the lemma through their later frames
+                frames.get(proofObligation.getTime()).refine(Not(And(newCore)));
                 proofObligationsQueue.removeLast();
             } else {
                 proofObligationsQueue.add(
@@ -239,52 +281,47 @@ public class Ic3Checker
     }
 
     public Trace<ExplState, ExprAction> checkFirst() {
-        try (var wpp = new WithPushPop(solver)) {
-            solver.track(
-                    PathUtils.unfold(monolithicExpr.getInitExpr(), VarIndexingFactory.indexing(0)));
-            solver.track(
-                    PathUtils.unfold(
-                            Not(monolithicExpr.getPropExpr()), VarIndexingFactory.indexing(0)));
-            if (solver.check().isSat()) {
+        final Expr<BoolType> init = frames.get(0).getActivationLiteral();
+        if (solver.check(
+                        List.of(
+                                init,
+                                PathUtils.unfold(
+                                        Not(monolithicExpr.getPropExpr()),
+                                        VarIndexingFactory.indexing(0))))
+                .isSat()) {
+            return Trace.of(
+                    List.of(
+                            ExplState.of(
+                                    PathUtils.extractValuation(
+                                            solver.getModel(),
+                                            VarIndexingFactory.indexing(0),
+                                            monolithicExpr.getVars()))),
+                    List.of());
+        }
+        if (propertyOpt) {
+            if (solver.check(
+                            List.of(
+                                    init,
+                                    transActivationLiteral,
+                                    PathUtils.unfold(
+                                            Not(monolithicExpr.getPropExpr()),
+                                            monolithicExpr.getTransOffsetIndex())))
+                    .isSat()) {
                 return Trace.of(
                         List.of(
                                 ExplState.of(
                                         PathUtils.extractValuation(
                                                 solver.getModel(),
                                                 VarIndexingFactory.indexing(0),
+                                                monolithicExpr.getVars())),
+                                ExplState.of(
+                                        PathUtils.extractValuation(
+                                                solver.getModel(),
+                                                monolithicExpr.getTransOffsetIndex(),
                                                 monolithicExpr.getVars()))),
-                        List.of());
-            }
-        }
-        if (propertyOpt) {
-            try (var wpp = new WithPushPop(solver)) {
-                solver.track(
-                        PathUtils.unfold(
-                                monolithicExpr.getInitExpr(), VarIndexingFactory.indexing(0)));
-                solver.track(
-                        PathUtils.unfold(
-                                monolithicExpr.getTransExpr(), VarIndexingFactory.indexing(0)));
-                solver.track(
-                        PathUtils.unfold(
-                                Not(monolithicExpr.getPropExpr()),
-                                monolithicExpr.getTransOffsetIndex()));
-                if (solver.check().isSat()) {
-                    return Trace.of(
-                            List.of(
-                                    ExplState.of(
-                                            PathUtils.extractValuation(
-                                                    solver.getModel(),
-                                                    VarIndexingFactory.indexing(0),
-                                                    monolithicExpr.getVars())),
-                                    ExplState.of(
-                                            PathUtils.extractValuation(
-                                                    solver.getModel(),
-                                                    monolithicExpr.getTransOffsetIndex(),
-                                                    monolithicExpr.getVars()))),
-                            List.of(MonolithicExprKt.action(monolithicExpr)));
-                } else {
-                    return null;
-                }
+                        List.of(MonolithicExprKt.action(monolithicExpr)));
+            } else {
+                return null;
             }
         } else {
             return null;
@@ -293,24 +330,21 @@ public class Ic3Checker
 
     public Collection<Expr<BoolType>> checkCurrentFrame(Expr<BoolType> target) {
         if (propertyOpt) {
-            try (var wpp = new WithPushPop(solver)) {
-                frames.get(currentFrameNumber)
-                        .getExprs()
-                        .forEach(ex -> solver.track(PathUtils.unfold(ex, 0)));
-                getConjuncts(monolithicExpr.getTransExpr())
-                        .forEach(ex -> solver.track(PathUtils.unfold(ex, 0)));
-                solver.track(PathUtils.unfold(target, monolithicExpr.getTransOffsetIndex()));
-                if (solver.check().isSat()) {
-                    final Valuation model = solver.getModel();
-                    final MutableValuation filteredModel = new MutableValuation();
-                    monolithicExpr.getVars().stream()
-                            .map(varDecl -> varDecl.getConstDecl(0))
-                            .filter(model.toMap()::containsKey)
-                            .forEach(decl -> filteredModel.put(decl, model.eval(decl).get()));
-                    return getConjuncts(PathUtils.foldin(filteredModel.toExpr(), 0));
-                } else {
-                    return null;
-                }
+            final Frame frame = frames.get(currentFrameNumber);
+            final UCSolver frameSolver = frame.getSolver();
+            final List<Expr<BoolType>> assumptions = frame.getAssumptions();
+            assumptions.add(transActivationLiteral);
+            assumptions.add(PathUtils.unfold(target, monolithicExpr.getTransOffsetIndex()));
+            if (frameSolver.check(assumptions).isSat()) {
+                final Valuation model = frameSolver.getModel();
+                final MutableValuation filteredModel = new MutableValuation();
+                monolithicExpr.getVars().stream()
+                        .map(varDecl -> varDecl.getConstDecl(0))
+                        .filter(model.toMap()::containsKey)
+                        .forEach(decl -> filteredModel.put(decl, model.eval(decl).get()));
+                return getConjuncts(PathUtils.foldin(filteredModel.toExpr(), 0));
+            } else {
+                return null;
             }
         } else {
             return frames.get(currentFrameNumber).check(target);
@@ -318,7 +352,11 @@ public class Ic3Checker
     }
 
     public boolean propagate() {
-        frames.add(new Frame(frames.get(currentFrameNumber), solver, monolithicExpr));
+        frames.add(
+                new Frame(
+                        frames.get(currentFrameNumber),
+                        solverPerFrame ? createSolver() : solver,
+                        monolithicExpr));
         currentFrameNumber++;
         if (propertyOpt) {
             frames.get(currentFrameNumber).refine(monolithicExpr.getPropExpr());
@@ -326,18 +364,15 @@ public class Ic3Checker
 
         if (propagateOpt) {
             for (int j = 1; j < currentFrameNumber; j++) {
-                for (var c : frames.get(j).getExprs()) {
-                    try (var wpp = new WithPushPop(solver)) {
-                        frames.get(j)
-                                .getExprs()
-                                .forEach(ex -> solver.track(PathUtils.unfold(ex, 0)));
-                        getConjuncts(monolithicExpr.getTransExpr())
-                                .forEach(ex -> solver.track(PathUtils.unfold(ex, 0)));
-                        solver.track(
-                                PathUtils.unfold(Not(c), monolithicExpr.getTransOffsetIndex()));
-                        if (solver.check().isUnsat()) {
-                            frames.get(j + 1).refine(c);
-                        }
+                final Frame frame = frames.get(j);
+                for (var c : List.copyOf(frame.getExprs())) {
+                    // Pushing a lemma forward only asserts it under the literal of the next frame
+                    final List<Expr<BoolType>> assumptions = frame.getAssumptions();
+                    assumptions.add(transActivationLiteral);
+                    assumptions.add(
+                            PathUtils.unfold(Not(c), monolithicExpr.getTransOffsetIndex()));
+                    if (frame.getSolver().check(assumptions).isUnsat()) {
+                        frame.propagate(c);
                     }
                 }
                 if (frames.get(j + 1).equalsParent()) {
@@ -350,6 +385,25 @@ public class Ic3Checker
         return false;
     }
 
+    private void closeFrameSolvers() {
+        for (final Frame frame : frames) {
+            final UCSolver frameSolver = frame.getSolver();
+            if (frameSolver != solver) {
+                try {
+                    frameSolver.close();
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+    }
+
+    private UCSolver createSolver() {
+        final UCSolver solver = AssumptionSolverWrapper.ensureUC(solverFactory.createUCSolver());
+        solver.track(transExprs);
+        return solver;
+    }
+
     public Trace<ExplState, ExprAction> makeTrace(
             LinkedList<ProofObligation> forwardProofObligations) {
         var abstractStates = new ArrayList<ExprState>();
@@ -27,13 +27,20 @@ import hu.bme.mit.theta.analysis.algorithm.loopchecker.AcceptancePredicate
 import hu.bme.mit.theta.analysis.expr.ExprAction
 import hu.bme.mit.theta.analysis.expr.ExprState
 import hu.bme.mit.theta.common.logging.Logger
+import hu.bme.mit.theta.common.metrics.Metrics
 
-class ASGAbstractor<S : ExprState, A : ExprAction, P : Prec>(
+private val SUCC_TIMER = Metrics.timer("analysis.transfunc.getSuccStates")
+
+class ASGAbstractor<S : ExprState, A : ExprAction, P : Prec>
+@JvmOverloads
+constructor(
   private val analysis: Analysis<S, in A, in P>,
   private val lts: LTS<in S, A>,
   private val acceptancePredicate: AcceptancePredicate<S, A>,
   private val searchStrategy: LoopCheckerSearchStrategy,
   private val logger: Logger,
+  /** Number of threads of multi-core search strategies (0: number of available processors). */
+  private val searchThreads: Int = 0,
 ) : Abstractor<P, ASG<S, A>> {
 
   override fun createProof() = ASG(acceptancePredicate)
@@ -50,12 +57,14 @@ class ASGAbstractor<S : ExprState, A : ExprAction, P : Prec>(
         }
         node.expanded = true
         return lts.getEnabledActionsFor(node.state).flatMap { action ->
-          analysis.transFunc.getSuccStates(node.state, action, prec).map(ASG::getOrCreateNode).map {
-            ASG.drawEdge(node, it, action, acceptancePredicate.test(Pair(it.state, action)))
-          }
+          SUCC_TIMER.time { analysis.transFunc.getSuccStates(node.state, action, prec) }
+            .map(ASG::getOrCreateNode)
+            .map {
+              ASG.drawEdge(node, it, action, acceptancePredicate.test(Pair(it.state, action)))
+            }
         }
       }
-    val searchResult = searchStrategy.search(ASG, acceptancePredicate, expander, logger)
+    val searchResult = searchStrategy.search(ASG, acceptancePredicate, expander, logger, searchThreads)
     ASG.traces = searchResult.toList()
     return AbstractorResult(searchResult.isEmpty())
   }
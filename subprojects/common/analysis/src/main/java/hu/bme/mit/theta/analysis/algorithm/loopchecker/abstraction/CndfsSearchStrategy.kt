@@ -0,0 +1,203 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.loopchecker.abstraction
+
+import hu.bme.mit.theta.analysis.algorithm.asg.ASGEdge
+import hu.bme.mit.theta.analysis.algorithm.asg.ASGNode
+import hu.bme.mit.theta.analysis.algorithm.asg.ASGTrace
+import hu.bme.mit.theta.analysis.algorithm.loopchecker.AcceptancePredicate
+import hu.bme.mit.theta.analysis.expr.ExprAction
+import hu.bme.mit.theta.analysis.expr.ExprState
+import hu.bme.mit.theta.common.logging.Logger
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicReference
+
+/**
+ * Multi-core nested depth-first search (CNDFS, Evangelista et al.). Every worker runs its own
+ * nested search, visiting the successors in a different order, while the blue and red colours are
+ * shared among the workers, so they prune each other's search space. The first lasso found stops
+ * all workers.
+ *
+ * Accepting edges are handled by searching over (node, entered through an accepting edge or into an
+ * accepting node) pairs. Expanding the abstract state graph is not thread-safe, so expansions are
+ * serialized; the parallelism pays off when traversing already expanded parts of the graph.
+ */
+class CndfsSearchStrategy(
+  /** Number of worker threads (0: number of available processors). */
+  private val threads: Int = 0,
+) : ILoopCheckerSearchStrategy {
+
+  override fun <S : ExprState, A : ExprAction> search(
+    initNodes: Collection<ASGNode<S, A>>,
+    target: AcceptancePredicate<S, A>,
+    expand: NodeExpander<S, A>,
+    logger: Logger,
+  ): Collection<ASGTrace<S, A>> {
+    val workers = if (threads > 0) threads else Runtime.getRuntime().availableProcessors()
+    val lock = Any()
+    val synchronizedExpand: NodeExpander<S, A> = { node ->
+      synchronized(lock) { expand(node).toList() }
+    }
+    val colors = SharedColors<S, A>()
+    val executor = Executors.newFixedThreadPool(workers)
+    try {
+      val futures =
+        (0 until workers).map { index ->
+          executor.submit {
+            Worker(index, initNodes.toList(), target, synchronizedExpand, colors).run()
+          }
+        }
+      futures.forEach { it.get() }
+    } catch (e: ExecutionException) {
+      throw e.cause ?: e
+    } finally {
+      colors.aborted = true
+      executor.shutdownNow()
+    }
+    return listOfNotNull(colors.lasso.get())
+  }
+
+  /** A node of the abstract state graph, and whether it was entered in an accepting way. */
+  private data class SearchNode<S : ExprState, A : ExprAction>(
+    val node: ASGNode<S, A>,
+    val accepting: Boolean,
+  )
+
+  private data class Successor<S : ExprState, A : ExprAction>(
+    val edge: ASGEdge<S, A>,
+    val node: SearchNode<S, A>,
+  )
+
+  private class SharedColors<S : ExprState, A : ExprAction> {
+    val blue: MutableSet<SearchNode<S, A>> = ConcurrentHashMap.newKeySet()
+    val red: MutableSet<SearchNode<S, A>> = ConcurrentHashMap.newKeySet()
+    val lasso = AtomicReference<ASGTrace<S, A>?>()
+    @Volatile var aborted = false
+
+    val done
+      get() = aborted || lasso.get() != null
+  }
+
+  private class Worker<S : ExprState, A : ExprAction>(
+    private val index: Int,
+    private val initNodes: List<ASGNode<S, A>>,
+    private val target: AcceptancePredicate<S, A>,
+    private val expand: NodeExpander<S, A>,
+    private val colors: SharedColors<S, A>,
+  ) {
+
+    // the blue search stack (the cyan nodes of this worker), and the edges leading to them
+    private val cyan = HashMap<SearchNode<S, A>, Int>()
+    private val stackNodes = ArrayList<SearchNode<S, A>>()
+    private val stackEdges = ArrayList<ASGEdge<S, A>?>()
+    private val stackSuccessors = ArrayList<Iterator<Successor<S, A>>>()
+
+    fun run() {
+      for (i in initNodes.indices) {
+        val root = SearchNode(initNodes[(i + index) % initNodes.size], false)
+        if (!root.node.state.isBottom && root !in colors.blue) {
+          blueSearch(root)
+        }
+        if (colors.done) return
+      }
+    }
+
+    private fun successors(node: SearchNode<S, A>): Iterator<Successor<S, A>> {
+      val edges = expand(node.node).toList()
+      val offset = if (edges.isEmpty()) 0 else index % edges.size
+      return (edges.subList(offset, edges.size) + edges.subList(0, offset))
+        .asSequence()
+        .filter { !it.target.state.isBottom }
+        .map { Successor(it, SearchNode(it.target, target.test(Pair(it.target.state, it.action)))) }
+        .iterator()
+    }
+
+    private fun push(node: SearchNode<S, A>, edge: ASGEdge<S, A>?) {
+      cyan[node] = stackNodes.size
+      stackNodes.add(node)
+      stackEdges.add(edge)
+      stackSuccessors.add(successors(node))
+    }
+
+    private fun blueSearch(root: SearchNode<S, A>) {
+      push(root, null)
+      while (stackNodes.isNotEmpty()) {
+        if (colors.done) return
+        val successors = stackSuccessors.last()
+        if (successors.hasNext()) {
+          val (edge, next) = successors.next()
+          if (next !in cyan && next !in colors.blue) {
+            push(next, edge)
+          }
+        } else {
+          val node = stackNodes.last()
+          colors.blue.add(node)
+          if (node.accepting && redSearch(node)) return
+          cyan.remove(node)
+          stackNodes.removeAt(stackNodes.lastIndex)
+          stackEdges.removeAt(stackEdges.lastIndex)
+          stackSuccessors.removeAt(stackSuccessors.lastIndex)
+        }
+      }
+    }
+
+    /** Returns true if the search should stop (a lasso was found by some worker). */
+    private fun redSearch(seed: SearchNode<S, A>): Boolean {
+      val visited = hashSetOf(seed)
+      val edges = ArrayList<ASGEdge<S, A>>()
+      val successorStack = arrayListOf(successors(seed))
+      while (successorStack.isNotEmpty()) {
+        if (colors.done) return true
+        val successors = successorStack.last()
+        if (successors.hasNext()) {
+          val (edge, next) = successors.next()
+          val cyanIndex = cyan[next]
+          if (cyanIndex != null) {
+            edges.add(edge)
+            reportLasso(cyanIndex, edges)
+            return true
+          }
+          if (next !in visited && next !in colors.red) {
+            visited.add(next)
+            edges.add(edge)
+            successorStack.add(successors(next))
+          }
+        } else {
+          successorStack.removeAt(successorStack.lastIndex)
+          if (edges.isNotEmpty()) edges.removeAt(edges.lastIndex)
+        }
+      }
+      // wait for the other workers' red searches, which might still find a cycle
+      for (node in visited) {
+        if (node != seed && node.accepting) {
+          while (node !in colors.red && !colors.done) Thread.yield()
+        }
+      }
+      colors.red.addAll(visited)
+      return colors.done
+    }
+
+    /** The lasso goes along the blue stack to its [cyanIndex]th node, then loops via [redPath]. */
+    private fun reportLasso(cyanIndex: Int, redPath: List<ASGEdge<S, A>>) {
+      val honda = stackNodes[cyanIndex].node
+      val tail = stackEdges.subList(1, cyanIndex + 1).map { it!! }
+      val loop = stackEdges.subList(cyanIndex + 1, stackEdges.size).map { it!! } + redPath
+      colors.lasso.compareAndSet(null, ASGTrace(tail, honda, loop))
+    }
+  }
+}
@@ -27,10 +27,13 @@ import hu.bme.mit.theta.common.logging.NullLogger
 
 typealias NodeExpander<S, A> = (ASGNode<S, A>) -> Collection<ASGEdge<S, A>>
 
-enum class LoopCheckerSearchStrategy(private val strategy: ILoopCheckerSearchStrategy) {
-  GDFS(GdfsSearchStrategy),
-  NDFS(NdfsSearchStrategy),
-  FULL(FullSearchStrategy);
+enum class LoopCheckerSearchStrategy(
+  private val strategy: (threads: Int) -> ILoopCheckerSearchStrategy,
+) {
+  GDFS({ GdfsSearchStrategy }),
+  NDFS({ NdfsSearchStrategy }),
+  CNDFS(::CndfsSearchStrategy),
+  FULL({ FullSearchStrategy });
 
   companion object {
 
@@ -42,7 +45,8 @@ enum class LoopCheckerSearchStrategy(private val strategy: ILoopCheckerSearchStr
     target: AcceptancePredicate<S, A>,
     expand: NodeExpander<S, A>,
     logger: Logger = NullLogger.getInstance(),
-  ): Collection<ASGTrace<S, A>> = strategy.search(ASG.initNodes, target, expand, logger)
+    threads: Int = 0,
+  ): Collection<ASGTrace<S, A>> = strategy(threads).search(ASG.initNodes, target, expand, logger)
 }
 
 interface ILoopCheckerSearchStrategy {
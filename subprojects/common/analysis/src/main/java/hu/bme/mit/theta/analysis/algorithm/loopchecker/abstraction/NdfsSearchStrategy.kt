@@ -23,6 +23,11 @@ import hu.bme.mit.theta.analysis.expr.ExprAction
 import hu.bme.mit.theta.analysis.expr.ExprState
 import hu.bme.mit.theta.common.logging.Logger
 
+/**
+ * Nested depth-first search. Both searches use an explicit stack and a single mutable path instead
+ * of recursion and copying the path at every step, so deep lassos need neither a large thread
+ * stack nor quadratic time to build the counterexample.
+ */
 object NdfsSearchStrategy : ILoopCheckerSearchStrategy {
 
   override fun <S : ExprState, A : ExprAction> search(
@@ -33,71 +38,94 @@ object NdfsSearchStrategy : ILoopCheckerSearchStrategy {
   ): Collection<ASGTrace<S, A>> {
     for (node in initNodes) {
       for (edge in expand(node)) {
-        val result = blueSearch(edge, emptyList(), mutableSetOf(), mutableSetOf(), target, expand)
-        if (!result.isEmpty()) return result
+        val result = blueSearch(edge, mutableSetOf(), target, expand)
+        if (result != null) return setOf(result)
       }
     }
     return emptyList()
   }
 
+  /**
+   * Looks for a path from the target of [initEdge] back to [seed] that does not go through any node
+   * in [redNodes]. [path] is the path leading to [initEdge]; it is restored before returning.
+   */
   private fun <S : ExprState, A : ExprAction> redSearch(
     seed: ASGNode<S, A>,
-    edge: ASGEdge<S, A>,
-    trace: List<ASGEdge<S, A>>,
+    initEdge: ASGEdge<S, A>,
+    path: MutableList<ASGEdge<S, A>>,
     redNodes: MutableSet<ASGNode<S, A>>,
-    target: AcceptancePredicate<S, A>,
     expand: NodeExpander<S, A>,
-  ): List<ASGEdge<S, A>> {
-    val targetNode = edge.target
-    if (targetNode.state.isBottom) {
-      return emptyList()
-    }
-    if (targetNode == seed && trace.isNotEmpty()) {
-      return trace + edge
-    }
-    if (redNodes.contains(targetNode)) {
-      return emptyList()
-    }
-    redNodes.add(edge.target)
-    for (nextEdge in expand(targetNode)) {
-      val redSearch: List<ASGEdge<S, A>> =
-        redSearch(seed, nextEdge, trace + edge, redNodes, target, expand)
-      if (redSearch.isNotEmpty()) return redSearch
+  ): List<ASGEdge<S, A>>? {
+    val pathSize = path.size
+    val successors = ArrayList<Iterator<ASGEdge<S, A>>>()
+    var edge: ASGEdge<S, A>? = initEdge
+    try {
+      while (true) {
+        if (edge != null) {
+          val targetNode = edge.target
+          if (!targetNode.state.isBottom) {
+            if (targetNode == seed && path.isNotEmpty()) {
+              path.add(edge)
+              return path.toList()
+            }
+            if (redNodes.add(targetNode)) {
+              path.add(edge)
+              successors.add(expand(targetNode).iterator())
+            }
+          }
+          edge = null
+        }
+        val next = successors.lastOrNull() ?: return null
+        if (next.hasNext()) {
+          edge = next.next()
+        } else {
+          successors.removeAt(successors.lastIndex)
+          path.removeAt(path.lastIndex)
+        }
+      }
+    } finally {
+      while (path.size > pathSize) path.removeAt(path.lastIndex)
     }
-    return emptyList()
   }
 
   private fun <S : ExprState, A : ExprAction> blueSearch(
-    edge: ASGEdge<S, A>,
-    trace: List<ASGEdge<S, A>>,
+    initEdge: ASGEdge<S, A>,
     blueNodes: MutableSet<ASGNode<S, A>>,
-    redNodes: Set<ASGNode<S, A>>,
     target: AcceptancePredicate<S, A>,
     expand: NodeExpander<S, A>,
-  ): Collection<ASGTrace<S, A>> {
-    val targetNode = edge.target
-    if (targetNode.state.isBottom) {
-      return emptyList()
-    }
-    if (target.test(Pair(targetNode.state, edge.action))) {
-      // Edge source can only be null artificially, and is only used when calling other search
-      // strategies
-      val accNode = if (targetNode.accepting) targetNode else edge.source!!
-      for (outEdge in expand(edge.target)) {
-        val redSearch: List<ASGEdge<S, A>> =
-          redSearch(accNode, outEdge, trace + edge, mutableSetOf(), target, expand)
-        if (redSearch.isNotEmpty()) return setOf(ASGTrace(redSearch, accNode))
+  ): ASGTrace<S, A>? {
+    val path = ArrayList<ASGEdge<S, A>>()
+    val successors = ArrayList<Iterator<ASGEdge<S, A>>>()
+    var edge: ASGEdge<S, A>? = initEdge
+    while (true) {
+      if (edge != null) {
+        val targetNode = edge.target
+        if (!targetNode.state.isBottom) {
+          path.add(edge)
+          if (target.test(Pair(targetNode.state, edge.action))) {
+            // Edge source can only be null artificially, and is only used when calling other
+            // search strategies
+            val accNode = if (targetNode.accepting) targetNode else edge.source!!
+            for (outEdge in expand(targetNode)) {
+              val lasso = redSearch(accNode, outEdge, path, mutableSetOf(), expand)
+              if (lasso != null) return ASGTrace(lasso, accNode)
+            }
+          }
+          if (blueNodes.add(targetNode)) {
+            successors.add(expand(targetNode).iterator())
+          } else {
+            path.removeAt(path.lastIndex)
+          }
+        }
+        edge = null
+      }
+      val next = successors.lastOrNull() ?: return null
+      if (next.hasNext()) {
+        edge = next.next()
+      } else {
+        successors.removeAt(successors.lastIndex)
+        path.removeAt(path.lastIndex)
       }
     }
-    if (blueNodes.contains(targetNode)) {
-      return emptyList()
-    }
-    blueNodes.add(edge.target)
-    for (nextEdge in expand(targetNode)) {
-      val blueSearch: Collection<ASGTrace<S, A>> =
-        blueSearch(nextEdge, trace + edge, blueNodes, redNodes, target, expand)
-      if (blueSearch.isNotEmpty()) return blueSearch
-    }
-    return emptyList()
   }
 }
@@ -37,6 +37,7 @@ import hu.bme.mit.theta.analysis.expr.ExprAction
 import hu.bme.mit.theta.analysis.unit.UnitPrec
 import hu.bme.mit.theta.common.container.Containers
 import hu.bme.mit.theta.common.logging.Logger
+import hu.bme.mit.theta.common.metrics.Metrics
 import hu.bme.mit.theta.core.decl.Decl
 import hu.bme.mit.theta.core.decl.VarDecl
 import hu.bme.mit.theta.core.type.Expr
@@ -58,12 +59,15 @@ constructor(
   private val iterationStrategy: IterationStrategy = IterationStrategy.GSAT,
   private val traceTimeout: Long = 10,
   private val variableOrdering: List<VarDecl<*>> = monolithicExpr.orderVars(),
+  private val cachePolicy: CachePolicy = CachePolicy.unbounded(),
 ) : SafetyChecker<MddProof, Trace<ExplState, ExprAction>, UnitPrec> {
 
   enum class IterationStrategy {
     BFS,
     SAT,
     GSAT,
+    /** Generalized saturation with independent subproblems solved in parallel. */
+    PGSAT,
   }
 
   override fun check(prec: UnitPrec?): SafetyResult<MddProof, Trace<ExplState, ExprAction>> {
@@ -148,18 +152,39 @@ constructor(
           BfsProvider(stateSig.variableOrder)
         }
         IterationStrategy.SAT -> {
-          SimpleSaturationProvider(stateSig.variableOrder)
+          SimpleSaturationProvider(
+            stateSig.variableOrder,
+            LegacyRelationalProductProvider(stateSig.variableOrder),
+            cachePolicy,
+          )
         }
         IterationStrategy.GSAT -> {
-          GeneralizedSaturationProvider(stateSig.variableOrder)
+          GeneralizedSaturationProvider(
+            stateSig.variableOrder,
+            LegacyRelationalProductProvider(stateSig.variableOrder),
+            cachePolicy,
+          )
+        }
+        IterationStrategy.PGSAT -> {
+          ParallelSaturationProvider(stateSig.variableOrder)
         }
       }
-    val stateSpace =
-      stateSpaceProvider.compute(
-        MddNodeInitializer.of(initNode),
-        targetedNextStates,
-        stateSig.topVariableHandle,
+    val cacheGauges =
+      listOf(
+        Metrics.gauge("mdd.cache.hits") { stateSpaceProvider.hitCount },
+        Metrics.gauge("mdd.cache.queries") { stateSpaceProvider.queryCount },
+        Metrics.gauge("mdd.cache.size") { stateSpaceProvider.cacheSize },
       )
+    val stateSpace =
+      try {
+        stateSpaceProvider.compute(
+          MddNodeInitializer.of(initNode),
+          targetedNextStates,
+          stateSig.topVariableHandle,
+        )
+      } finally {
+        cacheGauges.forEach { it.close() }
+      }
 
     logger.write(Logger.Level.INFO, "Enumerated state-space\n")
 
@@ -183,6 +208,9 @@ constructor(
       )
 
     logger.write(Logger.Level.MAINSTEP, "%s\n", statistics)
+    stateSpaceProvider.cacheStatisticsPerLevel.forEach { (level, levelStatistics) ->
+      logger.write(Logger.Level.DETAIL, "Operation caches of %s: %s\n", level, levelStatistics)
+    }
 
     // var explTrans = MddExplicitRepresentationExtractor.INSTANCE.transform(transitionNode,
     // transSig.getTopVariableHandle());
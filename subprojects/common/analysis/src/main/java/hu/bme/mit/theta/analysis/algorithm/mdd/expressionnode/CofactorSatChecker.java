@@ -0,0 +1,180 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.mdd.expressionnode;
+
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.False;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.True;
+
+import hu.bme.mit.theta.common.metrics.Counter;
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.core.decl.ConstDecl;
+import hu.bme.mit.theta.core.model.ImmutableValuation;
+import hu.bme.mit.theta.core.model.MutableValuation;
+import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.LitExpr;
+import hu.bme.mit.theta.core.type.Type;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.booltype.FalseExpr;
+import hu.bme.mit.theta.core.type.booltype.TrueExpr;
+import hu.bme.mit.theta.core.type.bvtype.BvType;
+import hu.bme.mit.theta.core.type.enumtype.EnumType;
+import hu.bme.mit.theta.core.utils.BvUtils;
+import hu.bme.mit.theta.core.utils.ExprUtils;
+import hu.bme.mit.theta.solver.Solver;
+import hu.bme.mit.theta.solver.SolverPool;
+import hu.bme.mit.theta.solver.utils.WithPushPop;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides the satisfiability of the cofactors built while exploring expression nodes. Results are
+ * cached by the canonized expression. Expressions whose constants all have a small finite domain
+ * (bool, enum and bitvector) are decided by evaluating them on every assignment instead of calling
+ * a solver.
+ */
+final class CofactorSatChecker {
+
+    private static final int MAX_CACHE_SIZE = 1 << 16;
+
+    /** Maximal number of assignments enumerated instead of calling a solver. */
+    private static final long MAX_ASSIGNMENTS = 1 << 10;
+
+    private static final Counter QUERY_COUNTER = Metrics.counter("mdd.cofactor.queries");
+    private static final Counter HIT_COUNTER = Metrics.counter("mdd.cofactor.hits");
+    private static final Counter EVALUATION_COUNTER = Metrics.counter("mdd.cofactor.evaluations");
+
+    private static final Map<Expr<BoolType>, Boolean> cache = new ConcurrentHashMap<>();
+
+    private CofactorSatChecker() {}
+
+    /**
+     * Checks if a canonized expression (see {@link ExprUtils#canonize(Expr)}) is satisfiable.
+     * Structurally equal cofactors are only checked once.
+     */
+    static boolean isSat(final Expr<BoolType> canonizedExpr, final SolverPool solverPool) {
+        if (canonizedExpr instanceof TrueExpr) return true;
+        if (canonizedExpr instanceof FalseExpr) return false;
+
+        QUERY_COUNTER.inc();
+        final Boolean cached = cache.get(canonizedExpr);
+        if (cached != null) {
+            HIT_COUNTER.inc();
+            return cached;
+        }
+
+        final boolean sat;
+        final List<ConstDecl<?>> constants = getEnumerableConstants(canonizedExpr);
+        if (constants != null) {
+            sat = findModel(canonizedExpr, constants) != null;
+        } else {
+            final Solver solver = solverPool.requestSolver();
+            try (var wpp = new WithPushPop(solver)) {
+                solver.add(canonizedExpr);
+                sat = solver.check().isSat();
+            } finally {
+                solverPool.returnSolver(solver);
+            }
+        }
+
+        if (cache.size() >= MAX_CACHE_SIZE) cache.clear();
+        cache.put(canonizedExpr, sat);
+        return sat;
+    }
+
+    /**
+     * Gets the constants of an expression if it can be decided by enumerating their values.
+     *
+     * @return the constants, or null if the expression has variables, a constant with an
+     *     unsupported or infinite domain, or too many assignments
+     */
+    static List<ConstDecl<?>> getEnumerableConstants(final Expr<BoolType> expr) {
+        if (!ExprUtils.getVars(expr).isEmpty()) return null;
+        final List<ConstDecl<?>> constants = new ArrayList<>(ExprUtils.getConstants(expr));
+        long assignments = 1;
+        for (final ConstDecl<?> constant : constants) {
+            final Type type = constant.getType();
+            if (!(type instanceof BoolType || type instanceof EnumType || type instanceof BvType)
+                    || type.getDomainSize().isInfinite()
+                    || type.getDomainSize().isBiggerThan(MAX_ASSIGNMENTS)) {
+                return null;
+            }
+            assignments *= type.getDomainSize().getFiniteSize().longValue();
+            if (assignments > MAX_ASSIGNMENTS) return null;
+        }
+        return constants;
+    }
+
+    /**
+     * Searches a satisfying assignment of the given constants by evaluating the expression.
+     *
+     * @param constants all constants of the expression, see {@link #getEnumerableConstants(Expr)}
+     * @return a model assigning every constant, or null if the expression is unsatisfiable
+     */
+    static Valuation findModel(final Expr<BoolType> expr, final List<ConstDecl<?>> constants) {
+        EVALUATION_COUNTER.inc();
+        final List<List<LitExpr<?>>> domains =
+                constants.stream().map(c -> getLiterals(c.getType())).toList();
+        final int[] indices = new int[constants.size()];
+        final MutableValuation valuation = new MutableValuation();
+        while (true) {
+            for (int i = 0; i < indices.length; i++) {
+                valuation.put(constants.get(i), domains.get(i).get(indices[i]));
+            }
+            if (evaluatesToTrue(expr, valuation)) {
+                return ImmutableValuation.copyOf(valuation);
+            }
+            int i = 0;
+            while (i < indices.length && ++indices[i] == domains.get(i).size()) {
+                indices[i] = 0;
+                i++;
+            }
+            if (i == indices.length) return null;
+        }
+    }
+
+    private static boolean evaluatesToTrue(final Expr<BoolType> expr, final Valuation valuation) {
+        try {
+            return ExprUtils.simplify(expr, valuation) instanceof TrueExpr;
+        } catch (ArithmeticException e) {
+            // This is needed for division by zero cases
+            return false;
+        }
+    }
+
+    private static List<LitExpr<?>> getLiterals(final Type type) {
+        final List<LitExpr<?>> literals = new ArrayList<>();
+        if (type instanceof BoolType) {
+            literals.add(False());
+            literals.add(True());
+        } else if (type instanceof EnumType enumType) {
+            enumType.getValues().forEach(value -> literals.add(enumType.litFromShortName(value)));
+        } else if (type instanceof BvType bvType) {
+            final int domainSize = bvType.getDomainSize().getFiniteSize().intValueExact();
+            for (int i = 0; i < domainSize; i++) {
+                literals.add(
+                        BvUtils.bigIntegerToNeutralBvLitExpr(
+                                BigInteger.valueOf(i), bvType.getSize()));
+            }
+        } else {
+            throw new IllegalArgumentException("Type " + type + " can not be enumerated");
+        }
+        return literals;
+    }
+}
@@ -30,6 +30,7 @@ import hu.bme.mit.delta.java.mdd.MddVariable;
 import hu.bme.mit.theta.analysis.algorithm.mdd.identitynode.IdentityRepresentation;
 import hu.bme.mit.theta.common.GrowingIntArray;
 import hu.bme.mit.theta.common.exception.NotSolvableException;
+import hu.bme.mit.theta.core.decl.ConstDecl;
 import hu.bme.mit.theta.core.decl.Decl;
 import hu.bme.mit.theta.core.model.ImmutableValuation;
 import hu.bme.mit.theta.core.model.MutableValuation;
@@ -169,19 +170,11 @@ public class MddExpressionRepresentation implements RecursiveIntObjMapView<MddNo
                     ExprUtils.canonize(ExprUtils.simplify(simplifiedExpr));
             MddGraph<Expr> mddGraph = (MddGraph<Expr>) mddVariable.getMddGraph();
 
-            if (canonizedExpr instanceof FalseExpr) {
-                childNode = null;
+            if (CofactorSatChecker.isSat(canonizedExpr, solverPool)) {
+                // TODO replace this with canonizedExpr if remainder expression is needed
+                childNode = mddGraph.getNodeFor(True());
             } else {
-                var solver = solverPool.requestSolver();
-                try (var wpp = new WithPushPop(solver)) {
-                    solver.add(canonizedExpr);
-                    if (solver.check().isSat()) {
-                        // TODO replace this with canonizedExpr if remainder expression is needed
-                        childNode = mddGraph.getNodeFor(True());
-                    } else {
-                        childNode = null;
-                    }
-                }
+                childNode = null;
             }
         }
         if (!mddVariable.isNullOrZero(childNode)) explicitRepresentation.cacheNode(key, childNode);
@@ -396,24 +389,12 @@ public class MddExpressionRepresentation implements RecursiveIntObjMapView<MddNo
                     || currentRepresentation.explicitRepresentation.getCacheView().defaultValue()
                             != null) return true;
             else if (!currentRepresentation.explicitRepresentation.isComplete()) {
-
-                if (solver == null) solver = solverPool.requestSolver();
-
-                final SolverStatus status;
-                final Valuation model;
                 final LitExpr<?> litExpr =
                         LitExprConverter.toLitExpr(
                                 assignment, currentRepresentation.decl.getType());
-                try (WithPushPop wpp = new WithPushPop(solver)) {
-                    solver.add(currentRepresentation.expr);
-                    solver.add(constraint);
-                    solver.add(Eq(currentRepresentation.decl.getRef(), litExpr));
-                    solver.check();
-                    status = solver.getStatus();
-                    model = status.isSat() ? solver.getModel() : null;
-                }
-                Preconditions.checkNotNull(status);
-                if (status.isSat()) {
+                final Valuation model =
+                        findModel(Eq(currentRepresentation.decl.getRef(), litExpr));
+                if (model != null) {
                     cacheModel(model);
                     return true;
                 }
@@ -421,6 +402,30 @@ public class MddExpressionRepresentation implements RecursiveIntObjMapView<MddNo
             return false;
         }
 
+        /**
+         * Gets a model of the current expression, the constraint and the query, or null if their
+         * conjunction is unsatisfiable. Expressions over small finite domains are evaluated
+         * directly, otherwise the solver of the traverser is used.
+         */
+        private Valuation findModel(Expr<BoolType> query) {
+            final Expr<BoolType> expr = currentRepresentation.expr;
+            final Expr<BoolType> conjunction = And(expr, constraint, query);
+            final List<ConstDecl<?>> constants =
+                    CofactorSatChecker.getEnumerableConstants(conjunction);
+            if (constants != null) {
+                return CofactorSatChecker.findModel(conjunction, constants);
+            }
+
+            if (solver == null) solver = solverPool.requestSolver();
+            try (var wpp = new WithPushPop(solver)) {
+                solver.add(expr);
+                solver.add(constraint);
+                solver.add(query);
+                final SolverStatus status = solver.check();
+                return status.isSat() ? solver.getModel() : null;
+            }
+        }
+
         public MddNode peekDown(int assignment) {
             queryEdge(assignment);
             return currentRepresentation.explicitRepresentation.getCacheView().get(assignment);
@@ -428,36 +433,18 @@ public class MddExpressionRepresentation implements RecursiveIntObjMapView<MddNo
 
         public QueryResult queryEdge() {
             if (!currentRepresentation.explicitRepresentation.isComplete()) {
-
-                if (solver == null) solver = solverPool.requestSolver();
-
-                final Valuation model;
-                final SolverStatus status;
-                try (var wpp = new WithPushPop(solver)) {
-
-                    solver.add(currentRepresentation.expr);
-                    solver.add(constraint);
-                    final var negatedAssignments = new ArrayList<Expr<BoolType>>();
-                    for (var cur =
-                                    currentRepresentation
-                                            .explicitRepresentation
-                                            .getCacheView()
-                                            .cursor();
-                            cur.moveNext(); ) {
-                        negatedAssignments.add(
-                                Neq(
-                                        currentRepresentation.decl.getRef(),
-                                        LitExprConverter.toLitExpr(
-                                                cur.key(), currentRepresentation.decl.getType())));
-                    }
-                    solver.add(And(negatedAssignments));
-
-                    solver.check();
-                    status = solver.getStatus();
-                    model = status.isSat() ? solver.getModel() : null;
+                final var negatedAssignments = new ArrayList<Expr<BoolType>>();
+                for (var cur = currentRepresentation.explicitRepresentation.getCacheView().cursor();
+                        cur.moveNext(); ) {
+                    negatedAssignments.add(
+                            Neq(
+                                    currentRepresentation.decl.getRef(),
+                                    LitExprConverter.toLitExpr(
+                                            cur.key(), currentRepresentation.decl.getType())));
                 }
+                final Valuation model = findModel(And(negatedAssignments));
 
-                if (status.isSat()) {
+                if (model != null) {
                     final Decl<?> decl = currentRepresentation.decl;
                     final Optional<? extends LitExpr<?>> optionalLitExpr = model.eval(decl);
 
@@ -34,11 +34,8 @@ import hu.bme.mit.theta.core.model.ExprSubstitution;
 import hu.bme.mit.theta.core.model.Substitution;
 import hu.bme.mit.theta.core.type.Expr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
-import hu.bme.mit.theta.core.type.booltype.FalseExpr;
 import hu.bme.mit.theta.core.utils.ExprUtils;
-import hu.bme.mit.theta.solver.Solver;
 import hu.bme.mit.theta.solver.SolverPool;
-import hu.bme.mit.theta.solver.utils.WithPushPop;
 import java.util.function.Function;
 
 public class MddExpressionTemplate implements MddNode.Template {
@@ -48,18 +45,6 @@ public class MddExpressionTemplate implements MddNode.Template {
     private final SolverPool solverPool;
     private final boolean transExpr;
 
-    private static Solver lazySolver;
-
-    private static boolean isSat(Expr<BoolType> expr, SolverPool solverPool) {
-        if (lazySolver == null) lazySolver = solverPool.requestSolver();
-        boolean res;
-        try (var wpp = new WithPushPop(lazySolver)) {
-            lazySolver.add(expr);
-            res = lazySolver.check().isSat();
-        }
-        return res;
-    }
-
     private MddExpressionTemplate(
             Expr<BoolType> expr,
             Function<Object, Decl> extractDecl,
@@ -104,7 +89,7 @@ public class MddExpressionTemplate implements MddNode.Template {
         //        }
 
         // Check if terminal 0
-        if (canonizedExpr instanceof FalseExpr || !isSat(canonizedExpr, solverPool)) {
+        if (!CofactorSatChecker.isSat(canonizedExpr, solverPool)) {
             return null;
         }
 
@@ -165,7 +150,7 @@ public class MddExpressionTemplate implements MddNode.Template {
                 if (underConstants.contains(decl) || underConstants.contains(nextDecl)) {
                     // Check if expr and not(x' = x) is sat
                     final var andExpr = And(expr, Neq(decl.getRef(), nextDecl.getRef()));
-                    if (!isSat(andExpr, solverPool)) {
+                    if (!CofactorSatChecker.isSat(ExprUtils.canonize(andExpr), solverPool)) {
                         identityNeeded = true;
                     }
                 } else {
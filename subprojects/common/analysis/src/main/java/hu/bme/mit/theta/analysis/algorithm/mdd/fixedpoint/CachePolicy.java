@@ -0,0 +1,95 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.mdd.fixedpoint;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Determines how much the operation caches of the saturation based state space enumeration
+ * providers may grow.
+ *
+ * <ul>
+ *   <li>{@link Kind#UNBOUNDED} caches keep every result until the MDD graph is cleaned up.
+ *   <li>{@link Kind#LOSSY} caches are direct-mapped tables of a fixed capacity, as in classic BDD
+ *       packages: a new result overwrites whatever was stored in its slot.
+ *   <li>{@link Kind#GENERATIONAL} caches drop the relational product results of a level once every
+ *       saturation running on that level has finished, as those mostly refer to intermediate,
+ *       not yet saturated nodes.
+ * </ul>
+ */
+public final class CachePolicy {
+
+    public enum Kind {
+        UNBOUNDED,
+        LOSSY,
+        GENERATIONAL
+    }
+
+    private static final CachePolicy UNBOUNDED = new CachePolicy(Kind.UNBOUNDED, 0);
+    private static final CachePolicy GENERATIONAL = new CachePolicy(Kind.GENERATIONAL, 0);
+
+    private final Kind kind;
+    private final int capacity;
+
+    private CachePolicy(final Kind kind, final int capacity) {
+        this.kind = kind;
+        this.capacity = capacity;
+    }
+
+    public static CachePolicy unbounded() {
+        return UNBOUNDED;
+    }
+
+    public static CachePolicy generational() {
+        return GENERATIONAL;
+    }
+
+    /**
+     * Creates a policy for direct-mapped caches with at least the given number of slots per
+     * operation and level. The capacity is rounded up to the next power of two.
+     */
+    public static CachePolicy lossy(final int capacity) {
+        checkArgument(capacity > 0 && capacity <= 1 << 30, "Invalid cache capacity: " + capacity);
+        final int slots =
+                Integer.bitCount(capacity) == 1 ? capacity : Integer.highestOneBit(capacity) << 1;
+        return new CachePolicy(Kind.LOSSY, slots);
+    }
+
+    /**
+     * Parses a policy from {@code unbounded}, {@code generational} or the capacity of a lossy
+     * cache.
+     */
+    public static CachePolicy parse(final String policy) {
+        return switch (policy.toLowerCase()) {
+            case "unbounded" -> unbounded();
+            case "generational" -> generational();
+            default -> lossy(Integer.parseInt(policy));
+        };
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public String toString() {
+        return kind == Kind.LOSSY ? "LOSSY(" + capacity + ")" : kind.toString();
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.mdd.fixedpoint;
+
+/** Size and effectiveness of the operation caches of one MDD level. */
+public record CacheStatistics(long cacheSize, long queryCount, long hitCount, long evictionCount) {
+
+    public long missCount() {
+        return queryCount - hitCount;
+    }
+
+    public CacheStatistics add(final CacheStatistics other) {
+        return new CacheStatistics(
+                cacheSize + other.cacheSize,
+                queryCount + other.queryCount,
+                hitCount + other.hitCount,
+                evictionCount + other.evictionCount);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "size=%d, queries=%d, hits=%d, misses=%d, evictions=%d",
+                cacheSize, queryCount, hitCount, missCount(), evictionCount);
+    }
+}
@@ -22,6 +22,7 @@ import hu.bme.mit.delta.collections.IntObjMapView;
 import hu.bme.mit.delta.java.mdd.*;
 import hu.bme.mit.delta.java.mdd.impl.MddStructuralTemplate;
 import hu.bme.mit.theta.analysis.algorithm.mdd.ansd.AbstractNextStateDescriptor;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
@@ -33,8 +34,7 @@ public final class CursorGeneralizedSaturationProvider
 
     private MddVariableOrder variableOrder;
     private RelationalProductProvider relProdProvider;
-    private final CacheManager<SaturationCache> cacheManager =
-            new CacheManager<>(v -> new SaturationCache());
+    private final CacheManager<SaturationCache> cacheManager;
     private MddNode terminalZeroNode;
 
     public CursorGeneralizedSaturationProvider(final MddVariableOrder variableOrder) {
@@ -43,8 +43,16 @@ public final class CursorGeneralizedSaturationProvider
 
     public CursorGeneralizedSaturationProvider(
             final MddVariableOrder variableOrder, final RelationalProductProvider relProdProvider) {
+        this(variableOrder, relProdProvider, CachePolicy.unbounded());
+    }
+
+    public CursorGeneralizedSaturationProvider(
+            final MddVariableOrder variableOrder,
+            final RelationalProductProvider relProdProvider,
+            final CachePolicy cachePolicy) {
         this.variableOrder = variableOrder;
         this.relProdProvider = relProdProvider;
+        this.cacheManager = new CacheManager<>(v -> new SaturationCache(cachePolicy));
         this.variableOrder.getMddGraph().registerCleanupListener(this);
         this.terminalZeroNode = variableOrder.getMddGraph().getTerminalZeroNode();
     }
@@ -110,7 +118,8 @@ public final class CursorGeneralizedSaturationProvider
                     nextState,
                     nextStateCursor,
                     mddVariable,
-                    cacheManager.getCacheFor(mddVariable));
+                    cacheManager.getCacheFor(mddVariable),
+                    true);
         }
     }
 
@@ -119,7 +128,8 @@ public final class CursorGeneralizedSaturationProvider
             AbstractNextStateDescriptor d,
             AbstractNextStateDescriptor.Cursor dCursor,
             MddVariable variable,
-            CacheManager<SaturationCache>.CacheHolder cache) {
+            CacheManager<SaturationCache>.CacheHolder cache,
+            boolean newGeneration) {
         if (n.isTerminal()
                 || d == AbstractNextStateDescriptor.terminalIdentity()
                 || d == AbstractNextStateDescriptor.terminalEmpty()) {
@@ -131,6 +141,9 @@ public final class CursorGeneralizedSaturationProvider
         if (ret != null) {
             return ret;
         }
+        if (newGeneration) {
+            cache.getCache().beginSaturation();
+        }
 
         if (verbose) {
             printIndent();
@@ -164,7 +177,8 @@ public final class CursorGeneralizedSaturationProvider
                                         : AbstractNextStateDescriptor.terminalEmpty(),
                                 cTo,
                                 variable.getLower().orElse(null),
-                                cache.getLower());
+                                cache.getLower(),
+                                true);
 
                 templateBuilder.set(
                         cFrom.key(),
@@ -216,6 +230,9 @@ public final class CursorGeneralizedSaturationProvider
             }
         } while (changed);
 
+        if (newGeneration) {
+            cache.getCache().endSaturation();
+        }
         cache.getCache().getSaturateCache().addToCache(n, d, nsat);
 
         if (verbose) {
@@ -460,7 +477,8 @@ public final class CursorGeneralizedSaturationProvider
 
         try (var dsatCursor = dsat.rootCursor()) {
             Preconditions.checkState(dsatCursor.moveNext());
-            ret = saturate(ret, dsat, dsatCursor, variable, cache);
+            // the result still belongs to the saturation that fired the transition
+            ret = saturate(ret, dsat, dsatCursor, variable, cache, false);
         }
 
         cache.getCache().getRelProdCache().addToCache(n, dsat, dfire, ret);
@@ -627,4 +645,9 @@ public final class CursorGeneralizedSaturationProvider
 
         return new RelProdCache(cacheManager);
     }
+
+    @Override
+    public Map<Object, CacheStatistics> getCacheStatisticsPerLevel() {
+        return SaturationCache.statisticsPerLevel(variableOrder, cacheManager);
+    }
 }
@@ -23,6 +23,7 @@ import hu.bme.mit.delta.collections.RecursiveIntObjMapView;
 import hu.bme.mit.delta.java.mdd.*;
 import hu.bme.mit.delta.java.mdd.impl.MddStructuralTemplate;
 import hu.bme.mit.theta.analysis.algorithm.mdd.ansd.AbstractNextStateDescriptor;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
@@ -33,8 +34,7 @@ public final class GeneralizedSaturationProvider implements StateSpaceEnumeratio
 
     private MddVariableOrder variableOrder;
     private RelationalProductProvider relProdProvider;
-    private final CacheManager<SaturationCache> cacheManager =
-            new CacheManager<>(v -> new SaturationCache());
+    private final CacheManager<SaturationCache> cacheManager;
     private MddNode terminalZeroNode;
 
     public GeneralizedSaturationProvider(final MddVariableOrder variableOrder) {
@@ -43,8 +43,16 @@ public final class GeneralizedSaturationProvider implements StateSpaceEnumeratio
 
     public GeneralizedSaturationProvider(
             final MddVariableOrder variableOrder, final RelationalProductProvider relProdProvider) {
+        this(variableOrder, relProdProvider, CachePolicy.unbounded());
+    }
+
+    public GeneralizedSaturationProvider(
+            final MddVariableOrder variableOrder,
+            final RelationalProductProvider relProdProvider,
+            final CachePolicy cachePolicy) {
         this.variableOrder = variableOrder;
         this.relProdProvider = relProdProvider;
+        this.cacheManager = new CacheManager<>(v -> new SaturationCache(cachePolicy));
         this.variableOrder.getMddGraph().registerCleanupListener(this);
         this.terminalZeroNode = variableOrder.getMddGraph().getTerminalZeroNode();
     }
@@ -104,14 +112,16 @@ public final class GeneralizedSaturationProvider implements StateSpaceEnumeratio
             final MddNode mddNode,
             final AbstractNextStateDescriptor nextState,
             final MddVariable mddVariable) {
-        return saturate(mddNode, nextState, mddVariable, cacheManager.getCacheFor(mddVariable));
+        return saturate(
+                mddNode, nextState, mddVariable, cacheManager.getCacheFor(mddVariable), true);
     }
 
     private MddNode saturate(
             final MddNode n,
             AbstractNextStateDescriptor d,
             MddVariable variable,
-            CacheManager<SaturationCache>.CacheHolder cache) {
+            CacheManager<SaturationCache>.CacheHolder cache,
+            boolean newGeneration) {
         if (n.isTerminal()
                 || d == AbstractNextStateDescriptor.terminalIdentity()
                 || d == AbstractNextStateDescriptor.terminalEmpty()) {
@@ -123,6 +133,9 @@ public final class GeneralizedSaturationProvider implements StateSpaceEnumeratio
         if (ret != null) {
             return ret;
         }
+        if (newGeneration) {
+            cache.getCache().beginSaturation();
+        }
 
         if (verbose) {
             printIndent();
@@ -142,7 +155,8 @@ public final class GeneralizedSaturationProvider implements StateSpaceEnumeratio
                             cFrom.value(),
                             d.getDiagonal(stateSpaceInfo).get(cFrom.key()),
                             variable.getLower().orElse(null),
-                            cache.getLower());
+                            cache.getLower(),
+                            true);
 
             templateBuilder.set(
                     cFrom.key(),
@@ -185,6 +199,9 @@ public final class GeneralizedSaturationProvider implements StateSpaceEnumeratio
             }
         } while (changed);
 
+        if (newGeneration) {
+            cache.getCache().endSaturation();
+        }
         cache.getCache().getSaturateCache().addToCache(n, d, nsat);
 
         if (verbose) {
@@ -435,7 +452,8 @@ public final class GeneralizedSaturationProvider implements StateSpaceEnumeratio
                     n.defaultValue() == null, "Default value is not supported with explicit edges");
         ret = variable.checkInNode(MddStructuralTemplate.of(template));
 
-        ret = saturate(ret, dsat, variable, cache);
+        // the result still belongs to the saturation that fired the transition
+        ret = saturate(ret, dsat, variable, cache, false);
 
         cache.getCache().getRelProdCache().addToCache(n, dsat, dfire, ret);
 
@@ -618,4 +636,13 @@ public final class GeneralizedSaturationProvider implements StateSpaceEnumeratio
     public long getHitCount() {
         return getSaturateCache().getHitCount();
     }
+
+    SaturationCache getSaturationCache(final MddVariable variable) {
+        return cacheManager.getCacheFor(variable).getCache();
+    }
+
+    @Override
+    public Map<Object, CacheStatistics> getCacheStatisticsPerLevel() {
+        return SaturationCache.statisticsPerLevel(variableOrder, cacheManager);
+    }
 }
@@ -0,0 +1,132 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.mdd.fixedpoint;
+
+import hu.bme.mit.delta.java.mdd.MddNode;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiPredicate;
+
+/**
+ * A single-threaded operation cache whose growth is governed by a {@link CachePolicy}. Unbounded
+ * and generational tables are hash maps, lossy tables are direct-mapped arrays where a colliding
+ * entry evicts the previous one.
+ *
+ * @param <K> the type of the operation keys
+ */
+public final class OperationCacheTable<K> {
+    private final Map<K, MddNode> map;
+    private final Object[] keys;
+    private final MddNode[] values;
+    private final int mask;
+
+    private long size = 0;
+    private long queryCount = 0;
+    private long hitCount = 0;
+    private long evictionCount = 0;
+
+    public OperationCacheTable(final CachePolicy policy) {
+        if (policy.getKind() == CachePolicy.Kind.LOSSY) {
+            this.map = null;
+            this.keys = new Object[policy.getCapacity()];
+            this.values = new MddNode[policy.getCapacity()];
+            this.mask = policy.getCapacity() - 1;
+        } else {
+            this.map = new HashMap<>();
+            this.keys = null;
+            this.values = null;
+            this.mask = 0;
+        }
+    }
+
+    private int slot(final K key) {
+        final int hash = key.hashCode() * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    public MddNode getOrNull(final K key) {
+        queryCount++;
+        final MddNode result;
+        if (map != null) {
+            result = map.get(key);
+        } else {
+            final int slot = slot(key);
+            result = Objects.equals(keys[slot], key) ? values[slot] : null;
+        }
+        if (result != null) {
+            hitCount++;
+        }
+        return result;
+    }
+
+    public void addToCache(final K key, final MddNode result) {
+        if (map != null) {
+            map.put(key, result);
+            return;
+        }
+        final int slot = slot(key);
+        if (keys[slot] == null) {
+            size++;
+        } else if (!keys[slot].equals(key)) {
+            evictionCount++;
+        }
+        keys[slot] = key;
+        values[slot] = result;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void clearSelectively(final BiPredicate<? super K, ? super MddNode> predicate) {
+        if (map != null) {
+            map.entrySet().removeIf(e -> predicate.test(e.getKey(), e.getValue()));
+            return;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null && predicate.test((K) keys[i], values[i])) {
+                keys[i] = null;
+                values[i] = null;
+                size--;
+            }
+        }
+    }
+
+    public void clear() {
+        if (map != null) {
+            map.clear();
+        } else {
+            Arrays.fill(keys, null);
+            Arrays.fill(values, null);
+            size = 0;
+        }
+    }
+
+    public long getCacheSize() {
+        return map != null ? map.size() : size;
+    }
+
+    public long getQueryCount() {
+        return queryCount;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+}
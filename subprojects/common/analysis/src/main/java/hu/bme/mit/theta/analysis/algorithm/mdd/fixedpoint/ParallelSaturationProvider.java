@@ -0,0 +1,454 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.mdd.fixedpoint;
+
+import com.google.common.base.Preconditions;
+import hu.bme.mit.delta.collections.IntObjCursor;
+import hu.bme.mit.delta.collections.IntObjMapView;
+import hu.bme.mit.delta.collections.RecursiveIntObjMapView;
+import hu.bme.mit.delta.java.mdd.*;
+import hu.bme.mit.delta.java.mdd.impl.MddStructuralTemplate;
+import hu.bme.mit.theta.analysis.algorithm.mdd.ansd.AbstractNextStateDescriptor;
+import hu.bme.mit.theta.analysis.algorithm.mdd.fixedpoint.ConcurrentSaturationCache.RelProdKey;
+import hu.bme.mit.theta.analysis.algorithm.mdd.fixedpoint.ConcurrentSaturationCache.SaturateKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * A multi-threaded variant of {@link GeneralizedSaturationProvider}. The saturation of the children
+ * of a node and the relational products started from the edges of a node are independent, so they
+ * are forked as tasks of a {@link ForkJoinPool}. Operation results are shared between the tasks
+ * through lock-striped {@link ConcurrentSaturationCache}s.
+ *
+ * <p>The unique tables of the MDD graph, and the lazily enumerated nodes and next state descriptors
+ * built on them, are not thread-safe: every access to them is serialized through a lock on the MDD
+ * graph. Tasks only hold this lock while they enumerate the edges of a node or check in a new node,
+ * never while they wait for other tasks.
+ */
+public final class ParallelSaturationProvider implements StateSpaceEnumerationProvider {
+    // Above this many queued tasks per worker, subproblems are solved in the current task.
+    private static final int SURPLUS_THRESHOLD = 3;
+
+    private final MddVariableOrder variableOrder;
+    private final RelationalProductProvider relProdProvider;
+    private final ForkJoinPool pool;
+    private final Object graphLock;
+    private final Map<MddVariable, ConcurrentSaturationCache> caches = new ConcurrentHashMap<>();
+    private final MddNode terminalZeroNode;
+
+    public ParallelSaturationProvider(final MddVariableOrder variableOrder) {
+        this(variableOrder, new LegacyRelationalProductProvider(variableOrder));
+    }
+
+    public ParallelSaturationProvider(
+            final MddVariableOrder variableOrder, final RelationalProductProvider relProdProvider) {
+        this(variableOrder, relProdProvider, ForkJoinPool.commonPool());
+    }
+
+    public ParallelSaturationProvider(
+            final MddVariableOrder variableOrder,
+            final RelationalProductProvider relProdProvider,
+            final ForkJoinPool pool) {
+        this.variableOrder = variableOrder;
+        this.relProdProvider = relProdProvider;
+        this.pool = pool;
+        this.graphLock = variableOrder.getMddGraph();
+        this.variableOrder.getMddGraph().registerCleanupListener(this);
+        this.terminalZeroNode = variableOrder.getMddGraph().getTerminalZeroNode();
+    }
+
+    @Override
+    public MddHandle compute(
+            AbstractNextStateDescriptor.Postcondition initializer,
+            AbstractNextStateDescriptor nextStateRelation,
+            MddVariableHandle highestAffectedVariable) {
+        final MddHandle initialStates =
+                relProdProvider.compute(
+                        variableOrder.getMddGraph().getHandleForTop(),
+                        initializer,
+                        highestAffectedVariable);
+
+        MddNode result;
+
+        if (highestAffectedVariable.getVariable().isPresent()) {
+            final MddVariable variable = highestAffectedVariable.getVariable().get();
+            result = this.compute(initialStates.getNode(), nextStateRelation, variable);
+        } else {
+            result =
+                    this.computeTerminal(
+                            initialStates.getNode(),
+                            nextStateRelation,
+                            highestAffectedVariable.getMddGraph());
+        }
+
+        return highestAffectedVariable.getHandleFor(result);
+    }
+
+    @Override
+    public MddNode compute(
+            final MddNode mddNode,
+            final AbstractNextStateDescriptor nextState,
+            final MddVariable mddVariable) {
+        return pool.invoke(new Job(() -> saturate(mddNode, nextState, mddVariable)));
+    }
+
+    private MddNode saturate(
+            final MddNode n, final AbstractNextStateDescriptor d, final MddVariable variable) {
+        if (n.isTerminal()
+                || d == AbstractNextStateDescriptor.terminalIdentity()
+                || d == AbstractNextStateDescriptor.terminalEmpty()) {
+            // TODO this does not handle level skips
+            return n;
+        }
+
+        final ConcurrentSaturationCache cache = cacheFor(variable);
+        final SaturateKey key = new SaturateKey(n, d);
+        final MddNode cached = cache.getSaturateCache().getOrNull(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        final MddStateSpaceInfo stateSpaceInfo;
+        final List<Integer> keys = new ArrayList<>();
+        final List<Supplier<MddNode>> jobs = new ArrayList<>();
+        synchronized (graphLock) {
+            stateSpaceInfo = new MddStateSpaceInfo(variable, n);
+            final IntObjMapView<AbstractNextStateDescriptor> diagonal =
+                    d.getDiagonal(stateSpaceInfo);
+            final MddVariable lower = variable.getLower().orElse(null);
+            for (IntObjCursor<? extends MddNode> cFrom = n.cursor(); cFrom.moveNext(); ) {
+                final MddNode child = cFrom.value();
+                final AbstractNextStateDescriptor childNextState = diagonal.get(cFrom.key());
+                keys.add(cFrom.key());
+                jobs.add(() -> saturate(child, childNextState, lower));
+            }
+        }
+        final List<MddNode> children = invokeAll(jobs);
+
+        MddNode nsat =
+                locked(
+                        () -> {
+                            final MddUnsafeTemplateBuilder templateBuilder =
+                                    JavaMddFactory.getDefault().createUnsafeTemplateBuilder();
+                            for (int i = 0; i < keys.size(); i++) {
+                                final int k = keys.get(i);
+                                templateBuilder.set(
+                                        k,
+                                        terminalZeroToNull(
+                                                unionChildren(
+                                                        templateBuilder.get(k),
+                                                        children.get(i),
+                                                        variable)));
+                            }
+                            return variable.checkInNode(
+                                    MddStructuralTemplate.of(templateBuilder.buildAndReset()));
+                        });
+
+        boolean changed;
+
+        do {
+            changed = false;
+
+            final Optional<Iterable<AbstractNextStateDescriptor>> splitNS = locked(d::split);
+            final Iterable<AbstractNextStateDescriptor> firings =
+                    splitNS.isPresent() ? splitNS.get() : List.of(d);
+            for (AbstractNextStateDescriptor dfire : firings) {
+                if (locked(() -> dfire.isLocallyIdentity(stateSpaceInfo))) {
+                    continue;
+                }
+                final MddNode nfire = satFire(nsat, d, dfire, variable);
+                final MddNode nprev = nsat;
+                final MddNode nunion = locked(() -> variable.union(nprev, nfire));
+
+                if (nunion != nsat) {
+                    nsat = nunion;
+                    changed = true;
+                }
+            }
+        } while (changed);
+
+        cache.getSaturateCache().addToCache(key, nsat);
+        return nsat;
+    }
+
+    private MddNode satFire(
+            final MddNode n,
+            final AbstractNextStateDescriptor dsat,
+            final AbstractNextStateDescriptor dfire,
+            final MddVariable variable) {
+        if (n == terminalZeroNode || dfire == AbstractNextStateDescriptor.terminalEmpty()) {
+            return terminalZeroNode;
+        }
+
+        if (dfire == AbstractNextStateDescriptor.terminalIdentity()) {
+            return n;
+        }
+
+        final List<Integer> keys = new ArrayList<>();
+        final List<Supplier<MddNode>> jobs = new ArrayList<>();
+        synchronized (graphLock) {
+            final MddStateSpaceInfo stateSpaceInfo = new MddStateSpaceInfo(variable, n);
+            final IntObjMapView<IntObjMapView<AbstractNextStateDescriptor>> offDiagonal =
+                    dfire.getOffDiagonal(stateSpaceInfo);
+            final IntObjMapView<AbstractNextStateDescriptor> satDiagonal =
+                    dsat.getDiagonal(stateSpaceInfo);
+            final MddVariable lower = variable.getLower().orElse(null);
+
+            for (IntObjCursor<? extends MddNode> cFrom =
+                            lhsInterpreter(n, variable, offDiagonal).cursor();
+                    cFrom.moveNext(); ) {
+                addOffDiagonalJobs(cFrom, offDiagonal, satDiagonal, lower, keys, jobs);
+            }
+        }
+        final List<MddNode> results = invokeAll(jobs);
+
+        return locked(() -> checkIn(n, variable, keys, results));
+    }
+
+    private MddNode relProd(
+            final MddNode n,
+            final AbstractNextStateDescriptor dsat,
+            final AbstractNextStateDescriptor dfire,
+            final MddVariable variable) {
+        if (n == terminalZeroNode || dfire == AbstractNextStateDescriptor.terminalEmpty()) {
+            return terminalZeroNode;
+        }
+
+        if (dfire == AbstractNextStateDescriptor.terminalIdentity()) {
+            return n;
+        }
+
+        if (n.isTerminal() && locked(dfire::evaluate)) {
+            return n;
+        }
+
+        final ConcurrentSaturationCache cache = cacheFor(variable);
+        final RelProdKey key = new RelProdKey(n, dsat, dfire);
+        final MddNode cached = cache.getRelProdCache().getOrNull(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        final List<Integer> keys = new ArrayList<>();
+        final List<Supplier<MddNode>> jobs = new ArrayList<>();
+        synchronized (graphLock) {
+            final MddStateSpaceInfo stateSpaceInfo = new MddStateSpaceInfo(variable, n);
+            final IntObjMapView<AbstractNextStateDescriptor> diagonal =
+                    dfire.getDiagonal(stateSpaceInfo);
+            final IntObjMapView<IntObjMapView<AbstractNextStateDescriptor>> offDiagonal =
+                    dfire.getOffDiagonal(stateSpaceInfo);
+            final IntObjMapView<AbstractNextStateDescriptor> satDiagonal =
+                    dsat.getDiagonal(stateSpaceInfo);
+            final MddVariable lower = variable.getLower().orElse(null);
+
+            for (IntObjCursor<? extends MddNode> cFrom =
+                            lhsInterpreter(n, variable, offDiagonal).cursor();
+                    cFrom.moveNext(); ) {
+                // Identity step
+                final AbstractNextStateDescriptor diagonalContinuation = diagonal.get(cFrom.key());
+                if (!AbstractNextStateDescriptor.isNullOrEmpty(diagonalContinuation)) {
+                    final MddNode from = cFrom.value();
+                    final AbstractNextStateDescriptor childSat = satDiagonal.get(cFrom.key());
+                    keys.add(cFrom.key());
+                    jobs.add(() -> relProd(from, childSat, diagonalContinuation, lower));
+                }
+                addOffDiagonalJobs(cFrom, offDiagonal, satDiagonal, lower, keys, jobs);
+            }
+        }
+        final List<MddNode> results = invokeAll(jobs);
+
+        MddNode ret = locked(() -> checkIn(n, variable, keys, results));
+        ret = saturate(ret, dsat, variable);
+
+        cache.getRelProdCache().addToCache(key, ret);
+        return ret;
+    }
+
+    private void addOffDiagonalJobs(
+            final IntObjCursor<? extends MddNode> cFrom,
+            final IntObjMapView<IntObjMapView<AbstractNextStateDescriptor>> offDiagonal,
+            final IntObjMapView<AbstractNextStateDescriptor> satDiagonal,
+            final MddVariable lower,
+            final List<Integer> keys,
+            final List<Supplier<MddNode>> jobs) {
+        for (IntObjCursor<? extends AbstractNextStateDescriptor> cTo =
+                        offDiagonal.get(cFrom.key()).cursor();
+                cTo.moveNext(); ) {
+            if (cFrom.key() == cTo.key()) {
+                continue;
+            }
+
+            assert cFrom.value() != terminalZeroNode;
+            assert cTo.value() != AbstractNextStateDescriptor.terminalEmpty();
+
+            final MddNode from = cFrom.value();
+            final AbstractNextStateDescriptor childSat = satDiagonal.get(cTo.key());
+            final AbstractNextStateDescriptor childFire = cTo.value();
+            keys.add(cTo.key());
+            jobs.add(() -> relProd(from, childSat, childFire, lower));
+        }
+    }
+
+    private RecursiveIntObjMapView<? extends MddNode> lhsInterpreter(
+            final MddNode n,
+            final MddVariable variable,
+            final IntObjMapView<IntObjMapView<AbstractNextStateDescriptor>> offDiagonal) {
+        final boolean lhsSkipped = !n.isOn(variable);
+        if ((lhsSkipped || (n.defaultValue() != null && n.isEmpty())) && !variable.isBounded()) {
+            final MddNode childCandidate = lhsSkipped ? n : n.defaultValue();
+            // We use the keyset of the ANSD to trim
+            return RecursiveIntObjMapView.of(
+                    IntObjMapView.empty(childCandidate).trim(offDiagonal.keySet()));
+        } else {
+            return variable.getNodeInterpreter(n);
+        }
+    }
+
+    private MddNode checkIn(
+            final MddNode n,
+            final MddVariable variable,
+            final List<Integer> keys,
+            final List<MddNode> results) {
+        final MddUnsafeTemplateBuilder templateBuilder =
+                JavaMddFactory.getDefault().createUnsafeTemplateBuilder();
+        for (int i = 0; i < keys.size(); i++) {
+            final MddNode s = results.get(i);
+            if (s != terminalZeroNode) {
+                final int k = keys.get(i);
+                templateBuilder.set(
+                        k, terminalZeroToNull(unionChildren(templateBuilder.get(k), s, variable)));
+            }
+        }
+
+        final var template = templateBuilder.buildAndReset();
+        if (!template.isEmpty())
+            Preconditions.checkArgument(
+                    n.defaultValue() == null, "Default value is not supported with explicit edges");
+        return variable.checkInNode(MddStructuralTemplate.of(template));
+    }
+
+    private List<MddNode> invokeAll(final List<Supplier<MddNode>> jobs) {
+        if (jobs.size() < 2 || ForkJoinTask.getSurplusQueuedTaskCount() > SURPLUS_THRESHOLD) {
+            final List<MddNode> results = new ArrayList<>(jobs.size());
+            for (Supplier<MddNode> job : jobs) {
+                results.add(job.get());
+            }
+            return results;
+        }
+        final List<Job> tasks = jobs.stream().map(Job::new).toList();
+        ForkJoinTask.invokeAll(tasks);
+        return tasks.stream().map(ForkJoinTask::join).toList();
+    }
+
+    private <T> T locked(final Supplier<T> supplier) {
+        synchronized (graphLock) {
+            return supplier.get();
+        }
+    }
+
+    private ConcurrentSaturationCache cacheFor(final MddVariable variable) {
+        return caches.computeIfAbsent(variable, v -> new ConcurrentSaturationCache());
+    }
+
+    private MddNode unionChildren(
+            final MddNode lhs, final MddNode rhs, MddVariable currentVariable) {
+        if (currentVariable.getLower().isPresent()) {
+            return currentVariable.getLower().get().union(lhs, rhs);
+        } else {
+            return currentVariable.getMddGraph().unionTerminal(lhs, rhs);
+        }
+    }
+
+    private MddNode terminalZeroToNull(MddNode node) {
+        return node == terminalZeroNode ? null : node;
+    }
+
+    @Override
+    public MddNode computeTerminal(
+            final MddNode mddNode,
+            final AbstractNextStateDescriptor nextState,
+            final MddGraph<?> mddGraph) {
+        return mddNode;
+    }
+
+    @Override
+    public void dispose() {
+        this.variableOrder.getMddGraph().unregisterCleanupListener(this);
+    }
+
+    @Override
+    public void clear() {
+        caches.values().forEach(ConcurrentSaturationCache::clear);
+    }
+
+    @Override
+    public void cleanup() {
+        caches.values()
+                .forEach(
+                        cache -> {
+                            cache.getSaturateCache()
+                                    .clearSelectively(
+                                            (key, result) ->
+                                                    key.node().getReferenceCount() == 0
+                                                            || result.getReferenceCount() == 0);
+                            cache.getRelProdCache()
+                                    .clearSelectively(
+                                            (key, result) ->
+                                                    key.node().getReferenceCount() == 0
+                                                            || result.getReferenceCount() == 0);
+                        });
+    }
+
+    private long sum(final ToLongFunction<ConcurrentSaturationCache> extractor) {
+        return caches.values().stream().mapToLong(extractor).sum();
+    }
+
+    @Override
+    public long getCacheSize() {
+        return sum(c -> c.getSaturateCache().getCacheSize());
+    }
+
+    @Override
+    public long getQueryCount() {
+        return sum(c -> c.getSaturateCache().getQueryCount());
+    }
+
+    @Override
+    public long getHitCount() {
+        return sum(c -> c.getSaturateCache().getHitCount());
+    }
+
+    private static final class Job extends RecursiveTask<MddNode> {
+        private final Supplier<MddNode> body;
+
+        private Job(final Supplier<MddNode> body) {
+            this.body = body;
+        }
+
+        @Override
+        protected MddNode compute() {
+            return body.get();
+        }
+    }
+}
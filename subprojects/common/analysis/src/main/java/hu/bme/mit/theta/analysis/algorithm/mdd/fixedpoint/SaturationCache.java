@@ -15,29 +15,204 @@
  */
 package hu.bme.mit.theta.analysis.algorithm.mdd.fixedpoint;
 
-import hu.bme.mit.delta.java.mdd.BinaryOperationCache;
 import hu.bme.mit.delta.java.mdd.Cache;
+import hu.bme.mit.delta.java.mdd.CacheManager;
 import hu.bme.mit.delta.java.mdd.MddNode;
-import hu.bme.mit.delta.java.mdd.TernaryOperationCache;
+import hu.bme.mit.delta.java.mdd.MddVariable;
+import hu.bme.mit.delta.java.mdd.MddVariableOrder;
 import hu.bme.mit.theta.analysis.algorithm.mdd.ansd.AbstractNextStateDescriptor;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
 
+/**
+ * The operation caches of a saturation based state space enumeration provider on a single level.
+ * How much they may grow is governed by a {@link CachePolicy}.
+ */
 public final class SaturationCache implements Cache {
-    private final BinaryOperationCache<MddNode, AbstractNextStateDescriptor, MddNode>
-            saturateCache = new BinaryOperationCache<>();
-    private final TernaryOperationCache<
-                    MddNode, AbstractNextStateDescriptor, AbstractNextStateDescriptor, MddNode>
-            relProdCache = new TernaryOperationCache<>();
 
-    public BinaryOperationCache<MddNode, AbstractNextStateDescriptor, MddNode> getSaturateCache() {
+    public interface SaturatePredicate {
+        boolean test(MddNode source, AbstractNextStateDescriptor nextState, MddNode result);
+    }
+
+    public interface RelProdPredicate {
+        boolean test(
+                MddNode source,
+                AbstractNextStateDescriptor saturatingNextState,
+                AbstractNextStateDescriptor firingNextState,
+                MddNode result);
+    }
+
+    private record SaturateKey(MddNode node, AbstractNextStateDescriptor nextState) {}
+
+    private record RelProdKey(
+            MddNode node,
+            AbstractNextStateDescriptor saturatingNextState,
+            AbstractNextStateDescriptor firingNextState) {}
+
+    public static final class SaturateTable {
+        private final OperationCacheTable<SaturateKey> table;
+
+        private SaturateTable(final CachePolicy policy) {
+            this.table = new OperationCacheTable<>(policy);
+        }
+
+        public MddNode getOrNull(final MddNode node, final AbstractNextStateDescriptor nextState) {
+            return table.getOrNull(new SaturateKey(node, nextState));
+        }
+
+        public void addToCache(
+                final MddNode node,
+                final AbstractNextStateDescriptor nextState,
+                final MddNode result) {
+            table.addToCache(new SaturateKey(node, nextState), result);
+        }
+
+        public void clearSelectively(final SaturatePredicate predicate) {
+            table.clearSelectively(
+                    (key, result) -> predicate.test(key.node(), key.nextState(), result));
+        }
+
+        public void clear() {
+            table.clear();
+        }
+
+        public long getCacheSize() {
+            return table.getCacheSize();
+        }
+
+        public long getQueryCount() {
+            return table.getQueryCount();
+        }
+
+        public long getHitCount() {
+            return table.getHitCount();
+        }
+
+        public long getEvictionCount() {
+            return table.getEvictionCount();
+        }
+    }
+
+    public static final class RelProdTable {
+        private final OperationCacheTable<RelProdKey> table;
+
+        private RelProdTable(final CachePolicy policy) {
+            this.table = new OperationCacheTable<>(policy);
+        }
+
+        public MddNode getOrNull(
+                final MddNode node,
+                final AbstractNextStateDescriptor saturatingNextState,
+                final AbstractNextStateDescriptor firingNextState) {
+            return table.getOrNull(new RelProdKey(node, saturatingNextState, firingNextState));
+        }
+
+        public void addToCache(
+                final MddNode node,
+                final AbstractNextStateDescriptor saturatingNextState,
+                final AbstractNextStateDescriptor firingNextState,
+                final MddNode result) {
+            table.addToCache(new RelProdKey(node, saturatingNextState, firingNextState), result);
+        }
+
+        public void clearSelectively(final RelProdPredicate predicate) {
+            table.clearSelectively(
+                    (key, result) ->
+                            predicate.test(
+                                    key.node(),
+                                    key.saturatingNextState(),
+                                    key.firingNextState(),
+                                    result));
+        }
+
+        public void clear() {
+            table.clear();
+        }
+
+        public long getCacheSize() {
+            return table.getCacheSize();
+        }
+
+        public long getQueryCount() {
+            return table.getQueryCount();
+        }
+
+        public long getHitCount() {
+            return table.getHitCount();
+        }
+
+        public long getEvictionCount() {
+            return table.getEvictionCount();
+        }
+    }
+
+    private final CachePolicy policy;
+    private final SaturateTable saturateCache;
+    private final RelProdTable relProdCache;
+    private int activeSaturations = 0;
+
+    public SaturationCache() {
+        this(CachePolicy.unbounded());
+    }
+
+    public SaturationCache(final CachePolicy policy) {
+        this.policy = policy;
+        this.saturateCache = new SaturateTable(policy);
+        this.relProdCache = new RelProdTable(policy);
+    }
+
+    public SaturateTable getSaturateCache() {
         return saturateCache;
     }
 
-    public TernaryOperationCache<
-                    MddNode, AbstractNextStateDescriptor, AbstractNextStateDescriptor, MddNode>
-            getRelProdCache() {
+    public RelProdTable getRelProdCache() {
         return relProdCache;
     }
 
+    /**
+     * Signals that a saturation has started on the level of this cache. Saturating the result of a
+     * relational product is part of the saturation that fired the transition, so it must not be
+     * signalled, otherwise every relational product would end a generation.
+     */
+    public void beginSaturation() {
+        activeSaturations++;
+    }
+
+    /**
+     * Signals that a saturation has finished on the level of this cache. With a generational
+     * policy, the relational product results are dropped once no saturation runs on the level.
+     */
+    public void endSaturation() {
+        activeSaturations--;
+        if (activeSaturations == 0 && policy.getKind() == CachePolicy.Kind.GENERATIONAL) {
+            relProdCache.clear();
+        }
+    }
+
+    static Map<Object, CacheStatistics> statisticsPerLevel(
+            final MddVariableOrder variableOrder,
+            final CacheManager<SaturationCache> cacheManager) {
+        final Map<Object, CacheStatistics> statistics = new LinkedHashMap<>();
+        Optional<MddVariable> variable =
+                variableOrder.getDefaultSetSignature().getTopVariableHandle().getVariable();
+        while (variable.isPresent()) {
+            statistics.put(
+                    variable.get().getTraceInfo(),
+                    cacheManager.getCacheFor(variable.get()).getCache().getStatistics());
+            variable = variable.get().getLower();
+        }
+        return statistics;
+    }
+
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(
+                getCacheSize(),
+                getQueryCount(),
+                getHitCount(),
+                saturateCache.getEvictionCount() + relProdCache.getEvictionCount());
+    }
+
     @Override
     public void clear() {
         saturateCache.clear();
@@ -17,8 +17,19 @@ package hu.bme.mit.theta.analysis.algorithm.mdd.fixedpoint;
 
 import hu.bme.mit.delta.java.mdd.MddTransformationProvider;
 import hu.bme.mit.theta.analysis.algorithm.mdd.ansd.AbstractNextStateDescriptor;
+import java.util.Map;
 
 public interface StateSpaceEnumerationProvider
         extends MddTransformationProvider.Cached<AbstractNextStateDescriptor>,
                 MddTransformationProvider.Initializable<
-                        AbstractNextStateDescriptor, AbstractNextStateDescriptor.Postcondition> {}
+                        AbstractNextStateDescriptor, AbstractNextStateDescriptor.Postcondition> {
+
+    /**
+     * Returns the statistics of the operation caches of each MDD level, ordered from the top level,
+     * keyed by the trace info of the level's variable. Providers without per-level caches return
+     * an empty map.
+     */
+    default Map<Object, CacheStatistics> getCacheStatisticsPerLevel() {
+        return Map.of();
+    }
+}
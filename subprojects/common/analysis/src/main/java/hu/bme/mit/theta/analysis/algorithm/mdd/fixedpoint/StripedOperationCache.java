@@ -0,0 +1,104 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.mdd.fixedpoint;
+
+import hu.bme.mit.delta.java.mdd.MddNode;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+
+/**
+ * An operation cache that can be shared between threads. Entries are distributed among a fixed
+ * number of independently locked stripes by the hash of their key, so concurrent lookups of
+ * different operations rarely contend.
+ *
+ * @param <K> the type of the operation keys
+ */
+public final class StripedOperationCache<K> {
+    private static final int STRIPES = 64;
+
+    private final Map<K, MddNode>[] stripes;
+    private final LongAdder queryCount = new LongAdder();
+    private final LongAdder hitCount = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public StripedOperationCache() {
+        stripes = new Map[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new HashMap<>();
+        }
+    }
+
+    private Map<K, MddNode> stripeFor(final K key) {
+        final int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    public MddNode getOrNull(final K key) {
+        queryCount.increment();
+        final Map<K, MddNode> stripe = stripeFor(key);
+        final MddNode result;
+        synchronized (stripe) {
+            result = stripe.get(key);
+        }
+        if (result != null) {
+            hitCount.increment();
+        }
+        return result;
+    }
+
+    public void addToCache(final K key, final MddNode result) {
+        final Map<K, MddNode> stripe = stripeFor(key);
+        synchronized (stripe) {
+            stripe.put(key, result);
+        }
+    }
+
+    public void clearSelectively(final BiPredicate<? super K, ? super MddNode> predicate) {
+        for (final Map<K, MddNode> stripe : stripes) {
+            synchronized (stripe) {
+                stripe.entrySet().removeIf(e -> predicate.test(e.getKey(), e.getValue()));
+            }
+        }
+    }
+
+    public void clear() {
+        for (final Map<K, MddNode> stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+    public long getCacheSize() {
+        long size = 0;
+        for (final Map<K, MddNode> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    public long getQueryCount() {
+        return queryCount.sum();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+}
@@ -23,15 +23,44 @@ private sealed interface IArray<T> {
   fun withIndex(): Iterable<IndexedValue<T>>
 }
 
+/**
+ * A relation over `0 until size` with a value (e.g., a reason) for each related pair. Besides the
+ * values, the related pairs are also stored as bitsets (both row- and column-wise), so [close] can
+ * find the new pairs word-parallel instead of scanning whole rows and columns. The bitset of a row
+ * (column) is only allocated once the row (column) has a related pair.
+ *
+ * Modifications can be undone: [mark] returns the current position of the undo trail, and
+ * [backtrack] restores the relation to the state it was in at that position. This way, a solver
+ * decision stack can share a single relation instead of copying it on every decision.
+ */
 sealed class GlobalRelationBase<T>(private val relation: Array<out IArray<T>>) {
 
   val size
     get() = relation.size
 
+  private val words = (size + 63) / 64
+  private val successors = arrayOfNulls<LongArray>(size) // [i] has bit j iff i -> j
+  private val predecessors = arrayOfNulls<LongArray>(size) // [j] has bit i iff i -> j
+
+  private var trailEnabled = false
+  private var trailSize = 0
+  private var trailPairs = LongArray(0)
+  private var trailValues = arrayOfNulls<Any?>(0)
+
+  init {
+    for ((i, row) in relation.withIndex()) {
+      for ((j, value) in row.withIndex()) {
+        if (isRelated(value)) setBits(i, j)
+      }
+    }
+  }
+
   operator fun get(from: Int, to: Int): T = relation[from][to]
 
   operator fun set(from: Int, to: Int, value: T) {
+    if (trailEnabled) record(from, to)
     relation[from][to] = value
+    if (isRelated(value)) setBits(from, to) else clearBits(from, to)
   }
 
   fun forEachPair(action: (Int, Int, T) -> Unit) {
@@ -48,6 +77,30 @@ sealed class GlobalRelationBase<T>(private val relation: Array<out IArray<T>>) {
 
   protected abstract fun combine(value1: T, value2: T): T
 
+  /**
+   * Returns the current position of the undo trail (to be passed to [backtrack] later). Changes
+   * are only recorded after the first call.
+   */
+  fun mark(): Int {
+    trailEnabled = true
+    return trailSize
+  }
+
+  /** Undoes all changes made since [mark] returned the given position. */
+  fun backtrack(mark: Int) {
+    check(mark <= trailSize) { "Cannot backtrack to a later state." }
+    while (trailSize > mark) {
+      trailSize--
+      val pair = trailPairs[trailSize]
+      val from = (pair ushr 32).toInt()
+      val to = pair.toInt()
+      @Suppress("UNCHECKED_CAST") val value = trailValues[trailSize] as T
+      trailValues[trailSize] = null
+      relation[from][to] = value
+      if (isRelated(value)) setBits(from, to) else clearBits(from, to)
+    }
+  }
+
   fun closeNoCycle(initials: List<Triple<Int, Int, T>>) {
     check(close(initials) == null) { "Self-loop not allowed." }
   }
@@ -58,25 +111,35 @@ sealed class GlobalRelationBase<T>(private val relation: Array<out IArray<T>>) {
     for ((from, to, value) in initials) {
       if (from == to) return value
     }
-    val toClose = initials.toMutableList()
+    val toClose = ArrayDeque(initials)
     while (toClose.isNotEmpty()) {
       val (from, to, value) = toClose.removeFirst()
       check(from != to)
-      if (isRelated(relation[from][to])) continue
+      if (isRelated(from, to)) continue
 
-      relation[from][to] = value
-      for ((other, otherValue) in relation[to].withIndex()) {
-        if (isRelated(otherValue) && !isRelated(relation[from][other])) {
-          // to -> other, not from -> other
-          val combined = combine(value, otherValue)
+      this[from, to] = value
+      // to -> other, not from -> other
+      val toSuccessors = successors[to] ?: EMPTY
+      val fromSuccessors = successors[from]!!
+      for (w in toSuccessors.indices) {
+        var bits = toSuccessors[w] and fromSuccessors[w].inv()
+        while (bits != 0L) {
+          val other = (w shl 6) + java.lang.Long.numberOfTrailingZeros(bits)
+          bits = bits and (bits - 1)
+          val combined = combine(value, relation[to][other])
           if (from == other) return combined // cycle (self-loop) found
           toClose.add(Triple(from, other, combined))
         }
       }
-      for ((other, otherValues) in relation.withIndex()) {
-        if (isRelated(otherValues[from]) && !isRelated(relation[other][to])) {
-          // other -> from, not other -> to
-          val combined = combine(value, otherValues[from])
+      // other -> from, not other -> to
+      val fromPredecessors = predecessors[from] ?: EMPTY
+      val toPredecessors = predecessors[to]!!
+      for (w in fromPredecessors.indices) {
+        var bits = fromPredecessors[w] and toPredecessors[w].inv()
+        while (bits != 0L) {
+          val other = (w shl 6) + java.lang.Long.numberOfTrailingZeros(bits)
+          bits = bits and (bits - 1)
+          val combined = combine(value, relation[other][from])
           if (other == to) return combined // cycle (self-loop) found
           toClose.add(Triple(other, to, combined))
         }
@@ -84,6 +147,38 @@ sealed class GlobalRelationBase<T>(private val relation: Array<out IArray<T>>) {
     }
     return null
   }
+
+  private fun isRelated(from: Int, to: Int): Boolean {
+    val row = successors[from] ?: return false
+    return row[to shr 6] and (1L shl to) != 0L
+  }
+
+  private fun setBits(from: Int, to: Int) {
+    val row = successors[from] ?: LongArray(words).also { successors[from] = it }
+    val column = predecessors[to] ?: LongArray(words).also { predecessors[to] = it }
+    row[to shr 6] = row[to shr 6] or (1L shl to)
+    column[from shr 6] = column[from shr 6] or (1L shl from)
+  }
+
+  private fun clearBits(from: Int, to: Int) {
+    successors[from]?.let { it[to shr 6] = it[to shr 6] and (1L shl to).inv() }
+    predecessors[to]?.let { it[from shr 6] = it[from shr 6] and (1L shl from).inv() }
+  }
+
+  private fun record(from: Int, to: Int) {
+    if (trailSize == trailPairs.size) {
+      val capacity = maxOf(16, trailSize * 2)
+      trailPairs = trailPairs.copyOf(capacity)
+      trailValues = trailValues.copyOf(capacity)
+    }
+    trailPairs[trailSize] = (from.toLong() shl 32) or (to.toLong() and 0xFFFFFFFFL)
+    trailValues[trailSize] = relation[from][to]
+    trailSize++
+  }
+
+  private companion object {
+    val EMPTY = LongArray(0)
+  }
 }
 
 private class GenericArrayHolder<T>(private val array: Array<T>) : IArray<T> {
@@ -102,12 +197,56 @@ private class BooleanArrayHolder(private val array: BooleanArray) : IArray<Boole
   override fun set(index: Int, value: Boolean) = array.set(index, value)
 }
 
-class GlobalRelation(size: Int, default: (Pair<Int, Int>) -> Reason?) :
+/** Stores only the non-default values (for relations over many events with few related pairs). */
+private class SparseArrayHolder<T>(
+  private val size: Int,
+  private val default: T,
+  initial: (Int) -> T,
+) : IArray<T> {
+  private val values = HashMap<Int, T>()
+
+  init {
+    for (i in 0 until size) {
+      set(i, initial(i))
+    }
+  }
+
+  @Suppress("UNCHECKED_CAST")
+  override fun get(index: Int): T = if (values.containsKey(index)) values[index] as T else default
+
+  override fun withIndex() = (0 until size).map { IndexedValue(it, get(it)) }
+
+  override fun set(index: Int, value: T) {
+    if (value == default) values.remove(index) else values[index] = value
+  }
+}
+
+/**
+ * @param sparse store only the related pairs' reasons instead of a dense size*size array (defaults
+ *   to true for relations with at least [GlobalRelation.sparseThreshold] elements). Together with
+ *   the lazily allocated bitsets, memory is then proportional to the related pairs and the rows
+ *   and columns they touch. Note that [default] is still evaluated for every pair on construction.
+ */
+class GlobalRelation(
+  size: Int,
+  private val sparse: Boolean = size >= sparseThreshold,
+  default: (Pair<Int, Int>) -> Reason?,
+) :
   GlobalRelationBase<Reason?>(
-    Array(size) { i -> GenericArrayHolder(Array(size) { j -> default(i to j) }) }
+    if (sparse) {
+      Array(size) { i -> SparseArrayHolder(size, null) { j -> default(i to j) } }
+    } else {
+      Array(size) { i -> GenericArrayHolder(Array(size) { j -> default(i to j) }) }
+    }
   ) {
 
-  override fun copy() = GlobalRelation(size) { (i, j) -> this[i, j] }
+  companion object {
+
+    /** Relations with at least this many elements use the sparse representation by default. */
+    var sparseThreshold = 4096
+  }
+
+  override fun copy() = GlobalRelation(size, sparse) { (i, j) -> this[i, j] }
 
   override fun isRelated(value: Reason?) = value != null
 
@@ -171,9 +171,15 @@ internal constructor(
   val event: E? = null,
 ) {
 
-  internal constructor(rels: GlobalRelation, e: E) : this(rels.copy(), event = e)
+  /** Position of the undo trail of [rels] when this assignment was made. */
+  private val mark = rels.mark()
 
-  internal constructor(rels: GlobalRelation, r: Relation<E>) : this(rels.copy(), relation = r)
+  internal constructor(rels: GlobalRelation, e: E) : this(rels, event = e)
+
+  internal constructor(rels: GlobalRelation, r: Relation<E>) : this(rels, relation = r)
+
+  /** Restores [rels] to the state before this assignment (and every later one) was made. */
+  fun undo() = rels.backtrack(mark)
 
   override fun toString() = "OcAssignment(${relation ?: event})"
 }
@@ -58,7 +58,7 @@ class UserPropagatorOcChecker<E : Event> : OcCheckerBase<E>() {
   private constructor(
     stack: Stack<PropagatorOcAssignment<E>>,
     val solverLevel: Int,
-    rels: GlobalRelation = stack.peek().rels.copy(),
+    rels: GlobalRelation = stack.peek().rels,
     relation: Relation<E>? = null,
     event: E? = null,
     val interference: Pair<E, E>? = null,
@@ -237,7 +237,7 @@ class UserPropagatorOcChecker<E : Event> : OcCheckerBase<E>() {
   private fun pop(levels: Int) {
     solverLevel -= levels
     while (partialAssignment.isNotEmpty() && partialAssignment.peek().solverLevel > solverLevel) {
-      partialAssignment.pop()
+      partialAssignment.pop().undo()
     }
   }
 
@@ -28,12 +28,15 @@ import hu.bme.mit.theta.analysis.expr.ExprAction;
 import hu.bme.mit.theta.analysis.expr.ExprState;
 import hu.bme.mit.theta.common.logging.Logger;
 import hu.bme.mit.theta.common.logging.Logger.Level;
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.common.metrics.Timer;
 import java.util.ArrayList;
 import java.util.List;
 
 public final class MultiExprTraceRefiner<
                 S extends ExprState, A extends ExprAction, P extends Prec, R extends Refutation>
         implements ArgRefiner<S, A, P> {
+    private static final Timer TRACE_CHECK_TIMER = Metrics.timer("refinement.tracecheck");
 
     private final ExprTraceChecker<R> exprTraceChecker;
     private final PrecRefiner<S, A, P, R> precRefiner;
@@ -102,7 +105,9 @@ public final class MultiExprTraceRefiner<
         logger.write(Level.SUBSTEP, "|  |  Checking traces...");
         final List<ExprTraceStatus<R>> cexStatuses = new ArrayList<>(traces.size());
         for (final Trace<S, A> trace : traces) {
+            final long start = TRACE_CHECK_TIMER.start();
             final ExprTraceStatus<R> status = exprTraceChecker.check(trace);
+            TRACE_CHECK_TIMER.stop(start);
             cexStatuses.add(status);
             if (status.isFeasible()) {
                 break;
@@ -0,0 +1,346 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.expr.refinement;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import hu.bme.mit.theta.analysis.Prec;
+import hu.bme.mit.theta.analysis.Trace;
+import hu.bme.mit.theta.analysis.algorithm.arg.ARG;
+import hu.bme.mit.theta.analysis.algorithm.arg.ArgNode;
+import hu.bme.mit.theta.analysis.algorithm.arg.ArgTrace;
+import hu.bme.mit.theta.analysis.algorithm.cegar.ArgRefiner;
+import hu.bme.mit.theta.analysis.algorithm.cegar.RefinerResult;
+import hu.bme.mit.theta.analysis.expr.ExprAction;
+import hu.bme.mit.theta.analysis.expr.ExprState;
+import hu.bme.mit.theta.common.logging.Logger;
+import hu.bme.mit.theta.common.logging.Logger.Level;
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.common.metrics.Timer;
+import hu.bme.mit.theta.solver.SolverBase;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Refiner that checks all counterexamples of the ARG concurrently, similarly to {@link
+ * MultiExprTraceRefiner}. Each worker thread uses its own {@link ExprTraceChecker} (and thus its
+ * own solver), created on demand by a factory and reused in later refinements. If all
+ * counterexamples are spurious, the refutations are folded into a single precision update by the
+ * {@link PrecRefiner}, skipping those whose prune node is below the prune node of another
+ * counterexample.
+ *
+ * <p>The worker threads and the solvers of the checkers are kept between refinements and are
+ * released by {@link #close()}.
+ */
+public final class ParallelExprTraceRefiner<
+                S extends ExprState, A extends ExprAction, P extends Prec, R extends Refutation>
+        implements ArgRefiner<S, A, P>, AutoCloseable {
+    private static final Timer TRACE_CHECK_TIMER = Metrics.timer("refinement.tracecheck");
+
+    private final Supplier<PooledChecker<R>> checkerFactory;
+    private final PrecRefiner<S, A, P, R> precRefiner;
+    private final PruneStrategy pruneStrategy;
+    private final NodePruner<S, A> nodePruner;
+    private final Logger logger;
+    private final int threads;
+
+    private final ExecutorService executor;
+    private final BlockingQueue<PooledChecker<R>> idleCheckers;
+    private int createdCheckers;
+
+    private ParallelExprTraceRefiner(
+            final Supplier<PooledChecker<R>> checkerFactory,
+            final PrecRefiner<S, A, P, R> precRefiner,
+            final PruneStrategy pruneStrategy,
+            final Logger logger,
+            final NodePruner<S, A> nodePruner,
+            final int threads) {
+        checkArgument(threads > 0, "Number of threads must be positive");
+        this.checkerFactory = checkNotNull(checkerFactory);
+        this.precRefiner = checkNotNull(precRefiner);
+        this.pruneStrategy = checkNotNull(pruneStrategy);
+        this.nodePruner = checkNotNull(nodePruner);
+        this.logger = checkNotNull(logger);
+        this.threads = threads;
+        this.executor = Executors.newFixedThreadPool(threads, this::newThread);
+        this.idleCheckers = new LinkedBlockingQueue<>();
+        this.createdCheckers = 0;
+    }
+
+    /**
+     * Creates a parallel refiner.
+     *
+     * @param solverFactory creates the solvers of the checkers. Each checker gets its own solver,
+     *     as checkers are used concurrently. At most one solver is created per thread, and the
+     *     solvers are closed when the refiner is closed.
+     * @param exprTraceCheckerFactory creates a checker using the given solver
+     * @param threads maximal number of traces checked at the same time
+     */
+    public static <
+                    S extends ExprState,
+                    A extends ExprAction,
+                    P extends Prec,
+                    R extends Refutation,
+                    T extends SolverBase>
+            ParallelExprTraceRefiner<S, A, P, R> create(
+                    final Supplier<? extends T> solverFactory,
+                    final Function<? super T, ? extends ExprTraceChecker<R>>
+                            exprTraceCheckerFactory,
+                    final PrecRefiner<S, A, P, R> precRefiner,
+                    final PruneStrategy pruneStrategy,
+                    final Logger logger,
+                    final int threads) {
+        return create(
+                solverFactory,
+                exprTraceCheckerFactory,
+                precRefiner,
+                pruneStrategy,
+                logger,
+                ARG::prune,
+                threads);
+    }
+
+    public static <
+                    S extends ExprState,
+                    A extends ExprAction,
+                    P extends Prec,
+                    R extends Refutation,
+                    T extends SolverBase>
+            ParallelExprTraceRefiner<S, A, P, R> create(
+                    final Supplier<? extends T> solverFactory,
+                    final Function<? super T, ? extends ExprTraceChecker<R>>
+                            exprTraceCheckerFactory,
+                    final PrecRefiner<S, A, P, R> precRefiner,
+                    final PruneStrategy pruneStrategy,
+                    final Logger logger,
+                    final NodePruner<S, A> nodePruner,
+                    final int threads) {
+        checkNotNull(solverFactory);
+        checkNotNull(exprTraceCheckerFactory);
+        final Supplier<PooledChecker<R>> checkerFactory =
+                () -> {
+                    final T solver = checkNotNull(solverFactory.get());
+                    return new PooledChecker<>(
+                            checkNotNull(exprTraceCheckerFactory.apply(solver)), solver);
+                };
+        return new ParallelExprTraceRefiner<>(
+                checkerFactory, precRefiner, pruneStrategy, logger, nodePruner, threads);
+    }
+
+    @Override
+    public RefinerResult<P, Trace<S, A>> refine(final ARG<S, A> arg, final P prec) {
+        checkNotNull(arg);
+        checkNotNull(prec);
+        assert !arg.isSafe() : "ARG must be unsafe";
+
+        final List<ArgTrace<S, A>> cexs = arg.getCexs().toList();
+        final List<Trace<S, A>> traces = cexs.stream().map(ArgTrace::toTrace).toList();
+
+        logger.write(Level.INFO, "|  |  Number of traces: %d%n", traces.size());
+        assert !traces.isEmpty() : "No counterexample in ARG";
+
+        logger.write(
+                Level.SUBSTEP,
+                "|  |  Checking traces on %d threads...",
+                Math.min(threads, traces.size()));
+        final List<ExprTraceStatus<R>> cexStatuses = checkAll(traces);
+
+        for (int i = 0; i < cexStatuses.size(); ++i) {
+            if (cexStatuses.get(i).isFeasible()) {
+                logger.write(Level.SUBSTEP, "done, result: found feasible%n");
+                return RefinerResult.unsafe(traces.get(i));
+            }
+        }
+
+        assert cexStatuses.size() == cexs.size();
+        logger.write(Level.SUBSTEP, "done, result: all infeasible%n");
+        final List<R> refutations =
+                cexStatuses.stream().map(s -> s.asInfeasible().getRefutation()).toList();
+
+        final List<ArgNode<S, A>> nodesToPrune = new ArrayList<>(traces.size());
+        for (int i = 0; i < traces.size(); ++i) {
+            nodesToPrune.add(cexs.get(i).node(refutations.get(i).getPruneIndex()));
+        }
+        final List<Boolean> skip =
+                nodesToPrune.stream()
+                        .map(node -> node.properAncestors().anyMatch(nodesToPrune::contains))
+                        .toList();
+        assert skip.contains(false);
+
+        P refinedPrec = prec;
+        for (int i = 0; i < refutations.size(); ++i) {
+            if (!skip.get(i)) {
+                refinedPrec = precRefiner.refine(refinedPrec, traces.get(i), refutations.get(i));
+            }
+        }
+
+        switch (pruneStrategy) {
+            case LAZY:
+                logger.write(Level.SUBSTEP, "|  |  Pruning (lazy)...");
+                for (int i = 0; i < nodesToPrune.size(); ++i) {
+                    if (!skip.get(i)) {
+                        nodePruner.prune(arg, nodesToPrune.get(i));
+                    }
+                }
+                break;
+            case FULL:
+                logger.write(Level.SUBSTEP, "|  |  Pruning (full)...");
+                arg.pruneAll();
+                break;
+            default:
+                throw new UnsupportedOperationException("Unsupported pruning strategy");
+        }
+        logger.write(Level.SUBSTEP, "done%n");
+        return RefinerResult.spurious(refinedPrec);
+    }
+
+    /**
+     * Checks the traces concurrently. The statuses are collected in trace order so that the result
+     * does not depend on thread scheduling. Once a feasible trace is found, the checks of later
+     * traces that have not started yet are skipped and the returned list ends with the feasible
+     * status. Checks already running are waited for, so no checker is in use after returning.
+     */
+    private List<ExprTraceStatus<R>> checkAll(final List<Trace<S, A>> traces) {
+        if (traces.size() == 1) {
+            return List.of(check(traces.get(0)));
+        }
+        final AtomicBoolean stopped = new AtomicBoolean(false);
+        final List<Future<ExprTraceStatus<R>>> futures = new ArrayList<>(traces.size());
+        try {
+            for (final Trace<S, A> trace : traces) {
+                futures.add(executor.submit(() -> stopped.get() ? null : check(trace)));
+            }
+            final List<ExprTraceStatus<R>> statuses = new ArrayList<>(traces.size());
+            for (final Future<ExprTraceStatus<R>> future : futures) {
+                final ExprTraceStatus<R> status = get(future);
+                statuses.add(status);
+                if (status.isFeasible()) {
+                    break;
+                }
+            }
+            return statuses;
+        } finally {
+            stopped.set(true);
+            awaitAll(futures);
+        }
+    }
+
+    private ExprTraceStatus<R> check(final Trace<S, A> trace) throws InterruptedException {
+        final PooledChecker<R> checker = acquireChecker();
+        try {
+            final long start = TRACE_CHECK_TIMER.start();
+            final ExprTraceStatus<R> status = checker.checker().check(trace);
+            TRACE_CHECK_TIMER.stop(start);
+            return status;
+        } finally {
+            idleCheckers.add(checker);
+        }
+    }
+
+    private PooledChecker<R> acquireChecker() throws InterruptedException {
+        final PooledChecker<R> idle = idleCheckers.poll();
+        if (idle != null) {
+            return idle;
+        }
+        synchronized (idleCheckers) {
+            if (createdCheckers < threads) {
+                createdCheckers++;
+                return checkerFactory.get();
+            }
+        }
+        return idleCheckers.take();
+    }
+
+    /** Shuts down the worker threads and closes the solvers of the checkers. */
+    @Override
+    public void close() throws Exception {
+        executor.shutdownNow();
+        Exception failure = null;
+        for (PooledChecker<R> checker = idleCheckers.poll();
+                checker != null;
+                checker = idleCheckers.poll()) {
+            try {
+                checker.solver().close();
+            } catch (final Exception e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private Thread newThread(final Runnable runnable) {
+        final Thread thread = new Thread(runnable, getClass().getSimpleName() + "-worker");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /** Waits for the futures to complete, ignoring their results. */
+    private static void awaitAll(final List<? extends Future<?>> futures) {
+        boolean interrupted = false;
+        for (final Future<?> future : futures) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (final InterruptedException e) {
+                    interrupted = true;
+                } catch (final ExecutionException e) {
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static <T> T get(final Future<T> future) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            } else {
+                throw new RuntimeException(cause);
+            }
+        }
+    }
+
+    private record PooledChecker<R extends Refutation>(
+            ExprTraceChecker<R> checker, SolverBase solver) {}
+}
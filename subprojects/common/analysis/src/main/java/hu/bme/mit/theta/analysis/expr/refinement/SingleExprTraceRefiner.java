@@ -29,6 +29,8 @@ import hu.bme.mit.theta.analysis.expr.ExprState;
 import hu.bme.mit.theta.common.Utils;
 import hu.bme.mit.theta.common.logging.Logger;
 import hu.bme.mit.theta.common.logging.Logger.Level;
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.common.metrics.Timer;
 import java.util.Optional;
 
 /**
@@ -38,6 +40,8 @@ import java.util.Optional;
 public class SingleExprTraceRefiner<
                 S extends ExprState, A extends ExprAction, P extends Prec, R extends Refutation>
         implements ArgRefiner<S, A, P> {
+    private static final Timer TRACE_CHECK_TIMER = Metrics.timer("refinement.tracecheck");
+
     protected final ExprTraceChecker<R> exprTraceChecker;
     protected final PrecRefiner<S, A, P, R> precRefiner;
     protected final PruneStrategy pruneStrategy;
@@ -103,7 +107,9 @@ public class SingleExprTraceRefiner<
         logger.write(Level.DETAIL, "|  |  Trace: %s%n", traceToConcretize);
 
         logger.write(Level.SUBSTEP, "|  |  Checking trace...");
+        final long start = TRACE_CHECK_TIMER.start();
         final ExprTraceStatus<R> cexStatus = exprTraceChecker.check(traceToConcretize);
+        TRACE_CHECK_TIMER.stop(start);
         logger.write(Level.SUBSTEP, "done, result: %s%n", cexStatus);
 
         assert cexStatus.isFeasible() || cexStatus.isInfeasible() : "Unknown CEX status";
@@ -0,0 +1,35 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.reachedset;
+
+import java.util.List;
+
+/**
+ * Index over the elements of a partition class that narrows down the candidates that may cover a
+ * given element before the (possibly expensive) partial order check.
+ */
+public interface CandidateIndex<T> {
+
+    void add(T elem);
+
+    /**
+     * Gets the candidates that may cover the given element.
+     *
+     * @param elem the element to be covered
+     * @return a list containing (at least) every indexed element that may cover elem
+     */
+    List<T> getCandidates(T elem);
+}
@@ -0,0 +1,141 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.reachedset;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/** Implementations for different candidate indexes. */
+public final class CandidateIndexes {
+
+    private CandidateIndexes() {}
+
+    /**
+     * @return Index that returns every element as a candidate
+     */
+    public static <T> CandidateIndex<T> linear() {
+        return new Linear<>();
+    }
+
+    /**
+     * Creates an index that only returns candidates whose features are a subset of the features
+     * of the element to be covered. Features are stored in a set-trie, so a lookup only visits
+     * the subsets that actually occur among the indexed elements. Elements without features (the
+     * function returns null, e.g., for bottom states) are compared to every indexed element.
+     *
+     * @param features Function extracting the features of an element, see {@link
+     *     CoverageFeatures}
+     * @return Subset index
+     */
+    public static <T> CandidateIndex<T> subset(
+            final Function<? super T, ? extends Collection<?>> features) {
+        return new Subset<>(features);
+    }
+
+    private static final class Linear<T> implements CandidateIndex<T> {
+        private final List<T> elems = new ArrayList<>();
+
+        @Override
+        public void add(final T elem) {
+            elems.add(elem);
+        }
+
+        @Override
+        public List<T> getCandidates(final T elem) {
+            return elems;
+        }
+    }
+
+    private static final class Subset<T> implements CandidateIndex<T> {
+        private final Function<? super T, ? extends Collection<?>> features;
+        private final Map<Object, Integer> featureIds;
+        private final TrieNode<T> root;
+        private final List<T> elems;
+
+        private Subset(final Function<? super T, ? extends Collection<?>> features) {
+            this.features = checkNotNull(features);
+            this.featureIds = new HashMap<>();
+            this.root = new TrieNode<>();
+            this.elems = new ArrayList<>();
+        }
+
+        @Override
+        public void add(final T elem) {
+            elems.add(elem);
+            final Collection<?> elemFeatures = features.apply(elem);
+            if (elemFeatures == null) {
+                return;
+            }
+            final int[] key = new int[elemFeatures.size()];
+            int i = 0;
+            for (final Object feature : elemFeatures) {
+                key[i++] = featureIds.computeIfAbsent(feature, f -> featureIds.size());
+            }
+            Arrays.sort(key);
+            TrieNode<T> node = root;
+            for (final int id : key) {
+                node = node.children.computeIfAbsent(id, k -> new TrieNode<>());
+            }
+            node.elems.add(elem);
+        }
+
+        @Override
+        public List<T> getCandidates(final T elem) {
+            final Collection<?> elemFeatures = features.apply(elem);
+            if (elemFeatures == null) {
+                return elems;
+            }
+            // Features never seen before cannot be part of any indexed element
+            final int[] key =
+                    elemFeatures.stream()
+                            .map(featureIds::get)
+                            .filter(id -> id != null)
+                            .mapToInt(Integer::intValue)
+                            .sorted()
+                            .toArray();
+            if (root.children.isEmpty()) {
+                return Collections.unmodifiableList(root.elems);
+            }
+            final List<T> candidates = new ArrayList<>();
+            collect(root, key, 0, candidates);
+            return candidates;
+        }
+
+        private void collect(
+                final TrieNode<T> node, final int[] key, final int from, final List<T> result) {
+            result.addAll(node.elems);
+            for (int i = from; i < key.length; i++) {
+                final TrieNode<T> child = node.children.get(key[i]);
+                if (child != null) {
+                    collect(child, key, i + 1, result);
+                }
+            }
+        }
+    }
+
+    private static final class TrieNode<T> {
+        private final Map<Integer, TrieNode<T>> children = new HashMap<>();
+        private final List<T> elems = new ArrayList<>(1);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.reachedset;
+
+import hu.bme.mit.theta.analysis.State;
+import hu.bme.mit.theta.analysis.expl.ExplState;
+import hu.bme.mit.theta.analysis.pred.PredState;
+import hu.bme.mit.theta.analysis.prod2.Prod2State;
+import hu.bme.mit.theta.common.Tuple2;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Feature extractors for {@link CandidateIndexes#subset}. A state can only be covered by a state
+ * whose features are a subset of its own features. Bottom states have no features (null).
+ */
+public final class CoverageFeatures {
+
+    private CoverageFeatures() {}
+
+    /**
+     * Features of an explicit state are its variable-value pairs. An explicit state covers another
+     * iff its pairs are a subset of the other's pairs, so the index is exact.
+     */
+    public static Collection<?> expl(final ExplState state) {
+        if (state.isBottom()) {
+            return null;
+        }
+        final Collection<Object> features = new ArrayList<>();
+        state.toMap().forEach((decl, value) -> features.add(Tuple2.of(decl, value)));
+        return features;
+    }
+
+    /**
+     * Features of a predicate state are its predicates. Only syntactic coverage (a subset of the
+     * predicates) is detected: semantic entailment between different predicates is not.
+     */
+    public static Collection<?> pred(final PredState state) {
+        if (state.isBottom()) {
+            return null;
+        }
+        return state.getPreds();
+    }
+
+    /** Features of a product state are the (tagged) features of its components. */
+    public static <S1 extends State, S2 extends State> Function<Prod2State<S1, S2>, Collection<?>>
+            prod2(
+                    final Function<? super S1, ? extends Collection<?>> features1,
+                    final Function<? super S2, ? extends Collection<?>> features2) {
+        return state -> {
+            if (state.isBottom()) {
+                return null;
+            }
+            final Collection<?> f1 = features1.apply(state.getState1());
+            final Collection<?> f2 = features2.apply(state.getState2());
+            if (f1 == null || f2 == null) {
+                return null;
+            }
+            final Collection<Object> features = new ArrayList<>(f1.size() + f2.size());
+            f1.forEach(f -> features.add(Tuple2.of(1, f)));
+            f2.forEach(f -> features.add(Tuple2.of(2, f)));
+            return features;
+        };
+    }
+}
@@ -18,32 +18,45 @@ package hu.bme.mit.theta.analysis.reachedset;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import hu.bme.mit.theta.common.container.Containers;
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 public final class Partition<T, K> {
 
     private final Function<? super T, ? extends K> projection;
-    private final Map<K, List<T>> classes;
+    private final Supplier<? extends CandidateIndex<T>> indexFactory;
+    private final Map<K, CandidateIndex<T>> classes;
 
-    private Partition(final Function<? super T, ? extends K> projection) {
+    private Partition(
+            final Function<? super T, ? extends K> projection,
+            final Supplier<? extends CandidateIndex<T>> indexFactory) {
         this.projection = checkNotNull(projection);
+        this.indexFactory = checkNotNull(indexFactory);
         classes = Containers.createMap();
     }
 
     public static <T, K> Partition<T, K> of(final Function<? super T, ? extends K> projection) {
-        return new Partition<>(projection);
+        return new Partition<>(projection, CandidateIndexes::linear);
+    }
+
+    /**
+     * Creates a partition where each class is indexed by a new index from the factory, so that
+     * {@link #get} only returns the elements that may cover the given one.
+     */
+    public static <T, K> Partition<T, K> of(
+            final Function<? super T, ? extends K> projection,
+            final Supplier<? extends CandidateIndex<T>> indexFactory) {
+        return new Partition<>(projection, indexFactory);
     }
 
     public void add(final T elem) {
         checkNotNull(elem);
         final K key = projection.apply(elem);
-        final Collection<T> partition = classes.computeIfAbsent(key, k -> new ArrayList<>());
+        final CandidateIndex<T> partition = classes.computeIfAbsent(key, k -> indexFactory.get());
         partition.add(elem);
     }
 
@@ -58,7 +71,7 @@ public final class Partition<T, K> {
     public List<T> get(final T elem) {
         checkNotNull(elem);
         final K key = projection.apply(elem);
-        final List<T> partition = classes.getOrDefault(key, Collections.emptyList());
-        return partition;
+        final CandidateIndex<T> partition = classes.get(key);
+        return partition == null ? Collections.emptyList() : partition.getCandidates(elem);
     }
 }
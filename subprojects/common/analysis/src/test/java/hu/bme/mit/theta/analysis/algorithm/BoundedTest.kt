@@ -21,6 +21,7 @@ import hu.bme.mit.theta.common.logging.ConsoleLogger
 import hu.bme.mit.theta.common.logging.Logger
 import hu.bme.mit.theta.core.decl.Decls
 import hu.bme.mit.theta.core.stmt.Stmts.Assign
+import hu.bme.mit.theta.core.type.anytype.Exprs.Ite
 import hu.bme.mit.theta.core.type.abstracttype.AbstractExprs
 import hu.bme.mit.theta.core.type.booltype.BoolExprs.And
 import hu.bme.mit.theta.core.type.inttype.IntExprs
@@ -37,6 +38,7 @@ class BoundedTest {
 
     private var unsafeMonolithicExpr: MonolithicExpr? = null
     private var safeMonolithicExpr: MonolithicExpr? = null
+    private var boundedLoopMonolithicExpr: MonolithicExpr? = null
 
     init {
       val x = Decls.Var("x", Int())
@@ -56,6 +58,19 @@ class BoundedTest {
           AbstractExprs.Neq(x.ref, Int(-5)),
           unfoldResult.indexing,
         )
+      // x cycles through 0..3, so every loop-free path has at most 4 states
+      val cycleResult =
+        StmtUtils.toExpr(
+          Assign(x, Ite(IntExprs.Lt(x.ref, Int(3)), IntExprs.Add(x.ref, Int(1)), Int(0))),
+          VarIndexingFactory.indexing(0),
+        )
+      boundedLoopMonolithicExpr =
+        MonolithicExpr(
+          AbstractExprs.Eq(x.ref, Int(0)),
+          And(cycleResult.exprs),
+          AbstractExprs.Neq(x.ref, Int(5)),
+          cycleResult.indexing,
+        )
     }
   }
 
@@ -92,4 +107,36 @@ class BoundedTest {
     val safetyResult: SafetyResult<*, *> = checker.check()
     Assert.assertTrue(safetyResult.isSafe())
   }
+
+  @Test
+  fun testBoundedLazyLoopFree() {
+    val cases = listOf(unsafeMonolithicExpr!! to false, safeMonolithicExpr!! to true)
+    for ((monolithicExpr, safe) in cases) {
+      val checker: BoundedChecker =
+        BoundedChecker(
+          monolithicExpr = monolithicExpr,
+          bmcSolver = Z3LegacySolverFactory.getInstance().createSolver(),
+          indSolver = Z3LegacySolverFactory.getInstance().createSolver(),
+          logger = ConsoleLogger(Logger.Level.VERBOSE),
+          lazyLfPath = { true },
+        )
+      val safetyResult: SafetyResult<*, *> = checker.check()
+      Assert.assertEquals(safe, safetyResult.isSafe())
+    }
+  }
+
+  @Test
+  fun testBoundedLazyLoopFreeProof() {
+    // without induction, only the loop-free path constraints of BMC can prove safety
+    val checker: BoundedChecker =
+      BoundedChecker(
+        monolithicExpr = boundedLoopMonolithicExpr!!,
+        bmcSolver = Z3LegacySolverFactory.getInstance().createSolver(),
+        indSolver = null,
+        logger = ConsoleLogger(Logger.Level.VERBOSE),
+        lazyLfPath = { true },
+      )
+    val safetyResult: SafetyResult<*, *> = checker.check()
+    Assert.assertTrue(safetyResult.isSafe())
+  }
 }
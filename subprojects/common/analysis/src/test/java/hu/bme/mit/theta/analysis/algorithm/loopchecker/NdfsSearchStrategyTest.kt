@@ -0,0 +1,87 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.loopchecker
+
+import hu.bme.mit.theta.analysis.algorithm.asg.ASG
+import hu.bme.mit.theta.analysis.algorithm.loopchecker.abstraction.LoopCheckerSearchStrategy
+import hu.bme.mit.theta.analysis.expr.ExprAction
+import hu.bme.mit.theta.analysis.expr.ExprState
+import hu.bme.mit.theta.core.type.booltype.BoolExprs.True
+import org.junit.jupiter.api.Assertions
+import org.junit.jupiter.api.Test
+
+class NdfsSearchStrategyTest {
+
+  private data class IdState(val id: Int) : ExprState {
+    override fun isBottom() = false
+
+    override fun toExpr() = True()
+  }
+
+  /** A chain of [size] nodes, with the last one leading back to the [honda]th node. */
+  private fun lasso(size: Int, honda: Int, accepting: Int): ASG<IdState, ExprAction> {
+    val acceptance = AcceptancePredicate<IdState, ExprAction>({ it?.id == accepting })
+    val asg = ASG(acceptance)
+    asg.initialise(listOf(IdState(0)))
+    for (i in 0 until size - 1) {
+      asg.drawEdge(
+        asg.getOrCreateNode(IdState(i)),
+        asg.getOrCreateNode(IdState(i + 1)),
+        null,
+        i + 1 == accepting,
+      )
+    }
+    asg.drawEdge(
+      asg.getOrCreateNode(IdState(size - 1)),
+      asg.getOrCreateNode(IdState(honda)),
+      null,
+      honda == accepting,
+    )
+    return asg
+  }
+
+  private fun search(strategy: LoopCheckerSearchStrategy, asg: ASG<IdState, ExprAction>, id: Int) =
+    strategy.search(
+      asg,
+      AcceptancePredicate<IdState, ExprAction>({ it?.id == id }),
+      { it.outEdges },
+      threads = 4,
+    )
+
+  @Test
+  fun testDeepLasso() {
+    val size = 200_000
+    for (strategy in listOf(LoopCheckerSearchStrategy.NDFS, LoopCheckerSearchStrategy.CNDFS)) {
+      val asg = lasso(size, size / 2, size / 2)
+      val traces = search(strategy, asg, size / 2)
+
+      Assertions.assertEquals(1, traces.size, strategy.name)
+      val trace = traces.first()
+      Assertions.assertEquals(size / 2, trace.honda.state.id, strategy.name)
+      Assertions.assertEquals(size / 2, trace.tail.size, strategy.name)
+      Assertions.assertEquals(size - size / 2, trace.loop.size, strategy.name)
+    }
+  }
+
+  @Test
+  fun testNoAcceptingLoop() {
+    for (strategy in listOf(LoopCheckerSearchStrategy.NDFS, LoopCheckerSearchStrategy.CNDFS)) {
+      // the only accepting node lies on the tail, before the loop
+      val asg = lasso(1000, 500, 100)
+      Assertions.assertTrue(search(strategy, asg, 100).isEmpty(), strategy.name)
+    }
+  }
+}
@@ -26,6 +26,8 @@ import static org.junit.Assert.assertTrue;
 import hu.bme.mit.theta.analysis.Trace;
 import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
 import hu.bme.mit.theta.analysis.algorithm.bounded.MonolithicExpr;
+import hu.bme.mit.theta.analysis.algorithm.bounded.MonolithicExprVarOrderingKt;
+import hu.bme.mit.theta.analysis.algorithm.mdd.fixedpoint.CachePolicy;
 import hu.bme.mit.theta.analysis.expl.ExplState;
 import hu.bme.mit.theta.analysis.expr.ExprAction;
 import hu.bme.mit.theta.common.logging.ConsoleLogger;
@@ -165,8 +167,29 @@ public class MddCheckerTest {
         testWithIterationStrategy(MddChecker.IterationStrategy.GSAT);
     }
 
+    @Test
+    public void testParallelGsat() throws Exception {
+        testWithIterationStrategy(MddChecker.IterationStrategy.PGSAT);
+    }
+
+    @Test
+    public void testGsatLossyCache() throws Exception {
+        testWithIterationStrategy(MddChecker.IterationStrategy.GSAT, CachePolicy.lossy(4));
+    }
+
+    @Test
+    public void testSatGenerationalCache() throws Exception {
+        testWithIterationStrategy(MddChecker.IterationStrategy.SAT, CachePolicy.generational());
+    }
+
     public void testWithIterationStrategy(MddChecker.IterationStrategy iterationStrategy)
             throws Exception {
+        testWithIterationStrategy(iterationStrategy, CachePolicy.unbounded());
+    }
+
+    public void testWithIterationStrategy(
+            MddChecker.IterationStrategy iterationStrategy, CachePolicy cachePolicy)
+            throws Exception {
 
         final Logger logger = new ConsoleLogger(Logger.Level.SUBSTEP);
 
@@ -174,7 +197,14 @@ public class MddCheckerTest {
         try (var solverPool = new SolverPool(Z3LegacySolverFactory.getInstance())) {
             final var monolithicExpr = new MonolithicExpr(initExpr, tranExpr, propExpr);
             final MddChecker checker =
-                    new MddChecker(monolithicExpr, solverPool, logger, iterationStrategy);
+                    new MddChecker(
+                            monolithicExpr,
+                            solverPool,
+                            logger,
+                            iterationStrategy,
+                            10,
+                            MonolithicExprVarOrderingKt.orderVars(monolithicExpr),
+                            cachePolicy);
             status = checker.check(null);
         }
 
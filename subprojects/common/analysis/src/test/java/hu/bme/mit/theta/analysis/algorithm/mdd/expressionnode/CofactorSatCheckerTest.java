@@ -0,0 +1,96 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.mdd.expressionnode;
+
+import static hu.bme.mit.theta.core.type.abstracttype.AbstractExprs.Eq;
+import static hu.bme.mit.theta.core.type.abstracttype.AbstractExprs.Geq;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Or;
+import static hu.bme.mit.theta.core.type.bvtype.BvExprs.BvType;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import hu.bme.mit.theta.core.decl.ConstDecl;
+import hu.bme.mit.theta.core.decl.Decls;
+import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.bvtype.BvType;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+import hu.bme.mit.theta.core.utils.BvUtils;
+import hu.bme.mit.theta.core.utils.ExprUtils;
+import hu.bme.mit.theta.solver.SolverPool;
+import hu.bme.mit.theta.solver.z3legacy.Z3LegacySolverFactory;
+import java.math.BigInteger;
+import java.util.List;
+import org.junit.Test;
+
+public class CofactorSatCheckerTest {
+
+    private final ConstDecl<BoolType> a = Decls.Const("a", Bool());
+    private final ConstDecl<BoolType> b = Decls.Const("b", Bool());
+    private final ConstDecl<BvType> v = Decls.Const("v", BvType(3));
+    private final ConstDecl<IntType> x = Decls.Const("x", Int());
+
+    @Test
+    public void testFindModelByEvaluation() {
+        final Expr<BoolType> expr =
+                And(
+                        Or(a.getRef(), b.getRef()),
+                        Not(a.getRef()),
+                        Eq(v.getRef(), BvUtils.bigIntegerToNeutralBvLitExpr(BigInteger.TWO, 3)));
+        final List<ConstDecl<?>> constants = CofactorSatChecker.getEnumerableConstants(expr);
+        assertNotNull(constants);
+        assertEquals(3, constants.size());
+
+        final Valuation model = CofactorSatChecker.findModel(expr, constants);
+        assertNotNull(model);
+        assertEquals(3, model.getDecls().size());
+        assertTrue(ExprUtils.simplify(expr, model).equals(Bool(true)));
+    }
+
+    @Test
+    public void testUnsatByEvaluation() {
+        final Expr<BoolType> expr = And(a.getRef(), Not(a.getRef()), b.getRef());
+        final List<ConstDecl<?>> constants = CofactorSatChecker.getEnumerableConstants(expr);
+        assertNotNull(constants);
+        assertNull(CofactorSatChecker.findModel(expr, constants));
+    }
+
+    @Test
+    public void testInfiniteDomainIsNotEnumerable() {
+        final Expr<BoolType> expr = And(a.getRef(), Geq(x.getRef(), Int(2)));
+        assertNull(CofactorSatChecker.getEnumerableConstants(expr));
+    }
+
+    @Test
+    public void testIsSatWithoutSolver() throws Exception {
+        try (SolverPool solverPool = new SolverPool(Z3LegacySolverFactory.getInstance())) {
+            final Expr<BoolType> sat = ExprUtils.canonize(And(a.getRef(), Not(b.getRef())));
+            final Expr<BoolType> unsat = ExprUtils.canonize(And(a.getRef(), Not(a.getRef())));
+            assertTrue(CofactorSatChecker.isSat(sat, solverPool));
+            assertFalse(CofactorSatChecker.isSat(unsat, solverPool));
+            assertTrue(CofactorSatChecker.isSat(sat, solverPool));
+            assertEquals(0, solverPool.size());
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.mdd.fixedpoint;
+
+import static hu.bme.mit.theta.core.type.abstracttype.AbstractExprs.Eq;
+import static hu.bme.mit.theta.core.type.anytype.Exprs.Prime;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import hu.bme.mit.delta.java.mdd.JavaMddFactory;
+import hu.bme.mit.delta.java.mdd.MddGraph;
+import hu.bme.mit.delta.java.mdd.MddHandle;
+import hu.bme.mit.delta.java.mdd.MddVariable;
+import hu.bme.mit.delta.java.mdd.MddVariableOrder;
+import hu.bme.mit.delta.mdd.MddInterpreter;
+import hu.bme.mit.delta.mdd.MddVariableDescriptor;
+import hu.bme.mit.theta.analysis.algorithm.mdd.ansd.impl.MddNodeInitializer;
+import hu.bme.mit.theta.analysis.algorithm.mdd.ansd.impl.MddNodeNextStateDescriptor;
+import hu.bme.mit.theta.analysis.algorithm.mdd.expressionnode.ExprLatticeDefinition;
+import hu.bme.mit.theta.analysis.algorithm.mdd.expressionnode.MddExpressionTemplate;
+import hu.bme.mit.theta.core.decl.Decl;
+import hu.bme.mit.theta.core.decl.Decls;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.utils.PathUtils;
+import hu.bme.mit.theta.solver.SolverPool;
+import hu.bme.mit.theta.solver.z3legacy.Z3LegacySolverFactory;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Test;
+
+public class GeneralizedSaturationProviderTest {
+
+    private static final VarDecl<BoolType> A = Decls.Var("a", BoolType.getInstance());
+    private static final VarDecl<BoolType> B = Decls.Var("b", BoolType.getInstance());
+    private static final VarDecl<BoolType> C = Decls.Var("c", BoolType.getInstance());
+
+    @Test
+    public void testGenerationalCacheKeepsRelProdResults() throws Exception {
+        // three bit counter, a is the most significant bit
+        final Expr<BoolType> initExpr = And(Not(A.getRef()), Not(B.getRef()), Not(C.getRef()));
+        final Expr<BoolType> transExpr =
+                And(
+                        Eq(Prime(C.getRef()), Not(C.getRef())),
+                        Eq(Prime(B.getRef()), Not(Eq(B.getRef(), C.getRef()))),
+                        Eq(
+                                Prime(A.getRef()),
+                                Not(Eq(A.getRef(), And(B.getRef(), C.getRef())))));
+
+        try (final SolverPool solverPool = new SolverPool(Z3LegacySolverFactory.getInstance())) {
+            final MddGraph<Expr> mddGraph =
+                    JavaMddFactory.getDefault().createMddGraph(ExprLatticeDefinition.forExpr());
+
+            final MddVariableOrder stateOrder =
+                    JavaMddFactory.getDefault().createMddVariableOrder(mddGraph);
+            final MddVariableOrder transOrder =
+                    JavaMddFactory.getDefault().createMddVariableOrder(mddGraph);
+
+            for (final VarDecl<BoolType> v : List.of(C, B, A)) {
+                stateOrder.createOnTop(MddVariableDescriptor.create(v.getConstDecl(0), 2));
+                transOrder.createOnTop(MddVariableDescriptor.create(v.getConstDecl(1), 2));
+                transOrder.createOnTop(MddVariableDescriptor.create(v.getConstDecl(0), 2));
+            }
+
+            final var stateSig = stateOrder.getDefaultSetSignature();
+            final var transSig = transOrder.getDefaultSetSignature();
+
+            final MddHandle initNode =
+                    stateSig.getTopVariableHandle()
+                            .checkInNode(
+                                    MddExpressionTemplate.of(
+                                            PathUtils.unfold(initExpr, 0),
+                                            o -> (Decl) o,
+                                            solverPool));
+            final MddHandle transNode =
+                    transSig.getTopVariableHandle()
+                            .checkInNode(
+                                    MddExpressionTemplate.of(
+                                            PathUtils.unfold(transExpr, 0),
+                                            o -> (Decl) o,
+                                            solverPool,
+                                            true));
+
+            final var provider =
+                    new GeneralizedSaturationProvider(
+                            stateSig.getVariableOrder(),
+                            new LegacyRelationalProductProvider(stateSig.getVariableOrder()),
+                            CachePolicy.generational());
+            final MddHandle stateSpace =
+                    provider.compute(
+                            MddNodeInitializer.of(initNode),
+                            MddNodeNextStateDescriptor.of(transNode),
+                            stateSig.getTopVariableHandle());
+
+            assertEquals(8L, MddInterpreter.calculateNonzeroCount(stateSpace));
+
+            // the fixed point iteration on the top level fires the same transitions from the same
+            // lower level nodes again, which must be answered from the relational product caches
+            long relProdHits = 0;
+            Optional<MddVariable> variable =
+                    stateSig.getTopVariableHandle().getVariable().flatMap(MddVariable::getLower);
+            while (variable.isPresent()) {
+                relProdHits +=
+                        provider.getSaturationCache(variable.get())
+                                .getRelProdCache()
+                                .getHitCount();
+                variable = variable.get().getLower();
+            }
+            assertTrue(relProdHits > 0);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.oc
+
+import org.junit.jupiter.api.Assertions
+import org.junit.jupiter.api.Test
+
+class GlobalRelationTest {
+
+  private val size = 100 // more than one bitset word
+
+  @Test
+  fun testClose() {
+    val rels = BooleanGlobalRelation(size) { false }
+    Assertions.assertNull(rels.close((0 until size - 1).map { Triple(it, it + 1, true) }))
+
+    for (i in 0 until size) {
+      for (j in 0 until size) {
+        Assertions.assertEquals(i < j, rels[i, j], "$i -> $j")
+      }
+    }
+    Assertions.assertEquals(true, rels.close(size - 1, 0, true))
+  }
+
+  @Test
+  fun testBacktrack() {
+    val rels = GlobalRelation(size) { (i, j) -> if (j == i + 1 && i != 63) PoReason else null }
+    val mark = rels.mark()
+    Assertions.assertNull(rels.close(63, 64, PoReason))
+    Assertions.assertNotNull(rels[0, size - 1])
+
+    rels.backtrack(mark)
+    Assertions.assertNull(rels[0, size - 1])
+    Assertions.assertNull(rels[63, 64])
+    Assertions.assertNotNull(rels[0, 1])
+    Assertions.assertNull(rels.close(size - 1, 0, PoReason))
+    Assertions.assertNotNull(rels[64, 63])
+  }
+
+  @Test
+  fun testSparse() {
+    val default = { (i, j): Pair<Int, Int> -> if (j == i + 1) PoReason else null }
+    val dense = GlobalRelation(size, sparse = false, default)
+    val sparse = GlobalRelation(size, sparse = true, default)
+    Assertions.assertNull(dense.close(0, size / 2, PoReason))
+    Assertions.assertNull(sparse.close(0, size / 2, PoReason))
+
+    Assertions.assertNotNull(sparse[0, size - 1])
+    Assertions.assertNull(sparse[1, size - 1])
+    Assertions.assertNull(sparse[size / 2, 0])
+    dense.forEachPair { i, j, reason ->
+      Assertions.assertEquals(reason == null, sparse[i, j] == null, "$i -> $j")
+    }
+    Assertions.assertNotNull(sparse.close(size - 1, 0, PoReason))
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.reachedset;
+
+import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import hu.bme.mit.theta.analysis.expl.ExplState;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.model.ImmutableValuation;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+
+public class CandidateIndexesTest {
+
+    private final VarDecl<IntType> x = Var("x", Int());
+    private final VarDecl<IntType> y = Var("y", Int());
+
+    @Test
+    public void testSubset() {
+        final CandidateIndex<Set<String>> index = CandidateIndexes.subset(s -> s);
+        index.add(Set.of());
+        index.add(Set.of("a"));
+        index.add(Set.of("a", "b"));
+        index.add(Set.of("b", "c"));
+
+        assertEquals(3, index.getCandidates(Set.of("a", "b")).size());
+        assertEquals(2, index.getCandidates(Set.of("a", "d")).size());
+        assertEquals(1, index.getCandidates(Set.of("d")).size());
+        assertEquals(4, index.getCandidates(Set.of("a", "b", "c")).size());
+    }
+
+    @Test
+    public void testExpl() {
+        final ExplState x1 = ExplState.of(ImmutableValuation.builder().put(x, Int(1)).build());
+        final ExplState x2 = ExplState.of(ImmutableValuation.builder().put(x, Int(2)).build());
+        final ExplState x1y1 =
+                ExplState.of(ImmutableValuation.builder().put(x, Int(1)).put(y, Int(1)).build());
+        final ExplState y1 = ExplState.of(ImmutableValuation.builder().put(y, Int(1)).build());
+
+        final CandidateIndex<ExplState> index = CandidateIndexes.subset(CoverageFeatures::expl);
+        index.add(ExplState.top());
+        index.add(x1);
+        index.add(x2);
+        index.add(y1);
+
+        final List<ExplState> candidates = index.getCandidates(x1y1);
+        assertEquals(3, candidates.size());
+        assertTrue(candidates.contains(x1));
+        assertTrue(candidates.contains(y1));
+        assertFalse(candidates.contains(x2));
+        for (final ExplState candidate : candidates) {
+            assertTrue(x1y1.isLeq(candidate));
+        }
+        assertEquals(4, index.getCandidates(ExplState.bottom()).size());
+    }
+}
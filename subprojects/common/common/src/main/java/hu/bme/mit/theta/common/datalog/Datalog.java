@@ -16,22 +16,23 @@
 package hu.bme.mit.theta.common.datalog;
 
 /*
- * Datalog engine using naive (enumerative) evaluation.
+ * Datalog engine using semi-naive evaluation: every round only joins the tuples derived in the
+ * previous round (the delta) with the rest, using hash indexes on the join columns of each rule.
+ * Arguments are interned to ints, and tuples are kept in append-only int stores, so push/pop
+ * only needs to remember the size of each store.
  * Limitations:
  *  - Only relations are supported right now, simple atoms are not
- *  - There is a performance penalty for specific rulesets, see
- *    http://pages.cs.wisc.edu/~paris/cs838-s16/lecture-notes/lecture8.pdf
  */
 
 import static com.google.common.base.Preconditions.checkState;
 
 import com.google.common.collect.ImmutableList;
 import hu.bme.mit.theta.common.Tuple2;
-import hu.bme.mit.theta.common.Tuple3;
 import hu.bme.mit.theta.common.TupleN;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -43,11 +44,15 @@ import java.util.stream.Collectors;
 
 public class Datalog {
     private final Map<String, Relation> relations;
+    private final List<DatalogArgument> arguments;
+    private final Map<DatalogArgument, Integer> argumentIds;
     private boolean debug = false;
     private int stackDepth = 0;
 
     protected Datalog() {
         relations = new LinkedHashMap<>();
+        arguments = new ArrayList<>();
+        argumentIds = new HashMap<>();
     }
 
     public static Datalog createProgram() {
@@ -158,19 +163,42 @@ public class Datalog {
     }
 
     private void refresh() {
-        int cnt;
-        do {
-            cnt = 0;
+        boolean changed = true;
+        while (changed) {
             for (Relation relation : relations.values()) {
-                int i = relation.calc();
-                if (debug) System.out.println(i + " new facts");
-                cnt += i;
+                relation.deltaEnd = relation.store.size();
             }
-            if (debug) System.out.println("====");
-        } while (cnt > 0);
-        for (Relation relation : relations.values()) {
-            relation.flush();
+            int cnt = 0;
+            for (Relation relation : relations.values()) {
+                for (Rule rule : relation.compiledRules) {
+                    cnt += rule.evaluateDelta();
+                }
+            }
+            if (debug) System.out.println(cnt + " new facts");
+            changed = false;
+            for (Relation relation : relations.values()) {
+                relation.stable = relation.deltaEnd;
+                changed |= relation.store.size() > relation.stable;
+            }
+        }
+        if (debug) System.out.println("====");
+    }
+
+    private int encode(DatalogArgument argument) {
+        return argumentIds.computeIfAbsent(
+                argument,
+                a -> {
+                    arguments.add(a);
+                    return arguments.size() - 1;
+                });
+    }
+
+    private TupleN<DatalogArgument> decode(TupleStore store, int row, int arity) {
+        List<DatalogArgument> ret = new ArrayList<>(arity);
+        for (int i = 0; i < arity; i++) {
+            ret.add(arguments.get(store.get(row, i)));
         }
+        return TupleN.of(ret);
     }
 
     public Relation createRelation(String name, int n) {
@@ -271,17 +299,14 @@ public class Datalog {
 
     public class Relation {
         private final String name;
-        private final Set<TupleN<DatalogArgument>> elements;
-        private final Set<TupleN<DatalogArgument>> newElements;
-        private final Set<TupleN<DatalogArgument>> toAdd;
+        private final TupleStore store;
         private final Set<Tuple2<TupleN<Variable>, Set<Tuple2<Relation, TupleN<Variable>>>>> rules;
+        private final List<Rule> compiledRules;
         private final int arity;
-        private final Stack<
-                        Tuple3<
-                                Set<TupleN<DatalogArgument>>,
-                                Set<TupleN<DatalogArgument>>,
-                                Set<TupleN<DatalogArgument>>>>
-                stack;
+        private final Stack<Integer> stack;
+        // rows below stable are fully propagated, rows in [stable, deltaEnd) are the current delta
+        private int stable;
+        private int deltaEnd;
 
         private Relation(int n) {
             this("", n);
@@ -290,21 +315,25 @@ public class Datalog {
         private Relation(String name, int n) {
             this.name = name;
             this.arity = n;
-            elements = new LinkedHashSet<>();
-            newElements = new LinkedHashSet<>();
+            store = new TupleStore(n);
             rules = new LinkedHashSet<>();
-            toAdd = new LinkedHashSet<>();
+            compiledRules = new ArrayList<>();
             stack = new Stack<>();
         }
 
         public void addFact(TupleN<DatalogArgument> fact) {
             checkState(fact.arity() == arity);
-            newElements.add(fact);
+            int[] tuple = new int[arity];
+            for (int i = 0; i < arity; i++) {
+                tuple[i] = encode(fact.get(i));
+            }
             if (debug) {
                 System.out.println();
                 System.out.println("New fact (" + name + "): " + fact);
             }
-            refresh();
+            if (store.add(tuple)) {
+                refresh();
+            }
         }
 
         public void addRule(
@@ -316,182 +345,35 @@ public class Datalog {
             for (Tuple2<Relation, TupleN<Variable>> dependency : dependencies) {
                 checkState(dependency.get1().arity == dependency.get2().arity());
             }
-            rules.add(Tuple2.of(args, new LinkedHashSet<>(dependencies)));
-            refresh();
-        }
-
-        public Collection<TupleN<DatalogArgument>> getElements() {
-            ArrayList<TupleN<DatalogArgument>> ret = new ArrayList<>(elements);
-            ret.addAll(newElements);
-            return ImmutableList.copyOf(ret);
-        }
-
-        public int getArity() {
-            return arity;
-        }
-
-        private boolean validate(
-                List<Tuple2<Relation, TupleN<Variable>>> oldClauses,
-                Map<Variable, DatalogArgument> currentAssignments,
-                List<Map<Variable, DatalogArgument>> assignments) {
-            List<Tuple2<Relation, TupleN<Variable>>> clauses = new ArrayList<>(oldClauses);
-            if (clauses.size() > 0) {
-                Tuple2<Relation, TupleN<Variable>> clause = clauses.get(0);
-                clauses.remove(0);
-                for (TupleN<DatalogArgument> element : clause.get1().elements) {
-                    Map<Variable, DatalogArgument> nextAssignments =
-                            new LinkedHashMap<>(currentAssignments);
-                    if (!putAssignments(nextAssignments, clause, element)) {
-                        validate(clauses, nextAssignments, assignments);
-                    }
-                }
-                for (TupleN<DatalogArgument> element : clause.get1().newElements) {
-                    Map<Variable, DatalogArgument> nextAssignments =
-                            new LinkedHashMap<>(currentAssignments);
-                    if (!putAssignments(nextAssignments, clause, element)) {
-                        validate(clauses, nextAssignments, assignments);
-                    }
-                }
-                return assignments.size() > 0;
-            } else {
-                assignments.add(currentAssignments);
-                return true;
-            }
-        }
-
-        private int calc() {
-            int cnt = 0;
-            for (Tuple2<TupleN<Variable>, Set<Tuple2<Relation, TupleN<Variable>>>> rule : rules) {
-                for (Tuple2<Relation, TupleN<Variable>> clause : rule.get2()) {
-                    Set<TupleN<DatalogArgument>> alreadyAdded = new LinkedHashSet<>();
-                    boolean atLeastOne = true;
-                    while (atLeastOne) {
-                        atLeastOne = false;
-                        for (TupleN<DatalogArgument> newElement :
-                                clause.get1().newElements.stream()
-                                        .filter(objects -> !alreadyAdded.contains(objects))
-                                        .collect(Collectors.toCollection(LinkedHashSet::new))) {
-                            cnt = addElements(cnt, rule, clause, newElement);
-                            alreadyAdded.add(newElement);
-                            atLeastOne = true;
-                        }
-                    }
-                    alreadyAdded.clear();
-                    atLeastOne = true;
-                    while (atLeastOne) {
-                        atLeastOne = false;
-                        for (TupleN<DatalogArgument> newElement :
-                                clause.get1().toAdd.stream()
-                                        .filter(objects -> !alreadyAdded.contains(objects))
-                                        .collect(Collectors.toCollection(LinkedHashSet::new))) {
-                            cnt = addElements(cnt, rule, clause, newElement);
-                            alreadyAdded.add(newElement);
-                            atLeastOne = true;
-                        }
-                    }
-                }
-            }
-            return cnt;
-        }
-
-        private int addElements(
-                int cnt,
-                Tuple2<TupleN<Variable>, Set<Tuple2<Relation, TupleN<Variable>>>> rule,
-                Tuple2<Relation, TupleN<Variable>> clause,
-                TupleN<DatalogArgument> newElement) {
-            Map<Variable, DatalogArgument> assignments = new LinkedHashMap<>();
-            if (putAssignments(assignments, clause, newElement)) return cnt;
-            if (debug) {
-                System.out.println("\t(" + name + ")Checking " + newElement);
-            }
-            ArrayList<Tuple2<Relation, TupleN<Variable>>> validators = new ArrayList<>(rule.get2());
-            validators.remove(clause);
-            List<Map<Variable, DatalogArgument>> satisfyingAssignments = new ArrayList<>();
-            if (validate(validators, assignments, satisfyingAssignments)) {
-                for (Map<Variable, DatalogArgument> satisfyingAssignment : satisfyingAssignments) {
-                    List<DatalogArgument> arguments = new ArrayList<>();
-                    for (Object o : rule.get1()) {
-                        Variable v = (Variable) o;
-                        checkState(
-                                satisfyingAssignment.containsKey(v),
-                                "Not all variables are bound!");
-                        arguments.add(satisfyingAssignment.get(v));
-                    }
-                    TupleN<DatalogArgument> item = TupleN.of(arguments);
-                    if (!elements.contains(item)
-                            && !newElements.contains(item)
-                            && !toAdd.contains(item)) {
-                        toAdd.add(item);
-                        if (debug) {
-                            System.out.println("(" + name + ")Adding " + item);
-                        }
-                        ++cnt;
-                    }
+            if (rules.add(Tuple2.of(args, new LinkedHashSet<>(dependencies)))) {
+                Rule rule = new Rule(this, args, new ArrayList<>(dependencies));
+                compiledRules.add(rule);
+                if (rule.evaluateAll() > 0) {
+                    refresh();
                 }
             }
-            return cnt;
         }
 
-        private boolean putAssignments(
-                Map<Variable, DatalogArgument> assignments,
-                Tuple2<Relation, TupleN<Variable>> validatorClause,
-                TupleN<DatalogArgument> element) {
-            for (int i = 0; i < element.arity(); i++) {
-                if (assignments.containsKey(validatorClause.get2().get(i))) {
-                    if (!assignments.get(validatorClause.get2().get(i)).equals(element.get(i)))
-                        return true;
-                } else {
-                    assignments.put(validatorClause.get2().get(i), element.get(i));
-                }
+        public Collection<TupleN<DatalogArgument>> getElements() {
+            ImmutableList.Builder<TupleN<DatalogArgument>> ret = ImmutableList.builder();
+            for (int row = 0; row < store.size(); row++) {
+                ret.add(decode(store, row, arity));
             }
-            return false;
+            return ret.build();
         }
 
-        private void flush() {
-            if (debug) {
-                StringBuilder stringBuilder = new StringBuilder("[");
-                newElements.forEach(
-                        objects -> stringBuilder.append(objects.toString()).append(", "));
-
-                System.out.println(
-                        "("
-                                + name
-                                + ") Promoting newElements to elements: "
-                                + stringBuilder.append("]").toString());
-            }
-            elements.addAll(newElements);
-            newElements.clear();
-
-            if (debug) {
-                StringBuilder stringBuilder1 = new StringBuilder("[");
-                toAdd.forEach(objects -> stringBuilder1.append(objects.toString()).append(", "));
-
-                System.out.println(
-                        "("
-                                + name
-                                + ") Promoting toAdd to newElements: "
-                                + stringBuilder1.append("]").toString());
-            }
-            newElements.addAll(toAdd);
-            toAdd.clear();
+        public int getArity() {
+            return arity;
         }
 
         public void push() {
-            stack.push(Tuple3.of(Set.copyOf(elements), Set.copyOf(newElements), Set.copyOf(toAdd)));
+            stack.push(store.size());
         }
 
         public void pop() {
-            final Tuple3<
-                            Set<TupleN<DatalogArgument>>,
-                            Set<TupleN<DatalogArgument>>,
-                            Set<TupleN<DatalogArgument>>>
-                    popped = stack.pop();
-            elements.clear();
-            elements.addAll(popped.get1());
-            newElements.clear();
-            newElements.addAll(popped.get2());
-            toAdd.clear();
-            toAdd.addAll(popped.get3());
+            store.truncate(stack.pop());
+            stable = store.size();
+            deltaEnd = store.size();
         }
 
         @Override
@@ -523,4 +405,208 @@ public class Datalog {
             return sb.toString();
         }
     }
+
+    /*
+     * A rule compiled to variable indices, with one join plan per body atom: the plan starting
+     * from the i-th atom is used when that atom ranges over the delta of its relation. The
+     * remaining atoms are joined greedily (most bound columns first), each through a hash index
+     * on its bound columns.
+     */
+    private final class Rule {
+        private final Relation head;
+        private final int[] headVars;
+        private final List<Tuple2<Relation, TupleN<Variable>>> body;
+        private final Step[][] plans;
+        private final int[] binding;
+        private final int[] lo;
+        private final int[] hi;
+
+        private Rule(
+                Relation head,
+                TupleN<Variable> args,
+                List<Tuple2<Relation, TupleN<Variable>>> body) {
+            this.head = head;
+            this.body = body;
+            Map<Variable, Integer> varIds = new LinkedHashMap<>();
+            for (Tuple2<Relation, TupleN<Variable>> atom : body) {
+                for (int i = 0; i < atom.get2().arity(); i++) {
+                    varIds.putIfAbsent(atom.get2().get(i), varIds.size());
+                }
+            }
+            headVars = new int[args.arity()];
+            for (int i = 0; i < args.arity(); i++) {
+                checkState(varIds.containsKey(args.get(i)), "Not all variables are bound!");
+                headVars[i] = varIds.get(args.get(i));
+            }
+            plans = new Step[body.size()][];
+            for (int i = 0; i < body.size(); i++) {
+                plans[i] = plan(i, varIds);
+            }
+            binding = new int[varIds.size()];
+            lo = new int[body.size()];
+            hi = new int[body.size()];
+        }
+
+        private Step[] plan(int first, Map<Variable, Integer> varIds) {
+            Set<Integer> bound = new LinkedHashSet<>();
+            List<Integer> remaining = new ArrayList<>();
+            for (int i = 0; i < body.size(); i++) {
+                if (i != first) remaining.add(i);
+            }
+            Step[] plan = new Step[body.size()];
+            int next = first;
+            for (int depth = 0; depth < plan.length; depth++) {
+                if (depth > 0) {
+                    next = remaining.get(0);
+                    int best = -1;
+                    for (int candidate : remaining) {
+                        int cnt = 0;
+                        for (Object o : body.get(candidate).get2()) {
+                            if (bound.contains(varIds.get((Variable) o))) ++cnt;
+                        }
+                        if (cnt > best) {
+                            best = cnt;
+                            next = candidate;
+                        }
+                    }
+                    remaining.remove((Integer) next);
+                }
+                plan[depth] = new Step(next, body.get(next), varIds, bound);
+            }
+            return plan;
+        }
+
+        private int evaluateAll() {
+            for (int i = 0; i < body.size(); i++) {
+                lo[i] = 0;
+                hi[i] = body.get(i).get1().store.size();
+            }
+            return join(plans[0], 0);
+        }
+
+        private int evaluateDelta() {
+            int cnt = 0;
+            for (int i = 0; i < body.size(); i++) {
+                Relation delta = body.get(i).get1();
+                if (delta.deltaEnd == delta.stable) continue;
+                for (int j = 0; j < body.size(); j++) {
+                    Relation relation = body.get(j).get1();
+                    lo[j] = j == i ? relation.stable : 0;
+                    hi[j] = j < i ? relation.stable : relation.deltaEnd;
+                }
+                cnt += join(plans[i], 0);
+            }
+            return cnt;
+        }
+
+        private int join(Step[] plan, int depth) {
+            if (depth == plan.length) {
+                int[] tuple = new int[headVars.length];
+                for (int i = 0; i < headVars.length; i++) {
+                    tuple[i] = binding[headVars[i]];
+                }
+                if (head.store.add(tuple)) {
+                    if (debug) {
+                        System.out.println(
+                                "("
+                                        + head.name
+                                        + ")Adding "
+                                        + decode(head.store, head.store.size() - 1, head.arity));
+                    }
+                    return 1;
+                }
+                return 0;
+            }
+            Step step = plan[depth];
+            TupleStore store = step.relation.store;
+            int from = lo[step.position];
+            int to = hi[step.position];
+            int cnt = 0;
+            if (step.index != null) {
+                for (int i = 0; i < step.key.length; i++) {
+                    step.key[i] = binding[step.keyVars[i]];
+                }
+                for (int row = step.index.first(step.key);
+                        row >= 0 && row >= from;
+                        row = step.index.next(row)) {
+                    if (row < to && step.index.matches(row, step.key)) {
+                        cnt += bindAndJoin(plan, depth, store, row);
+                    }
+                }
+            } else {
+                for (int row = from; row < to; row++) {
+                    cnt += bindAndJoin(plan, depth, store, row);
+                }
+            }
+            return cnt;
+        }
+
+        private int bindAndJoin(Step[] plan, int depth, TupleStore store, int row) {
+            Step step = plan[depth];
+            for (int i = 0; i < step.bindColumns.length; i++) {
+                binding[step.bindVars[i]] = store.get(row, step.bindColumns[i]);
+            }
+            for (int i = 0; i < step.checkColumns.length; i++) {
+                if (store.get(row, step.checkColumns[i]) != binding[step.checkVars[i]]) return 0;
+            }
+            return join(plan, depth + 1);
+        }
+    }
+
+    /*
+     * One atom of a join plan: columns bound by earlier atoms form the index key, the first
+     * occurrence of each new variable is bound from the row, and repeated occurrences are checked.
+     */
+    private static final class Step {
+        private final int position;
+        private final Relation relation;
+        private final TupleStore.Index index;
+        private final int[] key;
+        private final int[] keyVars;
+        private final int[] bindColumns;
+        private final int[] bindVars;
+        private final int[] checkColumns;
+        private final int[] checkVars;
+
+        private Step(
+                int position,
+                Tuple2<Relation, TupleN<Variable>> atom,
+                Map<Variable, Integer> varIds,
+                Set<Integer> bound) {
+            this.position = position;
+            this.relation = atom.get1();
+            List<Integer> keyColumns = new ArrayList<>();
+            List<Integer> keyVarList = new ArrayList<>();
+            List<Integer> bindColumnList = new ArrayList<>();
+            List<Integer> bindVarList = new ArrayList<>();
+            List<Integer> checkColumnList = new ArrayList<>();
+            List<Integer> checkVarList = new ArrayList<>();
+            Set<Integer> boundHere = new LinkedHashSet<>();
+            for (int i = 0; i < atom.get2().arity(); i++) {
+                int var = varIds.get(atom.get2().get(i));
+                if (bound.contains(var)) {
+                    keyColumns.add(i);
+                    keyVarList.add(var);
+                } else if (boundHere.add(var)) {
+                    bindColumnList.add(i);
+                    bindVarList.add(var);
+                } else {
+                    checkColumnList.add(i);
+                    checkVarList.add(var);
+                }
+            }
+            bound.addAll(boundHere);
+            this.index = keyColumns.isEmpty() ? null : relation.store.index(toArray(keyColumns));
+            this.key = new int[keyColumns.size()];
+            this.keyVars = toArray(keyVarList);
+            this.bindColumns = toArray(bindColumnList);
+            this.bindVars = toArray(bindVarList);
+            this.checkColumns = toArray(checkColumnList);
+            this.checkVars = toArray(checkVarList);
+        }
+
+        private static int[] toArray(List<Integer> list) {
+            return list.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
 }
@@ -0,0 +1,177 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.common.datalog;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Append-only store of int-encoded tuples with hash indexes on arbitrary column sets.
+ * Rows are only ever removed from the end (see truncate()), which is what push/pop needs,
+ * and keeps the index chains (always ordered from the newest row to the oldest) valid.
+ */
+final class TupleStore {
+    private final int arity;
+    private final Map<List<Integer>, Index> indexes;
+    private final Index all;
+    private int[] data;
+    private int size;
+
+    TupleStore(int arity) {
+        this.arity = arity;
+        this.indexes = new LinkedHashMap<>();
+        this.data = new int[arity * 16];
+        this.size = 0;
+        final int[] columns = new int[arity];
+        for (int i = 0; i < arity; i++) {
+            columns[i] = i;
+        }
+        this.all = index(columns);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(int row, int column) {
+        return data[row * arity + column];
+    }
+
+    boolean contains(int[] tuple) {
+        for (int row = all.first(tuple); row >= 0; row = all.next(row)) {
+            if (all.matches(row, tuple)) return true;
+        }
+        return false;
+    }
+
+    boolean add(int[] tuple) {
+        checkState(tuple.length == arity);
+        if (contains(tuple)) return false;
+        if ((size + 1) * arity > data.length) {
+            data = Arrays.copyOf(data, data.length * 2);
+        }
+        System.arraycopy(tuple, 0, data, size * arity, arity);
+        final int row = size++;
+        for (Index index : indexes.values()) {
+            index.insert(row);
+        }
+        return true;
+    }
+
+    void truncate(int newSize) {
+        checkState(newSize <= size);
+        for (int row = size - 1; row >= newSize; row--) {
+            for (Index index : indexes.values()) {
+                index.remove(row);
+            }
+        }
+        size = newSize;
+    }
+
+    Index index(int[] columns) {
+        return indexes.computeIfAbsent(
+                Arrays.stream(columns).boxed().toList(), c -> new Index(columns));
+    }
+
+    /*
+     * Hash index on a set of columns. Rows of a bucket are chained through next[], from the
+     * newest to the oldest, so a lookup restricted to rows [lo, hi) can stop at the first row
+     * below lo.
+     */
+    final class Index {
+        private final int[] columns;
+        private int[] heads;
+        private int[] next;
+        private int mask;
+
+        private Index(int[] columns) {
+            this.columns = columns.clone();
+            this.next = new int[Math.max(16, size)];
+            rehash(Integer.highestOneBit(Math.max(16, size)) * 2);
+        }
+
+        int first(int[] key) {
+            return heads[keyHash(key) & mask];
+        }
+
+        int next(int row) {
+            return next[row];
+        }
+
+        boolean matches(int row, int[] key) {
+            for (int i = 0; i < columns.length; i++) {
+                if (get(row, columns[i]) != key[i]) return false;
+            }
+            return true;
+        }
+
+        private void insert(int row) {
+            if (row >= next.length) {
+                next = Arrays.copyOf(next, next.length * 2);
+            }
+            if (size > heads.length) {
+                rehash(heads.length * 2);
+            } else {
+                link(row);
+            }
+        }
+
+        private void remove(int row) {
+            final int bucket = rowHash(row) & mask;
+            checkState(heads[bucket] == row, "Only the newest row can be removed");
+            heads[bucket] = next[row];
+        }
+
+        private void rehash(int buckets) {
+            heads = new int[buckets];
+            Arrays.fill(heads, -1);
+            mask = buckets - 1;
+            for (int row = 0; row < size; row++) {
+                link(row);
+            }
+        }
+
+        private void link(int row) {
+            final int bucket = rowHash(row) & mask;
+            next[row] = heads[bucket];
+            heads[bucket] = row;
+        }
+
+        private int rowHash(int row) {
+            int hash = 1;
+            for (int column : columns) {
+                hash = 31 * hash + get(row, column);
+            }
+            return spread(hash);
+        }
+
+        private int keyHash(int[] key) {
+            int hash = 1;
+            for (int i = 0; i < columns.length; i++) {
+                hash = 31 * hash + key[i];
+            }
+            return spread(hash);
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.common.metrics;
+
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * A value that is sampled when the metrics are read (e.g., the size of a cache). Closing the gauge
+ * keeps its last value, but releases the supplier (and everything it references).
+ */
+public final class Gauge implements Metric, AutoCloseable {
+
+    private final String name;
+    private volatile LongSupplier supplier;
+    private volatile long lastValue;
+
+    Gauge(final String name, final LongSupplier supplier) {
+        this.name = name;
+        this.supplier = supplier;
+    }
+
+    public long getValue() {
+        final LongSupplier current = supplier;
+        if (current != null) {
+            lastValue = current.getAsLong();
+        }
+        return lastValue;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Map<String, Number> getValues() {
+        return Map.of("value", getValue());
+    }
+
+    @Override
+    public void reset() {
+        lastValue = 0;
+    }
+
+    @Override
+    public void close() {
+        getValue();
+        supplier = null;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.common.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribution of non-negative values, kept in power-of-two buckets, so quantiles are accurate up
+ * to a factor of two. Recording is lock-free, and is ignored while metrics are disabled.
+ */
+public class Histogram implements Metric {
+
+    private static final int BUCKETS = 64;
+
+    private final String name;
+    private final LongAdder count;
+    private final LongAdder sum;
+    private final AtomicLong max;
+    private final AtomicLongArray buckets;
+
+    Histogram(final String name) {
+        this.name = name;
+        this.count = new LongAdder();
+        this.sum = new LongAdder();
+        this.max = new AtomicLong();
+        this.buckets = new AtomicLongArray(BUCKETS);
+    }
+
+    public void record(final long value) {
+        if (Metrics.isEnabled()) {
+            final long v = Math.max(value, 0);
+            count.increment();
+            sum.add(v);
+            max.accumulateAndGet(v, Math::max);
+            buckets.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(v));
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /** Gets an upper bound of the given quantile (between 0 and 1) of the recorded values. */
+    public long getQuantile(final double quantile) {
+        final long total = getCount();
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= Math.max(rank, 1)) {
+                return i == 0 ? 0 : Math.min(getMax(), (1L << i) - 1);
+            }
+        }
+        return getMax();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Map<String, Number> getValues() {
+        final long total = getCount();
+        final Map<String, Number> values = new LinkedHashMap<>();
+        values.put("count", total);
+        values.put("sum", getSum());
+        values.put("mean", total == 0 ? 0.0 : (double) getSum() / total);
+        values.put("p50", getQuantile(0.5));
+        values.put("p90", getQuantile(0.9));
+        values.put("p99", getQuantile(0.99));
+        values.put("max", getMax());
+        return values;
+    }
+
+    @Override
+    public void reset() {
+        count.reset();
+        sum.reset();
+        max.set(0);
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+    }
+}
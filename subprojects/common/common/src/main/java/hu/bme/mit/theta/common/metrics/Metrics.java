@@ -0,0 +1,141 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.common.metrics;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Global registry of named metrics. Metrics are created on first use, and should be kept in
+ * (static) fields on hot paths, e.g.:
+ *
+ * <pre>
+ * private static final Timer CHECK_TIMER = Metrics.timer("solver.check");
+ * </pre>
+ */
+public final class Metrics {
+
+    private static final ConcurrentMap<String, Metric> metrics = new ConcurrentHashMap<>();
+    private static volatile boolean enabled = Boolean.getBoolean("theta.metrics");
+
+    static {
+        final String dumpFile = System.getProperty("theta.metrics.dump");
+        if (dumpFile != null) {
+            enabled = true;
+            final long period = Long.getLong("theta.metrics.period", 10_000);
+            final MetricsDumper dumper =
+                    startDump(
+                            Path.of(dumpFile),
+                            Duration.ofMillis(period),
+                            dumpFile.endsWith(".csv")
+                                    ? MetricsDumper.Format.CSV
+                                    : MetricsDumper.Format.JSON);
+            Runtime.getRuntime().addShutdownHook(new Thread(dumper::close));
+        }
+    }
+
+    private Metrics() {}
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(final boolean enabled) {
+        Metrics.enabled = enabled;
+    }
+
+    public static Counter counter(final String name) {
+        return get(name, Counter.class, Counter::new);
+    }
+
+    public static Histogram histogram(final String name) {
+        return get(name, Histogram.class, Histogram::new);
+    }
+
+    public static Timer timer(final String name) {
+        return get(name, Timer.class, Timer::new);
+    }
+
+    /** Registers a gauge, replacing (and closing) any previous gauge with the same name. */
+    public static Gauge gauge(final String name, final LongSupplier supplier) {
+        final Gauge gauge = new Gauge(name, supplier);
+        final Metric previous = metrics.put(name, gauge);
+        checkArgument(
+                previous == null || previous instanceof Gauge,
+                "Metric %s is not a gauge",
+                name);
+        if (previous != null) {
+            ((Gauge) previous).close();
+        }
+        return gauge;
+    }
+
+    private static <T extends Metric> T get(
+            final String name, final Class<T> type, final Function<String, T> constructor) {
+        final Metric metric = metrics.computeIfAbsent(name, constructor);
+        checkArgument(
+                metric.getClass() == type,
+                "Metric %s is a %s",
+                name,
+                metric.getClass().getSimpleName());
+        return type.cast(metric);
+    }
+
+    /** Gets the current values of all metrics, ordered by name. */
+    public static Map<String, Map<String, Number>> snapshot() {
+        final Map<String, Map<String, Number>> ret = new TreeMap<>();
+        metrics.values().forEach(metric -> ret.put(metric.getName(), metric.getValues()));
+        return ret;
+    }
+
+    /** Resets all metrics (but keeps them registered). */
+    public static void reset() {
+        metrics.values().forEach(Metric::reset);
+    }
+
+    /** Periodically writes all metrics to the given file until the returned dumper is closed. */
+    public static MetricsDumper startDump(
+            final Path file, final Duration period, final MetricsDumper.Format format) {
+        return new MetricsDumper(file, period, format);
+    }
+
+    public static String toJson() {
+        final StringJoiner metricsJoiner = new StringJoiner(",\n  ", "{\n  ", "\n}\n");
+        snapshot()
+                .forEach(
+                        (name, values) -> {
+                            final StringJoiner valuesJoiner = new StringJoiner(", ", "{", "}");
+                            values.forEach(
+                                    (key, value) ->
+                                            valuesJoiner.add(quote(key) + ": " + value));
+                            metricsJoiner.add(quote(name) + ": " + valuesJoiner);
+                        });
+        return metricsJoiner.toString();
+    }
+
+    private static String quote(final String str) {
+        return "\"" + str.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
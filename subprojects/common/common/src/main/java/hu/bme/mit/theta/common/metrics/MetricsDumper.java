@@ -0,0 +1,127 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.common.metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically writes the metrics into a file from a daemon thread. The JSON format always holds
+ * the latest snapshot, while the CSV format appends one row per metric value on every dump (with
+ * the milliseconds elapsed since the start), so the evolution of a long run can be plotted. A
+ * failing periodic dump is reported on the standard error, and the next dump is tried as scheduled.
+ */
+public final class MetricsDumper implements AutoCloseable {
+
+    public enum Format {
+        JSON,
+        CSV
+    }
+
+    private final Path file;
+    private final Format format;
+    private final long startTime;
+    private final ScheduledExecutorService executor;
+    private boolean failing = false;
+
+    MetricsDumper(final Path file, final Duration period, final Format format) {
+        this.file = file;
+        this.format = format;
+        this.startTime = System.currentTimeMillis();
+        this.executor =
+                Executors.newSingleThreadScheduledExecutor(
+                        runnable -> {
+                            final Thread thread = new Thread(runnable, "metrics-dumper");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        if (format == Format.CSV) {
+            write("time,metric,key,value\n", false);
+        }
+        executor.scheduleAtFixedRate(
+                this::periodicDump, period.toMillis(), period.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void periodicDump() {
+        // An exception would cancel all further executions, so failures are only reported (once
+        // until a dump succeeds again)
+        try {
+            dump();
+            failing = false;
+        } catch (final RuntimeException e) {
+            if (!failing) {
+                System.err.println("Could not dump metrics into " + file + ": " + e);
+                failing = true;
+            }
+        }
+    }
+
+    public synchronized void dump() {
+        switch (format) {
+            case JSON -> write(Metrics.toJson(), false);
+            case CSV -> {
+                final long time = System.currentTimeMillis() - startTime;
+                final StringBuilder sb = new StringBuilder();
+                for (final Map.Entry<String, Map<String, Number>> metric :
+                        Metrics.snapshot().entrySet()) {
+                    metric.getValue()
+                            .forEach(
+                                    (key, value) ->
+                                            sb.append(time)
+                                                    .append(',')
+                                                    .append(metric.getKey())
+                                                    .append(',')
+                                                    .append(key)
+                                                    .append(',')
+                                                    .append(value)
+                                                    .append('\n'));
+                }
+                write(sb.toString(), true);
+            }
+        }
+    }
+
+    private void write(final String content, final boolean append) {
+        try {
+            if (append) {
+                Files.writeString(
+                        file, content, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } else {
+                final Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+                Files.writeString(tmp, content);
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Stops the periodic dump, and writes a final one. */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        dump();
+    }
+}
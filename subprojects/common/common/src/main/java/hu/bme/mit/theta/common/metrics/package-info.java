@@ -0,0 +1,29 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/**
+ * This package contains a low-overhead registry of named counters, histograms, timers and gauges
+ * for profiling long runs, which can be periodically dumped to JSON or CSV.
+ *
+ * <p>Recording is disabled by default; it can be enabled with {@link
+ * hu.bme.mit.theta.common.metrics.Metrics#setEnabled(boolean)} or the {@code theta.metrics} system
+ * property. Setting {@code theta.metrics.dump} to a file name also starts a periodic dump into that
+ * file (CSV if the name ends with {@code .csv}, JSON otherwise), every {@code
+ * theta.metrics.period} milliseconds (10000 by default).
+ *
+ * @see hu.bme.mit.theta.common.metrics.Metrics
+ * @see hu.bme.mit.theta.common.metrics.MetricsDumper
+ */
+package hu.bme.mit.theta.common.metrics;
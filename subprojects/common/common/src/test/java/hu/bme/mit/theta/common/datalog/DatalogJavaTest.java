@@ -101,6 +101,21 @@ public final class DatalogJavaTest {
         assertEquals(45 + 105 + 15 + 1, successor.getElements().size());
     }
 
+    @Test
+    public void testPushPop() {
+        testInitial();
+        datalog.push();
+        edge.addFact(TupleN.of(firstSubgraph1, secondSubgraph1));
+        edge.addFact(TupleN.of(firstSubgraph1, firstSubgraph1));
+        assertEquals(1, reflexive.getElements().size());
+        assertEquals(45 + 105 + 15 + 1, successor.getElements().size());
+        datalog.pop();
+        assertEquals(0, reflexive.getElements().size());
+        assertEquals(45 + 105, successor.getElements().size());
+        edge.addFact(TupleN.of(firstSubgraph1, secondSubgraph1));
+        assertEquals(45 + 105 + 15, successor.getElements().size());
+    }
+
     private static class Node implements DatalogArgument {
 
         private final int i;
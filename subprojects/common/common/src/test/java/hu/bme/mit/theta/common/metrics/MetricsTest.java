@@ -0,0 +1,105 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.common.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class MetricsTest {
+
+    @Before
+    public void before() {
+        Metrics.setEnabled(true);
+        Metrics.reset();
+    }
+
+    @After
+    public void after() {
+        Metrics.setEnabled(false);
+    }
+
+    @Test
+    public void testCounter() {
+        final Counter counter = Metrics.counter("test.counter");
+        counter.inc();
+        counter.add(2);
+        Metrics.setEnabled(false);
+        counter.inc();
+        assertEquals(3, counter.getCount());
+        assertEquals(counter, Metrics.counter("test.counter"));
+    }
+
+    @Test
+    public void testHistogram() {
+        final Histogram histogram = Metrics.histogram("test.histogram");
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(5050, histogram.getSum());
+        assertEquals(100, histogram.getMax());
+        final long p50 = histogram.getQuantile(0.5);
+        assertTrue(50 <= p50 && p50 < 100);
+        assertEquals(100, histogram.getQuantile(1.0));
+    }
+
+    @Test
+    public void testGauge() {
+        final long[] value = {1};
+        final Gauge gauge = Metrics.gauge("test.gauge", () -> value[0]);
+        value[0] = 5;
+        gauge.close();
+        value[0] = 7;
+        assertEquals(5, gauge.getValue());
+    }
+
+    @Test
+    public void testCsvDump() throws Exception {
+        final Timer timer = Metrics.timer("test.timer");
+        timer.time(() -> 1);
+        final Path file = Files.createTempFile("metrics", ".csv");
+        Metrics.startDump(file, Duration.ofHours(1), MetricsDumper.Format.CSV).close();
+        final List<String> lines = Files.readAllLines(file);
+        assertEquals("time,metric,key,value", lines.get(0));
+        assertTrue(lines.stream().anyMatch(l -> l.contains(",test.timer,count,1")));
+        Files.delete(file);
+    }
+
+    @Test(timeout = 5000)
+    public void testDumpContinuesAfterFailure() throws Exception {
+        final Path dir = Files.createTempDirectory("metrics");
+        final Path file = dir.resolve("missing").resolve("metrics.json");
+        try (MetricsDumper dumper =
+                Metrics.startDump(file, Duration.ofMillis(10), MetricsDumper.Format.JSON)) {
+            Thread.sleep(50);
+            Files.createDirectory(file.getParent());
+            while (!Files.exists(file)) {
+                Thread.sleep(10);
+            }
+        }
+        Files.delete(file);
+        Files.delete(file.getParent());
+        Files.delete(dir);
+    }
+}
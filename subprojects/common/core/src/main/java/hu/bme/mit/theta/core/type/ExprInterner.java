@@ -0,0 +1,63 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.core.type;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+/**
+ * Optional hash-consing of expressions. When enabled, the factory methods ({@code of}) of the
+ * expression classes, and hence the factories like BoolExprs or IntExprs, return a canonical
+ * instance for structurally equal expressions. Equal subterms are then shared, equality checks of
+ * equal expressions stop at the reference comparison and cached hash codes are reused. Canonical
+ * instances are weakly referenced, so they are collected when no longer in use.
+ *
+ * <p>Interning is disabled by default. It can be switched on and off at any time, since
+ * expressions created in different modes are still compared structurally.
+ */
+public final class ExprInterner {
+
+    private static final Interner<Expr<?>> INTERNER = Interners.newWeakInterner();
+
+    private static volatile boolean enabled = false;
+
+    private ExprInterner() {}
+
+    public static void enable() {
+        enabled = true;
+    }
+
+    public static void disable() {
+        enabled = false;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the canonical instance of the expression if interning is enabled, and the expression
+     * itself otherwise.
+     */
+    public static <T extends Expr<?>> T intern(final T expr) {
+        if (!enabled) {
+            return expr;
+        }
+        @SuppressWarnings("unchecked")
+        final T canonical = (T) INTERNER.intern(expr);
+        return canonical;
+    }
+}
@@ -20,6 +20,7 @@ import static com.google.common.base.Preconditions.checkState;
 import hu.bme.mit.theta.common.Utils;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.type.Type;
 import hu.bme.mit.theta.core.type.inttype.IntType;
@@ -60,7 +61,7 @@ public final class Dereference<A extends Type, O extends Type, T extends Type> i
 
     public static <A extends Type, O extends Type, T extends Type> Dereference<A, O, T> of(
             Expr<A> array, Expr<O> offset, T type) {
-        return new Dereference<>(array, offset, type);
+        return ExprInterner.intern(new Dereference<>(array, offset, type));
     }
 
     private static <A extends Type, O extends Type, T extends Type> Dereference<A, O, T> of(
@@ -25,6 +25,7 @@ import hu.bme.mit.theta.common.Tuple2;
 import hu.bme.mit.theta.common.Utils;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.type.Type;
 import java.util.ArrayList;
@@ -57,7 +58,7 @@ public final class ArrayWriteExpr<IndexType extends Type, ElemType extends Type>
                     final Expr<ArrayType<IndexType, ElemType>> array,
                     final Expr<IndexType> index,
                     final Expr<ElemType> elem) {
-        return new ArrayWriteExpr<>(array, index, elem);
+        return ExprInterner.intern(new ArrayWriteExpr<>(array, index, elem));
     }
 
     public static <IndexType extends Type, ElemType extends Type> ArrayWriteExpr<?, ?> create(
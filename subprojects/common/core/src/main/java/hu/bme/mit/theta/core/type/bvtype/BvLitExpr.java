@@ -17,8 +17,8 @@ package hu.bme.mit.theta.core.type.bvtype;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
-import static hu.bme.mit.theta.core.type.bvtype.BvExprs.Bv;
 import static hu.bme.mit.theta.core.type.bvtype.BvExprs.BvType;
 import static hu.bme.mit.theta.core.utils.BvUtils.bigIntegerToNeutralBvLitExpr;
 import static hu.bme.mit.theta.core.utils.BvUtils.bigIntegerToSignedBvLitExpr;
@@ -38,39 +38,98 @@ import hu.bme.mit.theta.core.type.inttype.IntLitExpr;
 import hu.bme.mit.theta.core.utils.BvUtils;
 import java.math.BigInteger;
 import java.util.Arrays;
+import java.util.function.IntPredicate;
 
+/**
+ * Bitvector literal. Values of at most 64 bits are packed into a single long, wider values into a
+ * long array (least significant word first), so that the common case of machine-word arithmetic
+ * does not need any intermediate {@link BigInteger} or boolean array.
+ */
 public final class BvLitExpr extends NullaryExpr<BvType>
         implements LitExpr<BvType>, Comparable<BvLitExpr> {
 
     private static final int HASH_SEED = 5624;
+    private static final int WORD_SIZE = Long.SIZE;
     private volatile int hashCode = 0;
 
-    private final boolean[] value;
+    private final int size;
+    private final long bits;
+    private final long[] words;
     private final Boolean signed;
 
-    private BvLitExpr(final boolean[] value, final Boolean signed) {
-        this.signed = signed;
-        checkNotNull(value);
-        checkArgument(value.length > 0, "Bitvector must have positive size");
+    private volatile boolean[] value = null;
 
-        this.value = value;
+    private BvLitExpr(final int size, final long bits, final long[] words, final Boolean signed) {
+        checkArgument(size > 0, "Bitvector must have positive size");
+        this.size = size;
+        this.bits = bits;
+        this.words = words;
+        this.signed = signed;
     }
 
     public static BvLitExpr of(final boolean[] value, final Boolean signed) {
-        return new BvLitExpr(value, signed);
+        checkNotNull(value);
+        checkArgument(value.length > 0, "Bitvector must have positive size");
+        final int size = value.length;
+        return build(size, i -> value[size - 1 - i], signed);
     }
 
     public static BvLitExpr of(final boolean[] value) {
         return of(value, null);
     }
 
+    /**
+     * Creates a bitvector of the given size (at most 64) from the lowest bits of a long. Bits
+     * above the size are ignored.
+     */
+    public static BvLitExpr of(final long bits, final int size, final Boolean signed) {
+        checkArgument(size > 0, "Bitvector must have positive size");
+        checkArgument(size <= WORD_SIZE, "Bitvector does not fit into a long");
+        return new BvLitExpr(size, bits & mask(size), null, signed);
+    }
+
+    /**
+     * Creates a bitvector of the given size from words, least significant word first. Bits above
+     * the size are ignored.
+     */
+    public static BvLitExpr of(final long[] words, final int size, final Boolean signed) {
+        checkNotNull(words);
+        checkArgument(size > 0, "Bitvector must have positive size");
+        checkArgument(words.length == wordCount(size), "Invalid number of words");
+        if (size <= WORD_SIZE) {
+            return of(words[0], size, signed);
+        }
+        final long[] copy = Arrays.copyOf(words, words.length);
+        copy[copy.length - 1] &= mask(size % WORD_SIZE == 0 ? WORD_SIZE : size % WORD_SIZE);
+        return new BvLitExpr(size, 0, copy, signed);
+    }
+
     public boolean[] getValue() {
-        return value;
+        boolean[] result = value;
+        if (result == null) {
+            result = new boolean[size];
+            for (int i = 0; i < size; i++) {
+                result[size - 1 - i] = bit(i);
+            }
+            value = result;
+        }
+        return result;
+    }
+
+    /** Returns the bits of a bitvector of at most 64 bits, least significant bit first. */
+    public long toLong() {
+        checkState(words == null, "Bitvector does not fit into a long");
+        return bits;
+    }
+
+    /** Returns the words of the bitvector, least significant word first. */
+    public long[] toLongArray() {
+        return words == null ? new long[] {bits} : Arrays.copyOf(words, words.length);
     }
 
     @Override
     public BvType getType() {
-        return BvType(value.length, signed);
+        return BvType(size, signed);
     }
 
     @Override
@@ -79,14 +138,12 @@ public final class BvLitExpr extends NullaryExpr<BvType>
     }
 
     public BvLitExpr concat(final BvLitExpr that) {
-        boolean[] concated = new boolean[this.getType().getSize() + that.getType().getSize()];
-        for (int i = 0; i < this.getType().getSize(); i++) {
-            concated[i] = this.getValue()[i];
+        final int concatSize = this.size + that.size;
+        if (concatSize <= WORD_SIZE) {
+            return of((this.bits << that.size) | that.bits, concatSize, null);
         }
-        for (int i = 0; i < that.getType().getSize(); i++) {
-            concated[this.getType().getSize() + i] = that.getValue()[i];
-        }
-        return Bv(concated);
+        return build(
+                concatSize, i -> i < that.size ? that.bit(i) : this.bit(i - that.size), null);
     }
 
     public BvLitExpr extract(final IntLitExpr from, final IntLitExpr until) {
@@ -95,43 +152,40 @@ public final class BvLitExpr extends NullaryExpr<BvType>
         checkArgument(fromValue >= 0);
         checkArgument(untilValue >= 0);
         checkArgument(untilValue > fromValue);
+        checkArgument(untilValue <= size);
 
-        boolean[] extracted = new boolean[untilValue - fromValue];
-        for (int i = 0; i < extracted.length; i++) {
-            extracted[extracted.length - i - 1] =
-                    this.getValue()[this.getValue().length - (fromValue + i) - 1];
+        final int extractSize = untilValue - fromValue;
+        if (words == null) {
+            return of(bits >>> fromValue, extractSize, null);
         }
-        return Bv(extracted);
+        return build(extractSize, i -> bit(fromValue + i), null);
     }
 
     public BvLitExpr zext(final BvType extendType) {
         checkArgument(extendType.getSize() >= this.getType().getSize());
 
-        boolean[] extended = new boolean[extendType.getSize()];
-        for (int i = 0; i < this.getValue().length; i++) {
-            extended[extended.length - i - 1] = this.getValue()[this.getValue().length - i - 1];
-        }
-        for (int i = 0; i < extendType.getSize() - this.getType().getSize(); i++) {
-            extended[i] = false;
+        final int extendSize = extendType.getSize();
+        if (extendSize <= WORD_SIZE) {
+            return of(bits, extendSize, null);
         }
-        return Bv(extended);
+        return build(extendSize, i -> i < size && bit(i), null);
     }
 
     public BvLitExpr sext(final BvType extendType) {
         checkArgument(extendType.getSize() >= this.getType().getSize());
 
-        boolean[] extended = new boolean[extendType.getSize()];
-        for (int i = 0; i < this.getValue().length; i++) {
-            extended[extended.length - i - 1] = this.getValue()[this.getValue().length - i - 1];
+        final int extendSize = extendType.getSize();
+        if (extendSize <= WORD_SIZE) {
+            return of(signExtend(bits, size), extendSize, null);
         }
-        for (int i = 0; i < extendType.getSize() - this.getType().getSize(); i++) {
-            extended[i] = this.getValue()[0];
-        }
-        return Bv(extended);
+        return build(extendSize, i -> i < size ? bit(i) : bit(size - 1), null);
     }
 
     public BvLitExpr add(final BvLitExpr that) {
         checkArgument(this.getType().equals(that.getType()));
+        if (words == null) {
+            return of(this.bits + that.bits, size, null);
+        }
         BigInteger sum = neutralBvLitExprToBigInteger(this).add(neutralBvLitExprToBigInteger(that));
         sum = fitBigIntegerIntoNeutralDomain(sum, getType().getSize());
         return bigIntegerToNeutralBvLitExpr(sum, getType().getSize());
@@ -139,6 +193,9 @@ public final class BvLitExpr extends NullaryExpr<BvType>
 
     public BvLitExpr sub(final BvLitExpr that) {
         checkArgument(this.getType().equals(that.getType()));
+        if (words == null) {
+            return of(this.bits - that.bits, size, null);
+        }
         BigInteger sub =
                 neutralBvLitExprToBigInteger(this).subtract(neutralBvLitExprToBigInteger(that));
         sub = fitBigIntegerIntoNeutralDomain(sub, getType().getSize());
@@ -147,6 +204,9 @@ public final class BvLitExpr extends NullaryExpr<BvType>
 
     public BvLitExpr mul(final BvLitExpr that) {
         checkArgument(this.getType().equals(that.getType()));
+        if (words == null) {
+            return of(this.bits * that.bits, size, null);
+        }
         BigInteger prod =
                 neutralBvLitExprToBigInteger(this).multiply(neutralBvLitExprToBigInteger(that));
         prod = fitBigIntegerIntoNeutralDomain(prod, getType().getSize());
@@ -154,12 +214,18 @@ public final class BvLitExpr extends NullaryExpr<BvType>
     }
 
     public BvLitExpr pos() {
+        if (words == null) {
+            return of(bits, size, true);
+        }
         BigInteger pos = signedBvLitExprToBigInteger(this);
         pos = fitBigIntegerIntoSignedDomain(pos, getType().getSize());
         return bigIntegerToSignedBvLitExpr(pos, getType().getSize());
     }
 
     public BvLitExpr neg() {
+        if (words == null) {
+            return of(-bits, size, true);
+        }
         BigInteger neg = signedBvLitExprToBigInteger(this).negate();
         neg = fitBigIntegerIntoSignedDomain(neg, getType().getSize());
         return bigIntegerToSignedBvLitExpr(neg, getType().getSize());
@@ -167,6 +233,9 @@ public final class BvLitExpr extends NullaryExpr<BvType>
 
     public BvLitExpr udiv(final BvLitExpr that) {
         checkArgument(this.getType().equals(that.getType()));
+        if (words == null) {
+            return of(Long.divideUnsigned(this.bits, that.bits), size, false);
+        }
         BigInteger div =
                 unsignedBvLitExprToBigInteger(this).divide(unsignedBvLitExprToBigInteger(that));
         div = fitBigIntegerIntoUnsignedDomain(div, getType().getSize());
@@ -175,6 +244,9 @@ public final class BvLitExpr extends NullaryExpr<BvType>
 
     public BvLitExpr sdiv(final BvLitExpr that) {
         checkArgument(this.getType().equals(that.getType()));
+        if (words == null) {
+            return of(signExtend(this.bits, size) / signExtend(that.bits, size), size, true);
+        }
         BigInteger div =
                 signedBvLitExprToBigInteger(this).divide(signedBvLitExprToBigInteger(that));
         div = fitBigIntegerIntoSignedDomain(div, getType().getSize());
@@ -183,104 +255,96 @@ public final class BvLitExpr extends NullaryExpr<BvType>
 
     public BvLitExpr and(final BvLitExpr that) {
         checkArgument(this.getType().equals(that.getType()));
-        BigInteger and = neutralBvLitExprToBigInteger(this).and(neutralBvLitExprToBigInteger(that));
-        return bigIntegerToNeutralBvLitExpr(and, getType().getSize());
+        if (words == null) {
+            return of(this.bits & that.bits, size, null);
+        }
+        final long[] and = new long[words.length];
+        for (int i = 0; i < and.length; i++) {
+            and[i] = this.words[i] & that.words[i];
+        }
+        return of(and, size, null);
     }
 
     public BvLitExpr or(final BvLitExpr that) {
         checkArgument(this.getType().equals(that.getType()));
-        BigInteger or = neutralBvLitExprToBigInteger(this).or(neutralBvLitExprToBigInteger(that));
-        return bigIntegerToNeutralBvLitExpr(or, getType().getSize());
+        if (words == null) {
+            return of(this.bits | that.bits, size, null);
+        }
+        final long[] or = new long[words.length];
+        for (int i = 0; i < or.length; i++) {
+            or[i] = this.words[i] | that.words[i];
+        }
+        return of(or, size, null);
     }
 
     public BvLitExpr xor(final BvLitExpr that) {
         checkArgument(this.getType().equals(that.getType()));
-        BigInteger xor = neutralBvLitExprToBigInteger(this).xor(neutralBvLitExprToBigInteger(that));
-        return bigIntegerToNeutralBvLitExpr(xor, getType().getSize());
+        if (words == null) {
+            return of(this.bits ^ that.bits, size, null);
+        }
+        final long[] xor = new long[words.length];
+        for (int i = 0; i < xor.length; i++) {
+            xor[i] = this.words[i] ^ that.words[i];
+        }
+        return of(xor, size, null);
     }
 
     public BvLitExpr not() {
-        BigInteger not = neutralBvLitExprToBigInteger(this).not();
-        return bigIntegerToNeutralBvLitExpr(not, getType().getSize());
+        if (words == null) {
+            return of(~bits, size, null);
+        }
+        final long[] not = new long[words.length];
+        for (int i = 0; i < not.length; i++) {
+            not[i] = ~words[i];
+        }
+        return of(not, size, null);
     }
 
     public BvLitExpr shiftLeft(final BvLitExpr that) {
         checkArgument(this.getType().equals(that.getType()));
-
-        boolean[] shifted = Arrays.copyOf(this.getValue(), this.getValue().length);
-        for (BigInteger i = BigInteger.ZERO;
-                i.compareTo(neutralBvLitExprToBigInteger(that)) < 0;
-                i = i.add(BigInteger.ONE)) {
-            for (int j = 0; j < shifted.length - 1; j++) {
-                shifted[j] = shifted[j + 1];
-            }
-            shifted[shifted.length - 1] = false;
+        final int distance = shiftDistance(that);
+        if (words == null) {
+            return of(distance == size ? 0 : bits << distance, size, null);
         }
-        return Bv(shifted);
+        return build(size, i -> i >= distance && bit(i - distance), null);
     }
 
     public BvLitExpr arithShiftRight(final BvLitExpr that) {
         checkArgument(this.getType().equals(that.getType()));
-
-        boolean[] shifted = Arrays.copyOf(this.getValue(), this.getValue().length);
-        boolean insert = shifted[0];
-        for (BigInteger i = BigInteger.ZERO;
-                i.compareTo(neutralBvLitExprToBigInteger(that)) < 0;
-                i = i.add(BigInteger.ONE)) {
-            for (int j = shifted.length - 1; j > 0; j--) {
-                shifted[j] = shifted[j - 1];
-            }
-            shifted[0] = insert;
+        final int distance = Math.min(shiftDistance(that), size - 1);
+        if (words == null) {
+            return of(signExtend(bits, size) >> distance, size, null);
         }
-        return Bv(shifted);
+        return build(size, i -> i + distance < size ? bit(i + distance) : bit(size - 1), null);
     }
 
     public BvLitExpr logicShiftRight(final BvLitExpr that) {
         checkArgument(this.getType().equals(that.getType()));
-
-        boolean[] shifted = Arrays.copyOf(this.getValue(), this.getValue().length);
-        boolean insert = false;
-        for (BigInteger i = BigInteger.ZERO;
-                i.compareTo(neutralBvLitExprToBigInteger(that)) < 0;
-                i = i.add(BigInteger.ONE)) {
-            for (int j = shifted.length - 1; j > 0; j--) {
-                shifted[j] = shifted[j - 1];
-            }
-            shifted[0] = insert;
+        final int distance = shiftDistance(that);
+        if (words == null) {
+            return of(distance == size ? 0 : bits >>> distance, size, null);
         }
-        return Bv(shifted);
+        return build(size, i -> i + distance < size && bit(i + distance), null);
     }
 
     public BvLitExpr rotateLeft(final BvLitExpr that) {
         checkArgument(this.getType().equals(that.getType()));
-
-        boolean[] shifted = Arrays.copyOf(this.getValue(), this.getValue().length);
-        for (BigInteger i = BigInteger.ZERO;
-                i.compareTo(neutralBvLitExprToBigInteger(that)) < 0;
-                i = i.add(BigInteger.ONE)) {
-            boolean rotated = shifted[0];
-            for (int j = 0; j < shifted.length - 1; j++) {
-                shifted[j] = shifted[j + 1];
-            }
-            shifted[shifted.length - 1] = rotated;
+        final int distance = rotateDistance(that);
+        if (words == null) {
+            final long rotated = distance == 0 ? bits : bits << distance | bits >>> size - distance;
+            return of(rotated, size, null);
         }
-        return Bv(shifted);
+        return build(size, i -> bit((i - distance + size) % size), null);
     }
 
     public BvLitExpr rotateRight(final BvLitExpr that) {
         checkArgument(this.getType().equals(that.getType()));
-
-        boolean[] shifted = Arrays.copyOf(this.getValue(), this.getValue().length);
-        for (BigInteger i = BigInteger.ZERO;
-                i.compareTo(neutralBvLitExprToBigInteger(that)) < 0;
-                i = i.add(BigInteger.ONE)) {
-            boolean rotated = shifted[shifted.length - 1];
-            for (int j = shifted.length - 1; j > 0; j--) {
-                shifted[j] = shifted[j - 1];
-            }
-            shifted[0] = rotated;
+        final int distance = rotateDistance(that);
+        if (words == null) {
+            final long rotated = distance == 0 ? bits : bits >>> distance | bits << size - distance;
+            return of(rotated, size, null);
         }
-        return Bv(shifted);
+        return build(size, i -> bit((i + distance) % size), null);
     }
 
     public BvLitExpr smod(final BvLitExpr that) {
@@ -332,66 +396,131 @@ public final class BvLitExpr extends NullaryExpr<BvType>
 
     public BoolLitExpr eq(final BvLitExpr that) {
         checkArgument(this.getType().equals(that.getType()));
-        return Bool(Arrays.equals(this.getValue(), that.getValue()));
+        return Bool(this.bits == that.bits && Arrays.equals(this.words, that.words));
     }
 
     public BoolLitExpr neq(final BvLitExpr that) {
         checkArgument(this.getType().equals(that.getType()));
-        return Bool(!Arrays.equals(this.getValue(), that.getValue()));
+        return Bool(this.bits != that.bits || !Arrays.equals(this.words, that.words));
     }
 
     public BoolLitExpr ult(final BvLitExpr that) {
         checkArgument(this.getType().equals(that.getType()));
-        return Bool(
-                unsignedBvLitExprToBigInteger(this).compareTo(unsignedBvLitExprToBigInteger(that))
-                        < 0);
+        return Bool(compareUnsigned(that) < 0);
     }
 
     public BoolLitExpr ule(final BvLitExpr that) {
         checkArgument(this.getType().equals(that.getType()));
-        return Bool(
-                unsignedBvLitExprToBigInteger(this).compareTo(unsignedBvLitExprToBigInteger(that))
-                        <= 0);
+        return Bool(compareUnsigned(that) <= 0);
     }
 
     public BoolLitExpr ugt(final BvLitExpr that) {
         checkArgument(this.getType().equals(that.getType()));
-        return Bool(
-                unsignedBvLitExprToBigInteger(this).compareTo(unsignedBvLitExprToBigInteger(that))
-                        > 0);
+        return Bool(compareUnsigned(that) > 0);
     }
 
     public BoolLitExpr uge(final BvLitExpr that) {
         checkArgument(this.getType().equals(that.getType()));
-        return Bool(
-                unsignedBvLitExprToBigInteger(this).compareTo(unsignedBvLitExprToBigInteger(that))
-                        >= 0);
+        return Bool(compareUnsigned(that) >= 0);
     }
 
     public BoolLitExpr slt(final BvLitExpr that) {
         checkArgument(this.getType().equals(that.getType()));
-        return Bool(
-                signedBvLitExprToBigInteger(this).compareTo(signedBvLitExprToBigInteger(that)) < 0);
+        return Bool(compareSigned(that) < 0);
     }
 
     public BoolLitExpr sle(final BvLitExpr that) {
         checkArgument(this.getType().equals(that.getType()));
-        return Bool(
-                signedBvLitExprToBigInteger(this).compareTo(signedBvLitExprToBigInteger(that))
-                        <= 0);
+        return Bool(compareSigned(that) <= 0);
     }
 
     public BoolLitExpr sgt(final BvLitExpr that) {
         checkArgument(this.getType().equals(that.getType()));
-        return Bool(
-                signedBvLitExprToBigInteger(this).compareTo(signedBvLitExprToBigInteger(that)) > 0);
+        return Bool(compareSigned(that) > 0);
     }
 
     public BoolLitExpr sge(final BvLitExpr that) {
         checkArgument(this.getType().equals(that.getType()));
-        return Bool(
-                signedBvLitExprToBigInteger(this).compareTo(signedBvLitExprToBigInteger(that))
-                        >= 0);
+        return Bool(compareSigned(that) >= 0);
+    }
+
+    private boolean bit(final int index) {
+        final long word = words == null ? bits : words[index / WORD_SIZE];
+        return (word >>> (index % WORD_SIZE) & 1L) != 0;
+    }
+
+    private int compareUnsigned(final BvLitExpr that) {
+        if (this.words == null) {
+            return Long.compareUnsigned(this.bits, that.bits);
+        }
+        for (int i = words.length - 1; i >= 0; i--) {
+            final int cmp = Long.compareUnsigned(this.words[i], that.words[i]);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return 0;
+    }
+
+    private int compareSigned(final BvLitExpr that) {
+        if (this.words == null) {
+            return Long.compare(signExtend(this.bits, size), signExtend(that.bits, size));
+        }
+        final boolean thisNegative = this.bit(size - 1);
+        final boolean thatNegative = that.bit(size - 1);
+        if (thisNegative != thatNegative) {
+            return thisNegative ? -1 : 1;
+        }
+        return compareUnsigned(that);
+    }
+
+    /** Unsigned value of the operand, saturated at the size of this bitvector. */
+    private int shiftDistance(final BvLitExpr that) {
+        if (that.words == null) {
+            return Long.compareUnsigned(that.bits, size) >= 0 ? size : (int) that.bits;
+        }
+        final BigInteger distance = neutralBvLitExprToBigInteger(that);
+        return distance.compareTo(BigInteger.valueOf(size)) >= 0 ? size : distance.intValue();
+    }
+
+    /** Unsigned value of the operand modulo the size of this bitvector. */
+    private int rotateDistance(final BvLitExpr that) {
+        if (that.words == null) {
+            return (int) Long.remainderUnsigned(that.bits, size);
+        }
+        return neutralBvLitExprToBigInteger(that).mod(BigInteger.valueOf(size)).intValue();
+    }
+
+    private static BvLitExpr build(final int size, final IntPredicate bit, final Boolean signed) {
+        if (size <= WORD_SIZE) {
+            long bits = 0;
+            for (int i = 0; i < size; i++) {
+                if (bit.test(i)) {
+                    bits |= 1L << i;
+                }
+            }
+            return new BvLitExpr(size, bits, null, signed);
+        } else {
+            final long[] words = new long[wordCount(size)];
+            for (int i = 0; i < size; i++) {
+                if (bit.test(i)) {
+                    words[i / WORD_SIZE] |= 1L << (i % WORD_SIZE);
+                }
+            }
+            return new BvLitExpr(size, 0, words, signed);
+        }
+    }
+
+    private static int wordCount(final int size) {
+        return (size + WORD_SIZE - 1) / WORD_SIZE;
+    }
+
+    private static long mask(final int size) {
+        return size == WORD_SIZE ? -1L : (1L << size) - 1;
+    }
+
+    private static long signExtend(final long bits, final int size) {
+        return bits << (WORD_SIZE - size) >> (WORD_SIZE - size);
     }
 
     @Override
@@ -399,7 +528,8 @@ public final class BvLitExpr extends NullaryExpr<BvType>
         int result = hashCode;
         if (result == 0) {
             result = HASH_SEED;
-            result = 31 * result + Arrays.hashCode(value);
+            result = 31 * result + size;
+            result = 31 * result + (words == null ? Long.hashCode(bits) : Arrays.hashCode(words));
             hashCode = result;
         }
         return result;
@@ -411,7 +541,9 @@ public final class BvLitExpr extends NullaryExpr<BvType>
             return true;
         } else if (obj != null && this.getClass() == obj.getClass()) {
             final BvLitExpr that = (BvLitExpr) obj;
-            return Arrays.equals(this.value, that.value);
+            return this.size == that.size
+                    && this.bits == that.bits
+                    && Arrays.equals(this.words, that.words);
         } else {
             return false;
         }
@@ -422,8 +554,8 @@ public final class BvLitExpr extends NullaryExpr<BvType>
         final StringBuilder sb = new StringBuilder();
         //        sb.append(getType().getSize());
         sb.append("#b");
-        for (boolean bit : value) {
-            sb.append(bit ? "1" : "0");
+        for (int i = size - 1; i >= 0; i--) {
+            sb.append(bit(i) ? "1" : "0");
         }
         return sb.toString();
     }
@@ -431,6 +563,6 @@ public final class BvLitExpr extends NullaryExpr<BvType>
     @Override
     public int compareTo(final BvLitExpr that) {
         checkArgument(this.getType().equals(that.getType()));
-        return neutralBvLitExprToBigInteger(this).compareTo(neutralBvLitExprToBigInteger(that));
+        return compareUnsigned(that);
     }
 }
@@ -19,6 +19,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.castBv;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.NegExpr;
 
 public final class BvNegExpr extends NegExpr<BvType> {
@@ -31,7 +32,7 @@ public final class BvNegExpr extends NegExpr<BvType> {
     }
 
     public static BvNegExpr of(final Expr<BvType> op) {
-        return new BvNegExpr(op);
+        return ExprInterner.intern(new BvNegExpr(op));
     }
 
     public static BvNegExpr create(final Expr<?> op) {
@@ -20,6 +20,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.checkAllTypesEqual;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.DivExpr;
 
 public final class BvSDivExpr extends DivExpr<BvType> {
@@ -34,7 +35,7 @@ public final class BvSDivExpr extends DivExpr<BvType> {
     }
 
     public static BvSDivExpr of(final Expr<BvType> leftOp, final Expr<BvType> rightOp) {
-        return new BvSDivExpr(leftOp, rightOp);
+        return ExprInterner.intern(new BvSDivExpr(leftOp, rightOp));
     }
 
     public static BvSDivExpr create(final Expr<?> leftOp, final Expr<?> rightOp) {
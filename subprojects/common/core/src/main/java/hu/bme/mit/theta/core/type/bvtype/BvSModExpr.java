@@ -20,6 +20,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.checkAllTypesEqual;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.ModExpr;
 
 public final class BvSModExpr extends ModExpr<BvType> {
@@ -33,7 +34,7 @@ public final class BvSModExpr extends ModExpr<BvType> {
     }
 
     public static BvSModExpr of(final Expr<BvType> leftOp, final Expr<BvType> rightOp) {
-        return new BvSModExpr(leftOp, rightOp);
+        return ExprInterner.intern(new BvSModExpr(leftOp, rightOp));
     }
 
     public static BvSModExpr create(final Expr<?> leftOp, final Expr<?> rightOp) {
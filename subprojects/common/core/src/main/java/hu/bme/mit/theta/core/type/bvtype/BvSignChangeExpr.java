@@ -19,6 +19,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.castBv;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.PosExpr;
 
 public final class BvSignChangeExpr extends PosExpr<BvType> {
@@ -34,7 +35,7 @@ public final class BvSignChangeExpr extends PosExpr<BvType> {
     }
 
     public static BvSignChangeExpr of(final Expr<BvType> op, final BvType newType) {
-        return new BvSignChangeExpr(op, newType);
+        return ExprInterner.intern(new BvSignChangeExpr(op, newType));
     }
 
     public static BvSignChangeExpr create(final Expr<?> op, final BvType newType) {
@@ -20,6 +20,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.checkAllTypesEqual;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.RemExpr;
 
 public final class BvURemExpr extends RemExpr<BvType> {
@@ -34,7 +35,7 @@ public final class BvURemExpr extends RemExpr<BvType> {
     }
 
     public static BvURemExpr of(final Expr<BvType> leftOp, final Expr<BvType> rightOp) {
-        return new BvURemExpr(leftOp, rightOp);
+        return ExprInterner.intern(new BvURemExpr(leftOp, rightOp));
     }
 
     public static BvURemExpr create(final Expr<?> leftOp, final Expr<?> rightOp) {
@@ -20,6 +20,7 @@ import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.BinaryExpr;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.type.abstracttype.EqExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
@@ -35,7 +36,7 @@ public class EnumEqExpr extends EqExpr<EnumType> {
     }
 
     public static EnumEqExpr of(Expr<EnumType> leftOp, Expr<EnumType> rightOp) {
-        return new EnumEqExpr(leftOp, rightOp);
+        return ExprInterner.intern(new EnumEqExpr(leftOp, rightOp));
     }
 
     @Override
@@ -20,6 +20,7 @@ import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
 
 import com.google.common.base.Objects;
 import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.type.NullaryExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolLitExpr;
@@ -41,7 +42,7 @@ public final class EnumLitExpr extends NullaryExpr<EnumType> implements LitExpr<
                 "Invalid value %s for type %s",
                 value,
                 type.getName());
-        return new EnumLitExpr(type, value);
+        return ExprInterner.intern(new EnumLitExpr(type, value));
     }
 
     public static BoolLitExpr eq(EnumLitExpr l, EnumLitExpr r) {
@@ -20,6 +20,7 @@ import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.BinaryExpr;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.type.abstracttype.NeqExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
@@ -35,7 +36,7 @@ public final class EnumNeqExpr extends NeqExpr<EnumType> {
     }
 
     public static EnumNeqExpr of(Expr<EnumType> leftOp, Expr<EnumType> rightOp) {
-        return new EnumNeqExpr(leftOp, rightOp);
+        return ExprInterner.intern(new EnumNeqExpr(leftOp, rightOp));
     }
 
     @Override
@@ -20,6 +20,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.castFp;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.UnaryExpr;
 
 public class FpAbsExpr extends UnaryExpr<FpType, FpType> {
@@ -32,7 +33,7 @@ public class FpAbsExpr extends UnaryExpr<FpType, FpType> {
     }
 
     public static FpAbsExpr of(final Expr<FpType> op) {
-        return new FpAbsExpr(castFp(op));
+        return ExprInterner.intern(new FpAbsExpr(castFp(op)));
     }
 
     public static FpAbsExpr create(final Expr<?> op) {
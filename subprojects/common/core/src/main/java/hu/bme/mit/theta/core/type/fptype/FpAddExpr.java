@@ -21,6 +21,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.checkAllTypesEqual;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.AddExpr;
 import hu.bme.mit.theta.core.utils.TypeUtils;
 import java.util.List;
@@ -42,7 +43,7 @@ public class FpAddExpr extends AddExpr<FpType> {
 
     public static FpAddExpr of(
             final FpRoundingMode roundingMode, final Iterable<? extends Expr<FpType>> ops) {
-        return new FpAddExpr(roundingMode, ops);
+        return ExprInterner.intern(new FpAddExpr(roundingMode, ops));
     }
 
     public static FpAddExpr create(
@@ -21,6 +21,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.checkAllTypesEqual;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.EqExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolLitExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
@@ -36,7 +37,7 @@ public final class FpAssignExpr extends EqExpr<FpType> {
     }
 
     public static FpAssignExpr of(final Expr<FpType> leftOp, final Expr<FpType> rightOp) {
-        return new FpAssignExpr(leftOp, rightOp);
+        return ExprInterner.intern(new FpAssignExpr(leftOp, rightOp));
     }
 
     public static FpAssignExpr create(final Expr<?> leftOp, final Expr<?> rightOp) {
@@ -20,6 +20,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.checkAllTypesEqual;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.DivExpr;
 
 public final class FpDivExpr extends DivExpr<FpType> {
@@ -41,7 +42,7 @@ public final class FpDivExpr extends DivExpr<FpType> {
             final FpRoundingMode roundingMode,
             final Expr<FpType> leftOp,
             final Expr<FpType> rightOp) {
-        return new FpDivExpr(roundingMode, leftOp, rightOp);
+        return ExprInterner.intern(new FpDivExpr(roundingMode, leftOp, rightOp));
     }
 
     public static FpDivExpr create(
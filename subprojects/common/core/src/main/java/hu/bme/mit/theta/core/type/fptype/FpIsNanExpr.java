@@ -21,6 +21,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.checkAllTypesEqual;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.UnaryExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolLitExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
@@ -36,7 +37,7 @@ public final class FpIsNanExpr extends UnaryExpr<FpType, BoolType> {
     }
 
     public static FpIsNanExpr of(final Expr<FpType> op) {
-        return new FpIsNanExpr(op);
+        return ExprInterner.intern(new FpIsNanExpr(op));
     }
 
     public static FpIsNanExpr create(final Expr<?> op) {
@@ -20,6 +20,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.castFp;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.UnaryExpr;
 import hu.bme.mit.theta.core.utils.FpUtils;
 import java.math.BigInteger;
@@ -39,7 +40,7 @@ public class FpRoundToIntegralExpr extends UnaryExpr<FpType, FpType> { // round
     }
 
     public static FpRoundToIntegralExpr of(final FpRoundingMode roundingMode, Expr<FpType> op) {
-        return new FpRoundToIntegralExpr(roundingMode, op);
+        return ExprInterner.intern(new FpRoundToIntegralExpr(roundingMode, op));
     }
 
     public static FpRoundToIntegralExpr create(final FpRoundingMode roundingMode, Expr<?> op) {
@@ -19,6 +19,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.UnaryExpr;
 import hu.bme.mit.theta.core.type.bvtype.BvLitExpr;
 import hu.bme.mit.theta.core.type.bvtype.BvType;
@@ -59,7 +60,7 @@ public class FpToBvExpr extends UnaryExpr<FpType, BvType> {
             final Expr<FpType> op,
             final int size,
             final boolean sgn) {
-        return new FpToBvExpr(roundingMode, op, size, sgn);
+        return ExprInterner.intern(new FpToBvExpr(roundingMode, op, size, sgn));
     }
 
     public static FpToBvExpr create(
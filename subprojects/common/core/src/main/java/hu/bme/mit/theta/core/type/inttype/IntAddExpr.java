@@ -21,6 +21,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.cast;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.AddExpr;
 import java.math.BigInteger;
 import java.util.List;
@@ -35,7 +36,7 @@ public final class IntAddExpr extends AddExpr<IntType> {
     }
 
     public static IntAddExpr of(final Iterable<? extends Expr<IntType>> ops) {
-        return new IntAddExpr(ops);
+        return ExprInterner.intern(new IntAddExpr(ops));
     }
 
     public static IntAddExpr create(final List<? extends Expr<?>> ops) {
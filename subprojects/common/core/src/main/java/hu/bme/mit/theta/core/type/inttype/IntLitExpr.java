@@ -20,6 +20,7 @@ import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
 import static hu.bme.mit.theta.core.type.rattype.RatExprs.Rat;
 
 import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.type.NullaryExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolLitExpr;
@@ -39,7 +40,7 @@ public final class IntLitExpr extends NullaryExpr<IntType>
     }
 
     public static IntLitExpr of(final BigInteger value) {
-        return new IntLitExpr(value);
+        return ExprInterner.intern(new IntLitExpr(value));
     }
 
     public BigInteger getValue() {
@@ -20,6 +20,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.cast;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.ModExpr;
 
 public final class IntModExpr extends ModExpr<IntType> {
@@ -32,7 +33,7 @@ public final class IntModExpr extends ModExpr<IntType> {
     }
 
     public static IntModExpr of(final Expr<IntType> leftOp, final Expr<IntType> rightOp) {
-        return new IntModExpr(leftOp, rightOp);
+        return ExprInterner.intern(new IntModExpr(leftOp, rightOp));
     }
 
     public static IntModExpr create(final Expr<?> leftOp, final Expr<?> rightOp) {
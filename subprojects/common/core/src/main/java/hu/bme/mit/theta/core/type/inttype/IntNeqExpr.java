@@ -21,6 +21,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.cast;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.NeqExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolLitExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
@@ -35,7 +36,7 @@ public final class IntNeqExpr extends NeqExpr<IntType> {
     }
 
     public static IntNeqExpr of(final Expr<IntType> leftOp, final Expr<IntType> rightOp) {
-        return new IntNeqExpr(leftOp, rightOp);
+        return ExprInterner.intern(new IntNeqExpr(leftOp, rightOp));
     }
 
     public static IntNeqExpr create(final Expr<?> leftOp, final Expr<?> rightOp) {
@@ -21,6 +21,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.cast;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.GtExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolLitExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
@@ -35,7 +36,7 @@ public final class RatGtExpr extends GtExpr<RatType> {
     }
 
     public static RatGtExpr of(final Expr<RatType> leftOp, final Expr<RatType> rightOp) {
-        return new RatGtExpr(leftOp, rightOp);
+        return ExprInterner.intern(new RatGtExpr(leftOp, rightOp));
     }
 
     public static RatGtExpr create(final Expr<?> leftOp, final Expr<?> rightOp) {
@@ -21,6 +21,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.cast;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.MulExpr;
 import java.math.BigInteger;
 import java.util.List;
@@ -35,7 +36,7 @@ public final class RatMulExpr extends MulExpr<RatType> {
     }
 
     public static RatMulExpr of(final Iterable<? extends Expr<RatType>> ops) {
-        return new RatMulExpr(ops);
+        return ExprInterner.intern(new RatMulExpr(ops));
     }
 
     public static RatMulExpr create(final List<? extends Expr<?>> ops) {
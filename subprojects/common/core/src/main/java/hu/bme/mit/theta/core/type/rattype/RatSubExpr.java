@@ -20,6 +20,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.cast;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.SubExpr;
 
 public final class RatSubExpr extends SubExpr<RatType> {
@@ -32,7 +33,7 @@ public final class RatSubExpr extends SubExpr<RatType> {
     }
 
     public static RatSubExpr of(final Expr<RatType> leftOp, final Expr<RatType> rightOp) {
-        return new RatSubExpr(leftOp, rightOp);
+        return ExprInterner.intern(new RatSubExpr(leftOp, rightOp));
     }
 
     public static RatSubExpr create(final Expr<?> leftOp, final Expr<?> rightOp) {
@@ -15,8 +15,6 @@
  */
 package hu.bme.mit.theta.core.utils;
 
-import static hu.bme.mit.theta.core.type.bvtype.BvExprs.Bv;
-
 import hu.bme.mit.theta.core.type.bvtype.BvLitExpr;
 import java.math.BigInteger;
 
@@ -29,51 +27,59 @@ public final class BvUtils {
     }
 
     public static BigInteger unsignedBvLitExprToBigInteger(final BvLitExpr expr) {
-        BigInteger integer = BigInteger.ZERO;
-
-        for (int i = 0; i < expr.getType().getSize(); i++) {
-            if (expr.getValue()[expr.getType().getSize() - 1 - i]) {
-                integer = integer.setBit(i);
-            }
+        final long[] words = expr.toLongArray();
+        BigInteger integer = unsignedLongToBigInteger(words[words.length - 1]);
+        for (int i = words.length - 2; i >= 0; i--) {
+            integer = integer.shiftLeft(Long.SIZE).or(unsignedLongToBigInteger(words[i]));
         }
-
         return integer;
     }
 
     public static BigInteger signedBvLitExprToBigInteger(final BvLitExpr expr) {
+        final int size = expr.getType().getSize();
+        if (size <= Long.SIZE) {
+            final int shift = Long.SIZE - size;
+            return BigInteger.valueOf(expr.toLong() << shift >> shift);
+        }
+
         BigInteger integer = unsignedBvLitExprToBigInteger(expr);
 
-        if (expr.getValue()[0]) {
-            integer = integer.subtract(BigInteger.TWO.pow(expr.getType().getSize()));
+        if (integer.testBit(size - 1)) {
+            integer = integer.subtract(BigInteger.TWO.pow(size));
         }
 
         return integer;
     }
 
     public static BvLitExpr bigIntegerToNeutralBvLitExpr(BigInteger integer, final int size) {
-        boolean[] values = getBvRepresentation(integer, size);
-        return Bv(values);
+        return getBvRepresentation(integer, size, null);
     }
 
     public static BvLitExpr bigIntegerToUnsignedBvLitExpr(BigInteger integer, final int size) {
-        boolean[] values = getBvRepresentation(integer, size);
-        return Bv(values, false);
+        return getBvRepresentation(integer, size, false);
     }
 
-    private static boolean[] getBvRepresentation(BigInteger integer, int size) {
-        boolean[] values = new boolean[size];
-        for (int i = 0; i < size; i++) {
-            values[size - 1 - i] = integer.testBit(i);
-        }
-        return values;
+    public static BvLitExpr bigIntegerToSignedBvLitExpr(BigInteger integer, final int size) {
+        return getBvRepresentation(integer, size, true);
     }
 
-    public static BvLitExpr bigIntegerToSignedBvLitExpr(BigInteger integer, final int size) {
-        if (integer.compareTo(BigInteger.ZERO) < 0) {
-            integer = integer.add(BigInteger.TWO.pow(size));
+    private static BvLitExpr getBvRepresentation(
+            final BigInteger integer, final int size, final Boolean signed) {
+        // Bits above the size are dropped by the factories, so negative values end up in two's
+        // complement form just like their positive counterparts modulo 2^size
+        if (size <= Long.SIZE) {
+            return BvLitExpr.of(integer.longValue(), size, signed);
         }
-        boolean[] values = getBvRepresentation(integer, size);
-        return Bv(values, true);
+        final long[] words = new long[(size + Long.SIZE - 1) / Long.SIZE];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = integer.shiftRight(i * Long.SIZE).longValue();
+        }
+        return BvLitExpr.of(words, size, signed);
+    }
+
+    private static BigInteger unsignedLongToBigInteger(final long value) {
+        final BigInteger integer = BigInteger.valueOf(value & Long.MAX_VALUE);
+        return value < 0 ? integer.setBit(Long.SIZE - 1) : integer;
     }
 
     public static BigInteger fitBigIntegerIntoNeutralDomain(BigInteger integer, final int size) {
@@ -53,9 +53,11 @@ import org.kframework.mpfr.BigFloat;
 public final class ExprSimplifier {
 
     private final SimplifierLevel level;
+    private final SimplifierCache cache;
 
-    private ExprSimplifier(final SimplifierLevel level) {
+    private ExprSimplifier(final SimplifierLevel level, final SimplifierCache cache) {
         this.level = level;
+        this.cache = cache;
     }
 
     public static ExprSimplifier create() {
@@ -63,7 +65,19 @@ public final class ExprSimplifier {
     }
 
     public static ExprSimplifier create(final SimplifierLevel level) {
-        return new ExprSimplifier(level);
+        return new ExprSimplifier(level, null);
+    }
+
+    /**
+     * Creates a simplifier that memoizes the results of (sub)expressions in a size-bounded LRU
+     * table, see {@link SimplifierCache}.
+     */
+    public static ExprSimplifier createCaching(final SimplifierLevel level, final int cacheSize) {
+        return new ExprSimplifier(level, SimplifierCache.create(cacheSize));
+    }
+
+    public Optional<SimplifierCache> getCache() {
+        return Optional.ofNullable(cache);
     }
 
     @SuppressWarnings("unchecked")
@@ -71,7 +85,17 @@ public final class ExprSimplifier {
         if (expr.isInvalid()) {
             return new InvalidLitExpr<>(expr.getType());
         }
-        return (Expr<T>) TABLE.dispatch(expr, valuation);
+        if (cache == null || expr instanceof LitExpr || expr instanceof RefExpr) {
+            return (Expr<T>) TABLE.dispatch(expr, valuation);
+        }
+        final var key = cache.createKey(expr, valuation);
+        final Expr<?> cached = cache.get(key);
+        if (cached != null) {
+            return (Expr<T>) cached;
+        }
+        final Expr<T> result = (Expr<T>) TABLE.dispatch(expr, valuation);
+        cache.put(key, result);
+        return result;
     }
 
     private final DispatchTable2<Valuation, Expr<?>> TABLE =
@@ -50,7 +50,7 @@ import java.util.stream.Collectors;
 /** Utility functions related to expressions. */
 public final class ExprUtils {
 
-    private static final ExprSimplifier exprSimplifier = ExprSimplifier.create();
+    private static volatile ExprSimplifier exprSimplifier = ExprSimplifier.create();
 
     private ExprUtils() {}
 
@@ -389,6 +389,19 @@ public final class ExprUtils {
         return ExprIteEliminator.eliminateIte(expr);
     }
 
+    /**
+     * Replace the simplifier used by the simplify methods, e.g., with a caching one.
+     *
+     * @param simplifier New simplifier
+     */
+    public static void setExprSimplifier(final ExprSimplifier simplifier) {
+        exprSimplifier = checkNotNull(simplifier);
+    }
+
+    public static ExprSimplifier getExprSimplifier() {
+        return exprSimplifier;
+    }
+
     /**
      * Simplify expression and substitute the valuation.
      *
@@ -0,0 +1,142 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.core.utils;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import hu.bme.mit.theta.common.Tuple2;
+import hu.bme.mit.theta.core.decl.Decl;
+import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.anytype.RefExpr;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Size-bounded, least-recently-used memo table for {@link ExprSimplifier}. Results are keyed on
+ * the expression and the values assigned by the valuation to the declarations referenced in the
+ * expression, so the same result is reused for different valuations that agree on those.
+ */
+public final class SimplifierCache {
+
+    private final int maxSize;
+    private final Map<Tuple2<Expr<?>, List<Object>>, Expr<?>> results;
+    private final Map<Expr<?>, List<Decl<?>>> decls;
+
+    private long hits = 0;
+    private long misses = 0;
+
+    private SimplifierCache(final int maxSize) {
+        checkArgument(maxSize > 0, "Cache size must be positive");
+        this.maxSize = maxSize;
+        this.results = createLruMap(maxSize);
+        this.decls = createLruMap(maxSize);
+    }
+
+    public static SimplifierCache create(final int maxSize) {
+        return new SimplifierCache(maxSize);
+    }
+
+    private static <K, V> Map<K, V> createLruMap(final int maxSize) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    Tuple2<Expr<?>, List<Object>> createKey(final Expr<?> expr, final Valuation val) {
+        final List<Decl<?>> exprDecls = getDecls(expr);
+        final Object[] values = new Object[exprDecls.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = val.eval(exprDecls.get(i)).orElse(null);
+        }
+        return Tuple2.of(expr, Arrays.asList(values));
+    }
+
+    synchronized Expr<?> get(final Tuple2<Expr<?>, List<Object>> key) {
+        final Expr<?> result = results.get(key);
+        if (result == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return result;
+    }
+
+    synchronized void put(final Tuple2<Expr<?>, List<Object>> key, final Expr<?> result) {
+        results.put(key, result);
+    }
+
+    private List<Decl<?>> getDecls(final Expr<?> expr) {
+        synchronized (this) {
+            final List<Decl<?>> cached = decls.get(expr);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        final Set<Decl<?>> collected = new LinkedHashSet<>();
+        collectDecls(expr, collected);
+        final List<Decl<?>> result = new ArrayList<>(collected);
+        synchronized (this) {
+            decls.put(expr, result);
+        }
+        return result;
+    }
+
+    private static void collectDecls(final Expr<?> expr, final Set<Decl<?>> collectTo) {
+        if (expr instanceof RefExpr<?> ref) {
+            collectTo.add(ref.getDecl());
+        } else {
+            expr.getOps().forEach(op -> collectDecls(op, collectTo));
+        }
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized int size() {
+        return results.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public synchronized void clear() {
+        results.clear();
+        decls.clear();
+        hits = 0;
+        misses = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(
+                "SimplifierCache(size=%d/%d, hits=%d, misses=%d)", size(), maxSize, hits, misses);
+    }
+}
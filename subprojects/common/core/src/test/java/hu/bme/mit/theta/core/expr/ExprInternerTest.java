@@ -0,0 +1,84 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.core.expr;
+
+import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Add;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Lt;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.bvtype.BvExprs;
+import hu.bme.mit.theta.core.type.fptype.FpFromBvExpr;
+import hu.bme.mit.theta.core.type.fptype.FpRoundingMode;
+import hu.bme.mit.theta.core.type.fptype.FpType;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+import org.junit.After;
+import org.junit.Test;
+
+public class ExprInternerTest {
+
+    private final VarDecl<IntType> x = Var("x", Int());
+
+    @After
+    public void disable() {
+        ExprInterner.disable();
+    }
+
+    private Expr<BoolType> build() {
+        return Not(And(Lt(x.getRef(), Int(5)), Lt(Add(x.getRef(), Int(1)), Int(10))));
+    }
+
+    @Test
+    public void testDisabled() {
+        final Expr<BoolType> expr1 = build();
+        final Expr<BoolType> expr2 = build();
+        assertEquals(expr1, expr2);
+        assertNotSame(expr1, expr2);
+    }
+
+    @Test
+    public void testEnabled() {
+        ExprInterner.enable();
+        final Expr<BoolType> expr1 = build();
+        final Expr<BoolType> expr2 = build();
+        assertSame(expr1, expr2);
+        assertSame(expr1.getOps().get(0), expr2.getOps().get(0));
+        assertSame(Int(5), Int(5));
+    }
+
+    @Test
+    public void testFpFromBvSignedness() {
+        ExprInterner.enable();
+        final var op = BvExprs.Bv(new boolean[] {true, false, true, true});
+        final var type = FpType.of(8, 24);
+        final FpFromBvExpr signed = FpFromBvExpr.of(FpRoundingMode.RNE, op, type, true);
+        final FpFromBvExpr unsigned = FpFromBvExpr.of(FpRoundingMode.RNE, op, type, false);
+        assertNotSame(signed, unsigned);
+        assertNotEquals(signed, unsigned);
+        assertFalse(unsigned.isSigned());
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.core.type;
+
+import static hu.bme.mit.theta.core.type.bvtype.BvExprs.BvType;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import hu.bme.mit.theta.core.type.bvtype.BvLitExpr;
+import hu.bme.mit.theta.core.utils.BvUtils;
+import java.math.BigInteger;
+import org.junit.Test;
+
+public class BvLitExprTest {
+
+    @Test
+    public void testPackedRoundTrip() {
+        final boolean[] value = {true, false, true, true};
+        final BvLitExpr bv = BvLitExpr.of(value);
+        assertEquals(0b1011L, bv.toLong());
+        assertArrayEquals(value, bv.getValue());
+        assertEquals("#b1011", bv.toString());
+        assertEquals(bv, BvLitExpr.of(0b11011L, 4, null));
+    }
+
+    @Test
+    public void testWordBoundary() {
+        final BvLitExpr max = BvLitExpr.of(-1L, 64, null);
+        final BvLitExpr one = BvLitExpr.of(1L, 64, null);
+        assertEquals(BvLitExpr.of(0L, 64, null), max.add(one));
+        final BvLitExpr extended = BvLitExpr.of(new long[] {-1L, 1L}, 65, null);
+        assertTrue(max.sext(BvType(65)).eq(extended).getValue());
+        assertEquals(
+                BigInteger.TWO.pow(64).subtract(BigInteger.ONE),
+                BvUtils.unsignedBvLitExprToBigInteger(max.zext(BvType(100))));
+    }
+
+    @Test
+    public void testWide() {
+        final BvLitExpr wide = BvLitExpr.of(new long[] {5L, 3L}, 128, null);
+        final BvLitExpr concat = BvLitExpr.of(3L, 64, null).concat(BvLitExpr.of(5L, 64, null));
+        assertEquals(wide, concat);
+        assertEquals(BvLitExpr.of(3L, 64, null), wide.extract(Int(64), Int(128)));
+        assertEquals(
+                BigInteger.valueOf(3).shiftLeft(64).add(BigInteger.valueOf(5)).negate(),
+                BvUtils.signedBvLitExprToBigInteger(wide.neg()));
+    }
+}
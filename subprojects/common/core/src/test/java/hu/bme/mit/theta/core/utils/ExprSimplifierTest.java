@@ -734,4 +734,22 @@ public class ExprSimplifierTest {
         assertEquals(Int(14), simplify(Add(a, b), val));
         assertEquals(Add(c, Int(14)), simplify(Add(a, b, c), val));
     }
+
+    @Test
+    public void testCaching() {
+        final ExprSimplifier caching = ExprSimplifier.createCaching(SimplifierLevel.FULL, 16);
+        final SimplifierCache cache = caching.getCache().orElseThrow();
+        final Valuation val1 = ImmutableValuation.builder().put(ca, Int(5)).build();
+        final Valuation val2 = ImmutableValuation.builder().put(ca, Int(6)).build();
+        final Expr<IntType> expr = Add(a, b, Int(1));
+
+        assertEquals(simplify(expr, val1), caching.simplify(expr, val1));
+        final long misses = cache.getMisses();
+        assertEquals(simplify(expr, val1), caching.simplify(expr, val1));
+        assertEquals(misses, cache.getMisses());
+        assertTrue(cache.getHits() > 0);
+        assertEquals(simplify(expr, val2), caching.simplify(expr, val2));
+        assertTrue(cache.getMisses() > misses);
+        assertTrue(cache.size() <= cache.getMaxSize());
+    }
 }
@@ -39,21 +39,33 @@ enum class HeaderFile(val filename: String, val content: String) {
   STDIO_H("stdio.h", stdio_h),
   STDLIB_H("stdlib.h", stdlib_h),
   STRING_H("string.h", string_h),
-  TIME_H("time.h", time_h),
-}
+  TIME_H("time.h", time_h);
 
-private fun fromPath(s: String): String =
-  HeaderFile.entries.firstOrNull() { it.filename == s }?.content ?: ""
+  /**
+   * The parse tree of the header, built on first use and shared for the lifetime of the JVM. The
+   * tree only depends on the (constant) header text, and visitors only read it, so the same tree
+   * can be visited by any number of translation units, even concurrently.
+   */
+  val translationUnit: CParser.TranslationUnitContext by lazy { parse(content) }
+}
 
-private val includePattern = Regex("<(.*)>")
+private val emptyTranslationUnit: CParser.TranslationUnitContext by lazy { parse("") }
 
-fun <T> parseHeaderFile(includeDirective: String, visitor: CBaseVisitor<T>): T? {
-  val headerFile = includePattern.find(includeDirective)?.groupValues?.get(1) ?: return null
-  val input = CharStreams.fromString(fromPath(headerFile))
+private fun parse(content: String): CParser.TranslationUnitContext {
+  val input = CharStreams.fromString(content)
   val lexer = CLexer(input)
   val tokens = CommonTokenStream(lexer)
   val parser = CParser(tokens)
   parser.setErrorHandler(BailErrorStrategy())
-  val context = parser.translationUnit()
-  return context.accept(visitor)
+  return parser.translationUnit()
+}
+
+private fun fromPath(s: String): CParser.TranslationUnitContext =
+  HeaderFile.entries.firstOrNull() { it.filename == s }?.translationUnit ?: emptyTranslationUnit
+
+private val includePattern = Regex("<(.*)>")
+
+fun <T> parseHeaderFile(includeDirective: String, visitor: CBaseVisitor<T>): T? {
+  val headerFile = includePattern.find(includeDirective)?.groupValues?.get(1) ?: return null
+  return fromPath(headerFile).accept(visitor)
 }
@@ -26,6 +26,7 @@ import hu.bme.mit.delta.mdd.MddInterpreter;
 import hu.bme.mit.delta.mdd.MddVariableDescriptor;
 import hu.bme.mit.theta.analysis.algorithm.mdd.fixedpoint.CursorRelationalProductProvider;
 import hu.bme.mit.theta.analysis.algorithm.mdd.fixedpoint.GeneralizedSaturationProvider;
+import hu.bme.mit.theta.analysis.algorithm.mdd.fixedpoint.ParallelSaturationProvider;
 import hu.bme.mit.theta.frontend.petrinet.model.PetriNet;
 import hu.bme.mit.theta.frontend.petrinet.model.Place;
 import hu.bme.mit.theta.frontend.petrinet.pnml.PetriNetParser;
@@ -91,4 +92,34 @@ public final class GeneralizedSaturationTest {
         assertEquals(TestData.STATESPACESIZE, stateSpaceSize.longValue());
         System.out.println("Size of state space: " + stateSpaceSize);
     }
+
+    @Test
+    public void testParallelGS() throws Exception {
+        final File pnmlFile = new File(getClass().getResource(TestData.MODELPATH).toURI());
+        final PetriNet petriNet = PetriNetParser.loadPnml(pnmlFile).parsePTNet().get(0);
+        final List<Place> ordering =
+                VariableOrderingFactory.fromPathString(
+                        getClass().getResource(TestData.ORDERINGPATH).toURI().getPath(),
+                        petriNet);
+        final PtNetSystem system = new PtNetSystem(petriNet, ordering);
+
+        final MddVariableOrder variableOrder =
+                JavaMddFactory.getDefault().createMddVariableOrder(LatticeDefinition.forSets());
+        for (Place p : ordering) {
+            variableOrder.createOnTop(MddVariableDescriptor.create(p));
+        }
+
+        final ParallelSaturationProvider pgs =
+                new ParallelSaturationProvider(
+                        variableOrder, new CursorRelationalProductProvider(variableOrder));
+
+        final MddHandle stateSpace =
+                pgs.compute(
+                        system.getInitializer(),
+                        system.getTransitions(),
+                        variableOrder.getDefaultSetSignature().getTopVariableHandle());
+
+        final Long stateSpaceSize = MddInterpreter.calculateNonzeroCount(stateSpace);
+        assertEquals(TestData.STATESPACESIZE, stateSpaceSize.longValue());
+    }
 }
@@ -28,10 +28,17 @@ import hu.bme.mit.theta.graphsolver.ThreeVL
 import hu.bme.mit.theta.graphsolver.compilers.GraphPatternCompiler
 import hu.bme.mit.theta.graphsolver.patterns.constraints.*
 import hu.bme.mit.theta.graphsolver.patterns.patterns.*
+import hu.bme.mit.theta.graphsolver.solvers.GraphPropagator
 import java.util.*
 import kotlin.jvm.optionals.getOrNull
 
-class Pattern2ExprCompiler : GraphPatternCompiler<Expr<BoolType>, Map<Tuple, Expr<BoolType>>> {
+/**
+ * Compiles graph patterns to propositional formulas over every tuple of events. If a [propagator]
+ * is given, acyclicity and closures are not encoded, but registered with the propagator instead (to
+ * be checked lazily, e.g., by a [hu.bme.mit.theta.graphsolver.solvers.LazyGraphSolver]).
+ */
+class Pattern2ExprCompiler(private val propagator: GraphPropagator? = null) :
+  GraphPatternCompiler<Expr<BoolType>, Map<Tuple, Expr<BoolType>>> {
 
   private val events = ArrayList<Int>()
   private val facts = LinkedHashMap<Pair<String, Tuple>, ThreeVL>()
@@ -82,7 +89,18 @@ class Pattern2ExprCompiler : GraphPatternCompiler<Expr<BoolType>, Map<Tuple, Exp
   }
 
   override fun compile(acyclic: Acyclic): Expr<BoolType> =
-    Irreflexive(TransitiveClosure(acyclic.constrainedRule)).accept(this)
+    if (propagator != null) {
+      compileAcyclic(acyclic.constrainedRule)
+    } else {
+      Irreflexive(TransitiveClosure(acyclic.constrainedRule)).accept(this)
+    }
+
+  private fun compileAcyclic(rule: GraphPattern): Expr<BoolType> {
+    propagator!!.addAcyclic(rule.accept(this))
+    val ret = And(transitiveConstraints)
+    transitiveConstraints.clear()
+    return ret
+  }
 
   override fun compile(cyclic: Cyclic): Expr<BoolType> =
     Reflexive(TransitiveClosure(cyclic.constrainedRule)).accept(this)
@@ -109,6 +127,10 @@ class Pattern2ExprCompiler : GraphPatternCompiler<Expr<BoolType>, Map<Tuple, Exp
   }
 
   override fun compile(irreflexive: Irreflexive): Expr<BoolType> {
+    val rule = irreflexive.constrainedRule
+    if (propagator != null && rule is TransitiveClosure && rule.patternName == null) {
+      return compileAcyclic(rule.op)
+    }
     val compiled = irreflexive.constrainedRule.accept(this)
     val ret = And(Not(Or(events.map { compiled[Tuple2.of(it, it)] })), And(transitiveConstraints))
     transitiveConstraints.clear()
@@ -254,30 +276,11 @@ class Pattern2ExprCompiler : GraphPatternCompiler<Expr<BoolType>, Map<Tuple, Exp
         .flatten()
         .toMap()
 
-    val constraints =
-      And(
-        events
-          .map { a ->
-            events.map { b ->
-              Iff(
-                Or(
-                  opCompiled[Tuple2.of(a, b)],
-                  Or(
-                    events.map { c ->
-                      Or(
-                        And(opCompiled[Tuple2.of(a, c)], checkNotNull(consts[Tuple2.of(c, b)]).ref),
-                        And(checkNotNull(consts[Tuple2.of(a, c)]).ref, opCompiled[Tuple2.of(c, b)]),
-                      )
-                    }
-                  ),
-                ),
-                checkNotNull(consts[Tuple2.of(a, b)]).ref,
-              )
-            }
-          }
-          .flatten()
-      )
-    transitiveConstraints.add(constraints)
+    if (propagator != null) {
+      propagator.addClosure(opCompiled, refs(consts), reflexive = true)
+    } else {
+      transitiveConstraints.add(reflexiveClosureConstraints(opCompiled, consts))
+    }
     val ret =
       events.map { a ->
         events.map { b ->
@@ -287,6 +290,33 @@ class Pattern2ExprCompiler : GraphPatternCompiler<Expr<BoolType>, Map<Tuple, Exp
     return ret.flatten().toMap()
   }
 
+  private fun reflexiveClosureConstraints(
+    opCompiled: Map<Tuple, Expr<BoolType>>,
+    consts: Map<Tuple2<Int, Int>, ConstDecl<BoolType>>,
+  ): Expr<BoolType> =
+    And(
+      events
+        .map { a ->
+          events.map { b ->
+            Iff(
+              Or(
+                opCompiled[Tuple2.of(a, b)],
+                Or(
+                  events.map { c ->
+                    Or(
+                      And(opCompiled[Tuple2.of(a, c)], checkNotNull(consts[Tuple2.of(c, b)]).ref),
+                      And(checkNotNull(consts[Tuple2.of(a, c)]).ref, opCompiled[Tuple2.of(c, b)]),
+                    )
+                  }
+                ),
+              ),
+              checkNotNull(consts[Tuple2.of(a, b)]).ref,
+            )
+          }
+        }
+        .flatten()
+    )
+
   override fun compile(pattern: Self): Map<Tuple, Expr<BoolType>> = pattern.op.accept(this)
 
   override fun compile(pattern: Sequence): Map<Tuple, Expr<BoolType>> {
@@ -343,38 +373,11 @@ class Pattern2ExprCompiler : GraphPatternCompiler<Expr<BoolType>, Map<Tuple, Exp
         .flatten()
         .toMap()
 
-    val constraints =
-      And(
-        events
-          .map { a ->
-            events.map { b ->
-              Iff(
-                Or(
-                  opCompiled[Tuple2.of(a, b)],
-                  Or(
-                    events
-                      .filter { c -> a != c && b != c }
-                      .map { c ->
-                        Or(
-                          And(
-                            opCompiled[Tuple2.of(a, c)],
-                            checkNotNull(consts[Tuple2.of(c, b)]).ref,
-                          ),
-                          And(
-                            checkNotNull(consts[Tuple2.of(a, c)]).ref,
-                            opCompiled[Tuple2.of(c, b)],
-                          ),
-                        )
-                      }
-                  ),
-                ),
-                checkNotNull(consts[Tuple2.of(a, b)]).ref,
-              )
-            }
-          }
-          .flatten()
-      )
-    transitiveConstraints.add(constraints)
+    if (propagator != null) {
+      propagator.addClosure(opCompiled, refs(consts), reflexive = false)
+    } else {
+      transitiveConstraints.add(closureConstraints(opCompiled, consts))
+    }
     val ret =
       events.map { a ->
         events.map { b -> Pair(Tuple2.of(a, b), checkNotNull(consts[Tuple2.of(a, b)]).ref) }
@@ -382,6 +385,44 @@ class Pattern2ExprCompiler : GraphPatternCompiler<Expr<BoolType>, Map<Tuple, Exp
     return ret.flatten().toMap()
   }
 
+  private fun refs(consts: Map<Tuple2<Int, Int>, ConstDecl<BoolType>>): Map<Tuple, Expr<BoolType>> =
+    consts.map { Pair<Tuple, Expr<BoolType>>(it.key, it.value.ref) }.toMap()
+
+  private fun closureConstraints(
+    opCompiled: Map<Tuple, Expr<BoolType>>,
+    consts: Map<Tuple2<Int, Int>, ConstDecl<BoolType>>,
+  ): Expr<BoolType> =
+    And(
+      events
+        .map { a ->
+          events.map { b ->
+            Iff(
+              Or(
+                opCompiled[Tuple2.of(a, b)],
+                Or(
+                  events
+                    .filter { c -> a != c && b != c }
+                    .map { c ->
+                      Or(
+                        And(
+                          opCompiled[Tuple2.of(a, c)],
+                          checkNotNull(consts[Tuple2.of(c, b)]).ref,
+                        ),
+                        And(
+                          checkNotNull(consts[Tuple2.of(a, c)]).ref,
+                          opCompiled[Tuple2.of(c, b)],
+                        ),
+                      )
+                    }
+                ),
+              ),
+              checkNotNull(consts[Tuple2.of(a, b)]).ref,
+            )
+          }
+        }
+        .flatten()
+    )
+
   override fun compile(pattern: Union): Map<Tuple, Expr<BoolType>> {
     val op1Compiled = pattern.op1.accept(this)
     val op2Compiled = pattern.op2.accept(this)
@@ -0,0 +1,172 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.graphsolver.solvers
+
+import hu.bme.mit.theta.common.Tuple
+import hu.bme.mit.theta.common.Tuple2
+import hu.bme.mit.theta.core.model.Valuation
+import hu.bme.mit.theta.core.type.Expr
+import hu.bme.mit.theta.core.type.booltype.BoolExprs.*
+import hu.bme.mit.theta.core.type.booltype.BoolType
+import hu.bme.mit.theta.core.utils.ExprUtils
+
+/**
+ * Checks acyclicity and transitive closure constraints against a model of the base relations,
+ * instead of encoding them eagerly (which is cubic in the number of events). [propagate] returns
+ * lemmas refuting the cycles and closure violations present in the model; lemmas are thus only
+ * instantiated for edges that actually occur in some model.
+ */
+class GraphPropagator {
+
+  private val acyclic = LinkedHashSet<Map<Tuple, Expr<BoolType>>>()
+  private val closures = LinkedHashSet<Closure>()
+
+  private data class Closure(
+    val edges: Map<Tuple, Expr<BoolType>>,
+    val closure: Map<Tuple, Expr<BoolType>>,
+    val reflexive: Boolean,
+  )
+
+  /** Requires the relation given by [edges] (indexed by `Tuple2<Int, Int>`) to be acyclic. */
+  fun addAcyclic(edges: Map<Tuple, Expr<BoolType>>) {
+    acyclic.add(edges)
+  }
+
+  /**
+   * Requires [closure] to be the transitive closure of [edges]. If [reflexive], pairs on the
+   * diagonal are left unconstrained (they are true in a reflexive-transitive closure anyway).
+   */
+  fun addClosure(
+    edges: Map<Tuple, Expr<BoolType>>,
+    closure: Map<Tuple, Expr<BoolType>>,
+    reflexive: Boolean,
+  ) {
+    closures.add(Closure(edges, closure, reflexive))
+  }
+
+  fun isEmpty(): Boolean = acyclic.isEmpty() && closures.isEmpty()
+
+  /** Returns the lemmas violated by [model]; an empty list means the model is consistent. */
+  fun propagate(model: Valuation): List<Expr<BoolType>> {
+    val lemmas = ArrayList<Expr<BoolType>>()
+    acyclic.forEach { cycleLemmas(Graph(it, model), lemmas) }
+    closures.forEach { closureLemmas(it, model, lemmas) }
+    return lemmas
+  }
+
+  private fun cycleLemmas(graph: Graph, lemmas: MutableList<Expr<BoolType>>) {
+    val finished = HashMap<Int, Boolean>() // false: on the current path, true: done
+    for (root in graph.successors.keys) {
+      if (root in finished) continue
+      val path = arrayListOf(root)
+      val iterators = arrayListOf(graph.successors.getValue(root).iterator())
+      finished[root] = false
+      while (path.isNotEmpty()) {
+        val iterator = iterators.last()
+        if (iterator.hasNext()) {
+          val next = iterator.next()
+          when (finished[next]) {
+            null -> {
+              finished[next] = false
+              path.add(next)
+              iterators.add(graph.successors.getValue(next).iterator())
+            }
+            false -> {
+              val cycle = path.subList(path.indexOf(next), path.size) + next
+              lemmas.add(Not(And(cycle.zipWithNext { a, b -> graph.literal(a, b) })))
+            }
+            true -> {}
+          }
+        } else {
+          finished[path.removeAt(path.size - 1)] = true
+          iterators.removeAt(iterators.size - 1)
+        }
+      }
+    }
+  }
+
+  private fun closureLemmas(
+    closure: Closure,
+    model: Valuation,
+    lemmas: MutableList<Expr<BoolType>>,
+  ) {
+    val graph = Graph(closure.edges, model)
+    for (source in graph.successors.keys) {
+      // BFS from the successors, so that the source is only reached through a cycle
+      val parent = LinkedHashMap<Int, Int>()
+      val queue = ArrayDeque<Int>()
+      graph.successors.getValue(source).forEach {
+        if (parent.putIfAbsent(it, source) == null) queue.add(it)
+      }
+      while (queue.isNotEmpty()) {
+        val node = queue.removeFirst()
+        graph.successors.getValue(node).forEach {
+          if (parent.putIfAbsent(it, node) == null) queue.add(it)
+        }
+      }
+
+      for (target in graph.successors.keys) {
+        if (closure.reflexive && source == target) continue
+        val literal = checkNotNull(closure.closure[Tuple2.of(source, target)])
+        val holds = holds(literal, model)
+        if (target in parent && !holds) {
+          val path = ArrayList<Expr<BoolType>>()
+          var node = target
+          do {
+            val previous = parent.getValue(node)
+            path.add(graph.literal(previous, node))
+            node = previous
+          } while (node != source)
+          lemmas.add(Imply(And(path), literal))
+        } else if (target !in parent && holds) {
+          // the target can only be reached if some edge leaves the reachable set; on the diagonal,
+          // the source is only reached again through an edge into it, so it counts as outside
+          val reached = parent.keys + source
+          val outside =
+            graph.successors.keys.filter { it !in parent && (it != source || it == target) }
+          val leaving =
+            reached.flatMap { from ->
+              outside.map { graph.literal(from, it) }.filter { it != False() }
+            }
+          lemmas.add(Imply(literal, Or(leaving)))
+        }
+      }
+    }
+  }
+
+  private class Graph(private val edges: Map<Tuple, Expr<BoolType>>, model: Valuation) {
+
+    val successors = LinkedHashMap<Int, MutableList<Int>>()
+
+    init {
+      for ((tuple, expr) in edges) {
+        val from = tuple.elem(0) as Int
+        val to = tuple.elem(1) as Int
+        val successorList = successors.getOrPut(from) { ArrayList() }
+        successors.getOrPut(to) { ArrayList() }
+        if (holds(expr, model)) successorList.add(to)
+      }
+    }
+
+    fun literal(from: Int, to: Int): Expr<BoolType> = checkNotNull(edges[Tuple2.of(from, to)])
+  }
+
+  private companion object {
+
+    fun holds(expr: Expr<BoolType>, model: Valuation): Boolean =
+      expr == True() || (expr != False() && ExprUtils.simplify(expr, model) == True())
+  }
+}
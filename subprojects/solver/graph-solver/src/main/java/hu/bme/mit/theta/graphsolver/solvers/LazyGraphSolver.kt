@@ -0,0 +1,50 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.graphsolver.solvers
+
+import hu.bme.mit.theta.core.model.Valuation
+import hu.bme.mit.theta.core.type.Expr
+import hu.bme.mit.theta.core.type.booltype.BoolType
+import hu.bme.mit.theta.solver.Solver
+import hu.bme.mit.theta.solver.SolverStatus
+
+/**
+ * A [GraphSolver] that only gives the base relations to the SMT solver, and enforces the
+ * acyclicity and closure constraints registered in [propagator] lazily: every model is checked by
+ * the propagator and refuted by the returned lemmas, until a consistent model is found or the
+ * query becomes unsatisfiable. Patterns should be compiled by a
+ * [hu.bme.mit.theta.graphsolver.compilers.pattern2expr.Pattern2ExprCompiler] sharing the same
+ * propagator.
+ */
+class LazyGraphSolver(val solver: Solver, val propagator: GraphPropagator = GraphPropagator()) :
+  GraphSolver<Expr<BoolType>> {
+
+  override fun add(t: Expr<BoolType>) = solver.add(t)
+
+  override fun getAll(): Collection<Expr<BoolType>> = solver.assertions
+
+  override fun check(): SolverStatus {
+    while (true) {
+      val status = solver.check()
+      if (!status.isSat || propagator.isEmpty()) return status
+      val lemmas = propagator.propagate(solver.model)
+      if (lemmas.isEmpty()) return status
+      solver.add(lemmas)
+    }
+  }
+
+  override fun getModel(): Valuation = solver.model
+}
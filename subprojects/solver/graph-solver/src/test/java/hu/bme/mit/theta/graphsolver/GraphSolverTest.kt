@@ -23,6 +23,7 @@ import hu.bme.mit.theta.graphsolver.compilers.pattern2expr.Pattern2ExprCompiler
 import hu.bme.mit.theta.graphsolver.patterns.constraints.*
 import hu.bme.mit.theta.graphsolver.patterns.patterns.*
 import hu.bme.mit.theta.graphsolver.solvers.GraphSolver
+import hu.bme.mit.theta.graphsolver.solvers.LazyGraphSolver
 import hu.bme.mit.theta.graphsolver.solvers.SATGraphSolver
 import hu.bme.mit.theta.solver.z3legacy.Z3LegacySolverFactory
 import java.util.*
@@ -104,6 +105,59 @@ class GraphSolverTest<T> {
         ),
       )
 
+    // the back edge is unknown, so a cycle is possible but not necessary
+    private val unknownBack: Pair<List<Int>, Map<Pair<String, Tuple>, ThreeVL>> =
+      Pair(
+        listOf(1, 2),
+        mapOf(
+          Pair(Pair("rf", Tuple2.of(1, 1)), ThreeVL.FALSE),
+          Pair(Pair("rf", Tuple2.of(1, 2)), ThreeVL.TRUE),
+          Pair(Pair("rf", Tuple2.of(2, 1)), ThreeVL.UNKNOWN),
+          Pair(Pair("rf", Tuple2.of(2, 2)), ThreeVL.FALSE),
+        ),
+      )
+
+    private fun namedClosure(op: EdgePattern): TransitiveClosure =
+      TransitiveClosure(op).also { it.patternName = "tc" }
+
+    private fun eager(
+      constraint: GraphConstraint,
+      graph: Pair<List<Int>, Map<Pair<String, Tuple>, ThreeVL>>,
+      allowed: Boolean,
+    ): Array<Any> =
+      arrayOf(
+        constraint,
+        Pattern2ExprCompiler(),
+        graph.first,
+        graph.second,
+        SATGraphSolver(Z3LegacySolverFactory.getInstance().createSolver()),
+        allowed,
+      )
+
+    /** The same case for the eager and the lazy solver, which must agree. */
+    private fun both(
+      constraint: () -> GraphConstraint,
+      graph: Pair<List<Int>, Map<Pair<String, Tuple>, ThreeVL>>,
+      allowed: Boolean,
+    ): Array<Array<Any>> =
+      arrayOf(eager(constraint(), graph, allowed), lazy(constraint(), graph, allowed))
+
+    private fun lazy(
+      constraint: GraphConstraint,
+      graph: Pair<List<Int>, Map<Pair<String, Tuple>, ThreeVL>>,
+      allowed: Boolean,
+    ): Array<Any> {
+      val solver = LazyGraphSolver(Z3LegacySolverFactory.getInstance().createSolver())
+      return arrayOf(
+        constraint,
+        Pattern2ExprCompiler(solver.propagator),
+        graph.first,
+        graph.second,
+        solver,
+        allowed,
+      )
+    }
+
     @Parameterized.Parameters
     @JvmStatic
     fun data(): Collection<Array<Any>> {
@@ -334,6 +388,43 @@ class GraphSolverTest<T> {
           SATGraphSolver(Z3LegacySolverFactory.getInstance().createSolver()),
           false,
         ),
+        lazy(Acyclic(BasicRelation("po")), smallLine, true),
+        lazy(Acyclic(BasicRelation("po")), smallCycle, false),
+        lazy(Acyclic(BasicRelation("po")), smallFull, false),
+        lazy(Cyclic(BasicRelation("po")), smallLine, false),
+        lazy(Cyclic(BasicRelation("po")), smallCycle, true),
+        lazy(Irreflexive(TransitiveClosure(BasicRelation("po"))), smallLine, true),
+        lazy(Irreflexive(TransitiveClosure(BasicRelation("po"))), smallCycle, false),
+        lazy(Acyclic(Union(BasicRelation("po"), BasicRelation("rf"))), smallLine, true),
+        lazy(
+          Nonempty(
+            Intersection(TransitiveClosure(BasicRelation("po")), Inverse(BasicRelation("po")))
+          ),
+          smallLine,
+          false,
+        ),
+        lazy(
+          Nonempty(
+            Intersection(TransitiveClosure(BasicRelation("po")), Inverse(BasicRelation("po")))
+          ),
+          smallCycle,
+          true,
+        ),
+        lazy(
+          Nonempty(Difference(TransitiveClosure(BasicRelation("rf")), BasicRelation("rf"))),
+          smallLine,
+          true,
+        ),
+        lazy(
+          Nonempty(Union(ReflexiveTransitiveClosure(BasicRelation("po")), BasicRelation("po"))),
+          smallFull,
+          true,
+        ),
+        *both({ Cyclic(BasicRelation("rf")) }, unknownBack, true),
+        *both({ Cyclic(namedClosure(BasicRelation("rf"))) }, unknownBack, true),
+        *both({ Reflexive(namedClosure(BasicRelation("rf"))) }, unknownBack, true),
+        *both({ Irreflexive(namedClosure(BasicRelation("rf"))) }, unknownBack, true),
+        *both({ Irreflexive(TransitiveClosure(BasicRelation("rf"))) }, unknownBack, true),
       )
     }
   }
@@ -191,6 +191,16 @@ final class JavaSMTItpSolver implements ItpSolver, Solver {
         return solver.check();
     }
 
+    @Override
+    public SolverStatus check(final Collection<? extends Expr<BoolType>> assumptions) {
+        return solver.check(assumptions);
+    }
+
+    @Override
+    public Collection<Expr<BoolType>> getUnsatAssumptions() {
+        return solver.getUnsatAssumptions();
+    }
+
     @Override
     public void push() {
         markers.push();
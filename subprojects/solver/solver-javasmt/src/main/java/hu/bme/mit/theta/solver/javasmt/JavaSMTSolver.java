@@ -21,14 +21,18 @@ import static com.google.common.base.Preconditions.checkState;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import hu.bme.mit.theta.common.container.Containers;
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.common.metrics.Timer;
 import hu.bme.mit.theta.core.decl.ConstDecl;
 import hu.bme.mit.theta.core.decl.Decl;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.type.Type;
+import hu.bme.mit.theta.core.type.anytype.RefExpr;
 import hu.bme.mit.theta.core.type.arraytype.ArrayType;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.booltype.NotExpr;
 import hu.bme.mit.theta.core.type.bvtype.BvLitExpr;
 import hu.bme.mit.theta.core.type.bvtype.BvType;
 import hu.bme.mit.theta.core.type.enumtype.EnumType;
@@ -37,15 +41,18 @@ import hu.bme.mit.theta.solver.Solver;
 import hu.bme.mit.theta.solver.SolverStatus;
 import hu.bme.mit.theta.solver.Stack;
 import hu.bme.mit.theta.solver.UCSolver;
+import hu.bme.mit.theta.solver.impl.AssumptionProxies;
 import hu.bme.mit.theta.solver.impl.StackImpl;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.sosy_lab.java_smt.api.BasicProverEnvironment;
 import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.BooleanFormulaManager;
 import org.sosy_lab.java_smt.api.Formula;
 import org.sosy_lab.java_smt.api.Model;
 import org.sosy_lab.java_smt.api.Model.ValueAssignment;
@@ -65,8 +72,14 @@ final class JavaSMTSolver implements UCSolver, Solver {
 
     private Valuation model;
     private Collection<Expr<BoolType>> unsatCore;
+    private Collection<Expr<BoolType>> unsatAssumptions;
 
     private final Map<String, Expr<BoolType>> assumptions;
+    private final AssumptionProxies<BooleanFormula> assumptionProxies;
+    private static final String ASSUMPTION_PROXY = "_ASSUMPTION_%d";
+    private static final Timer CHECK_TIMER = Metrics.timer("solver.check");
+    private int proxyNum = 0;
+    private Map<BooleanFormula, Expr<BoolType>> checkedAssumptions = Map.of();
     private SolverStatus status;
 
     public JavaSMTSolver(
@@ -83,6 +96,7 @@ final class JavaSMTSolver implements UCSolver, Solver {
 
         assertions = new StackImpl<>();
         assumptions = Containers.createMap();
+        assumptionProxies = new AssumptionProxies<>();
     }
 
     ////
@@ -144,7 +158,10 @@ final class JavaSMTSolver implements UCSolver, Solver {
     @Override
     public SolverStatus check() {
         try {
+            final long start = CHECK_TIMER.start();
             final boolean unsat = solver.isUnsat();
+            CHECK_TIMER.stop(start);
+            clearState();
             status = unsat ? SolverStatus.UNSAT : SolverStatus.SAT;
             return status;
         } catch (SolverException | InterruptedException e) {
@@ -152,9 +169,94 @@ final class JavaSMTSolver implements UCSolver, Solver {
         }
     }
 
+    @Override
+    public SolverStatus check(final Collection<? extends Expr<BoolType>> assumptions) {
+        checkNotNull(assumptions);
+        final Map<BooleanFormula, Expr<BoolType>> literals = new LinkedHashMap<>();
+        for (final Expr<BoolType> assumption : assumptions) {
+            literals.put(toAssumptionLiteral(assumption), assumption);
+        }
+
+        try {
+            final long start = CHECK_TIMER.start();
+            final boolean unsat = solver.isUnsatWithAssumptions(literals.keySet());
+            CHECK_TIMER.stop(start);
+            clearState();
+            checkedAssumptions = literals;
+            status = unsat ? SolverStatus.UNSAT : SolverStatus.SAT;
+            return status;
+        } catch (SolverException | InterruptedException e) {
+            throw new JavaSMTSolverException(e);
+        }
+    }
+
+    private BooleanFormula toAssumptionLiteral(final Expr<BoolType> assumption) {
+        final BooleanFormula term = (BooleanFormula) transformationManager.toTerm(assumption);
+        if (isAtom(assumption) || assumption instanceof NotExpr not && isAtom(not.getOp())) {
+            return term;
+        }
+
+        BooleanFormula proxy = assumptionProxies.get(assumption);
+        if (proxy == null) {
+            final BooleanFormulaManager bmgr =
+                    context.getFormulaManager().getBooleanFormulaManager();
+            proxy = bmgr.makeVariable(String.format(ASSUMPTION_PROXY, proxyNum++));
+            try {
+                solver.addConstraint(bmgr.implication(proxy, term));
+            } catch (InterruptedException e) {
+                throw new JavaSMTSolverException(e);
+            }
+            assumptionProxies.add(assumption, proxy);
+        }
+        return proxy;
+    }
+
+    private static boolean isAtom(final Expr<BoolType> expr) {
+        return expr instanceof RefExpr<BoolType> ref && ref.getDecl() instanceof ConstDecl;
+    }
+
+    @Override
+    public Collection<Expr<BoolType>> getUnsatAssumptions() {
+        checkState(
+                status == SolverStatus.UNSAT,
+                "Cannot get unsat assumptions if status is not UNSAT");
+
+        if (unsatAssumptions == null) {
+            unsatAssumptions = extractUnsatAssumptions();
+        }
+
+        assert unsatAssumptions != null;
+        return Collections.unmodifiableCollection(unsatAssumptions);
+    }
+
+    private Collection<Expr<BoolType>> extractUnsatAssumptions() {
+        assert status == SolverStatus.UNSAT;
+        assert unsatAssumptions == null;
+
+        final Optional<List<BooleanFormula>> core;
+        try {
+            core = solver.unsatCoreOverAssumptions(checkedAssumptions.keySet());
+        } catch (UnsupportedOperationException | IllegalStateException e) {
+            // Not every backend computes cores over assumptions, all of them are a valid answer
+            return new LinkedList<>(checkedAssumptions.values());
+        } catch (SolverException | InterruptedException e) {
+            throw new JavaSMTSolverException(e);
+        }
+
+        final Collection<Expr<BoolType>> unsatAssumptions = new LinkedList<>();
+        for (final BooleanFormula term : core.orElseThrow()) {
+            final Expr<BoolType> assumption = checkedAssumptions.get(term);
+            if (assumption != null) {
+                unsatAssumptions.add(assumption);
+            }
+        }
+        return unsatAssumptions;
+    }
+
     @Override
     public void push() {
         assertions.push();
+        assumptionProxies.push();
         try {
             solver.push();
         } catch (InterruptedException e) {
@@ -165,6 +267,7 @@ final class JavaSMTSolver implements UCSolver, Solver {
     @Override
     public void pop(final int n) {
         assertions.pop(n);
+        assumptionProxies.pop(n);
         for (int i = 0; i < n; i++) {
             solver.pop();
         }
@@ -215,6 +318,8 @@ final class JavaSMTSolver implements UCSolver, Solver {
         status = null;
         model = null;
         unsatCore = null;
+        unsatAssumptions = null;
+        checkedAssumptions = Map.of();
     }
 
     public SolverContext getContext() {
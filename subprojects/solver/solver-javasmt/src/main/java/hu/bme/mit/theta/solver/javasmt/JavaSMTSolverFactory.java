@@ -170,7 +170,9 @@ public final class JavaSMTSolverFactory implements SolverFactory {
 
             final ProverEnvironment prover =
                     context.newProverEnvironment(
-                            ProverOptions.GENERATE_MODELS, ProverOptions.GENERATE_UNSAT_CORE);
+                            ProverOptions.GENERATE_MODELS,
+                            ProverOptions.GENERATE_UNSAT_CORE,
+                            ProverOptions.GENERATE_UNSAT_CORE_OVER_ASSUMPTIONS);
 
             return new JavaSMTSolver(
                     symbolTable, transformationManager, termTransformer, context, prover);
@@ -23,16 +23,36 @@ import com.zaxxer.nuprocess.NuProcess;
 import com.zaxxer.nuprocess.NuProcessBuilder;
 import hu.bme.mit.theta.solver.smtlib.solver.binary.SmtLibSolverBinary;
 import hu.bme.mit.theta.solver.smtlib.solver.binary.SmtLibSolverBinaryException;
+import java.io.IOException;
+import java.io.Writer;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 public final class GenericSmtLibSolverBinary implements SmtLibSolverBinary {
 
+    /** Number of most recently issued commands kept in memory for debugging. */
+    public static final int COMMAND_HISTORY_SIZE = 64;
+
+    /**
+     * System property naming a directory into which the full command log of every solver process
+     * is written. Unset by default, in which case only the last {@link #COMMAND_HISTORY_SIZE}
+     * commands are kept.
+     */
+    public static final String COMMAND_LOG_PROPERTY = "theta.smtlib.commandlog";
+
+    /** Time the solver process has to answer its first command before it is considered hung. */
+    public static final long HANDSHAKE_TIMEOUT_MS = 30_000;
+
+    private static final String HANDSHAKE_COMMAND = "(get-info :name)";
+
     private final NuProcess solverProcess;
     private final ProcessHandler processHandler;
-    private final List<String> issuedCommands = new ArrayList<>();
+    private final Deque<String> issuedCommands = new ArrayDeque<>(COMMAND_HISTORY_SIZE);
+    private final Writer commandLog;
 
     public GenericSmtLibSolverBinary(final Path solverPath, final String[] args) {
         this(solverPath, args, EnumSet.noneOf(Solver.class));
@@ -40,6 +60,14 @@ public final class GenericSmtLibSolverBinary implements SmtLibSolverBinary {
 
     public GenericSmtLibSolverBinary(
             final Path solverPath, final String[] args, final EnumSet<Solver> solverOverride) {
+        this(solverPath, args, solverOverride, defaultCommandLogDir());
+    }
+
+    public GenericSmtLibSolverBinary(
+            final Path solverPath,
+            final String[] args,
+            final EnumSet<Solver> solverOverride,
+            final Path commandLogDir) {
         final var processCmd = new ArrayList<String>();
         processCmd.add(solverPath.toAbsolutePath().toString());
         processCmd.addAll(Arrays.asList(args));
@@ -50,25 +78,90 @@ public final class GenericSmtLibSolverBinary implements SmtLibSolverBinary {
         solverProcessBuilder.setProcessListener(processHandler);
 
         solverProcess = solverProcessBuilder.start();
+        checkState(solverProcess.isRunning());
+        handshake();
+
+        commandLog = commandLogDir == null ? null : openCommandLog(commandLogDir);
+    }
+
+    private static Path defaultCommandLogDir() {
+        final var dir = System.getProperty(COMMAND_LOG_PROPERTY);
+        return dir == null ? null : Path.of(dir);
+    }
+
+    private static Writer openCommandLog(final Path commandLogDir) {
         try {
-            Thread.sleep(50);
-        } catch (InterruptedException ignored) {
+            Files.createDirectories(commandLogDir);
+            final var file = Files.createTempFile(commandLogDir, "solver-", ".smt2");
+            return Files.newBufferedWriter(file, StandardCharsets.US_ASCII);
+        } catch (IOException e) {
+            throw new SmtLibSolverBinaryException(e);
+        }
+    }
 
+    /**
+     * Waits until the solver answers its first command, so that the process is known to be ready
+     * (or to have failed) before the first real command is issued. The answer itself is
+     * irrelevant: solvers not supporting the query respond with an error or unsupported. A solver
+     * not answering within {@link #HANDSHAKE_TIMEOUT_MS} is killed.
+     */
+    private void handshake() {
+        if (processHandler.write(HANDSHAKE_COMMAND)) {
+            solverProcess.wantWrite();
+        }
+        final String response;
+        try {
+            response = processHandler.read(HANDSHAKE_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            solverProcess.destroy(true);
+            throw new SmtLibSolverBinaryException(e);
+        } catch (SmtLibSolverBinaryException e) {
+            solverProcess.destroy(true);
+            throw e;
+        }
+        if (response == null) {
+            solverProcess.destroy(true);
+            throw new SmtLibSolverBinaryException(
+                    String.format(
+                            "Solver process did not respond within %d ms", HANDSHAKE_TIMEOUT_MS));
         }
-        checkState(solverProcess.isRunning());
     }
 
     @Override
     public void issueCommand(final String command) {
-        issuedCommands.add(command);
+        if (issuedCommands.size() == COMMAND_HISTORY_SIZE) {
+            issuedCommands.removeFirst();
+        }
+        issuedCommands.addLast(command);
+        if (commandLog != null) {
+            try {
+                commandLog.write(command);
+                commandLog.write('\n');
+            } catch (IOException e) {
+                throw new SmtLibSolverBinaryException(e);
+            }
+        }
+
         checkState(solverProcess.isRunning());
-        processHandler.write(command);
-        solverProcess.wantWrite();
+        // A write already in progress picks up the new command, so the process only has to be
+        // woken up if the queue was drained
+        if (processHandler.write(command)) {
+            solverProcess.wantWrite();
+        }
     }
 
     @Override
     public String readResponse() {
         checkState(solverProcess.isRunning());
+        // The log has to contain the commands leading to a response even if the solver crashes or
+        // hangs while answering
+        if (commandLog != null) {
+            try {
+                commandLog.flush();
+            } catch (IOException e) {
+                throw new SmtLibSolverBinaryException(e);
+            }
+        }
         try {
             return processHandler.read().trim();
         } catch (InterruptedException e) {
@@ -76,9 +169,21 @@ public final class GenericSmtLibSolverBinary implements SmtLibSolverBinary {
         }
     }
 
+    /** Returns the last (at most {@link #COMMAND_HISTORY_SIZE}) issued commands, oldest first. */
+    public List<String> getCommandHistory() {
+        return List.copyOf(issuedCommands);
+    }
+
     @Override
     public void close() {
         solverProcess.destroy(true);
+        if (commandLog != null) {
+            try {
+                commandLog.close();
+            } catch (IOException e) {
+                throw new SmtLibSolverBinaryException(e);
+            }
+        }
     }
 
     public enum Solver {
@@ -89,10 +194,12 @@ public final class GenericSmtLibSolverBinary implements SmtLibSolverBinary {
     private static final class ProcessHandler extends NuAbstractProcessHandler {
 
         private final Queue<String> inputQueue = new LinkedList<>();
+        private byte[] head = null;
         private int headDoneIndex = 0;
 
         private final Queue<String> outputQueue = new LinkedList<>();
         private ReadProcessor readProcessor = null;
+        private boolean exited = false;
         private final boolean isCvc4;
         private final boolean isPrincess;
 
@@ -101,38 +208,72 @@ public final class GenericSmtLibSolverBinary implements SmtLibSolverBinary {
             this.isPrincess = solverOverride.contains(Solver.PRINCESS);
         }
 
-        public synchronized void write(final String input) {
+        /**
+         * Queues a command for writing. Returns true if no write was in progress, i.e., the
+         * process has to be woken up for the command to be written.
+         */
+        public synchronized boolean write(final String input) {
+            final boolean idle = head == null && inputQueue.isEmpty();
             inputQueue.add(input);
+            return idle;
         }
 
         public synchronized String read() throws InterruptedException {
             while (outputQueue.isEmpty()) {
+                if (exited) {
+                    throw new SmtLibSolverBinaryException("Solver process exited unexpectedly");
+                }
                 wait();
             }
 
             return outputQueue.remove();
         }
 
+        /** Like {@link #read()}, but returns null if no response arrives within the timeout. */
+        public synchronized String read(final long timeoutMs) throws InterruptedException {
+            final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+            while (outputQueue.isEmpty()) {
+                if (exited) {
+                    throw new SmtLibSolverBinaryException("Solver process exited unexpectedly");
+                }
+                final long remainingMs =
+                        TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMs <= 0) {
+                    return null;
+                }
+                wait(remainingMs);
+            }
+
+            return outputQueue.remove();
+        }
+
         @Override
         public synchronized boolean onStdinReady(final ByteBuffer buffer) {
-            if (!inputQueue.isEmpty()) {
-                final var output = inputQueue.peek();
-                final var eol = "\n".getBytes(StandardCharsets.US_ASCII);
-                final var cutoff =
-                        min(buffer.remaining() - eol.length, output.length() - headDoneIndex);
-                buffer.put(
-                        output.substring(headDoneIndex, headDoneIndex + cutoff)
-                                .getBytes(StandardCharsets.US_ASCII));
-                if (headDoneIndex + cutoff < output.length()) {
-                    headDoneIndex = headDoneIndex + cutoff;
-                } else {
-                    inputQueue.remove();
+            // Write as many queued commands as fit into the buffer in a single wake-up
+            while (buffer.hasRemaining()) {
+                if (head == null) {
+                    final var command = inputQueue.poll();
+                    if (command == null) {
+                        break;
+                    }
+                    head = (command + "\n").getBytes(StandardCharsets.US_ASCII);
                     headDoneIndex = 0;
-                    buffer.put(eol);
+                }
+                final var cutoff = min(buffer.remaining(), head.length - headDoneIndex);
+                buffer.put(head, headDoneIndex, cutoff);
+                headDoneIndex += cutoff;
+                if (headDoneIndex == head.length) {
+                    head = null;
                 }
             }
             buffer.flip();
-            return !inputQueue.isEmpty();
+            return head != null || !inputQueue.isEmpty();
+        }
+
+        @Override
+        public synchronized void onExit(final int statusCode) {
+            exited = true;
+            notifyAll();
         }
 
         @Override
@@ -150,12 +291,10 @@ public final class GenericSmtLibSolverBinary implements SmtLibSolverBinary {
         private int isFp = 0;
 
         private synchronized void onInput(final ByteBuffer buffer) {
-            final var buf = new byte[buffer.remaining()];
-            buffer.get(buf);
-            final var input = new String(buf, StandardCharsets.US_ASCII);
-            // System.out.println(input);
-
-            for (var c : input.toCharArray()) {
+            // Responses are ASCII, so bytes are processed in place without decoding the buffer
+            while (buffer.hasRemaining()) {
+                final byte b = buffer.get();
+                final char c = b >= 0 ? (char) b : '\uFFFD';
                 if (readProcessor == null) {
                     readProcessor = new ReadProcessor();
                 }
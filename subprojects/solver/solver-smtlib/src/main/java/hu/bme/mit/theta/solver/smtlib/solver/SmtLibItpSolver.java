@@ -17,6 +17,8 @@ package hu.bme.mit.theta.solver.smtlib.solver;
 
 import static com.google.common.base.Preconditions.*;
 
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.common.metrics.Timer;
 import hu.bme.mit.theta.core.decl.ConstDecl;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
@@ -34,11 +36,13 @@ import hu.bme.mit.theta.solver.smtlib.solver.model.SmtLibValuation;
 import hu.bme.mit.theta.solver.smtlib.solver.parser.CheckSatResponse;
 import hu.bme.mit.theta.solver.smtlib.solver.parser.GeneralResponse;
 import hu.bme.mit.theta.solver.smtlib.solver.parser.GetModelResponse;
+import hu.bme.mit.theta.solver.smtlib.solver.parser.SmtLibResponseReader;
 import hu.bme.mit.theta.solver.smtlib.solver.parser.ThrowExceptionErrorListener;
 import hu.bme.mit.theta.solver.smtlib.solver.transformer.SmtLibSymbolTable;
 import hu.bme.mit.theta.solver.smtlib.solver.transformer.SmtLibTermTransformer;
 import hu.bme.mit.theta.solver.smtlib.solver.transformer.SmtLibTransformationManager;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.antlr.v4.runtime.CharStreams;
@@ -46,6 +50,8 @@ import org.antlr.v4.runtime.CommonTokenStream;
 
 public abstract class SmtLibItpSolver<T extends SmtLibItpMarker> implements ItpSolver {
 
+    private static final Timer CHECK_TIMER = Metrics.timer("solver.check");
+
     protected final SmtLibSymbolTable symbolTable;
     protected final SmtLibTransformationManager transformationManager;
     protected final SmtLibTermTransformer termTransformer;
@@ -60,6 +66,7 @@ public abstract class SmtLibItpSolver<T extends SmtLibItpMarker> implements ItpS
 
     private Valuation model;
     private SolverStatus status;
+    private Collection<Expr<BoolType>> checkedAssumptions;
 
     public SmtLibItpSolver(
             final SmtLibSymbolTable symbolTable,
@@ -150,8 +157,10 @@ public abstract class SmtLibItpSolver<T extends SmtLibItpMarker> implements ItpS
 
     @Override
     public SolverStatus check() {
+        final long start = CHECK_TIMER.start();
         solverBinary.issueCommand("(check-sat)");
         var res = parseResponse(solverBinary.readResponse());
+        CHECK_TIMER.stop(start);
         if (res.isError()) {
             throw new SmtLibSolverException(res.getReason());
         } else if (res.isSpecific()) {
@@ -170,6 +179,65 @@ public abstract class SmtLibItpSolver<T extends SmtLibItpMarker> implements ItpS
         return status;
     }
 
+    /**
+     * Interpolating solvers are not queried with check-sat-assuming, as not all of them support it
+     * together with interpolation groups. Instead, the assumptions are asserted in a temporary
+     * scope, which is popped right after the check. The model is fetched before popping, and all
+     * assumptions are reported as unsat assumptions.
+     */
+    @Override
+    public SolverStatus check(final Collection<? extends Expr<BoolType>> assumptions) {
+        checkNotNull(assumptions);
+        final List<Expr<BoolType>> checked = List.copyOf(assumptions);
+        final SolverStatus result;
+        final Valuation resultModel;
+        push();
+        try {
+            checked.forEach(this::assertAssumption);
+            result = check();
+            resultModel = result == SolverStatus.SAT ? getModel() : null;
+        } finally {
+            pop();
+        }
+        status = result;
+        model = resultModel;
+        checkedAssumptions = checked;
+        return status;
+    }
+
+    private void assertAssumption(final Expr<BoolType> assumption) {
+        final var term = transformationManager.toTerm(assumption);
+        final var consts =
+                ExprUtils.getConstants(assumption).stream()
+                        .filter(symbolTable::definesConst)
+                        .collect(Collectors.toSet());
+        consts.removeAll(declarationStack.toCollection());
+        declarationStack.add(consts);
+        enumStrategy.declareDatatypes(
+                consts.stream().map(ConstDecl::getType).toList(),
+                typeStack,
+                this::issueGeneralCommand);
+        consts.stream().map(symbolTable::getDeclaration).forEach(this::issueGeneralCommand);
+        issueGeneralCommand(
+                String.format(
+                        "(assert %s)",
+                        enumStrategy.wrapAssertionExpression(
+                                term,
+                                ExprUtils.getConstants(assumption).stream()
+                                        .collect(
+                                                Collectors.toMap(
+                                                        c -> c, symbolTable::getSymbol)))));
+    }
+
+    @Override
+    public Collection<Expr<BoolType>> getUnsatAssumptions() {
+        checkState(checkedAssumptions != null, "No check under assumptions was performed.");
+        checkState(
+                status == SolverStatus.UNSAT,
+                "Cannot get unsat assumptions if status is not UNSAT");
+        return checkedAssumptions;
+    }
+
     @Override
     public void push() {
         markers.push();
@@ -252,6 +320,7 @@ public abstract class SmtLibItpSolver<T extends SmtLibItpMarker> implements ItpS
     protected void clearState() {
         status = null;
         model = null;
+        checkedAssumptions = null;
     }
 
     protected void init() {
@@ -269,6 +338,10 @@ public abstract class SmtLibItpSolver<T extends SmtLibItpMarker> implements ItpS
     }
 
     protected final GeneralResponse parseResponse(final String response) {
+        final GeneralResponse simpleResponse = SmtLibResponseReader.read(response);
+        if (simpleResponse != null) {
+            return simpleResponse;
+        }
         try {
             final var lexer = new SMTLIBv2Lexer(CharStreams.fromString(response));
             final var parser = new SMTLIBv2Parser(new CommonTokenStream(lexer));
@@ -15,8 +15,11 @@
  */
 package hu.bme.mit.theta.solver.smtlib.solver;
 
+import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.common.metrics.Timer;
 import hu.bme.mit.theta.core.decl.ConstDecl;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
@@ -29,6 +32,7 @@ import hu.bme.mit.theta.solver.SolverStatus;
 import hu.bme.mit.theta.solver.Stack;
 import hu.bme.mit.theta.solver.UCSolver;
 import hu.bme.mit.theta.solver.UnknownSolverStatusException;
+import hu.bme.mit.theta.solver.impl.AssumptionProxies;
 import hu.bme.mit.theta.solver.impl.StackImpl;
 import hu.bme.mit.theta.solver.smtlib.dsl.gen.SMTLIBv2Lexer;
 import hu.bme.mit.theta.solver.smtlib.dsl.gen.SMTLIBv2Parser;
@@ -38,6 +42,7 @@ import hu.bme.mit.theta.solver.smtlib.solver.parser.CheckSatResponse;
 import hu.bme.mit.theta.solver.smtlib.solver.parser.GeneralResponse;
 import hu.bme.mit.theta.solver.smtlib.solver.parser.GetModelResponse;
 import hu.bme.mit.theta.solver.smtlib.solver.parser.GetUnsatCoreResponse;
+import hu.bme.mit.theta.solver.smtlib.solver.parser.SmtLibResponseReader;
 import hu.bme.mit.theta.solver.smtlib.solver.parser.ThrowExceptionErrorListener;
 import hu.bme.mit.theta.solver.smtlib.solver.transformer.SmtLibSymbolTable;
 import hu.bme.mit.theta.solver.smtlib.solver.transformer.SmtLibTermTransformer;
@@ -45,6 +50,7 @@ import hu.bme.mit.theta.solver.smtlib.solver.transformer.SmtLibTransformationMan
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -54,6 +60,8 @@ import org.antlr.v4.runtime.CommonTokenStream;
 public class SmtLibSolver implements UCSolver, Solver {
 
     private static final String ASSUMPTION_LABEL = "_LABEL_%d";
+    private static final String ASSUMPTION_PROXY = "_ASSUMPTION_%d";
+    private static final Timer CHECK_TIMER = Metrics.timer("solver.check");
     protected final SmtLibSymbolTable symbolTable;
     protected final SmtLibTransformationManager transformationManager;
     protected final SmtLibTermTransformer termTransformer;
@@ -66,10 +74,15 @@ public class SmtLibSolver implements UCSolver, Solver {
     protected final Stack<ConstDecl<?>> declarationStack;
     protected final Stack<EnumType> typeStack;
     protected final SmtLibEnumStrategy enumStrategy;
+    protected final AssumptionProxies<String> assumptionProxies;
     private int labelNum = 0;
+    private int proxyNum = 0;
+    private boolean unsatAssumptionsEnabled = false;
 
     protected Valuation model;
     protected Collection<Expr<BoolType>> unsatCore;
+    protected Collection<Expr<BoolType>> unsatAssumptions;
+    protected Map<String, Expr<BoolType>> checkedAssumptions = Map.of();
     protected SolverStatus status;
 
     public SmtLibSolver(
@@ -126,6 +139,7 @@ public class SmtLibSolver implements UCSolver, Solver {
         assumptions = new HashMap<>();
         declarationStack = new StackImpl<>();
         typeStack = new StackImpl<>();
+        assumptionProxies = new AssumptionProxies<>();
 
         init();
     }
@@ -195,8 +209,70 @@ public class SmtLibSolver implements UCSolver, Solver {
 
     @Override
     public SolverStatus check() {
+        final long start = CHECK_TIMER.start();
         solverBinary.issueCommand("(check-sat)");
+        clearState();
+        final SolverStatus res = readCheckSatResponse();
+        CHECK_TIMER.stop(start);
+        return res;
+    }
+
+    @Override
+    public SolverStatus check(final Collection<? extends Expr<BoolType>> assumptions) {
+        checkNotNull(assumptions);
+        final Map<String, Expr<BoolType>> literals = new LinkedHashMap<>();
+        for (final Expr<BoolType> assumption : assumptions) {
+            literals.put(toAssumptionLiteral(assumption), assumption);
+        }
+
+        final long start = CHECK_TIMER.start();
+        solverBinary.issueCommand(
+                String.format("(check-sat-assuming (%s))", String.join(" ", literals.keySet())));
+        clearState();
+        checkedAssumptions = literals;
+        final SolverStatus res = readCheckSatResponse();
+        CHECK_TIMER.stop(start);
+        return res;
+    }
+
+    private String toAssumptionLiteral(final Expr<BoolType> assumption) {
+        final String cached = assumptionProxies.get(assumption);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Every assumption gets a proxy symbol, so that get-unsat-assumptions only returns symbols
+        final var term = transformationManager.toTerm(assumption);
+        final var consts =
+                ExprUtils.getConstants(assumption).stream()
+                        .filter(symbolTable::definesConst)
+                        .collect(Collectors.toSet());
+        consts.removeAll(declarationStack.toCollection());
+        declarationStack.add(consts);
+        enumStrategy.declareDatatypes(
+                consts.stream().map(ConstDecl::getType).toList(),
+                typeStack,
+                this::issueGeneralCommand);
+        consts.stream().map(symbolTable::getDeclaration).forEach(this::issueGeneralCommand);
+
+        final String proxy = String.format(ASSUMPTION_PROXY, proxyNum++);
+        issueGeneralCommand(String.format("(declare-fun %s () Bool)", proxy));
+        issueGeneralCommand(
+                String.format(
+                        "(assert (=> %s %s))",
+                        proxy,
+                        enumStrategy.wrapAssertionExpression(
+                                term,
+                                ExprUtils.getConstants(assumption).stream()
+                                        .filter(symbolTable::definesConst)
+                                        .collect(
+                                                Collectors.toMap(
+                                                        c -> c, symbolTable::getSymbol)))));
+        assumptionProxies.add(assumption, proxy);
+        return proxy;
+    }
 
+    private SolverStatus readCheckSatResponse() {
         final String rp = solverBinary.readResponse();
         final var res = parseResponse(rp);
         if (res.isError()) {
@@ -222,6 +298,7 @@ public class SmtLibSolver implements UCSolver, Solver {
         assertions.push();
         declarationStack.push();
         typeStack.push();
+        assumptionProxies.push();
         issueGeneralCommand("(push 1)");
     }
 
@@ -230,6 +307,7 @@ public class SmtLibSolver implements UCSolver, Solver {
         assertions.pop(n);
         declarationStack.pop(n);
         typeStack.pop(n);
+        assumptionProxies.pop(n);
         issueGeneralCommand("(pop 1)");
         clearState();
     }
@@ -237,6 +315,7 @@ public class SmtLibSolver implements UCSolver, Solver {
     @Override
     public void reset() {
         issueGeneralCommand("(reset)");
+        assumptionProxies.clear();
         clearState();
         init();
     }
@@ -317,6 +396,50 @@ public class SmtLibSolver implements UCSolver, Solver {
         return unsatCore;
     }
 
+    @Override
+    public Collection<Expr<BoolType>> getUnsatAssumptions() {
+        checkState(
+                status == SolverStatus.UNSAT,
+                "Cannot get unsat assumptions if status is not UNSAT");
+
+        if (unsatAssumptions == null) {
+            unsatAssumptions = extractUnsatAssumptions();
+        }
+
+        return Collections.unmodifiableCollection(unsatAssumptions);
+    }
+
+    private Collection<Expr<BoolType>> extractUnsatAssumptions() {
+        assert status == SolverStatus.UNSAT;
+        assert unsatAssumptions == null;
+
+        if (!unsatAssumptionsEnabled) {
+            return new LinkedList<>(checkedAssumptions.values());
+        }
+
+        final Collection<Expr<BoolType>> unsatAssumptions = new LinkedList<>();
+        final Collection<String> literals;
+
+        solverBinary.issueCommand("(get-unsat-assumptions)");
+        final var res = parseResponse(solverBinary.readResponse());
+        if (res.isError()) {
+            throw new SmtLibSolverException(res.getReason());
+        } else if (res.isSpecific()) {
+            // The response is a list of symbols, just like the one of get-unsat-core
+            literals = res.asSpecific().asGetUnsatCoreResponse().getLabels();
+        } else {
+            throw new AssertionError();
+        }
+
+        for (final var literal : literals) {
+            final Expr<BoolType> assumption = checkedAssumptions.get(literal);
+            assert assumption != null;
+            unsatAssumptions.add(assumption);
+        }
+
+        return unsatAssumptions;
+    }
+
     @Override
     public Collection<Expr<BoolType>> getAssertions() {
         return assertions.toCollection();
@@ -332,6 +455,9 @@ public class SmtLibSolver implements UCSolver, Solver {
         issueGeneralCommand("(set-option :produce-models true)");
         if (unsatCoreEnabled) {
             issueGeneralCommand("(set-option :produce-unsat-cores true)");
+            // Optional, unsat assumptions are over-approximated by all of them if unsupported
+            solverBinary.issueCommand("(set-option :produce-unsat-assumptions true)");
+            unsatAssumptionsEnabled = !parseResponse(solverBinary.readResponse()).isError();
         }
         if (logic.equals("HORN")) {
             issueGeneralCommand("(set-option :produce-proofs true)");
@@ -343,6 +469,8 @@ public class SmtLibSolver implements UCSolver, Solver {
         status = null;
         model = null;
         unsatCore = null;
+        unsatAssumptions = null;
+        checkedAssumptions = Map.of();
     }
 
     protected void issueGeneralCommand(String command) {
@@ -354,6 +482,10 @@ public class SmtLibSolver implements UCSolver, Solver {
     }
 
     protected final GeneralResponse parseResponse(final String response) {
+        final GeneralResponse simpleResponse = SmtLibResponseReader.read(response);
+        if (simpleResponse != null) {
+            return simpleResponse;
+        }
         try {
             final var lexer = new SMTLIBv2Lexer(CharStreams.fromString(response));
             final var parser = new SMTLIBv2Parser(new CommonTokenStream(lexer));
@@ -36,6 +36,18 @@ public class CheckSatResponse extends SpecificResponse {
         this.status = status;
     }
 
+    static CheckSatResponse sat() {
+        return new CheckSatResponse(Status.SAT);
+    }
+
+    static CheckSatResponse unsat() {
+        return new CheckSatResponse(Status.UNSAT);
+    }
+
+    static CheckSatResponse unknown() {
+        return new CheckSatResponse(Status.UNKNOWN);
+    }
+
     public static CheckSatResponse fromContext(final Check_sat_responseContext ctx) {
         switch (ctx.value.getType()) {
             case PS_Sat:
@@ -36,6 +36,22 @@ public class GeneralResponse {
         this.specificResponse = specificResponse;
     }
 
+    static GeneralResponse success() {
+        return new GeneralResponse(true, null, null);
+    }
+
+    static GeneralResponse unsupported() {
+        return new GeneralResponse(false, "Unsupported", null);
+    }
+
+    static GeneralResponse error(final String reason) {
+        return new GeneralResponse(false, reason, null);
+    }
+
+    static GeneralResponse specific(final SpecificResponse specificResponse) {
+        return new GeneralResponse(true, null, specificResponse);
+    }
+
     public static GeneralResponse fromContext(final ResponseContext ctx) {
         return ctx.accept(
                 new SMTLIBv2BaseVisitor<>() {
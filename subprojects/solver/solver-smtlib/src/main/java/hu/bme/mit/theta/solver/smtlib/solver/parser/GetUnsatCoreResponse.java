@@ -18,6 +18,7 @@ package hu.bme.mit.theta.solver.smtlib.solver.parser;
 import hu.bme.mit.theta.solver.smtlib.dsl.gen.SMTLIBv2Parser.Get_unsat_core_responseContext;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.antlr.v4.runtime.RuleContext;
 
@@ -36,6 +37,10 @@ public class GetUnsatCoreResponse extends SpecificResponse {
                         .collect(Collectors.toUnmodifiableSet()));
     }
 
+    static GetUnsatCoreResponse of(final Collection<String> labels) {
+        return new GetUnsatCoreResponse(Set.copyOf(labels));
+    }
+
     public static GetUnsatCoreResponse empty() {
         return new GetUnsatCoreResponse(Collections.emptyList());
     }
@@ -0,0 +1,268 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.solver.smtlib.solver.parser;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hand-written reader for the most common solver responses: plain status responses, errors, unsat
+ * cores and models consisting of function definitions. It scans the response in place, without
+ * setting up a lexer and a parser, and gives up (returning null) on anything else, in which case
+ * the ANTLR grammar should be used.
+ */
+public final class SmtLibResponseReader {
+
+    /**
+     * Reserved words and command names, which cannot name a model entry. Lists starting with them
+     * (e.g., {@code (set-logic HORN)} in a proof) are left to the ANTLR grammar.
+     */
+    private static final Set<String> RESERVED =
+            Set.of(
+                    "!", "_", "as", "exists", "forall", "let", "match", "par", "assert",
+                    "check-sat", "declare-const", "declare-datatype", "declare-datatypes",
+                    "declare-fun", "declare-sort", "define-fun", "define-fun-rec",
+                    "define-funs-rec", "define-sort", "get-model", "get-value", "model", "pop",
+                    "proof", "push", "set-info", "set-logic", "set-option");
+
+    private final CharSequence input;
+    private int pos;
+
+    private SmtLibResponseReader(final CharSequence input) {
+        this.input = input;
+        this.pos = 0;
+    }
+
+    /**
+     * Reads a response.
+     *
+     * @return the response, or null if the response is not supported by the reader
+     */
+    public static GeneralResponse read(final CharSequence response) {
+        return new SmtLibResponseReader(response).readResponse();
+    }
+
+    private GeneralResponse readResponse() {
+        skipWhitespace();
+        if (atEnd()) return null;
+        final GeneralResponse response;
+        if (peek() == '(') {
+            pos++;
+            response = readList();
+        } else {
+            response = readStatus(readAtom());
+        }
+        skipWhitespace();
+        return response != null && atEnd() ? response : null;
+    }
+
+    private static GeneralResponse readStatus(final String atom) {
+        if (atom == null) return null;
+        return switch (atom) {
+            case "success" -> GeneralResponse.success();
+            case "unsupported" -> GeneralResponse.unsupported();
+            case "sat" -> GeneralResponse.specific(CheckSatResponse.sat());
+            case "unsat" -> GeneralResponse.specific(CheckSatResponse.unsat());
+            case "unknown" -> GeneralResponse.specific(CheckSatResponse.unknown());
+            default -> null;
+        };
+    }
+
+    /** Reads a list response, after its opening parenthesis. */
+    private GeneralResponse readList() {
+        skipWhitespace();
+        if (atEnd()) return null;
+        if (peek() == ')') {
+            pos++;
+            return GeneralResponse.specific(GetUnsatCoreResponse.empty());
+        }
+        if (peek() == '(') {
+            return readModel();
+        }
+
+        final int start = pos;
+        final String head = readAtom();
+        if (head == null) return null;
+        switch (head) {
+            case "model":
+                return readModel();
+            case "error":
+                skipWhitespace();
+                if (atEnd() || peek() != '"') return null;
+                final int reasonStart = pos;
+                if (!skipExpr()) return null;
+                final String reason = input.subSequence(reasonStart, pos).toString();
+                skipWhitespace();
+                if (atEnd() || peek() != ')') return null;
+                pos++;
+                return GeneralResponse.error(reason);
+            default:
+                pos = start;
+                return readUnsatCore();
+        }
+    }
+
+    /** Reads the symbols of an unsat core, up to and including the closing parenthesis. */
+    private GeneralResponse readUnsatCore() {
+        final List<String> labels = new ArrayList<>();
+        while (true) {
+            skipWhitespace();
+            if (atEnd()) return null;
+            final char c = peek();
+            if (c == ')') {
+                pos++;
+                return GeneralResponse.specific(GetUnsatCoreResponse.of(labels));
+            }
+            if (c == '(' || c == '"') return null;
+            final int start = pos;
+            if (!skipExpr()) return null;
+            labels.add(input.subSequence(start, pos).toString());
+        }
+    }
+
+    /** Reads the entries of a model, up to and including the closing parenthesis. */
+    private GeneralResponse readModel() {
+        final Map<String, String> values = new HashMap<>();
+        while (true) {
+            skipWhitespace();
+            if (atEnd()) return null;
+            if (peek() == ')') {
+                pos++;
+                return GeneralResponse.specific(GetModelResponse.of(values));
+            }
+            if (peek() != '(') return null;
+            pos++;
+            if (!readModelEntry(values)) return null;
+        }
+    }
+
+    /**
+     * Reads a {@code (define-fun name (args) sort value)} or a {@code (name value)} entry after its
+     * opening parenthesis, and stores the function definition in the format of {@link
+     * GetModelResponse}.
+     */
+    private boolean readModelEntry(final Map<String, String> values) {
+        skipWhitespace();
+        final int headStart = pos;
+        final String head = readAtom();
+        if (head == null) return false;
+        final int headEnd = pos;
+
+        final List<int[]> elements = new ArrayList<>(4);
+        while (true) {
+            skipWhitespace();
+            if (atEnd()) return false;
+            if (peek() == ')') {
+                pos++;
+                break;
+            }
+            final int start = pos;
+            if (!skipExpr()) return false;
+            elements.add(new int[] {start, pos});
+        }
+
+        final String name;
+        final String functionDef;
+        if (head.equals("define-fun") && elements.size() == 4) {
+            name = text(elements.get(0));
+            functionDef = input.subSequence(elements.get(0)[0], elements.get(3)[1]).toString();
+        } else if (!RESERVED.contains(head) && elements.size() == 1) {
+            name = input.subSequence(headStart, headEnd).toString();
+            functionDef =
+                    String.format(
+                            "%s () (_ theta_type unknown) %s", name, text(elements.get(0)));
+        } else {
+            return false;
+        }
+        return values.putIfAbsent(name, functionDef) == null;
+    }
+
+    private String text(final int[] range) {
+        return input.subSequence(range[0], range[1]).toString();
+    }
+
+    /** Reads a simple or quoted symbol (or keyword, numeral, etc.), or returns null. */
+    private String readAtom() {
+        if (atEnd()) return null;
+        final char c = peek();
+        if (c == '(' || c == ')' || c == '"') return null;
+        final int start = pos;
+        if (!skipExpr()) return null;
+        return input.subSequence(start, pos).toString();
+    }
+
+    /** Skips an S-expression. Returns false if the input ends before the expression does. */
+    private boolean skipExpr() {
+        int depth = 0;
+        do {
+            skipWhitespace();
+            if (atEnd()) return false;
+            final char c = input.charAt(pos);
+            if (c == '(') {
+                depth++;
+                pos++;
+            } else if (c == ')') {
+                if (depth == 0) return false;
+                depth--;
+                pos++;
+            } else if (c == '"') {
+                // Strings escape quotes by doubling them
+                do {
+                    pos++;
+                    while (pos < input.length() && input.charAt(pos) != '"') pos++;
+                    if (atEnd()) return false;
+                    pos++;
+                } while (pos < input.length() && input.charAt(pos) == '"');
+            } else if (c == '|') {
+                pos++;
+                while (pos < input.length() && input.charAt(pos) != '|') pos++;
+                if (atEnd()) return false;
+                pos++;
+            } else {
+                while (pos < input.length() && !isDelimiter(input.charAt(pos))) pos++;
+            }
+        } while (depth > 0);
+        return true;
+    }
+
+    private void skipWhitespace() {
+        while (pos < input.length()) {
+            final char c = input.charAt(pos);
+            if (c == ';') {
+                while (pos < input.length() && input.charAt(pos) != '\n') pos++;
+            } else if (Character.isWhitespace(c)) {
+                pos++;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static boolean isDelimiter(final char c) {
+        return Character.isWhitespace(c) || c == '(' || c == ')' || c == '"' || c == ';';
+    }
+
+    private char peek() {
+        return input.charAt(pos);
+    }
+
+    private boolean atEnd() {
+        return pos >= input.length();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.solver.smtlib;
+
+import hu.bme.mit.theta.solver.smtlib.solver.parser.GeneralResponse;
+import hu.bme.mit.theta.solver.smtlib.solver.parser.SmtLibResponseReader;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SmtLibResponseReaderTest {
+
+    @Test
+    public void statusTest() {
+        Assert.assertTrue(SmtLibResponseReader.read("success\n").isSuccessful());
+        Assert.assertTrue(
+                SmtLibResponseReader.read(" sat ").asSpecific().asCheckSatResponse().isSat());
+        Assert.assertTrue(
+                SmtLibResponseReader.read("unsat").asSpecific().asCheckSatResponse().isUnsat());
+
+        final var error = SmtLibResponseReader.read("(error \"line 1: unknown constant\")");
+        Assert.assertTrue(error.isError());
+        Assert.assertEquals("\"line 1: unknown constant\"", error.getReason());
+    }
+
+    @Test
+    public void unsatCoreTest() {
+        final var empty = SmtLibResponseReader.read("(\n)").asSpecific();
+        Assert.assertEquals(0, empty.asGetUnsatCoreResponse().getLabels().size());
+        Assert.assertEquals(0, empty.asGetModelResponse().getModel().size());
+
+        final var core = SmtLibResponseReader.read("(_LABEL_0 _LABEL_2)").asSpecific();
+        Assert.assertEquals(
+                Set.of("_LABEL_0", "_LABEL_2"),
+                Set.copyOf(core.asGetUnsatCoreResponse().getLabels()));
+    }
+
+    @Test
+    public void modelTest() {
+        final var response =
+                SmtLibResponseReader.read(
+                        "(\n"
+                                + "  (define-fun x () Int (- 1))\n"
+                                + "  (define-fun f ((a Int)) Bool (> a 0))\n"
+                                + ")");
+        final var model = response.asSpecific().asGetModelResponse().getModel();
+        Assert.assertEquals(2, model.size());
+        Assert.assertEquals("x () Int (- 1)", model.getTerm("x"));
+        Assert.assertEquals("f ((a Int)) Bool (> a 0)", model.getTerm("f"));
+    }
+
+    @Test
+    public void fallbackTest() {
+        final GeneralResponse duplicate =
+                SmtLibResponseReader.read(
+                        "((define-fun x () Int 1) (define-fun x () Int 2))");
+        Assert.assertNull(duplicate);
+        Assert.assertNull(SmtLibResponseReader.read("((x 1)"));
+        Assert.assertNull(SmtLibResponseReader.read("(proof (x))"));
+        Assert.assertNull(
+                SmtLibResponseReader.read("((set-logic HORN) (proof (mp (asserted true) false)))"));
+    }
+}
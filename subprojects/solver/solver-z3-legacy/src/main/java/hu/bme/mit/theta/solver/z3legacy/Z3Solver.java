@@ -22,6 +22,8 @@ import com.google.common.collect.ImmutableList;
 import com.microsoft.z3legacy.FuncDecl;
 import com.microsoft.z3legacy.Status;
 import hu.bme.mit.theta.common.container.Containers;
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.common.metrics.Timer;
 import hu.bme.mit.theta.core.decl.ConstDecl;
 import hu.bme.mit.theta.core.decl.Decl;
 import hu.bme.mit.theta.core.model.Valuation;
@@ -37,6 +39,7 @@ import hu.bme.mit.theta.core.type.enumtype.EnumType;
 import hu.bme.mit.theta.core.type.functype.FuncType;
 import hu.bme.mit.theta.solver.*;
 import hu.bme.mit.theta.solver.Stack;
+import hu.bme.mit.theta.solver.impl.AssumptionProxies;
 import hu.bme.mit.theta.solver.impl.StackImpl;
 import java.util.*;
 
@@ -51,13 +54,19 @@ final class Z3Solver implements UCSolver, Solver {
 
     private final Stack<Expr<BoolType>> assertions;
     private final Map<String, Expr<BoolType>> assumptions;
+    private final AssumptionProxies<com.microsoft.z3legacy.BoolExpr> assumptionProxies;
 
     private static final String ASSUMPTION_LABEL = "_LABEL_%d";
+    private static final String ASSUMPTION_PROXY = "_ASSUMPTION_%d";
+    private static final Timer CHECK_TIMER = Metrics.timer("solver.check");
     private int labelNum = 0;
+    private int proxyNum = 0;
 
     private Valuation model;
     private Collection<Expr<BoolType>> unsatCore;
+    private Collection<Expr<BoolType>> unsatAssumptions;
     private SolverStatus status;
+    private Map<com.microsoft.z3legacy.Expr, Expr<BoolType>> checkedAssumptions = Map.of();
 
     public Z3Solver(
             final Z3SymbolTable symbolTable,
@@ -73,6 +82,7 @@ final class Z3Solver implements UCSolver, Solver {
 
         assertions = new StackImpl<>();
         assumptions = Containers.createMap();
+        assumptionProxies = new AssumptionProxies<>();
     }
 
     ////
@@ -110,11 +120,52 @@ final class Z3Solver implements UCSolver, Solver {
 
     @Override
     public SolverStatus check() {
+        final long start = CHECK_TIMER.start();
         final Status z3Status = z3Solver.check();
+        CHECK_TIMER.stop(start);
+        clearState();
         status = transformStatus(z3Status);
         return status;
     }
 
+    @Override
+    public SolverStatus check(final Collection<? extends Expr<BoolType>> assumptions) {
+        checkNotNull(assumptions);
+        final Map<com.microsoft.z3legacy.Expr, Expr<BoolType>> literals = new LinkedHashMap<>();
+        for (final Expr<BoolType> assumption : assumptions) {
+            literals.put(toAssumptionLiteral(assumption), assumption);
+        }
+
+        final long start = CHECK_TIMER.start();
+        final Status z3Status =
+                z3Solver.check(literals.keySet().toArray(new com.microsoft.z3legacy.Expr[0]));
+        CHECK_TIMER.stop(start);
+        clearState();
+        checkedAssumptions = literals;
+        status = transformStatus(z3Status);
+        return status;
+    }
+
+    private com.microsoft.z3legacy.BoolExpr toAssumptionLiteral(final Expr<BoolType> assumption) {
+        final com.microsoft.z3legacy.BoolExpr term =
+                (com.microsoft.z3legacy.BoolExpr) transformationManager.toTerm(assumption);
+        if (isAtom(term) || term.isNot() && isAtom(term.getArgs()[0])) {
+            return term;
+        }
+
+        com.microsoft.z3legacy.BoolExpr proxy = assumptionProxies.get(assumption);
+        if (proxy == null) {
+            proxy = z3Context.mkBoolConst(String.format(ASSUMPTION_PROXY, proxyNum++));
+            z3Solver.add(z3Context.mkImplies(proxy, term));
+            assumptionProxies.add(assumption, proxy);
+        }
+        return proxy;
+    }
+
+    private static boolean isAtom(final com.microsoft.z3legacy.Expr term) {
+        return term.isConst() && !term.isTrue() && !term.isFalse();
+    }
+
     private SolverStatus transformStatus(final Status z3Status) {
         switch (z3Status) {
             case SATISFIABLE:
@@ -129,12 +180,14 @@ final class Z3Solver implements UCSolver, Solver {
     @Override
     public void push() {
         assertions.push();
+        assumptionProxies.push();
         z3Solver.push();
     }
 
     @Override
     public void pop(final int n) {
         assertions.pop(n);
+        assumptionProxies.pop(n);
         z3Solver.pop(n);
         clearState();
     }
@@ -144,6 +197,7 @@ final class Z3Solver implements UCSolver, Solver {
         z3Solver.reset();
         assertions.clear();
         assumptions.clear();
+        assumptionProxies.clear();
         symbolTable.clear();
         transformationManager.reset();
         clearState();
@@ -199,6 +253,9 @@ final class Z3Solver implements UCSolver, Solver {
 
         for (int i = 0; i < z3UnsatCore.length; i = i + 1) {
             final com.microsoft.z3legacy.Expr term = z3UnsatCore[i];
+            if (checkedAssumptions.containsKey(term)) {
+                continue;
+            }
 
             checkState(term.isConst(), "Term is not constant.");
 
@@ -212,6 +269,34 @@ final class Z3Solver implements UCSolver, Solver {
         return unsatCore;
     }
 
+    @Override
+    public Collection<Expr<BoolType>> getUnsatAssumptions() {
+        checkState(
+                status == SolverStatus.UNSAT,
+                "Cannot get unsat assumptions if status is not UNSAT");
+
+        if (unsatAssumptions == null) {
+            unsatAssumptions = extractUnsatAssumptions();
+        }
+
+        assert unsatAssumptions != null;
+        return Collections.unmodifiableCollection(unsatAssumptions);
+    }
+
+    private Collection<Expr<BoolType>> extractUnsatAssumptions() {
+        assert status == SolverStatus.UNSAT;
+        assert unsatAssumptions == null;
+
+        final Collection<Expr<BoolType>> unsatAssumptions = new LinkedList<>();
+        for (final com.microsoft.z3legacy.Expr term : z3Solver.getUnsatCore()) {
+            final Expr<BoolType> assumption = checkedAssumptions.get(term);
+            if (assumption != null) {
+                unsatAssumptions.add(assumption);
+            }
+        }
+        return unsatAssumptions;
+    }
+
     @Override
     public Collection<Expr<BoolType>> getAssertions() {
         return assertions.toCollection();
@@ -221,6 +306,8 @@ final class Z3Solver implements UCSolver, Solver {
         status = null;
         model = null;
         unsatCore = null;
+        unsatAssumptions = null;
+        checkedAssumptions = Map.of();
     }
 
     @Override
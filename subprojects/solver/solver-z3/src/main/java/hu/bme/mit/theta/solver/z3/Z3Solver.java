@@ -22,6 +22,8 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.microsoft.z3.*;
 import hu.bme.mit.theta.common.container.Containers;
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.common.metrics.Timer;
 import hu.bme.mit.theta.core.decl.ConstDecl;
 import hu.bme.mit.theta.core.decl.Decl;
 import hu.bme.mit.theta.core.model.Valuation;
@@ -40,6 +42,7 @@ import hu.bme.mit.theta.solver.*;
 import hu.bme.mit.theta.solver.Solver;
 import hu.bme.mit.theta.solver.SolverStatus;
 import hu.bme.mit.theta.solver.Stack;
+import hu.bme.mit.theta.solver.impl.AssumptionProxies;
 import hu.bme.mit.theta.solver.impl.StackImpl;
 import java.util.*;
 import java.util.ArrayList;
@@ -62,13 +65,19 @@ class Z3Solver implements UCSolver, Solver, ItpSolver {
     private final Stack<Expr<BoolType>> assertions;
     private final Stack<Z3ItpMarker> markers;
     private final Map<String, Expr<BoolType>> assumptions;
+    private final AssumptionProxies<BoolExpr> assumptionProxies;
 
     private static final String ASSUMPTION_LABEL = "_LABEL_%d";
+    private static final String ASSUMPTION_PROXY = "_ASSUMPTION_%d";
+    private static final Timer CHECK_TIMER = Metrics.timer("solver.check");
     private int labelNum = 0;
+    private int proxyNum = 0;
 
     protected Valuation model;
     protected Collection<Expr<BoolType>> unsatCore;
+    protected Collection<Expr<BoolType>> unsatAssumptions;
     protected SolverStatus status;
+    private Map<BoolExpr, Expr<BoolType>> checkedAssumptions = Map.of();
 
     public Z3Solver(
             final Z3SymbolTable symbolTable,
@@ -85,6 +94,7 @@ class Z3Solver implements UCSolver, Solver, ItpSolver {
         assertions = new StackImpl<>();
         assumptions = Containers.createMap();
         markers = new StackImpl<>();
+        assumptionProxies = new AssumptionProxies<>();
     }
 
     ////
@@ -120,11 +130,50 @@ class Z3Solver implements UCSolver, Solver, ItpSolver {
 
     @Override
     public SolverStatus check() {
+        final long start = CHECK_TIMER.start();
         final Status z3Status = z3Solver.check();
+        CHECK_TIMER.stop(start);
+        clearState();
         status = transformStatus(z3Status);
         return status;
     }
 
+    @Override
+    public SolverStatus check(final Collection<? extends Expr<BoolType>> assumptions) {
+        checkNotNull(assumptions);
+        final Map<BoolExpr, Expr<BoolType>> literals = new LinkedHashMap<>();
+        for (final Expr<BoolType> assumption : assumptions) {
+            literals.put(toAssumptionLiteral(assumption), assumption);
+        }
+
+        final long start = CHECK_TIMER.start();
+        final Status z3Status = z3Solver.check(literals.keySet().toArray(new BoolExpr[0]));
+        CHECK_TIMER.stop(start);
+        clearState();
+        checkedAssumptions = literals;
+        status = transformStatus(z3Status);
+        return status;
+    }
+
+    private BoolExpr toAssumptionLiteral(final Expr<BoolType> assumption) {
+        final BoolExpr term = (BoolExpr) transformationManager.toTerm(assumption);
+        if (isAtom(term) || term.isNot() && isAtom(term.getArgs()[0])) {
+            return term;
+        }
+
+        BoolExpr proxy = assumptionProxies.get(assumption);
+        if (proxy == null) {
+            proxy = z3Context.mkBoolConst(String.format(ASSUMPTION_PROXY, proxyNum++));
+            z3Solver.add(z3Context.mkImplies(proxy, term));
+            assumptionProxies.add(assumption, proxy);
+        }
+        return proxy;
+    }
+
+    private static boolean isAtom(final com.microsoft.z3.Expr term) {
+        return term.isConst() && !term.isTrue() && !term.isFalse();
+    }
+
     private SolverStatus transformStatus(final Status z3Status) {
         switch (z3Status) {
             case SATISFIABLE:
@@ -140,6 +189,7 @@ class Z3Solver implements UCSolver, Solver, ItpSolver {
     public void push() {
         assertions.push();
         markers.push();
+        assumptionProxies.push();
         z3Solver.push();
     }
 
@@ -147,6 +197,7 @@ class Z3Solver implements UCSolver, Solver, ItpSolver {
     public void pop(final int n) {
         assertions.pop(n);
         markers.pop(n);
+        assumptionProxies.pop(n);
         z3Solver.pop(n);
         clearState();
     }
@@ -157,6 +208,7 @@ class Z3Solver implements UCSolver, Solver, ItpSolver {
         assertions.clear();
         markers.clear();
         assumptions.clear();
+        assumptionProxies.clear();
         symbolTable.clear();
         transformationManager.reset();
         clearState();
@@ -212,6 +264,9 @@ class Z3Solver implements UCSolver, Solver, ItpSolver {
 
         for (int i = 0; i < z3UnsatCore.length; i = i + 1) {
             final com.microsoft.z3.Expr term = z3UnsatCore[i];
+            if (checkedAssumptions.containsKey(term)) {
+                continue;
+            }
 
             checkState(term.isConst(), "Term is not constant.");
 
@@ -225,6 +280,34 @@ class Z3Solver implements UCSolver, Solver, ItpSolver {
         return unsatCore;
     }
 
+    @Override
+    public Collection<Expr<BoolType>> getUnsatAssumptions() {
+        checkState(
+                status == SolverStatus.UNSAT,
+                "Cannot get unsat assumptions if status is not UNSAT");
+
+        if (unsatAssumptions == null) {
+            unsatAssumptions = extractUnsatAssumptions();
+        }
+
+        assert unsatAssumptions != null;
+        return Collections.unmodifiableCollection(unsatAssumptions);
+    }
+
+    private Collection<Expr<BoolType>> extractUnsatAssumptions() {
+        assert status == SolverStatus.UNSAT;
+        assert unsatAssumptions == null;
+
+        final Collection<Expr<BoolType>> unsatAssumptions = new LinkedList<>();
+        for (final com.microsoft.z3.Expr term : z3Solver.getUnsatCore()) {
+            final Expr<BoolType> assumption = checkedAssumptions.get(term);
+            if (assumption != null) {
+                unsatAssumptions.add(assumption);
+            }
+        }
+        return unsatAssumptions;
+    }
+
     @Override
     public Collection<Expr<BoolType>> getAssertions() {
         return assertions.toCollection();
@@ -234,6 +317,8 @@ class Z3Solver implements UCSolver, Solver, ItpSolver {
         status = null;
         model = null;
         unsatCore = null;
+        unsatAssumptions = null;
+        checkedAssumptions = Map.of();
     }
 
     @Override
@@ -111,6 +111,26 @@ public final class Z3SolverTest {
         solver.pop();
     }
 
+    @Test
+    public void testCheckAssumptions() {
+        final ConstDecl<IntType> cx = Const("x", Int());
+        final ConstDecl<BoolType> ca = Const("a", BoolExprs.Bool());
+        final Expr<BoolType> gt = IntExprs.Gt(cx.getRef(), Int(0));
+        final Expr<BoolType> lt = IntExprs.Lt(cx.getRef(), Int(0));
+
+        solver.add(Eq(cx.getRef(), Int(1)));
+
+        assertTrue(solver.check(List.of(gt, ca.getRef())).isSat());
+        assertEquals(Int(1), solver.getModel().eval(cx).get());
+
+        assertTrue(solver.check(List.of(ca.getRef(), lt)).isUnsat());
+        assertEquals(List.of(lt), List.copyOf(solver.getUnsatAssumptions()));
+
+        // Assumptions are not kept between checks
+        assertTrue(solver.check().isSat());
+        assertEquals(1, solver.getAssertions().size());
+    }
+
     @Test
     public void testFunc() {
         // Arrange
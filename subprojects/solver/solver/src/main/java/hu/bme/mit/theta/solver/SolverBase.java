@@ -30,6 +30,37 @@ public interface SolverBase extends AutoCloseable {
      */
     SolverStatus check();
 
+    /**
+     * Check if the currently added expressions are satisfiable under the given assumptions. The
+     * assumptions only take part in this check, they are not added to the solver. If the result is
+     * UNSAT, a subset of the assumptions responsible for it can be obtained by {@link
+     * #getUnsatAssumptions()}.
+     *
+     * <p>All solvers of the solver modules implement this, either natively or by asserting the
+     * assumptions in a temporary scope. The default implementation is only a fallback for other
+     * implementations, which can be wrapped by {@link
+     * hu.bme.mit.theta.solver.impl.AssumptionSolverWrapper} to emulate it.
+     *
+     * @param assumptions Assumptions
+     * @return Status
+     */
+    default SolverStatus check(final Collection<? extends Expr<BoolType>> assumptions) {
+        throw new UnsupportedOperationException(
+                getClass().getSimpleName() + " does not support checking under assumptions");
+    }
+
+    /**
+     * Get a (not necessarily minimal) subset of the assumptions of the last {@link
+     * #check(Collection)} call that is already unsatisfiable together with the added expressions.
+     * Should only be called if the result of that call was UNSAT.
+     *
+     * @return Unsatisfiable assumptions
+     */
+    default Collection<Expr<BoolType>> getUnsatAssumptions() {
+        throw new UnsupportedOperationException(
+                getClass().getSimpleName() + " does not support checking under assumptions");
+    }
+
     /**
      * Push the current solver state. When calling {@link #pop()}, all expressions added after the
      * last push will be removed.
@@ -15,85 +15,323 @@
  */
 package hu.bme.mit.theta.solver;
 
-import com.google.common.base.Preconditions;
-import java.util.ArrayList;
-import java.util.LinkedList;
-import java.util.List;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 
-public class SolverPool implements AutoCloseable {
+import hu.bme.mit.theta.common.metrics.Counter;
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.common.metrics.Timer;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
 
-    private static final int STARTING_SIZE = 10;
-    private static final int GROWING = 5;
+/**
+ * A thread-safe pool of solvers created by a {@link SolverFactory}. Solvers are created lazily, up
+ * to a maximal size. When all of them are in use, requests are handled according to the {@link
+ * OverflowPolicy}. Solvers that still have assertions when returned are reset, so callers do not
+ * have to leave them empty. With thread affinity enabled, a thread gets back the solver it returned
+ * last (if it is still available), which keeps the warm caches of the solver for the same worker.
+ */
+public class SolverPool implements AutoCloseable {
 
-    private int created = 0;
+    private static final Counter REQUEST_COUNTER = Metrics.counter("solverpool.requests");
+    private static final Counter CREATE_COUNTER = Metrics.counter("solverpool.created");
+    private static final Counter RESET_COUNTER = Metrics.counter("solverpool.resets");
+    private static final Counter AFFINITY_HIT_COUNTER = Metrics.counter("solverpool.affinityhits");
+    private static final Counter OVERFLOW_COUNTER = Metrics.counter("solverpool.overflows");
+    private static final Timer WAIT_TIMER = Metrics.timer("solverpool.wait");
 
-    private final LinkedList<Solver> available;
-    private final List<Solver> all;
-
-    private final SolverFactory solverFactory;
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
 
     public enum ClosingMode {
         ALL,
         RETURNED
     }
 
+    /** Behavior of requests when all solvers of a full pool are in use. */
+    public enum OverflowPolicy {
+        /** Wait until a solver is returned. */
+        BLOCK,
+        /** Create a temporary solver that is closed when returned. */
+        CREATE,
+        /** Throw an {@link IllegalStateException}. */
+        FAIL
+    }
+
+    private final SolverFactory solverFactory;
     private final ClosingMode closingMode;
+    private final int maxSize;
+    private final OverflowPolicy overflowPolicy;
+    private final boolean threadAffinity;
+
+    private final Set<Solver> available;
+    private final Set<Solver> all;
+    private final Set<Solver> overflow;
+    private final Map<Thread, Solver> lastReturned;
+    private int reserved;
+    private boolean closed;
 
     public SolverPool(SolverFactory solverFactory) {
         this(solverFactory, ClosingMode.ALL);
     }
 
     public SolverPool(SolverFactory solverFactory, ClosingMode closingMode) {
-        this.solverFactory = solverFactory;
-        this.available = new LinkedList<>();
-        this.all = new ArrayList<>();
-        for (int i = 0; i < STARTING_SIZE; i++) {
-            final var solver = solverFactory.createSolver();
-            this.available.add(solver);
-            this.all.add(solver);
-        }
-        this.closingMode = closingMode;
+        this(solverFactory, closingMode, UNBOUNDED, OverflowPolicy.BLOCK, false);
     }
 
+    private SolverPool(
+            final SolverFactory solverFactory,
+            final ClosingMode closingMode,
+            final int maxSize,
+            final OverflowPolicy overflowPolicy,
+            final boolean threadAffinity) {
+        checkArgument(maxSize > 0, "Maximal size must be positive");
+        this.solverFactory = checkNotNull(solverFactory);
+        this.closingMode = checkNotNull(closingMode);
+        this.maxSize = maxSize;
+        this.overflowPolicy = checkNotNull(overflowPolicy);
+        this.threadAffinity = threadAffinity;
+        this.available = new LinkedHashSet<>();
+        this.all = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.overflow = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.lastReturned = new WeakHashMap<>();
+        this.reserved = 0;
+        this.closed = false;
+    }
+
+    public static Builder builder(final SolverFactory solverFactory) {
+        return new Builder(solverFactory);
+    }
+
+    /**
+     * Takes a solver from the pool, creating a new one if none is available and the pool is not
+     * full yet. The solver must be given back with {@link #returnSolver(Solver)}.
+     */
     public Solver requestSolver() {
-        if (this.available.isEmpty()) createNewSolvers();
-        return this.available.removeFirst();
+        REQUEST_COUNTER.inc();
+        final boolean temporary;
+        synchronized (this) {
+            checkState(!closed, "Solver pool is closed");
+            final Solver idle = takeAvailable();
+            if (idle != null) {
+                return idle;
+            }
+            if (reserved < maxSize) {
+                reserved++;
+                temporary = false;
+            } else {
+                switch (overflowPolicy) {
+                    case BLOCK:
+                        final Solver solver = awaitAvailable();
+                        if (solver != null) {
+                            return solver;
+                        }
+                        reserved++;
+                        temporary = false;
+                        break;
+                    case CREATE:
+                        OVERFLOW_COUNTER.inc();
+                        temporary = true;
+                        break;
+                    case FAIL:
+                        throw new IllegalStateException(
+                                "All " + maxSize + " solvers of the pool are in use");
+                    default:
+                        throw new UnsupportedOperationException(
+                                "Unsupported overflow policy " + overflowPolicy);
+                }
+            }
+        }
+        // Creating a solver can be slow (e.g., starting a solver process), so other threads are
+        // not blocked meanwhile
+        final Solver solver;
+        try {
+            solver = solverFactory.createSolver();
+        } catch (final RuntimeException e) {
+            if (!temporary) {
+                synchronized (this) {
+                    reserved--;
+                    notifyAll();
+                }
+            }
+            throw e;
+        }
+        if (!temporary) {
+            CREATE_COUNTER.inc();
+        }
+        synchronized (this) {
+            if (closed) {
+                closeSolver(solver);
+                throw new IllegalStateException("Solver pool is closed");
+            }
+            if (temporary) {
+                overflow.add(solver);
+            } else {
+                all.add(solver);
+            }
+        }
+        return solver;
     }
 
+    /**
+     * Gives back a solver taken from the pool. Solvers with remaining assertions are reset first.
+     */
     public void returnSolver(Solver solver) {
-        Preconditions.checkState(
-                solver.getAssertions().isEmpty(), "Only empty solvers can be returned");
-        //        System.out.println("Returned solver");
-        this.available.add(solver);
+        checkNotNull(solver);
+        synchronized (this) {
+            if (discardIfClosed(solver)) {
+                return;
+            }
+            if (overflow.remove(solver)) {
+                closeSolver(solver);
+                return;
+            }
+            checkArgument(all.contains(solver), "Solver does not belong to the pool");
+        }
+        if (!solver.getAssertions().isEmpty()) {
+            RESET_COUNTER.inc();
+            solver.reset();
+        }
+        synchronized (this) {
+            if (discardIfClosed(solver)) {
+                return;
+            }
+            checkArgument(!available.contains(solver), "Solver is already returned");
+            available.add(solver);
+            if (threadAffinity) {
+                lastReturned.put(Thread.currentThread(), solver);
+            }
+            notifyAll();
+        }
+    }
+
+    /** Solvers returned after closing the pool are not kept (but closed if needed). */
+    private boolean discardIfClosed(final Solver solver) {
+        if (closed && closingMode == ClosingMode.RETURNED) {
+            closeSolver(solver);
+        }
+        return closed;
     }
 
-    private void createNewSolvers() {
-        for (int i = 0; i < GROWING; i++) {
-            final var solver = solverFactory.createSolver();
-            this.available.add(solver);
-            this.all.add(solver);
+    private static void closeSolver(final Solver solver) {
+        try {
+            solver.close();
+        } catch (final Exception e) {
+            throw new RuntimeException(e);
         }
-        //        System.out.println(created + " solvers created");
-        //        System.out.println("Free size: " + Runtime.getRuntime().freeMemory());
-        this.created = created + GROWING;
     }
 
-    public int size() {
-        return this.created;
+    /** Number of solvers created by the pool (not counting temporary ones). */
+    public synchronized int size() {
+        return all.size();
+    }
+
+    /** Number of solvers currently available in the pool. */
+    public synchronized int available() {
+        return available.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    private Solver takeAvailable() {
+        if (available.isEmpty()) {
+            return null;
+        }
+        if (threadAffinity) {
+            final Solver affine = lastReturned.get(Thread.currentThread());
+            if (affine != null && available.remove(affine)) {
+                AFFINITY_HIT_COUNTER.inc();
+                return affine;
+            }
+        }
+        final Iterator<Solver> iterator = available.iterator();
+        final Solver solver = iterator.next();
+        iterator.remove();
+        return solver;
+    }
+
+    /**
+     * Waits until a solver is returned or a slot is freed up.
+     *
+     * @return the returned solver, or null if a new solver can be created
+     */
+    private Solver awaitAvailable() {
+        final long start = WAIT_TIMER.start();
+        try {
+            while (available.isEmpty() && reserved >= maxSize) {
+                wait();
+                checkState(!closed, "Solver pool is closed");
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } finally {
+            WAIT_TIMER.stop(start);
+        }
+        return takeAvailable();
     }
 
     @Override
-    public void close() throws Exception {
-        //        System.out.println(all.size() - available.size() + " solvers not returned");
+    public synchronized void close() throws Exception {
         if (closingMode == ClosingMode.ALL) {
-            for (Solver solver : all) solver.close();
-            //            System.out.println("Closed " + all.size() + " solvers");
+            for (Solver solver : all) closeSolver(solver);
+            for (Solver solver : overflow) closeSolver(solver);
         } else {
-            for (Solver solver : available) solver.close();
-            //            System.out.println("Closed " + available.size() + " solvers");
+            for (Solver solver : available) closeSolver(solver);
         }
         this.available.clear();
         this.all.clear();
-        this.created = 0;
+        this.overflow.clear();
+        this.lastReturned.clear();
+        this.reserved = 0;
+        this.closed = true;
+        notifyAll();
+    }
+
+    public static final class Builder {
+        private final SolverFactory solverFactory;
+        private ClosingMode closingMode = ClosingMode.ALL;
+        private int maxSize = UNBOUNDED;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+        private boolean threadAffinity = false;
+
+        private Builder(final SolverFactory solverFactory) {
+            this.solverFactory = solverFactory;
+        }
+
+        public Builder closingMode(final ClosingMode closingMode) {
+            this.closingMode = closingMode;
+            return this;
+        }
+
+        /** Maximal number of solvers kept by the pool. Unbounded by default. */
+        public Builder maxSize(final int maxSize) {
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /** Behavior of requests when all solvers of a full pool are in use. Blocks by default. */
+        public Builder overflowPolicy(final OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        /** Prefer giving a thread the solver it returned last. Disabled by default. */
+        public Builder threadAffinity(final boolean threadAffinity) {
+            this.threadAffinity = threadAffinity;
+            return this;
+        }
+
+        public SolverPool build() {
+            return new SolverPool(
+                    solverFactory, closingMode, maxSize, overflowPolicy, threadAffinity);
+        }
     }
 }
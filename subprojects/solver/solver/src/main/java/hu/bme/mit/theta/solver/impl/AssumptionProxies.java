@@ -0,0 +1,70 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.solver.impl;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.solver.Stack;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+/**
+ * Proxy literals of assumptions, scoped to the assertion stack of a solver. Solvers usually only
+ * accept literals as assumptions, so other expressions are replaced by a fresh proxy literal and
+ * an implication from the proxy to the expression is asserted. The implication is part of the
+ * current scope of the solver, so the proxy can be reused by later checks until that scope is
+ * popped.
+ *
+ * @param <T> Type of the proxy literals of the solver
+ */
+public final class AssumptionProxies<T> {
+
+    private final Stack<Expr<BoolType>> assumptions;
+    private final Map<Expr<BoolType>, T> proxies;
+
+    public AssumptionProxies() {
+        assumptions = new StackImpl<>();
+        proxies = new HashMap<>();
+    }
+
+    public T get(final Expr<BoolType> assumption) {
+        return proxies.get(assumption);
+    }
+
+    public void add(final Expr<BoolType> assumption, final T proxy) {
+        checkNotNull(assumption);
+        checkNotNull(proxy);
+        assumptions.add(assumption);
+        proxies.put(assumption, proxy);
+    }
+
+    public void push() {
+        assumptions.push();
+    }
+
+    public void pop(final int n) {
+        assumptions.pop(n);
+        proxies.keySet().retainAll(new HashSet<>(assumptions.toCollection()));
+    }
+
+    public void clear() {
+        assumptions.clear();
+        proxies.clear();
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.solver.impl;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.solver.Solver;
+import hu.bme.mit.theta.solver.SolverBase;
+import hu.bme.mit.theta.solver.SolverStatus;
+import hu.bme.mit.theta.solver.UCSolver;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Emulates {@link SolverBase#check(Collection)} for solvers without native support. The
+ * assumptions are added in a new scope, which is kept until the next operation that changes the
+ * solver state, so that the model or unsat core of the check can still be queried. If the wrapped
+ * solver is a {@link UCSolver}, the assumptions are tracked and the unsat assumptions are taken
+ * from the unsat core, otherwise all assumptions are reported.
+ */
+public final class AssumptionSolverWrapper implements UCSolver, Solver {
+
+    private final SolverBase solver;
+
+    private Collection<Expr<BoolType>> checkedAssumptions = null;
+    private int assertionCount;
+
+    private AssumptionSolverWrapper(final SolverBase solver) {
+        this.solver = checkNotNull(solver);
+    }
+
+    public static Solver of(final Solver solver) {
+        return new AssumptionSolverWrapper(solver);
+    }
+
+    public static UCSolver ofUC(final UCSolver solver) {
+        return new AssumptionSolverWrapper(solver);
+    }
+
+    /**
+     * Returns the solver itself if it supports checking under assumptions natively, otherwise
+     * wraps it. Should be called on a fresh solver, as it performs a check to probe the support.
+     */
+    public static UCSolver ensureUC(final UCSolver solver) {
+        try {
+            solver.check(List.of());
+            return solver;
+        } catch (UnsupportedOperationException e) {
+            return ofUC(solver);
+        }
+    }
+
+    @Override
+    public SolverStatus check(final Collection<? extends Expr<BoolType>> assumptions) {
+        checkNotNull(assumptions);
+        closeAssumptions();
+        assertionCount = solver.getAssertions().size();
+        solver.push();
+        checkedAssumptions = ImmutableList.copyOf(assumptions);
+        if (solver instanceof UCSolver ucSolver) {
+            ucSolver.track(checkedAssumptions);
+        } else {
+            ((Solver) solver).add(checkedAssumptions);
+        }
+        return solver.check();
+    }
+
+    @Override
+    public Collection<Expr<BoolType>> getUnsatAssumptions() {
+        checkState(checkedAssumptions != null, "No check under assumptions was performed.");
+        checkState(
+                solver.getStatus() == SolverStatus.UNSAT,
+                "Cannot get unsat assumptions if status is not UNSAT");
+        if (solver instanceof UCSolver ucSolver) {
+            final Set<Expr<BoolType>> core = new HashSet<>(ucSolver.getUnsatCore());
+            return checkedAssumptions.stream().filter(core::contains).toList();
+        } else {
+            return checkedAssumptions;
+        }
+    }
+
+    @Override
+    public void add(final Expr<BoolType> assertion) {
+        closeAssumptions();
+        ((Solver) solver).add(assertion);
+    }
+
+    @Override
+    public void track(final Expr<BoolType> assertion) {
+        closeAssumptions();
+        ((UCSolver) solver).track(assertion);
+    }
+
+    @Override
+    public Collection<Expr<BoolType>> getUnsatCore() {
+        final Collection<Expr<BoolType>> unsatCore = ((UCSolver) solver).getUnsatCore();
+        if (checkedAssumptions == null) {
+            return unsatCore;
+        }
+        final Set<Expr<BoolType>> assumptions = new HashSet<>(checkedAssumptions);
+        return unsatCore.stream().filter(expr -> !assumptions.contains(expr)).toList();
+    }
+
+    @Override
+    public SolverStatus check() {
+        closeAssumptions();
+        return solver.check();
+    }
+
+    @Override
+    public void push() {
+        closeAssumptions();
+        solver.push();
+    }
+
+    @Override
+    public void pop(final int n) {
+        closeAssumptions();
+        solver.pop(n);
+    }
+
+    @Override
+    public void reset() {
+        checkedAssumptions = null;
+        solver.reset();
+    }
+
+    @Override
+    public SolverStatus getStatus() {
+        return solver.getStatus();
+    }
+
+    @Override
+    public Valuation getModel() {
+        return solver.getModel();
+    }
+
+    @Override
+    public Collection<Expr<BoolType>> getAssertions() {
+        final Collection<Expr<BoolType>> assertions = solver.getAssertions();
+        if (checkedAssumptions == null) {
+            return assertions;
+        }
+        return assertions.stream().limit(assertionCount).toList();
+    }
+
+    @Override
+    public ImmutableMap<String, String> getStatistics() {
+        return solver.getStatistics();
+    }
+
+    @Override
+    public Expr<BoolType> simplify(final Expr<BoolType> expr) {
+        return solver.simplify(expr);
+    }
+
+    @Override
+    public void close() throws Exception {
+        solver.close();
+    }
+
+    private void closeAssumptions() {
+        if (checkedAssumptions != null) {
+            checkedAssumptions = null;
+            solver.pop();
+        }
+    }
+}
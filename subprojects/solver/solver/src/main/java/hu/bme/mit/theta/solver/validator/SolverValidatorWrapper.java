@@ -23,7 +23,9 @@ import hu.bme.mit.theta.core.type.booltype.BoolType;
 import hu.bme.mit.theta.solver.Solver;
 import hu.bme.mit.theta.solver.SolverManager;
 import hu.bme.mit.theta.solver.SolverStatus;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 public class SolverValidatorWrapper implements Solver {
     private final Solver solver;
@@ -52,6 +54,28 @@ public class SolverValidatorWrapper implements Solver {
         return check;
     }
 
+    @Override
+    public SolverStatus check(Collection<? extends Expr<BoolType>> assumptions) {
+        SolverStatus check = solver.check(assumptions);
+        if (check.isSat()) {
+            final Valuation model = solver.getModel();
+            final List<Expr<BoolType>> exprs = new ArrayList<>(solver.getAssertions());
+            exprs.addAll(assumptions);
+            for (Expr<BoolType> assertion : exprs) {
+                if (!assertion.eval(model).equals(True())) {
+                    throw new SolverValidationException(
+                            "Solver problem: " + assertion + " not True over {" + model + "}");
+                }
+            }
+        }
+        return check;
+    }
+
+    @Override
+    public Collection<Expr<BoolType>> getUnsatAssumptions() {
+        return solver.getUnsatAssumptions();
+    }
+
     @Override
     public void push() {
         solver.push();
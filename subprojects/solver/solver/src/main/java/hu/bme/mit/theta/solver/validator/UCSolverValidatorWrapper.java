@@ -23,7 +23,9 @@ import hu.bme.mit.theta.core.type.booltype.BoolType;
 import hu.bme.mit.theta.solver.SolverManager;
 import hu.bme.mit.theta.solver.SolverStatus;
 import hu.bme.mit.theta.solver.UCSolver;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 public class UCSolverValidatorWrapper implements UCSolver {
 
@@ -47,6 +49,27 @@ public class UCSolverValidatorWrapper implements UCSolver {
         return check;
     }
 
+    @Override
+    public SolverStatus check(Collection<? extends Expr<BoolType>> assumptions) {
+        SolverStatus check = solver.check(assumptions);
+        if (check.isSat()) {
+            final Valuation model = solver.getModel();
+            final List<Expr<BoolType>> exprs = new ArrayList<>(solver.getAssertions());
+            exprs.addAll(assumptions);
+            for (Expr<BoolType> assertion : exprs) {
+                if (!assertion.eval(model).equals(True())) {
+                    throw new RuntimeException("Solver problem: " + assertion);
+                }
+            }
+        }
+        return check;
+    }
+
+    @Override
+    public Collection<Expr<BoolType>> getUnsatAssumptions() {
+        return solver.getUnsatAssumptions();
+    }
+
     @Override
     public void push() {
         solver.push();
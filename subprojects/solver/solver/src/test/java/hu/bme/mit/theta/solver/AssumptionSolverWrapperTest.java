@@ -0,0 +1,49 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.solver;
+
+import static hu.bme.mit.theta.core.decl.Decls.Const;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
+
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.solver.impl.AssumptionSolverWrapper;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AssumptionSolverWrapperTest {
+
+    private final Expr<BoolType> a = Const("a", Bool()).getRef();
+
+    @Test
+    public void testScopeIsClosed() {
+        final SolverStub stub = new SolverStub();
+        final Solver solver = AssumptionSolverWrapper.of(stub);
+
+        solver.check(List.of(a));
+        Assert.assertEquals(1, stub.nPush);
+        solver.check(List.of(a));
+        Assert.assertEquals(1, stub.nPush);
+        solver.check();
+        Assert.assertEquals(0, stub.nPush);
+
+        solver.push();
+        solver.check(List.of(a));
+        solver.pop();
+        Assert.assertEquals(0, stub.nPush);
+    }
+}
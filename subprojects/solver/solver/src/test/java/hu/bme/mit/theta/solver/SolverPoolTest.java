@@ -0,0 +1,230 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.solver;
+
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.True;
+
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SolverPoolTest {
+
+    @Test
+    public void testLazyCreationAndReuse() throws Exception {
+        final StubSolverFactory factory = new StubSolverFactory();
+        try (SolverPool pool = new SolverPool(factory)) {
+            Assert.assertEquals(0, factory.created.get());
+            final Solver solver = pool.requestSolver();
+            Assert.assertEquals(1, pool.size());
+            pool.returnSolver(solver);
+            Assert.assertSame(solver, pool.requestSolver());
+            Assert.assertEquals(1, factory.created.get());
+        }
+    }
+
+    @Test
+    public void testResetOnReturn() throws Exception {
+        try (SolverPool pool = new SolverPool(new StubSolverFactory())) {
+            final RecordingSolver solver = (RecordingSolver) pool.requestSolver();
+            solver.add(True());
+            pool.returnSolver(solver);
+            Assert.assertTrue(solver.getAssertions().isEmpty());
+            Assert.assertEquals(1, solver.resets);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFailWhenFull() throws Exception {
+        try (SolverPool pool =
+                SolverPool.builder(new StubSolverFactory())
+                        .maxSize(1)
+                        .overflowPolicy(SolverPool.OverflowPolicy.FAIL)
+                        .build()) {
+            pool.requestSolver();
+            pool.requestSolver();
+        }
+    }
+
+    @Test
+    public void testCreateTemporaryWhenFull() throws Exception {
+        try (SolverPool pool =
+                SolverPool.builder(new StubSolverFactory())
+                        .maxSize(1)
+                        .overflowPolicy(SolverPool.OverflowPolicy.CREATE)
+                        .build()) {
+            final Solver pooled = pool.requestSolver();
+            final RecordingSolver temporary = (RecordingSolver) pool.requestSolver();
+            Assert.assertNotSame(pooled, temporary);
+            pool.returnSolver(temporary);
+            Assert.assertTrue(temporary.closed);
+            Assert.assertEquals(1, pool.size());
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void testTemporaryCreationDoesNotBlockPool() throws Exception {
+        final CountDownLatch creating = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final StubSolverFactory factory =
+                new StubSolverFactory(
+                        created -> {
+                            if (created > 1) {
+                                creating.countDown();
+                                release.await();
+                            }
+                        });
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (SolverPool pool =
+                SolverPool.builder(factory)
+                        .maxSize(1)
+                        .overflowPolicy(SolverPool.OverflowPolicy.CREATE)
+                        .build()) {
+            final Solver pooled = pool.requestSolver();
+            final Future<Solver> temporary = executor.submit(pool::requestSolver);
+            Assert.assertTrue(creating.await(1, TimeUnit.SECONDS));
+
+            // The pool is usable while the temporary solver is being created
+            pool.returnSolver(pooled);
+            Assert.assertSame(pooled, pool.requestSolver());
+
+            release.countDown();
+            Assert.assertNotSame(pooled, temporary.get(1, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testThreadAffinity() throws Exception {
+        try (SolverPool pool =
+                SolverPool.builder(new StubSolverFactory()).threadAffinity(true).build()) {
+            final Solver first = pool.requestSolver();
+            final Solver second = pool.requestSolver();
+            pool.returnSolver(first);
+            pool.returnSolver(second);
+            Assert.assertSame(second, pool.requestSolver());
+        }
+    }
+
+    @Test
+    public void testBlockingUnderContention() throws Exception {
+        final StubSolverFactory factory = new StubSolverFactory();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try (SolverPool pool = SolverPool.builder(factory).maxSize(2).build()) {
+            final AtomicInteger inUse = new AtomicInteger();
+            final AtomicInteger maxInUse = new AtomicInteger();
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    final Solver solver = pool.requestSolver();
+                                    maxInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+                                    solver.add(True());
+                                    inUse.decrementAndGet();
+                                    pool.returnSolver(solver);
+                                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+            Assert.assertTrue(maxInUse.get() <= 2);
+            Assert.assertEquals(pool.size(), pool.available());
+            Assert.assertTrue(factory.created.get() <= 2);
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        }
+    }
+
+    private interface CreationHook {
+        void onCreate(int created) throws InterruptedException;
+    }
+
+    private static final class StubSolverFactory implements SolverFactory {
+        private final AtomicInteger created = new AtomicInteger();
+        private final CreationHook hook;
+
+        private StubSolverFactory() {
+            this(created -> {});
+        }
+
+        private StubSolverFactory(final CreationHook hook) {
+            this.hook = hook;
+        }
+
+        @Override
+        public Solver createSolver() {
+            try {
+                hook.onCreate(created.incrementAndGet());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+            return new RecordingSolver();
+        }
+
+        @Override
+        public UCSolver createUCSolver() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ItpSolver createItpSolver() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class RecordingSolver extends SolverStub {
+        private final List<Expr<BoolType>> assertions = new ArrayList<>();
+        private int resets = 0;
+        private boolean closed = false;
+
+        @Override
+        public void add(final Expr<BoolType> assertion) {
+            assertions.add(assertion);
+        }
+
+        @Override
+        public void reset() {
+            assertions.clear();
+            resets++;
+        }
+
+        @Override
+        public Collection<Expr<BoolType>> getAssertions() {
+            return List.copyOf(assertions);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -19,6 +19,7 @@ import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
 import java.util.Collection;
+import java.util.List;
 
 class SolverStub implements Solver {
 
@@ -65,7 +66,7 @@ class SolverStub implements Solver {
 
     @Override
     public Collection<Expr<BoolType>> getAssertions() {
-        return null;
+        return List.of();
     }
 
     @Override
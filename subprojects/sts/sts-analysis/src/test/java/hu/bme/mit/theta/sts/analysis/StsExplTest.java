@@ -20,6 +20,7 @@ import static hu.bme.mit.theta.core.decl.Decls.Var;
 import static hu.bme.mit.theta.core.type.anytype.Exprs.Prime;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.*;
 import static hu.bme.mit.theta.core.type.inttype.IntExprs.*;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import hu.bme.mit.theta.analysis.Analysis;
@@ -34,6 +35,7 @@ import hu.bme.mit.theta.analysis.algorithm.arg.ArgNodeComparators;
 import hu.bme.mit.theta.analysis.algorithm.cegar.ArgAbstractor;
 import hu.bme.mit.theta.analysis.algorithm.cegar.ArgCegarChecker;
 import hu.bme.mit.theta.analysis.algorithm.cegar.BasicArgAbstractor;
+import hu.bme.mit.theta.analysis.algorithm.cegar.ParallelArgAbstractor;
 import hu.bme.mit.theta.analysis.expl.ExplAnalysis;
 import hu.bme.mit.theta.analysis.expl.ExplPrec;
 import hu.bme.mit.theta.analysis.expl.ExplState;
@@ -129,4 +131,70 @@ public class StsExplTest {
         // System.out.println(new
         // GraphvizWriter().writeString(ArgVisualizer.visualize(arg)));
     }
+
+    @Test
+    public void testParallel() {
+        final VarDecl<IntType> vx = Var("x", Int());
+        final Expr<IntType> x = vx.getRef();
+        final VarDecl<IntType> vy = Var("y", Int());
+        final Expr<IntType> y = vy.getRef();
+
+        final int mod = 10;
+
+        final Builder builder = STS.builder();
+
+        builder.addInit(Eq(x, Int(0)));
+        builder.addInit(Eq(y, Int(0)));
+        builder.addTrans(
+                And(
+                        Imply(Lt(x, Int(mod)), Eq(Prime(x), Add(x, Int(1)))),
+                        Imply(Geq(x, Int(mod)), Eq(Prime(x), Int(0)))));
+        builder.addTrans(Eq(Prime(y), Add(y, Int(1))));
+        builder.setProp(Not(Eq(x, Int(mod))));
+
+        final STS sts = builder.build();
+        final LTS<State, StsAction> lts = StsLts.create(sts);
+        final Solver abstractionSolver = Z3LegacySolverFactory.getInstance().createSolver();
+        final Predicate<ExprState> target =
+                new ExprStatePredicate(Not(sts.getProp()), abstractionSolver);
+
+        final ArgBuilder<ExplState, StsAction, ExplPrec> argBuilder =
+                ArgBuilder.create(
+                        lts, ExplAnalysis.create(abstractionSolver, sts.getInit()), target);
+
+        final ExplPrec prec = ExplPrec.of(Collections.singleton(vx));
+
+        final ARG<ExplState, StsAction> sequentialArg = argBuilder.createArg();
+        BasicArgAbstractor.builder(argBuilder)
+                .waitlist(PriorityWaitlist.create(ArgNodeComparators.bfs()))
+                .build()
+                .check(sequentialArg, prec);
+
+        final ParallelArgAbstractor<ExplState, StsAction, ExplPrec> abstractor =
+                ParallelArgAbstractor.builder(
+                                argBuilder,
+                                resources -> {
+                                    final Solver solver =
+                                            resources.register(
+                                                    Z3LegacySolverFactory.getInstance()
+                                                            .createSolver());
+                                    return ArgBuilder.create(
+                                            lts,
+                                            ExplAnalysis.create(solver, sts.getInit()),
+                                            target);
+                                })
+                        .waitlist(PriorityWaitlist.create(ArgNodeComparators.bfs()))
+                        .threads(4)
+                        .deterministicMerge(true)
+                        .build();
+        final ARG<ExplState, StsAction> parallelArg = abstractor.createProof();
+        try {
+            abstractor.check(parallelArg, prec);
+        } finally {
+            abstractor.close();
+        }
+
+        assertTrue(isWellLabeled(parallelArg, abstractionSolver));
+        assertEquals(sequentialArg.isSafe(), parallelArg.isSafe());
+    }
 }
@@ -0,0 +1,210 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xcfa.analysis
+
+import java.util.AbstractMap.SimpleImmutableEntry
+import java.util.Arrays
+
+/**
+ * An immutable stack (cons list) used for the call stacks of [XcfaProcessState]. Pushing and
+ * popping share the unchanged tail with the original stack, and the list hash code is maintained
+ * incrementally, so comparing two stacks that share their tails is cheap.
+ *
+ * Iteration (and indexing) starts at the top of the stack, just like for a
+ * [java.util.LinkedList] used as a deque.
+ */
+class PersistentStack<out T>
+private constructor(
+  private val top: T?,
+  private val rest: PersistentStack<T>?,
+  override val size: Int,
+  private val hash: Int,
+  private val power: Int, // 31^size, needed to extend the hash code at the front
+) : AbstractList<T>() {
+
+  /** The topmost element of a non-empty stack. */
+  fun peek(): T {
+    if (size == 0) throw NoSuchElementException("Stack is empty.")
+    @Suppress("UNCHECKED_CAST")
+    return top as T
+  }
+
+  fun push(element: @UnsafeVariance T): PersistentStack<T> =
+    PersistentStack(element, this, size + 1, hash + power * (30 + element.hashCode()), power * 31)
+
+  /** The stack without its topmost element. */
+  fun pop(): PersistentStack<T> = checkNotNull(rest) { "Cannot pop an empty stack." }
+
+  override fun get(index: Int): T {
+    if (index < 0 || index >= size) throw IndexOutOfBoundsException("$index (size: $size)")
+    var current = this
+    repeat(index) { current = current.rest!! }
+    @Suppress("UNCHECKED_CAST")
+    return current.top as T
+  }
+
+  override fun iterator(): Iterator<T> =
+    object : Iterator<T> {
+      private var current = this@PersistentStack
+
+      override fun hasNext(): Boolean = current.size > 0
+
+      override fun next(): T {
+        if (!hasNext()) throw NoSuchElementException()
+        @Suppress("UNCHECKED_CAST") val element = current.top as T
+        current = current.rest!!
+        return element
+      }
+    }
+
+  override fun hashCode(): Int = hash
+
+  override fun equals(other: Any?): Boolean {
+    if (this === other) return true
+    if (other !is PersistentStack<*>) return super.equals(other)
+    if (size != other.size || hash != other.hash) return false
+    var a: PersistentStack<*> = this
+    var b: PersistentStack<*> = other
+    while (a !== b) { // stops at the latest at the (single) empty stack
+      if (a.top != b.top) return false
+      a = a.rest!!
+      b = b.rest!!
+    }
+    return true
+  }
+
+  companion object {
+
+    private val EMPTY = PersistentStack<Nothing>(null, null, 0, 1, 1)
+
+    @JvmStatic fun <T> empty(): PersistentStack<T> = EMPTY
+
+    /** The first element becomes the top of the stack. */
+    @JvmStatic fun <T> of(vararg elements: T): PersistentStack<T> = from(elements.asList())
+
+    /** The first element becomes the top of the stack. */
+    @JvmStatic
+    fun <T> from(elements: Iterable<T>): PersistentStack<T> =
+      if (elements is PersistentStack<T>) elements
+      else elements.reversed().fold(empty()) { stack, element -> stack.push(element) }
+  }
+}
+
+/**
+ * An immutable map over a handful of comparable keys (process ids, mutex names), stored as two
+ * sorted arrays. Updates copy the arrays but share all values with the original map, which is far
+ * smaller than a hash map copy for the few entries an [XcfaState] holds. The hash code is computed
+ * once.
+ */
+class PersistentArrayMap<K : Comparable<K>, out V>
+private constructor(private val keyArray: Array<Any?>, private val valueArray: Array<Any?>) :
+  AbstractMap<K, V>() {
+
+  private val hash: Int =
+    keyArray.indices.sumOf { keyArray[it].hashCode() xor valueArray[it].hashCode() }
+
+  override val size: Int
+    get() = keyArray.size
+
+  override val entries: Set<Map.Entry<K, V>>
+    get() =
+      object : AbstractSet<Map.Entry<K, V>>() {
+        override val size: Int
+          get() = keyArray.size
+
+        @Suppress("UNCHECKED_CAST")
+        override fun iterator(): Iterator<Map.Entry<K, V>> =
+          keyArray.indices
+            .map { SimpleImmutableEntry(keyArray[it] as K, valueArray[it] as V) }
+            .iterator()
+      }
+
+  private fun indexOf(key: Any?): Int =
+    if (key is Comparable<*>) Arrays.binarySearch(keyArray, key) else -1
+
+  override fun containsKey(key: K): Boolean = indexOf(key) >= 0
+
+  @Suppress("UNCHECKED_CAST")
+  override fun get(key: K): V? = indexOf(key).let { if (it >= 0) valueArray[it] as V else null }
+
+  /** This map with [key] mapped to [value]; returns this map if nothing changes. */
+  fun with(key: K, value: @UnsafeVariance V): PersistentArrayMap<K, V> {
+    val index = indexOf(key)
+    if (index >= 0) {
+      if (valueArray[index] === value) return this
+      return PersistentArrayMap(keyArray, valueArray.copyOf().also { it[index] = value })
+    }
+    val insertAt = -index - 1
+    val keys = arrayOfNulls<Any?>(size + 1)
+    val values = arrayOfNulls<Any?>(size + 1)
+    System.arraycopy(keyArray, 0, keys, 0, insertAt)
+    System.arraycopy(valueArray, 0, values, 0, insertAt)
+    keys[insertAt] = key
+    values[insertAt] = value
+    System.arraycopy(keyArray, insertAt, keys, insertAt + 1, size - insertAt)
+    System.arraycopy(valueArray, insertAt, values, insertAt + 1, size - insertAt)
+    return PersistentArrayMap(keys, values)
+  }
+
+  /** This map without [key]; returns this map if [key] is not present. */
+  fun without(key: K): PersistentArrayMap<K, V> {
+    val index = indexOf(key)
+    if (index < 0) return this
+    val keys = arrayOfNulls<Any?>(size - 1)
+    val values = arrayOfNulls<Any?>(size - 1)
+    System.arraycopy(keyArray, 0, keys, 0, index)
+    System.arraycopy(valueArray, 0, values, 0, index)
+    System.arraycopy(keyArray, index + 1, keys, index, size - index - 1)
+    System.arraycopy(valueArray, index + 1, values, index, size - index - 1)
+    return PersistentArrayMap(keys, values)
+  }
+
+  override fun hashCode(): Int = hash
+
+  override fun equals(other: Any?): Boolean {
+    if (this === other) return true
+    if (other !is PersistentArrayMap<*, *>) return super.equals(other)
+    if (hash != other.hash || size != other.size) return false
+    return keyArray.indices.all {
+      keyArray[it] == other.keyArray[it] &&
+        (valueArray[it] === other.valueArray[it] || valueArray[it] == other.valueArray[it])
+    }
+  }
+
+  companion object {
+
+    private val EMPTY = PersistentArrayMap<Nothing, Nothing>(arrayOf(), arrayOf())
+
+    @Suppress("UNCHECKED_CAST")
+    @JvmStatic
+    fun <K : Comparable<K>, V> empty(): PersistentArrayMap<K, V> =
+      EMPTY as PersistentArrayMap<K, V>
+
+    @JvmStatic
+    fun <K : Comparable<K>, V> of(vararg pairs: Pair<K, V>): PersistentArrayMap<K, V> =
+      from(pairs.toMap())
+
+    @JvmStatic
+    fun <K : Comparable<K>, V> from(map: Map<K, V>): PersistentArrayMap<K, V> {
+      if (map is PersistentArrayMap<K, V>) return map
+      val sorted = map.entries.sortedBy { it.key }
+      return PersistentArrayMap(
+        Array<Any?>(sorted.size) { sorted[it].key },
+        Array<Any?>(sorted.size) { sorted[it].value },
+      )
+    }
+  }
+}
@@ -45,7 +45,7 @@ fun Valuation.changeVars(varLut: Map<out Decl<*>, VarDecl<*>>): Valuation {
 internal fun <S : ExprState> XcfaState<S>.withGeneralizedVars(): S {
   val varLookup =
     processes
-      .mapNotNull { (_, process) -> process.varLookup.peek()?.reverseMapping() }
+      .mapNotNull { (_, process) -> process.varLookup.firstOrNull()?.reverseMapping() }
       .reduceOrNull(Map<VarDecl<*>, VarDecl<*>>::plus) ?: mapOf()
   return if (sGlobal.isBottom) sGlobal else sGlobal.getState(varLookup)
 }
@@ -267,15 +267,14 @@ private fun getExplXcfaInitFunc(
   val processInitState =
     xcfa.initProcedures
       .mapIndexed { i, it ->
-        val initLocStack: LinkedList<XcfaLocation> = LinkedList()
-        initLocStack.add(it.first.initLoc)
         Pair(
           i,
           XcfaProcessState(
-            initLocStack,
-            prefix = "T$i",
-            varLookup = LinkedList(listOf(it.first.createLookup("T$i"))),
-          ),
+              PersistentStack.of(it.first.initLoc),
+              prefix = "T$i",
+              varLookup = PersistentStack.of(it.first.createLookup("T$i")),
+            )
+            .intern(),
         )
       }
       .toMap()
@@ -335,15 +334,14 @@ private fun getPredXcfaInitFunc(
   val processInitState =
     xcfa.initProcedures
       .mapIndexed { i, it ->
-        val initLocStack: LinkedList<XcfaLocation> = LinkedList()
-        initLocStack.add(it.first.initLoc)
         Pair(
           i,
           XcfaProcessState(
-            initLocStack,
-            prefix = "T$i",
-            varLookup = LinkedList(listOf(it.first.createLookup("T$i"))),
-          ),
+              PersistentStack.of(it.first.initLoc),
+              prefix = "T$i",
+              varLookup = PersistentStack.of(it.first.createLookup("T$i")),
+            )
+            .intern(),
         )
       }
       .toMap()
@@ -401,15 +399,14 @@ private fun getExplPredCombinedXcfaInitFunc(
   val processInitState =
     xcfa.initProcedures
       .mapIndexed { i, it ->
-        val initLocStack: LinkedList<XcfaLocation> = LinkedList()
-        initLocStack.add(it.first.initLoc)
         Pair(
           i,
           XcfaProcessState(
-            initLocStack,
-            prefix = "T$i",
-            varLookup = LinkedList(listOf(it.first.createLookup("T$i"))),
-          ),
+              PersistentStack.of(it.first.initLoc),
+              prefix = "T$i",
+              varLookup = PersistentStack.of(it.first.createLookup("T$i")),
+            )
+            .intern(),
         )
       }
       .toMap()
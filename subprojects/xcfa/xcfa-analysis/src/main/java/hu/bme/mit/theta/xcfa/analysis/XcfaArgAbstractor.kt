@@ -28,6 +28,7 @@ import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterion
 import hu.bme.mit.theta.analysis.reachedset.Partition
 import hu.bme.mit.theta.analysis.waitlist.Waitlist
 import hu.bme.mit.theta.common.logging.Logger
+import hu.bme.mit.theta.xcfa.analysis.por.XcfaDporLts
 import java.util.function.Function
 
 class XcfaArgAbstractor<S : State, A : Action, P : Prec>(
@@ -110,12 +111,19 @@ class XcfaArgAbstractor<S : State, A : Action, P : Prec>(
     for (candidate in candidates) {
       if (candidate.mayCover(node)) {
         var onlyStackCovers = false
-        (node.state as XcfaState<*>).processes.forEach { (pid: Int, proc: XcfaProcessState) ->
+        val state = node.state as XcfaState<*>
+        val newProcesses = state.processes.toMutableMap()
+        state.processes.forEach { (pid: Int, proc: XcfaProcessState) ->
           if (proc != (candidate.state as XcfaState<*>).processes[pid]) {
-            if (popCovered) proc.popped = proc.locs.pop()
+            if (popCovered) newProcesses[pid] = proc.withPoppedLoc()
             onlyStackCovers = true
           }
         }
+        if (popCovered && onlyStackCovers) {
+          // process states are immutable and shared between nodes, so the node gets a new state
+          node.state = state.copy(processes = PersistentArrayMap.from(newProcesses)) as S
+          XcfaDporLts.replaceState(state, node.state)
+        }
         if (!onlyStackCovers) {
           node.cover(candidate)
         }
@@ -27,7 +27,7 @@ import hu.bme.mit.theta.analysis.ptr.PtrState
 import hu.bme.mit.theta.analysis.ptr.WriteTriples
 import hu.bme.mit.theta.analysis.ptr.patch
 import hu.bme.mit.theta.common.logging.Logger
-import java.util.*
+import hu.bme.mit.theta.common.metrics.Metrics
 
 class XcfaSingleExprTraceRefiner<S : ExprState, A : ExprAction, P : Prec, R : Refutation> :
   SingleExprTraceRefiner<S, A, P, R> {
@@ -53,10 +53,10 @@ class XcfaSingleExprTraceRefiner<S : ExprState, A : ExprAction, P : Prec, R : Re
       state.processes.entries
         .find { (_, processState) -> processState.popped != null }
         ?.let { (pid, processState) ->
-          val stackBeforePop = LinkedList(processState.locs)
-          stackBeforePop.push(processState.popped)
-          val processesBeforePop = state.processes.toMutableMap()
-          processesBeforePop[pid] = processState.copy(locs = stackBeforePop)
+          val stackBeforePop = processState.locs.push(processState.popped!!)
+          val processBeforePop = processState.copy(locs = stackBeforePop).intern()
+          val processesBeforePop =
+            PersistentArrayMap.from(state.processes).with(pid, processBeforePop)
           val stateBeforePop = state.copy(processes = processesBeforePop)
           return Pair(i, stateBeforePop)
         }
@@ -99,7 +99,7 @@ class XcfaSingleExprTraceRefiner<S : ExprState, A : ExprAction, P : Prec, R : Re
     logger.write(Logger.Level.INFO, "|  |  Trace length: %d%n", traceToConcretize.length())
     logger.write(Logger.Level.DETAIL, "|  |  Trace: %s%n", traceToConcretize)
     logger.write(Logger.Level.SUBSTEP, "|  |  Checking trace...")
-    val cexStatus = exprTraceChecker.check(traceToConcretize)
+    val cexStatus = TRACE_CHECK_TIMER.time { exprTraceChecker.check(traceToConcretize) }
     logger.write(Logger.Level.SUBSTEP, "done, result: %s%n", cexStatus)
     assert(cexStatus.isFeasible() || cexStatus.isInfeasible()) { "Unknown CEX status" }
     return if (cexStatus.isFeasible()) {
@@ -168,6 +168,8 @@ class XcfaSingleExprTraceRefiner<S : ExprState, A : ExprAction, P : Prec, R : Re
 
   companion object {
 
+    private val TRACE_CHECK_TIMER = Metrics.timer("refinement.tracecheck")
+
     fun <S : ExprState, A : ExprAction, P : Prec, R : Refutation> create(
       exprTraceChecker: ExprTraceChecker<R>,
       precRefiner: PrecRefiner<S, A, P, R>,
@@ -30,6 +30,8 @@ import hu.bme.mit.theta.xcfa.model.AtomicFenceLabel.Companion.ATOMIC_MUTEX
 import hu.bme.mit.theta.xcfa.passes.changeVars
 import hu.bme.mit.theta.xcfa.utils.AssignStmtLabel
 import hu.bme.mit.theta.xcfa.utils.getFlatLabels
+import com.google.common.collect.Interner
+import com.google.common.collect.Interners
 import java.util.*
 
 private var pidCnt = 1
@@ -53,7 +55,9 @@ constructor(
   ) : this(
     xcfa = xcfa,
     processes =
-      mapOf(0 to XcfaProcessState(locs = LinkedList(listOf(loc)), varLookup = LinkedList())),
+      PersistentArrayMap.of(
+        0 to XcfaProcessState(locs = PersistentStack.of(loc), varLookup = PersistentStack.empty())
+      ),
     sGlobal = state,
     mutexes = emptyMap(),
   )
@@ -84,9 +88,8 @@ constructor(
     val processState = processes[a.pid]
     checkNotNull(processState)
     check(processState.locs.peek() == a.source)
-    val newProcesses: MutableMap<Int, XcfaProcessState> = LinkedHashMap(processes)
-    newProcesses[a.pid] = processes[a.pid]!!.withNewLoc(a.target)
-    if (processes != newProcesses) {
+    val newProcesses = processMap.with(a.pid, processState.withNewLoc(a.target))
+    if (processes !== newProcesses) {
       changes.add { state -> state.withProcesses(newProcesses) }
     }
 
@@ -171,8 +174,11 @@ constructor(
     )
   }
 
+  /** The processes as a persistent map, so that successors share the unchanged process states. */
+  private val processMap: PersistentArrayMap<Int, XcfaProcessState>
+    get() = PersistentArrayMap.from(processes)
+
   private fun start(startLabel: StartLabel, startingPid: Int): XcfaState<S> {
-    val newProcesses: MutableMap<Int, XcfaProcessState> = LinkedHashMap(processes)
     val newThreadLookup: MutableMap<VarDecl<*>, Int> = LinkedHashMap(threadLookup)
 
     val procedure = xcfa?.procedures?.find { it.name == startLabel.name }!!
@@ -195,59 +201,60 @@ constructor(
     val pid = pidCnt++
     val lookup = procedure.createLookup("T$pid")
     newThreadLookup[startLabel.pidVar] = pid
-    newProcesses[pid] =
+    val newProcess =
       XcfaProcessState(
-        LinkedList(listOf(procedure.initLoc)),
+        PersistentStack.of(procedure.initLoc),
         prefix = "T$pid",
-        varLookup = LinkedList(listOf(lookup)),
-        returnStmts = LinkedList(listOf(returnStmt)),
+        varLookup = PersistentStack.of(lookup),
+        returnStmts = PersistentStack.of(returnStmt),
         paramStmts =
-          LinkedList(
-            listOf(
-              Pair(
-                /* init */
-                SequenceLabel(
-                  paramList
-                    .filter { it.value != ParamDirection.OUT }
-                    .map {
-                      StmtLabel(
-                        Assign(
-                          cast(it.key.changeVars(lookup), it.key.type),
-                          cast(it.key.changeVars(tempLookup).ref, it.key.type),
-                        )
+          PersistentStack.of(
+            Pair(
+              /* init */
+              SequenceLabel(
+                paramList
+                  .filter { it.value != ParamDirection.OUT }
+                  .map {
+                    StmtLabel(
+                      Assign(
+                        cast(it.key.changeVars(lookup), it.key.type),
+                        cast(it.key.changeVars(tempLookup).ref, it.key.type),
                       )
-                    }
-                ),
-                /* deinit */
-                SequenceLabel(
-                  paramList
-                    .filter { it.value != ParamDirection.IN }
-                    .map {
-                      StmtLabel(
-                        Assign(
-                          cast(it.key.changeVars(tempLookup), it.key.type),
-                          cast(it.key.changeVars(lookup).ref, it.key.type),
-                        )
+                    )
+                  }
+              ),
+              /* deinit */
+              SequenceLabel(
+                paramList
+                  .filter { it.value != ParamDirection.IN }
+                  .map {
+                    StmtLabel(
+                      Assign(
+                        cast(it.key.changeVars(tempLookup), it.key.type),
+                        cast(it.key.changeVars(lookup).ref, it.key.type),
                       )
-                    }
-                ),
-              )
+                    )
+                  }
+              ),
             )
           ),
       )
-
-    newProcesses[startingPid] =
-      newProcesses[startingPid]!!.let {
-        it.copy(invokeParameterCounter = it.invokeParameterCounter + 1)
-      }
+    val startingProcess = processes[startingPid]!!
+    val newProcesses =
+      processMap
+        .with(pid, newProcess.intern())
+        .with(
+          startingPid,
+          startingProcess
+            .copy(invokeParameterCounter = startingProcess.invokeParameterCounter + 1)
+            .intern(),
+        )
 
     return copy(processes = newProcesses, threadLookup = newThreadLookup)
   }
 
   private fun endProcess(pid: Int): XcfaState<S> {
-    val newProcesses: MutableMap<Int, XcfaProcessState> = LinkedHashMap(processes)
-    newProcesses.remove(pid)
-    return copy(processes = newProcesses)
+    return copy(processes = processMap.without(pid))
   }
 
   private fun invokeFunction(
@@ -257,15 +264,12 @@ constructor(
     paramList: Map<VarDecl<*>, ParamDirection>,
     tempLookup: Map<VarDecl<*>, VarDecl<*>>,
   ): XcfaState<S> {
-    val newProcesses: MutableMap<Int, XcfaProcessState> = LinkedHashMap(processes)
-    newProcesses[pid] = processes[pid]?.enterFunction(proc, returnStmt, paramList, tempLookup)!!
-    return copy(processes = newProcesses)
+    val newProcess = processes[pid]?.enterFunction(proc, returnStmt, paramList, tempLookup)!!
+    return copy(processes = processMap.with(pid, newProcess))
   }
 
   private fun returnFromFunction(pid: Int): XcfaState<S> {
-    val newProcesses: MutableMap<Int, XcfaProcessState> = LinkedHashMap(processes)
-    newProcesses[pid] = processes[pid]?.exitFunction()!!
-    return copy(processes = newProcesses)
+    return copy(processes = processMap.with(pid, processes[pid]?.exitFunction()!!))
   }
 
   private fun enterMutex(label: FenceLabel, pid: Int): XcfaState<S> {
@@ -273,22 +277,27 @@ constructor(
       return copy(bottom = true)
     }
 
-    val newMutexes = LinkedHashMap(mutexes)
-    label.acquiredMutexes.forEach { newMutexes[it.name] = (newMutexes[it.name] ?: setOf()) + pid }
-    return copy(mutexes = newMutexes)
+    var newMutexes = PersistentArrayMap.from(mutexes)
+    label.acquiredMutexes.forEach {
+      val holders = newMutexes[it.name]
+      if (holders == null || pid !in holders) {
+        newMutexes = newMutexes.with(it.name, (holders ?: setOf()) + pid)
+      }
+    }
+    return if (newMutexes === mutexes) this else copy(mutexes = newMutexes)
   }
 
   private fun exitMutex(label: FenceLabel, pid: Int): XcfaState<S> {
-    val newMutexes = LinkedHashMap(mutexes)
+    var newMutexes = PersistentArrayMap.from(mutexes)
     label.releasedMutexes.forEach {
       val holders = newMutexes[it.name]
       when {
         holders == null || pid !in holders -> {}
-        holders.size == 1 -> newMutexes.remove(it.name)
-        else -> newMutexes[it.name] = holders - pid
+        holders.size == 1 -> newMutexes = newMutexes.without(it.name)
+        else -> newMutexes = newMutexes.with(it.name, holders - pid)
       }
     }
-    return copy(mutexes = newMutexes)
+    return if (newMutexes === mutexes) this else copy(mutexes = newMutexes)
   }
 
   private fun withProcesses(nP: Map<Int, XcfaProcessState>): XcfaState<S> {
@@ -296,10 +305,10 @@ constructor(
   }
 
   fun withLocation(pid: Int, loc: XcfaLocation): XcfaState<S> {
-    val nP = processes.toMutableMap()
-    nP[pid] =
-      nP[pid]?.withNewLoc(loc) ?: XcfaProcessState(locs = LinkedList(listOf(loc)), LinkedList())
-    return copy(processes = nP)
+    val newProcess =
+      processes[pid]?.withNewLoc(loc)
+        ?: XcfaProcessState(locs = PersistentStack.of(loc), PersistentStack.empty()).intern()
+    return copy(processes = processMap.with(pid, newProcess))
   }
 
   fun withState(s: S): XcfaState<S> {
@@ -311,12 +320,17 @@ constructor(
   }
 }
 
+/**
+ * The state of a single process. The stacks are persistent, so successor states share everything
+ * but the changed top elements; states created by the transition functions are interned (see
+ * [intern]), so the same process state reached along different paths is a single object.
+ */
 data class XcfaProcessState(
-  val locs: LinkedList<XcfaLocation>,
-  val varLookup: LinkedList<Map<VarDecl<*>, VarDecl<*>>>,
-  val returnStmts: LinkedList<XcfaLabel> = LinkedList(listOf(NopLabel)),
-  val paramStmts: LinkedList<Pair<XcfaLabel, XcfaLabel>> =
-    LinkedList(listOf(Pair(NopLabel, NopLabel))),
+  val locs: PersistentStack<XcfaLocation>,
+  val varLookup: PersistentStack<Map<VarDecl<*>, VarDecl<*>>>,
+  val returnStmts: PersistentStack<XcfaLabel> = PersistentStack.of(NopLabel),
+  val paramStmts: PersistentStack<Pair<XcfaLabel, XcfaLabel>> =
+    PersistentStack.of(Pair(NopLabel, NopLabel)),
   val paramsInitialized: Boolean = false,
   val prefix: String = "",
   val invokeParameterCounter: Int = 0,
@@ -324,19 +338,37 @@ data class XcfaProcessState(
 
   internal var popped: XcfaLocation? =
     null // stores if the stack was popped due to abstract stack covering
-
-  fun withNewLoc(l: XcfaLocation): XcfaProcessState {
-    val deque: LinkedList<XcfaLocation> = LinkedList(locs)
-    deque.pop()
-    deque.push(l)
-    return copy(locs = deque, paramsInitialized = true)
+    private set
+
+  @Transient private val hash: Int = 31 * locs.hashCode() + paramsInitialized.hashCode()
+
+  // set on canonical instances only; keeps their entry in the weak interner alive
+  @Transient private var internKey: InternKey? = null
+
+  fun withNewLoc(l: XcfaLocation): XcfaProcessState =
+    copy(locs = locs.pop().push(l), paramsInitialized = true).intern()
+
+  /**
+   * Pops the topmost location due to abstract stack covering. The result remembers the popped
+   * location, so it is never interned.
+   */
+  internal fun withPoppedLoc(): XcfaProcessState =
+    copy(locs = locs.pop()).also { it.popped = locs.peek() }
+
+  /** Returns the canonical instance of this process state. */
+  fun intern(): XcfaProcessState {
+    if (internKey != null || popped != null) return this
+    val key = InternKey(this)
+    val canonical = interner.intern(key)
+    if (canonical === key) internKey = key
+    return canonical.state
   }
 
   override fun toString(): String =
     when (locs.size) {
       0 -> ""
-      1 -> locs.peek()!!.toString() + " initialized=$paramsInitialized"
-      else -> "${locs.peek()!!} [${locs.size}], initilized=$paramsInitialized"
+      1 -> locs.peek().toString() + " initialized=$paramsInitialized"
+      else -> "${locs.peek()} [${locs.size}], initilized=$paramsInitialized"
     }
 
   fun enterFunction(
@@ -345,15 +377,8 @@ data class XcfaProcessState(
     paramList: Map<VarDecl<*>, ParamDirection>,
     tempLookup: Map<VarDecl<*>, VarDecl<*>>,
   ): XcfaProcessState {
-    val deque: LinkedList<XcfaLocation> = LinkedList(locs)
-    val varLookup: LinkedList<Map<VarDecl<*>, VarDecl<*>>> = LinkedList(varLookup)
-    val returnStmts: LinkedList<XcfaLabel> = LinkedList(returnStmts)
-    val paramStmts: LinkedList<Pair<XcfaLabel, XcfaLabel>> = LinkedList(paramStmts)
-    deque.push(xcfaProcedure.initLoc)
     val lookup = xcfaProcedure.createLookup(prefix, "P${procCnt++}")
-    varLookup.push(lookup)
-    returnStmts.push(returnStmt)
-    paramStmts.push(
+    val paramStmt =
       Pair(
         /* init */
         SequenceLabel(
@@ -382,33 +407,25 @@ data class XcfaProcessState(
             }
         ),
       )
-    )
     return copy(
-      locs = deque,
-      varLookup = varLookup,
-      returnStmts = returnStmts,
-      paramStmts = paramStmts,
-      paramsInitialized = false,
-      invokeParameterCounter = invokeParameterCounter + 1,
-    )
+        locs = locs.push(xcfaProcedure.initLoc),
+        varLookup = varLookup.push(lookup),
+        returnStmts = returnStmts.push(returnStmt),
+        paramStmts = paramStmts.push(paramStmt),
+        paramsInitialized = false,
+        invokeParameterCounter = invokeParameterCounter + 1,
+      )
+      .intern()
   }
 
-  fun exitFunction(): XcfaProcessState {
-    val deque: LinkedList<XcfaLocation> = LinkedList(locs)
-    val varLookup: LinkedList<Map<VarDecl<*>, VarDecl<*>>> = LinkedList(varLookup)
-    val returnStmts: LinkedList<XcfaLabel> = LinkedList(returnStmts)
-    val paramStmts: LinkedList<Pair<XcfaLabel, XcfaLabel>> = LinkedList(paramStmts)
-    deque.pop()
-    varLookup.pop()
-    returnStmts.pop()
-    paramStmts.pop()
-    return copy(
-      locs = deque,
-      varLookup = varLookup,
-      returnStmts = returnStmts,
-      paramStmts = paramStmts,
-    )
-  }
+  fun exitFunction(): XcfaProcessState =
+    copy(
+        locs = locs.pop(),
+        varLookup = varLookup.pop(),
+        returnStmts = returnStmts.pop(),
+        paramStmts = paramStmts.pop(),
+      )
+      .intern()
 
   override fun equals(other: Any?): Boolean {
     if (this === other) return true
@@ -416,20 +433,49 @@ data class XcfaProcessState(
 
     other as XcfaProcessState
 
+    if (hash != other.hash) return false
     if (locs != other.locs) return false
     if (paramsInitialized != other.paramsInitialized) return false
 
     return true
   }
 
-  override fun hashCode(): Int {
-    var result = locs.hashCode()
-    result = 31 * result + paramsInitialized.hashCode()
-    return result
+  override fun hashCode(): Int = hash
+
+  /** Structural identity of all fields, unlike [equals] that only compares the locations. */
+  private class InternKey(val state: XcfaProcessState) {
+
+    private val hash =
+      Objects.hash(
+        state.hash,
+        state.varLookup,
+        state.returnStmts,
+        state.paramStmts,
+        state.prefix,
+        state.invokeParameterCounter,
+      )
+
+    override fun hashCode(): Int = hash
+
+    override fun equals(other: Any?): Boolean {
+      if (this === other) return true
+      if (other !is InternKey || hash != other.hash) return false
+      val s1 = state
+      val s2 = other.state
+      return s1.paramsInitialized == s2.paramsInitialized &&
+        s1.invokeParameterCounter == s2.invokeParameterCounter &&
+        s1.prefix == s2.prefix &&
+        s1.locs == s2.locs &&
+        s1.varLookup == s2.varLookup &&
+        s1.returnStmts == s2.returnStmts &&
+        s1.paramStmts == s2.paramStmts
+    }
   }
 
   companion object {
 
+    private val interner: Interner<InternKey> = Interners.newWeakInterner()
+
     fun XcfaProcedure.createLookup(
       threadPrefix: String = "",
       procPrefix: String = "",
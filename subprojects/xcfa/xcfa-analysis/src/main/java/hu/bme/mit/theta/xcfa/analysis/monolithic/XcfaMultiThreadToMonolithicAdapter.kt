@@ -44,6 +44,7 @@ import hu.bme.mit.theta.frontend.ParseContext
 import hu.bme.mit.theta.xcfa.ErrorDetection
 import hu.bme.mit.theta.xcfa.ErrorDetection.TERMINATION
 import hu.bme.mit.theta.xcfa.XcfaProperty
+import hu.bme.mit.theta.xcfa.analysis.PersistentStack
 import hu.bme.mit.theta.xcfa.analysis.XcfaAction
 import hu.bme.mit.theta.xcfa.analysis.XcfaProcessState
 import hu.bme.mit.theta.xcfa.analysis.XcfaProcessState.Companion.createLookup
@@ -343,7 +344,7 @@ class XcfaMultiThreadToMonolithicAdapter(
           if (locValue == -1) return@mapNotNull null // thread not started
           val pid = threadIds[thread]!!
           val loc = locs[thread]!!.entries.find { (_, id) -> id == locValue }!!.key
-          pid to XcfaProcessState(LinkedList(listOf(loc)), LinkedList())
+          pid to XcfaProcessState(PersistentStack.of(loc), PersistentStack.empty())
         }
         .toMap()
     return XcfaState(
@@ -24,6 +24,7 @@ import hu.bme.mit.theta.core.decl.VarDecl
 import hu.bme.mit.theta.core.model.ImmutableValuation
 import hu.bme.mit.theta.core.model.Valuation
 import hu.bme.mit.theta.core.type.booltype.BoolLitExpr
+import hu.bme.mit.theta.xcfa.analysis.PersistentStack
 import hu.bme.mit.theta.xcfa.analysis.XcfaAction
 import hu.bme.mit.theta.xcfa.analysis.XcfaProcessState
 import hu.bme.mit.theta.xcfa.analysis.XcfaState
@@ -56,8 +57,8 @@ internal class XcfaOcTraceExtractor(
         threads.associate { t ->
           t.pid to
             XcfaProcessState(
-              locs = LinkedList(listOf(t.procedure.initLoc)),
-              varLookup = LinkedList(listOf()),
+              locs = PersistentStack.of(t.procedure.initLoc),
+              varLookup = PersistentStack.empty(),
             )
         }
       var explState = PtrState(ExplState.of(ImmutableValuation.from(mapOf())))
@@ -88,8 +89,8 @@ internal class XcfaOcTraceExtractor(
                   put(
                     event.pid,
                     XcfaProcessState(
-                      locs = LinkedList(listOf(lastEdge.target)),
-                      varLookup = LinkedList(emptyList()),
+                      locs = PersistentStack.of(lastEdge.target),
+                      varLookup = PersistentStack.empty(),
                     ),
                   )
                 },
@@ -187,8 +188,8 @@ internal class XcfaOcTraceExtractor(
               put(
                 stepPid,
                 XcfaProcessState(
-                  locs = LinkedList(listOf(edge.target)),
-                  varLookup = LinkedList(emptyList()),
+                  locs = PersistentStack.of(edge.target),
+                  varLookup = PersistentStack.empty(),
                 ),
               )
             },
@@ -15,7 +15,8 @@
  */
 package hu.bme.mit.theta.xcfa.analysis.por
 
-import java.util.*
+import com.google.common.collect.MapMaker
+import java.util.concurrent.ConcurrentMap
 import kotlin.properties.ReadWriteProperty
 import kotlin.reflect.KProperty
 
@@ -23,25 +24,47 @@ fun <R, T> extension() = ExtensionProperty<R, T>()
 
 fun <R, T> nullableExtension() = NullableExtensionProperty<R, T?>()
 
+/**
+ * Creates an identity map with weak keys: the extension values of an object are released together
+ * with the object (e.g., when ARG nodes are pruned), instead of living as long as the delegate.
+ */
+private fun <R, T> weakIdentityMap(): ConcurrentMap<R, T> = MapMaker().weakKeys().makeMap()
+
 class ExtensionProperty<R, T> : ReadWriteProperty<R, T> {
 
-  private val map = IdentityHashMap<R, T>()
+  private val map = weakIdentityMap<R, T>()
 
   override fun getValue(thisRef: R, property: KProperty<*>) = checkNotNull(map[thisRef])
 
   override fun setValue(thisRef: R, property: KProperty<*>, value: T) {
     map[thisRef] = value
   }
+
+  fun getOrNull(thisRef: R): T? = map[thisRef]
+
+  fun remove(thisRef: R) {
+    map.remove(thisRef)
+  }
+
+  /** Moves the value of [from] (if any) to [to]. */
+  fun move(from: R, to: R) {
+    map.remove(from)?.let { map[to] = it }
+  }
 }
 
 open class NullableExtensionProperty<R, T> : ReadWriteProperty<R, T?> {
 
-  protected val map = IdentityHashMap<R, T?>()
+  protected val map = weakIdentityMap<R, T>()
 
   override fun getValue(thisRef: R, property: KProperty<*>) = map[thisRef]
 
   override fun setValue(thisRef: R, property: KProperty<*>, value: T?) {
-    map[thisRef] = value
+    if (value == null) map.remove(thisRef) else map[thisRef] = value
+  }
+
+  /** Moves the value of [from] (if any) to [to]. */
+  fun move(from: R, to: R) {
+    map.remove(from)?.let { map[to] = it }
   }
 
   fun clear() = map.clear()
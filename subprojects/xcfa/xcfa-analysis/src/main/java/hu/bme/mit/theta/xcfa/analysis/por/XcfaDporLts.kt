@@ -43,14 +43,20 @@ private typealias A = XcfaAction
 
 private typealias Node = ArgNode<out S, A>
 
-/** Backtrack set of a state: actions to be explored when backtracking in DFS. */
-private var State.backtrack: MutableSet<A> by extension()
+/**
+ * Backtrack set of a state: actions to be explored when backtracking in DFS. Only kept while the
+ * state is on the search stack.
+ */
+private val backtrackDelegate = extension<State, MutableSet<A>>()
+private var State.backtrack: MutableSet<A> by backtrackDelegate
 
 /** Sleep set of a state: actions that need not be explored. */
-private var State.sleep: MutableSet<A> by extension()
+private val sleepDelegate = extension<State, MutableSet<A>>()
+private var State.sleep: MutableSet<A> by sleepDelegate
 
 /** Set of explored actions from a state. */
-private var State.explored: MutableSet<A> by extension()
+private val exploredDelegate = extension<State, MutableSet<A>>()
+private var State.explored: MutableSet<A> by exploredDelegate
 
 /** Reexplored actions in a new CEGAR iteration (only relevant when lazy pruning is used). */
 private val reExploredDelegate = nullableExtension<State, Boolean?>()
@@ -80,6 +86,17 @@ open class XcfaDporLts(private val xcfa: XCFA) : LTS<S, A> {
     private val State.enabled: Collection<A>
       get() = simpleXcfaLts.getEnabledActionsFor(this as S)
 
+    /**
+     * Moves the DPOR bookkeeping of a state to the state replacing it in the same ARG node (see
+     * abstract stack covering).
+     */
+    internal fun replaceState(from: State, to: State) {
+      backtrackDelegate.move(from, to)
+      sleepDelegate.move(from, to)
+      exploredDelegate.move(from, to)
+      reExploredDelegate.move(from, to)
+    }
+
     /** Partial order of states considering sleep sets (unexplored behavior). */
     fun <E : ExprState> getPartialOrder(partialOrd: PartialOrd<E>) =
       PartialOrd<E> { s1, s2 ->
@@ -100,6 +117,7 @@ open class XcfaDporLts(private val xcfa: XCFA) : LTS<S, A> {
     val mutexLocks: MutableMap<String, Int> =
       mutableMapOf(), // for each locked mutex the index of the state on the stack where the mutex
     // has been locked
+    val previousOfProcess: Int = -1, // the index of the previous action of the same process
     private val _backtrack: MutableSet<A> = mutableSetOf(),
     private val _sleep: MutableSet<A> = mutableSetOf(),
   ) {
@@ -110,13 +128,24 @@ open class XcfaDporLts(private val xcfa: XCFA) : LTS<S, A> {
     val state: S
       get() = node.state // the current state of this stack item
 
-    var backtrack: MutableSet<A> by node.state::backtrack // backtrack set of the current state
+    // the sets are looked up through the node, as its state may be replaced while on the stack
+    var backtrack: MutableSet<A>
+      get() = node.state.backtrack // backtrack set of the current state
+      set(value) {
+        node.state.backtrack = value
+      }
 
-    var sleep: MutableSet<A> by node.state::sleep // sleep set of the current state
-      private set
+    var sleep: MutableSet<A>
+      get() = node.state.sleep // sleep set of the current state
+      private set(value) {
+        node.state.sleep = value
+      }
 
-    var explored: MutableSet<A> by node.state::explored // explored actions from the current state
-      private set
+    var explored: MutableSet<A>
+      get() = node.state.explored // explored actions from the current state
+      private set(value) {
+        node.state.explored = value
+      }
 
     init {
       backtrack = _backtrack
@@ -207,7 +236,7 @@ open class XcfaDporLts(private val xcfa: XCFA) : LTS<S, A> {
               lastButOne.backtrack = lastButOne.state.enabled.toMutableSet()
             }
           }
-          stack.pop()
+          pop()
           exploreLazily()
         }
         return stack.isEmpty()
@@ -227,6 +256,14 @@ open class XcfaDporLts(private val xcfa: XCFA) : LTS<S, A> {
         reExploredDelegate.clear()
       }
 
+      /**
+       * Pops the top item of the search stack. Its backtrack set is not needed any more (sleep and
+       * explored sets are still needed for covering and virtual exploration).
+       */
+      private fun pop() {
+        backtrackDelegate.remove(stack.pop().state)
+      }
+
       /** Pushes an item to the search stack. */
       private fun push(item: Node, virtualLimit: Int): Boolean {
         if (!item.inEdge.isPresent) { // the first item is simply put on the stack
@@ -243,40 +280,42 @@ open class XcfaDporLts(private val xcfa: XCFA) : LTS<S, A> {
           (last.lastDependents[process]?.toMutableMap() ?: mutableMapOf()).apply {
             this[process] = stack.size
           }
-        val relevantProcesses = (newProcessLastAction.keys - setOf(process)).toMutableSet()
-
-        // Race detection
-        for (index in stack.size - 1 downTo 1) {
-          if (relevantProcesses.isEmpty()) break
-          val node = stack[index].node
-
-          val action = node.inEdge.get().action
-          if (relevantProcesses.contains(action.pid)) {
-            if (
-              newLastDependents.containsKey(action.pid) &&
-                index <= checkNotNull(newLastDependents[action.pid])
-            ) {
-              // there is an action a' such that  action -> a' -> newaction  (->: happens-before)
-              relevantProcesses.remove(action.pid)
-            } else if (dependent(newaction, action)) {
-              // reversible race
-              val v = notdep(index, newaction)
-              val iv = initials(index - 1, v)
-              if (iv.isEmpty()) continue // due to mutex (e.g. atomic block)
-
-              if (index < virtualLimit) {
-                // only add new action to backtrack sets in the "real" part of the stack
-                val backtrack = stack[index - 1].backtrack
-                if ((iv intersect backtrack).isEmpty()) {
-                  backtrack.add(iv.random(random))
-                }
-              }
+        val relevantProcesses = newProcessLastAction.keys - setOf(process)
+
+        // Race detection: lastDependents are the vector clocks of the processes, so only the
+        // actions of the other processes are visited (through their previousOfProcess links), in
+        // decreasing stack order, until an action is found that happens-before newaction
+        val cursors = relevantProcesses.associateWith { newProcessLastAction[it]!! }.toMutableMap()
+        while (cursors.isNotEmpty()) {
+          val (pid, index) = cursors.entries.maxBy { it.value }
+          val action = stack[index].action
+          val previous = stack[index].previousOfProcess
+          if (newLastDependents.containsKey(pid) && index <= checkNotNull(newLastDependents[pid])) {
+            // there is an action a' such that  action -> a' -> newaction  (->: happens-before)
+            cursors.remove(pid)
+          } else if (dependent(newaction, action)) {
+            // reversible race
+            val v = notdep(index, newaction)
+            val iv = initials(index - 1, v)
+            if (iv.isEmpty()) { // due to mutex (e.g. atomic block)
+              if (previous < 1) cursors.remove(pid) else cursors[pid] = previous
+              continue
+            }
 
-              newLastDependents[action.pid] = index
-              newLastDependents =
-                max(newLastDependents, checkNotNull(stack[index].lastDependents[action.pid]))
-              relevantProcesses.remove(action.pid)
+            if (index < virtualLimit) {
+              // only add new action to backtrack sets in the "real" part of the stack
+              val backtrack = stack[index - 1].backtrack
+              if ((iv intersect backtrack).isEmpty()) {
+                backtrack.add(iv.random(random))
+              }
             }
+
+            newLastDependents[pid] = index
+            newLastDependents =
+              max(newLastDependents, checkNotNull(stack[index].lastDependents[pid]))
+            cursors.remove(pid)
+          } else {
+            if (previous < 1) cursors.remove(pid) else cursors[pid] = previous
           }
         }
 
@@ -303,8 +342,8 @@ open class XcfaDporLts(private val xcfa: XCFA) : LTS<S, A> {
         val enabledActions = item.state.enabled subtract newSleep
         val newBacktrack =
           when {
-            isVirtualExploration ->
-              item.state.backtrack // for virtual exploration through a covering relation
+            isVirtualExploration -> // for virtual exploration through a covering relation
+              backtrackDelegate.getOrNull(item.state) ?: mutableSetOf()
             item.explored.isNotEmpty() ->
               item.explored.toMutableSet().apply {
                 if (newSleep.containsAll(this) && enabledActions.isNotEmpty()) {
@@ -344,6 +383,7 @@ open class XcfaDporLts(private val xcfa: XCFA) : LTS<S, A> {
                 lockedMutexes.forEach { this[it] = stack.size }
                 releasedMutexes.forEach(::remove)
               },
+            previousOfProcess = last.processLastAction[process] ?: -1,
             _backtrack = newBacktrack,
             _sleep = newSleep,
           )
@@ -358,8 +398,7 @@ open class XcfaDporLts(private val xcfa: XCFA) : LTS<S, A> {
         virtualStack.push(node)
         while (virtualStack.isNotEmpty()) {
           val visiting = virtualStack.pop()
-          while (stack.size > startStackSize && stack.peek().node != visiting.parent.get()) stack
-            .pop()
+          while (stack.size > startStackSize && stack.peek().node != visiting.parent.get()) pop()
 
           if (node != visiting) {
             if (!push(visiting, startStackSize) || noInfluenceOnRealExploration(realStackSize))
@@ -375,7 +414,7 @@ open class XcfaDporLts(private val xcfa: XCFA) : LTS<S, A> {
             visiting.outEdges.forEach { virtualStack.push(it.target) }
           }
         }
-        while (stack.size > startStackSize) stack.pop()
+        while (stack.size > startStackSize) pop()
       }
 
       /** Explores the part of the ARG preserved from previous iterations (see lazy pruning). */
@@ -0,0 +1,64 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xcfa.analysis
+
+import hu.bme.mit.theta.xcfa.model.EmptyMetaData
+import hu.bme.mit.theta.xcfa.model.XcfaLocation
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Test
+
+class PersistentCollectionsTest {
+
+  @Test
+  fun testStackBehavesLikeList() {
+    val stack = PersistentStack.of(3, 2, 1)
+    val pushed = stack.push(4)
+
+    assertEquals(listOf(3, 2, 1), stack)
+    assertEquals(listOf(4, 3, 2, 1), pushed)
+    assertEquals(listOf(4, 3, 2, 1).hashCode(), pushed.hashCode())
+    assertEquals(4, pushed.peek())
+    assertSame(stack, pushed.pop())
+    assertEquals(PersistentStack.of(1), PersistentStack.empty<Int>().push(1))
+    assertThrows(NoSuchElementException::class.java) { PersistentStack.empty<Int>().peek() }
+  }
+
+  @Test
+  fun testArrayMapBehavesLikeMap() {
+    val map = PersistentArrayMap.of(2 to "b", 0 to "a")
+    val added = map.with(1, "c")
+
+    assertEquals(mapOf(0 to "a", 2 to "b"), map)
+    assertEquals(mapOf(0 to "a", 1 to "c", 2 to "b"), added)
+    assertEquals(mapOf(0 to "a", 1 to "c", 2 to "b").hashCode(), added.hashCode())
+    assertEquals(listOf(0, 1, 2), added.keys.toList())
+    assertEquals(map, added.without(1))
+    assertSame(map, map.with(0, "a"))
+    assertSame(map, map.without(5))
+  }
+
+  @Test
+  fun testProcessStatesAreInterned() {
+    val l1 = XcfaLocation("L1", metadata = EmptyMetaData)
+    val l2 = XcfaLocation("L2", metadata = EmptyMetaData)
+    val process = XcfaProcessState(PersistentStack.of(l1), PersistentStack.empty()).intern()
+
+    assertSame(process.withNewLoc(l2), process.withNewLoc(l2))
+    assertSame(process.withNewLoc(l2).withNewLoc(l1), process.withNewLoc(l1))
+  }
+}
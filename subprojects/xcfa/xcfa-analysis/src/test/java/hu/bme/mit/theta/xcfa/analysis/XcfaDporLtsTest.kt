@@ -0,0 +1,124 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xcfa.analysis
+
+import hu.bme.mit.theta.analysis.LTS
+import hu.bme.mit.theta.analysis.PartialOrd
+import hu.bme.mit.theta.analysis.algorithm.arg.ARG
+import hu.bme.mit.theta.analysis.algorithm.arg.ArgNodeComparators
+import hu.bme.mit.theta.analysis.algorithm.cegar.ArgAbstractor
+import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterions
+import hu.bme.mit.theta.analysis.expl.ExplOrd
+import hu.bme.mit.theta.analysis.expl.ExplPrec
+import hu.bme.mit.theta.analysis.expl.ExplState
+import hu.bme.mit.theta.analysis.expr.ExprState
+import hu.bme.mit.theta.analysis.ptr.PtrPrec
+import hu.bme.mit.theta.analysis.ptr.PtrState
+import hu.bme.mit.theta.analysis.ptr.getPtrPartialOrd
+import hu.bme.mit.theta.analysis.waitlist.PriorityWaitlist
+import hu.bme.mit.theta.analysis.waitlist.Waitlist
+import hu.bme.mit.theta.c2xcfa.getXcfaFromC
+import hu.bme.mit.theta.common.logging.NullLogger
+import hu.bme.mit.theta.core.decl.Decl
+import hu.bme.mit.theta.core.type.LitExpr
+import hu.bme.mit.theta.frontend.ParseContext
+import hu.bme.mit.theta.solver.z3legacy.Z3LegacySolverFactory
+import hu.bme.mit.theta.xcfa.ErrorDetection
+import hu.bme.mit.theta.xcfa.XcfaProperty
+import hu.bme.mit.theta.xcfa.analysis.por.XcfaDporLts
+import hu.bme.mit.theta.xcfa.model.XCFA
+import hu.bme.mit.theta.xcfa.utils.collectVars
+import kotlin.random.Random
+import org.junit.jupiter.api.Assertions
+import org.junit.jupiter.api.Test
+
+/**
+ * Compares the exploration of [XcfaDporLts] to the exploration of every interleaving on a small
+ * two-thread program, with a precision tracking every variable.
+ */
+class XcfaDporLtsTest {
+
+  private val property = XcfaProperty(ErrorDetection.ERROR_LOCATION)
+
+  private val xcfa: XCFA =
+    getXcfaFromC(
+        javaClass.getResourceAsStream("/04multithread.c")!!,
+        ParseContext(),
+        false,
+        property,
+        NullLogger.getInstance(),
+      )
+      .first
+
+  @Test
+  fun testDporPreservesTerminalStates() {
+    val fullArg =
+      explore(
+        getXcfaLts(),
+        PriorityWaitlist.create(ArgNodeComparators.bfs()),
+        getPartialOrder(ExplOrd.getInstance().getPtrPartialOrd()),
+      )
+
+    XcfaDporLts.random = Random(1001)
+    val dporLts = XcfaDporLts(xcfa)
+    val dporArg =
+      explore(
+        dporLts,
+        dporLts.waitlist,
+        XcfaDporLts.getPartialOrder(getPartialOrder(ExplOrd.getInstance().getPtrPartialOrd())),
+      )
+
+    val fullTerminalStates = terminalGlobalStates(fullArg)
+    Assertions.assertTrue(fullTerminalStates.size > 1)
+    Assertions.assertEquals(fullTerminalStates, terminalGlobalStates(dporArg))
+    Assertions.assertTrue(dporArg.nodes.count() <= fullArg.nodes.count())
+  }
+
+  private fun explore(
+    lts: LTS<XcfaState<out PtrState<out ExprState>>, XcfaAction>,
+    waitlist: Waitlist<*>,
+    partialOrd: PartialOrd<XcfaState<PtrState<ExplState>>>,
+  ): ARG<XcfaState<PtrState<ExplState>>, XcfaAction> {
+    val solver = Z3LegacySolverFactory.getInstance().createSolver()
+    val analysis = ExplXcfaAnalysis(xcfa, solver, 1, partialOrd, false)
+    val abstractor =
+      getXcfaAbstractor(
+        analysis,
+        waitlist,
+        StopCriterions.fullExploration<XcfaState<PtrState<ExplState>>, XcfaAction>(),
+        NullLogger.getInstance(),
+        lts,
+        getXcfaErrorDetector(property.verifiedProperty),
+      )
+        as ArgAbstractor<XcfaState<PtrState<ExplState>>, XcfaAction, XcfaPrec<PtrPrec<ExplPrec>>>
+    val arg = abstractor.createProof()
+    abstractor.check(arg, XcfaPrec(PtrPrec(ExplPrec.of(xcfa.collectVars()), emptySet())))
+    return arg
+  }
+
+  /** The global valuations of the states without any enabled action, in any interleaving. */
+  private fun terminalGlobalStates(
+    arg: ARG<XcfaState<PtrState<ExplState>>, XcfaAction>
+  ): Set<Map<Decl<*>, LitExpr<*>>> {
+    val globalVars = xcfa.globalVars.map { it.wrappedVar }.toSet()
+    return arg.nodes
+      .map { it.state }
+      .filter { getXcfaLts().getEnabledActionsFor(it).isEmpty() }
+      .map { state -> state.sGlobal.innerState.toMap().filterKeys { it in globalVars } }
+      .toList()
+      .toSet()
+  }
+}
@@ -66,8 +66,8 @@ class XcfaStateLtsTest {
           Pair(
             0,
             XcfaProcessState(
-              locs = LinkedList(listOf(edges[1].source)),
-              varLookup = LinkedList(listOf(xcfa.initProcedures[0].first.createLookup("T0", "P0"))),
+              locs = PersistentStack.of(edges[1].source),
+              varLookup = PersistentStack.of(xcfa.initProcedures[0].first.createLookup("T0", "P0")),
             ),
           )
         ),
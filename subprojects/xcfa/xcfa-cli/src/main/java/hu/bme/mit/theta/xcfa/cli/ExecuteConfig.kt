@@ -82,30 +82,22 @@ fun runConfig(
 
 private fun propagateInputOptions(config: XcfaConfig<*, *>, logger: Logger, uniqueLogger: Logger) {
   config.inputConfig.property = determineProperty(config, logger)
+  // every static is assigned on each run, as worker processes are reused for several configs
+  val property = config.inputConfig.property.inputProperty
   LbePass.defaultLevel = config.frontendConfig.lbeLevel
-  StaticCoiPass.enabled = config.frontendConfig.enableStaticCoi
+  StaticCoiPass.enabled =
+    config.frontendConfig.enableStaticCoi && property != ErrorDetection.DATA_RACE
   DataRaceToReachabilityPass.enabled = config.frontendConfig.enableDataRaceToReachability
 
-  if (config.backendConfig.backend == Backend.CEGAR) {
-    val cegarConfig = config.backendConfig.specConfig
-    cegarConfig as CegarConfig
-    val random = Random(cegarConfig.porSeed)
-    XcfaSporLts.random = random
-    XcfaDporLts.random = random
-  }
-  if (config.inputConfig.property.inputProperty != ErrorDetection.ERROR_LOCATION) {
-    RemoveDeadEnds.enabled = false
-  }
-  if (
-    config.inputConfig.property.inputProperty == ErrorDetection.MEMSAFETY ||
-      config.inputConfig.property.inputProperty == ErrorDetection.MEMCLEANUP
-  ) {
-    MemsafetyPass.enabled = true
-  }
-  if (config.inputConfig.property.inputProperty == ErrorDetection.DATA_RACE) {
-    StaticCoiPass.enabled = false
-    UnusedVarPass.keepGlobalVariableAccesses = true
-  }
+  val porSeed = (config.backendConfig.specConfig as? CegarConfig)?.porSeed
+  val random = if (porSeed != null) Random(porSeed) else Random.Default
+  XcfaSporLts.random = random
+  XcfaDporLts.random = random
+
+  RemoveDeadEnds.enabled = property == ErrorDetection.ERROR_LOCATION
+  MemsafetyPass.enabled =
+    property == ErrorDetection.MEMSAFETY || property == ErrorDetection.MEMCLEANUP
+  UnusedVarPass.keepGlobalVariableAccesses = property == ErrorDetection.DATA_RACE
   if (config.debugConfig.argToFile) {
     WebDebuggerLogger.enableWebDebuggerLogger()
     WebDebuggerLogger.getInstance().setTitle(config.inputConfig.input?.name)
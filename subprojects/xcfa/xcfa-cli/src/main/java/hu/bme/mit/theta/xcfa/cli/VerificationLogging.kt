@@ -362,7 +362,7 @@ private fun writeTraceAsCinPlantUml(
     val cSequenceFile = File(resultFolder, "trace-c.plantuml")
     writeSequenceTrace(cSequenceFile, concrTrace) { (state, act) ->
       val proc = state.processes[act.pid]
-      val loc = proc?.locs?.peek()
+      val loc = proc?.locs?.firstOrNull()
       (loc?.metadata as? CMetaData)?.sourceText?.split("\n") ?: listOf("<unknown>")
     }
   } catch (e: Exception) {
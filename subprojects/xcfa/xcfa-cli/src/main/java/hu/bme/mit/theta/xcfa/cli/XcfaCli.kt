@@ -25,6 +25,8 @@ import hu.bme.mit.theta.common.logging.ConsoleLogger
 import hu.bme.mit.theta.common.logging.Logger
 import hu.bme.mit.theta.common.logging.NullLogger
 import hu.bme.mit.theta.common.logging.UniqueWarningLogger
+import hu.bme.mit.theta.xcfa.cli.checkers.WorkerPool
+import hu.bme.mit.theta.xcfa.cli.params.ErrorCodeException
 import hu.bme.mit.theta.xcfa.cli.params.ExitCodes
 import hu.bme.mit.theta.xcfa.cli.params.SpecBackendConfig
 import hu.bme.mit.theta.xcfa.cli.params.SpecFrontendConfig
@@ -46,13 +48,24 @@ class XcfaCli(private val args: Array<String>) {
 
   @Parameter(names = ["--svcomp"]) private var svcomp = false
 
+  @Parameter(
+    names = ["--worker"],
+    description = "Run configuration files read from the standard input (used by --worker-pool)",
+    hidden = true,
+  )
+  private var worker = false
+
   @Parameter var remainingFlags: MutableList<String> = ArrayList()
 
-  private fun run() {
+  private fun run(throwDontExit: Boolean = false) {
     lateinit var config: XcfaConfig<*, *>
     /// Checking flags
     try {
       JCommander.newBuilder().addObject(this).programName(JAR_NAME).build().parse(*args)
+      if (worker) {
+        serveWorker()
+        return
+      }
       val configFile = this.configFile
       if (configFile != null) {
         config = getGson().fromJson(FileReader(configFile), XcfaConfig::class.java)
@@ -91,15 +104,15 @@ class XcfaCli(private val args: Array<String>) {
       println("Invalid parameters, details:")
       ex.printStackTrace()
       ex.usage()
-      exitProcess("--debug" in args, ex, ExitCodes.INVALID_PARAM.code)
+      exitProcess(throwDontExit || "--debug" in args, ex, ExitCodes.INVALID_PARAM.code)
     } catch (ex: JsonIOException) {
       println("There was a problem reading from ${configFile}:")
       ex.printStackTrace()
-      exitProcess("--debug" in args, ex, ExitCodes.INVALID_PARAM.code)
+      exitProcess(throwDontExit || "--debug" in args, ex, ExitCodes.INVALID_PARAM.code)
     } catch (ex: JsonSyntaxException) {
       println("There was a problem parsing ${configFile}:")
       ex.printStackTrace()
-      exitProcess("--debug" in args, ex, ExitCodes.INVALID_PARAM.code)
+      exitProcess(throwDontExit || "--debug" in args, ex, ExitCodes.INVALID_PARAM.code)
     }
 
     if (help) {
@@ -125,7 +138,38 @@ class XcfaCli(private val args: Array<String>) {
       }
     val uniqueLogger = UniqueWarningLogger(logger)
 
-    runConfig(config, logger, uniqueLogger, false)
+    WorkerPool.enabled = config.backendConfig.workerPool
+    runConfig(config, logger, uniqueLogger, throwDontExit)
+  }
+
+  /**
+   * Worker mode of [WorkerPool]: runs the configuration files read line by line from the standard
+   * input in this JVM, printing [WorkerPool.WORKER_DONE] and the exit code after each of them.
+   */
+  private fun serveWorker() {
+    val input = System.`in`.bufferedReader()
+    while (true) {
+      val configFile = input.readLine() ?: return
+      val code =
+        try {
+          XcfaCli(arrayOf("-c", configFile)).run(throwDontExit = true)
+          0
+        } catch (e: ErrorCodeException) {
+          e.code
+        } catch (e: OutOfMemoryError) {
+          ExitCodes.OUT_OF_MEMORY.code
+        } catch (e: Exception) {
+          e.printStackTrace()
+          ExitCodes.GENERIC_ERROR.code
+        }
+      System.err.flush()
+      println("${WorkerPool.WORKER_DONE} $code")
+      System.out.flush()
+      if (code == ExitCodes.OUT_OF_MEMORY.code) {
+        // the heap may be in an unusable state, let the pool start a fresh worker instead
+        kotlin.system.exitProcess(code)
+      }
+    }
   }
 
   companion object {
@@ -133,6 +133,7 @@ fun getAsgCegarChecker(
       logger,
       lts.second,
       asgCegarConfig.abstractorConfig.search,
+      asgCegarConfig.abstractorConfig.searchThreads,
       getPartialOrder(
         asgCegarConfig.abstractorConfig.domain.partialOrd(abstractionSolverInstance)
           as PartialOrd<PtrState<ExprState>>
@@ -67,6 +67,8 @@ fun getPortfolioChecker(
 
       "EMERGENT" -> emergent26(xcfa, mcm, parseContext, config, logger, uniqueLogger)
 
+      "PARALLEL" -> parallelPortfolio(xcfa, mcm, parseContext, config, logger, uniqueLogger)
+
       "CHC-COMP" ->
         if (!chcModels) chcCompPortfolio25(xcfa, mcm, parseContext, config, logger, uniqueLogger)
         else chcCompPortfolioModel25(xcfa, mcm, parseContext, config, logger, uniqueLogger)
@@ -99,47 +99,60 @@ class InProcessChecker<F : SpecFrontendConfig, B : SpecBackendConfig>(
       "-Xmx${if(config.backendConfig.memlimit == 0L) 1420L else config.backendConfig.memlimit/1024/1024 }m"
     logger.write(Logger.Level.INFO, "Starting process with $heapSize of heap\n")
 
-    val pb =
-      NuProcessBuilder(
-        listOf(
-            ProcessHandle.current().info().command().orElse("java"),
-            "-Xss120m",
-            heapSize,
-            heapSize,
-            "-cp",
-            File(XcfaCli::class.java.protectionDomain.codeSource.location.toURI()).absolutePath,
-            XcfaCli::class.qualifiedName,
-            "-c",
-            configJson.absolutePath,
-          )
-          .filterNotNull()
-      )
-    val processHandler = ProcessHandler()
-    pb.setProcessListener(processHandler)
-    val process: NuProcess = pb.start()
-    pb.environment().putAll(System.getenv())
+    val command =
+      listOf(
+          ProcessHandle.current().info().command().orElse("java"),
+          "-Xss120m",
+          heapSize,
+          heapSize,
+          "-cp",
+          File(XcfaCli::class.java.protectionDomain.codeSource.location.toURI()).absolutePath,
+          XcfaCli::class.qualifiedName,
+        )
+        .filterNotNull()
+    val task =
+      if (WorkerPool.enabled) {
+        WorkerPool.submit(command, configJson)
+      } else {
+        val pb = NuProcessBuilder(command + listOf("-c", configJson.absolutePath))
+        val processHandler = ProcessHandler()
+        pb.setProcessListener(processHandler)
+        val process: NuProcess = pb.start()
+        pb.environment().putAll(System.getenv())
+        ProcessTask(process, processHandler)
+      }
 
-    val retCode = process.waitFor(config.backendConfig.timeoutMs, TimeUnit.MILLISECONDS)
+    val retCode =
+      try {
+        task.waitFor(config.backendConfig.timeoutMs, TimeUnit.MILLISECONDS)
+      } catch (e: InterruptedException) {
+        // cancelled (e.g., by a parallel portfolio): do not leave the worker running
+        logger.benchmark("Config was cancelled, killing worker process")
+        task.destroy()
+        tempDir.toFile().deleteRecursively()
+        throw e
+      }
     val booleanSafetyResult =
       if (retCode == Int.MIN_VALUE) {
-        if (processHandler.safetyResult == null) {
-          process.destroy(true)
+        if (task.safetyResult == null) {
+          task.destroy()
           throw ErrorCodeException(ExitCodes.TIMEOUT.code)
         } else {
           logger.benchmark(
             "Config timed out but started writing result, trying to wait an additional 10%..."
           )
-          val retCode = process.waitFor(config.backendConfig.timeoutMs / 10, TimeUnit.MILLISECONDS)
+          val retCode = task.waitFor(config.backendConfig.timeoutMs / 10, TimeUnit.MILLISECONDS)
           if (retCode != 0) {
+            if (retCode == Int.MIN_VALUE) task.destroy()
             throw ErrorCodeException(retCode)
           } else {
-            processHandler.safetyResult
+            task.safetyResult
           }
         }
       } else if (retCode != 0) {
         throw ErrorCodeException(retCode)
       } else {
-        processHandler.safetyResult
+        task.safetyResult
       }
 
     tempDir.toFile().listFiles()?.forEach {
@@ -150,6 +163,17 @@ class InProcessChecker<F : SpecFrontendConfig, B : SpecBackendConfig>(
     return booleanSafetyResult as SafetyResult<EmptyProof, EmptyCex>
   }
 
+  private class ProcessTask(private val process: NuProcess, private val handler: ProcessHandler) :
+    WorkerTask {
+
+    override val safetyResult: SafetyResult<*, *>?
+      get() = handler.safetyResult
+
+    override fun waitFor(timeout: Long, unit: TimeUnit): Int = process.waitFor(timeout, unit)
+
+    override fun destroy() = process.destroy(true)
+  }
+
   private class ProcessHandler : NuAbstractProcessHandler() {
 
     private val stdout = LinkedList<String>()
@@ -166,15 +190,7 @@ class InProcessChecker<F : SpecFrontendConfig, B : SpecBackendConfig>(
         val str = bytes.decodeToString()
 
         stdoutRemainder += str
-        if (stdoutRemainder.contains("SafetyResult Safe")) {
-          safetyResult = SafetyResult.safe<EmptyProof, EmptyCex>(EmptyProof.getInstance())
-        }
-        if (stdoutRemainder.contains("SafetyResult Unsafe")) {
-          safetyResult = SafetyResult.unsafe(EmptyCex.getInstance(), EmptyProof.getInstance())
-        }
-        if (stdoutRemainder.contains("SafetyResult Unknown")) {
-          safetyResult = SafetyResult.unknown<EmptyProof, EmptyCex>()
-        }
+        parseSafetyResult(stdoutRemainder)?.let { safetyResult = it }
 
         val newLines = stdoutRemainder.split("\n") // if ends with \n, last element will be ""
         newLines.subList(0, newLines.size - 1).forEach {
@@ -0,0 +1,231 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xcfa.cli.checkers
+
+import com.zaxxer.nuprocess.NuAbstractProcessHandler
+import com.zaxxer.nuprocess.NuProcess
+import com.zaxxer.nuprocess.NuProcessBuilder
+import hu.bme.mit.theta.analysis.EmptyCex
+import hu.bme.mit.theta.analysis.algorithm.EmptyProof
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult
+import hu.bme.mit.theta.xcfa.cli.params.ExitCodes
+import java.io.File
+import java.lang.System.err
+import java.nio.ByteBuffer
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+
+/** A configuration running in a separate worker process (see [InProcessChecker]). */
+interface WorkerTask {
+
+  /** The result printed by the worker so far, or null if it has not printed one yet. */
+  val safetyResult: SafetyResult<*, *>?
+
+  /**
+   * Waits for the configuration to finish (0 waits indefinitely) and returns its exit code, or
+   * [Int.MIN_VALUE] on timeout.
+   */
+  fun waitFor(timeout: Long, unit: TimeUnit): Int
+
+  /** Kills the worker process running the configuration. */
+  fun destroy()
+}
+
+/**
+ * Pool of warm worker JVMs for [InProcessChecker], so that each configuration does not have to pay
+ * for JVM startup, class loading, JIT warm-up and native library loading again.
+ *
+ * A worker is an `XcfaCli --worker` process that reads configuration file paths from its standard
+ * input, runs them one after the other, and prints [WORKER_DONE] followed by the exit code after
+ * each of them. Workers are only reused with the same command line (i.e., with the same heap size).
+ * Workers whose configuration times out or gets cancelled are killed, and workers that run out of
+ * memory exit on their own, so a fresh worker is started for the next configuration.
+ */
+object WorkerPool {
+
+  const val WORKER_DONE = "THETA-WORKER-DONE"
+
+  /** Whether [InProcessChecker] should use the pool instead of starting a fresh process. */
+  @Volatile var enabled = false
+
+  /** Maximal number of idle workers kept alive. */
+  @Volatile var maxIdleWorkers = Runtime.getRuntime().availableProcessors()
+
+  private val idleWorkers = LinkedHashMap<List<String>, ArrayDeque<Worker>>()
+  private var shutdownHookAdded = false
+
+  /**
+   * Runs the configuration in [configFile] on an idle worker started with [command], or on a new
+   * worker if there is no idle one. Idle workers that exited in the meantime are skipped.
+   */
+  fun submit(command: List<String>, configFile: File): WorkerTask {
+    while (true) {
+      val worker = acquireIdle(command) ?: break
+      worker.submit(configFile)?.let { return it }
+    }
+    val worker = startWorker(command)
+    return worker.submit(configFile)
+      ?: Task(worker).also { it.finish(ExitCodes.GENERIC_ERROR.code) }
+  }
+
+  @Synchronized
+  private fun acquireIdle(command: List<String>): Worker? {
+    val queue = idleWorkers[command]
+    while (queue != null && queue.isNotEmpty()) {
+      val worker = queue.removeFirst()
+      if (worker.isAlive) {
+        return worker
+      }
+    }
+    return null
+  }
+
+  @Synchronized
+  private fun startWorker(command: List<String>): Worker {
+    if (!shutdownHookAdded) {
+      Runtime.getRuntime().addShutdownHook(Thread { shutdown() })
+      shutdownHookAdded = true
+    }
+    return Worker(command)
+  }
+
+  @Synchronized
+  private fun release(worker: Worker) {
+    if (worker.isAlive && idleWorkers.values.sumOf { it.size } < maxIdleWorkers) {
+      idleWorkers.getOrPut(worker.command) { ArrayDeque() }.addLast(worker)
+    } else {
+      worker.kill()
+    }
+  }
+
+  /** Kills all idle workers. */
+  @Synchronized
+  fun shutdown() {
+    idleWorkers.values.forEach { queue -> queue.forEach { it.kill() } }
+    idleWorkers.clear()
+  }
+
+  private class Task(private val worker: Worker) : WorkerTask {
+
+    private val exitCode = CompletableFuture<Int>()
+
+    @Volatile override var safetyResult: SafetyResult<*, *>? = null
+
+    fun finish(code: Int) {
+      exitCode.complete(code)
+    }
+
+    override fun waitFor(timeout: Long, unit: TimeUnit): Int =
+      try {
+        if (timeout == 0L) exitCode.get() else exitCode.get(timeout, unit)
+      } catch (e: TimeoutException) {
+        Int.MIN_VALUE
+      }
+
+    override fun destroy() = worker.kill()
+  }
+
+  private class Worker(val command: List<String>) : NuAbstractProcessHandler() {
+
+    private val process: NuProcess
+    @Volatile private var task: Task? = null
+    @Volatile private var exited = false
+    private var stdoutRemainder = ""
+    private var stderrRemainder = ""
+
+    init {
+      val pb = NuProcessBuilder(command + "--worker")
+      pb.setProcessListener(this)
+      process = pb.start()
+    }
+
+    val isAlive: Boolean
+      get() = !exited && process.isRunning
+
+    /** Returns null if the worker exited before the configuration could be handed over. */
+    fun submit(configFile: File): Task? {
+      val task = Task(this)
+      this.task = task
+      if (exited) {
+        this.task = null
+        return null
+      }
+      process.writeStdin(ByteBuffer.wrap("${configFile.absolutePath}\n".toByteArray()))
+      return task
+    }
+
+    fun kill() {
+      process.destroy(true)
+    }
+
+    override fun onStdout(buffer: ByteBuffer, closed: Boolean) {
+      if (!closed) {
+        val bytes = ByteArray(buffer.remaining())
+        buffer[bytes]
+        stdoutRemainder += bytes.decodeToString()
+
+        val newLines = stdoutRemainder.split("\n") // if ends with \n, last element will be ""
+        newLines.subList(0, newLines.size - 1).forEach(::handleLine)
+        stdoutRemainder = newLines[newLines.size - 1]
+      }
+    }
+
+    private fun handleLine(line: String) {
+      val task = task ?: return
+      if (line.startsWith(WORKER_DONE)) {
+        val code =
+          line.removePrefix(WORKER_DONE).trim().toIntOrNull() ?: ExitCodes.GENERIC_ERROR.code
+        this.task = null
+        task.finish(code)
+        if (code != ExitCodes.OUT_OF_MEMORY.code) {
+          release(this)
+        }
+      } else {
+        parseSafetyResult(line)?.let { task.safetyResult = it }
+        println("subprocess: $line")
+      }
+    }
+
+    override fun onStderr(buffer: ByteBuffer, closed: Boolean) {
+      if (!closed) {
+        val bytes = ByteArray(buffer.remaining())
+        buffer[bytes]
+        stderrRemainder += bytes.decodeToString()
+
+        val newLines = stderrRemainder.split("\n") // if ends with \n, last element will be ""
+        newLines.subList(0, newLines.size - 1).forEach { err.println("subprocess: $it") }
+        stderrRemainder = newLines[newLines.size - 1]
+      }
+    }
+
+    override fun onExit(statusCode: Int) {
+      exited = true
+      task?.finish(if (statusCode == 0) ExitCodes.GENERIC_ERROR.code else statusCode)
+      task = null
+    }
+  }
+}
+
+internal fun parseSafetyResult(output: String): SafetyResult<*, *>? =
+  when {
+    output.contains("SafetyResult Unknown") -> SafetyResult.unknown<EmptyProof, EmptyCex>()
+    output.contains("SafetyResult Unsafe") ->
+      SafetyResult.unsafe(EmptyCex.getInstance(), EmptyProof.getInstance())
+    output.contains("SafetyResult Safe") ->
+      SafetyResult.safe<EmptyProof, EmptyCex>(EmptyProof.getInstance())
+    else -> null
+  }
@@ -130,6 +130,7 @@ enum class Domain(
       logger: Logger,
       lts: LTS<XcfaState<out PtrState<out ExprState>>, XcfaAction>,
       search: LoopCheckerSearchStrategy,
+      searchThreads: Int,
       partialOrder: PartialOrd<out XcfaState<out PtrState<out ExprState>>>,
       statePredicate: Predicate<XcfaState<PtrState<ExprState>>?>,
       transitionPredicate: Predicate<XcfaAction?>?,
@@ -169,6 +170,7 @@ enum class Domain(
       logger,
       lts,
       search,
+      searchThreads,
       partialOrd,
       statePredicate,
       transitionPredicate ->
@@ -185,6 +187,7 @@ enum class Domain(
           as AcceptancePredicate<XcfaState<PtrState<ExplState>>, XcfaAction>,
         search,
         logger,
+        searchThreads,
       )
     },
     abstractor = { a, b, c, d, e, f, g, h, i, j, k ->
@@ -215,6 +218,7 @@ enum class Domain(
       logger,
       lts,
       search,
+      searchThreads,
       partialOrd,
       statePredicate,
       transitionPredicate ->
@@ -231,6 +235,7 @@ enum class Domain(
           as AcceptancePredicate<XcfaState<PtrState<PredState>>, XcfaAction>,
         search,
         logger,
+        searchThreads,
       )
     },
     abstractor = { a, b, c, d, e, f, g, h, i, j, k ->
@@ -268,6 +273,7 @@ enum class Domain(
       logger,
       lts,
       search,
+      searchThreads,
       partialOrd,
       statePredicate,
       transitionPredicate ->
@@ -284,6 +290,7 @@ enum class Domain(
           as AcceptancePredicate<XcfaState<PtrState<PredState>>, XcfaAction>,
         search,
         logger,
+        searchThreads,
       )
     },
     abstractor = { a, b, c, d, e, f, g, h, i, j, k ->
@@ -321,6 +328,7 @@ enum class Domain(
       logger,
       lts,
       search,
+      searchThreads,
       partialOrd,
       statePredicate,
       transitionPredicate ->
@@ -337,6 +345,7 @@ enum class Domain(
           as AcceptancePredicate<XcfaState<PtrState<PredState>>, XcfaAction>,
         search,
         logger,
+        searchThreads,
       )
     },
     abstractor = { a, b, c, d, e, f, g, h, i, j, k ->
@@ -374,6 +383,7 @@ enum class Domain(
       logger,
       lts,
       search,
+      searchThreads,
       partialOrd,
       statePredicate,
       transitionPredicate ->
@@ -390,6 +400,7 @@ enum class Domain(
           as AcceptancePredicate<XcfaState<PtrState<Prod2State<ExplState, PredState>>>, XcfaAction>,
         search,
         logger,
+        searchThreads,
       )
     },
     abstractor = { a, b, c, d, e, f, g, h, i, j, k ->
@@ -435,6 +446,7 @@ enum class Domain(
       logger,
       lts,
       search,
+      searchThreads,
       partialOrd,
       statePredicate,
       transitionPredicate ->
@@ -451,6 +463,7 @@ enum class Domain(
           as AcceptancePredicate<XcfaState<PtrState<Prod2State<ExplState, PredState>>>, XcfaAction>,
         search,
         logger,
+        searchThreads,
       )
     },
     abstractor = { a, b, c, d, e, f, g, h, i, j, k ->
@@ -211,6 +211,11 @@ data class BackendConfig<T : SpecBackendConfig>(
     description = "Maximum memory to use when --in-process (in bytes, 0 for default)",
   )
   var memlimit: Long = 0L,
+  @Parameter(
+    names = ["--worker-pool"],
+    description = "Reuse warm worker processes when running --in-process instead of starting new ones",
+  )
+  var workerPool: Boolean = false,
   override var specConfig: T? = null,
 ) : SpecializableConfig<T> {
 
@@ -373,6 +378,12 @@ data class AsgCegarAbstractorConfig(
   var maxEnum: Int = 1,
   @Parameter(names = ["--search"], description = "Search strategy")
   var search: LoopCheckerSearchStrategy = LoopCheckerSearchStrategy.NDFS,
+  @Parameter(
+    names = ["--search-threads"],
+    description =
+      "Number of threads of the CNDFS search strategy (0: number of available processors)",
+  )
+  var searchThreads: Int = 0,
 ) : Config
 
 data class AsgCegarRefinerConfig(
@@ -449,6 +460,11 @@ data class BMCConfig(
   @Parameter(names = ["--no-bmc"], description = "Disable SAT check") var disable: Boolean = false,
   @Parameter(names = ["--non-lf-path"], description = "Disable loop-freeness check")
   var nonLfPath: Boolean = false,
+  @Parameter(
+    names = ["--lazy-lf-path"],
+    description = "Add loop-freeness constraints lazily, only for states revisited by a model",
+  )
+  var lazyLfPath: Boolean = false,
   @Parameter(names = ["--bmc-solver"], description = "BMC solver name")
   var bmcSolver: String = "Z3",
   @Parameter(
@@ -530,7 +546,13 @@ data class OcConfig(
 
 data class PortfolioConfig(
   @Parameter(names = ["--portfolio"], description = "Portfolio to run")
-  var portfolio: String = "COMPLEX"
+  var portfolio: String = "COMPLEX",
+  @Parameter(
+    names = ["--portfolio-threads"],
+    description =
+      "Number of configurations the PARALLEL portfolio runs at the same time (0: number of available processors)",
+  )
+  var portfolioThreads: Int = 0,
 ) : SpecBackendConfig
 
 data class MddConfig(
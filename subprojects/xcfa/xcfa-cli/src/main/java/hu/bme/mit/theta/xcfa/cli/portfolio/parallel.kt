@@ -0,0 +1,169 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xcfa.cli.portfolio
+
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult
+import hu.bme.mit.theta.common.logging.Logger
+import hu.bme.mit.theta.frontend.ParseContext
+import hu.bme.mit.theta.graphsolver.patterns.constraints.MCM
+import hu.bme.mit.theta.xcfa.analysis.oc.OcDecisionProcedureType
+import hu.bme.mit.theta.xcfa.cli.params.*
+import hu.bme.mit.theta.xcfa.cli.params.Backend.OC
+import hu.bme.mit.theta.xcfa.cli.params.Domain.EXPL
+import hu.bme.mit.theta.xcfa.cli.params.Domain.PRED_CART
+import hu.bme.mit.theta.xcfa.cli.params.Refinement.BW_BIN_ITP
+import hu.bme.mit.theta.xcfa.cli.params.Refinement.SEQ_ITP
+import hu.bme.mit.theta.xcfa.cli.runConfig
+import hu.bme.mit.theta.xcfa.model.XCFA
+import hu.bme.mit.theta.xcfa.passes.LbePass.LbeLevel.NO_LBE
+import java.io.File
+import java.util.concurrent.atomic.AtomicBoolean
+import kotlin.io.path.createTempDirectory
+
+/**
+ * Races CEGAR, BMC, k-induction, IMC, IC3, MDD (and OC for multithreaded programs) configurations
+ * against each other in worker processes. At most `--portfolio-threads` configurations run at the
+ * same time, and the memory limit of the portfolio is split evenly among them. The racing phase
+ * gets half of the portfolio timeout (or of [DEFAULT_PORTFOLIO_TIMEOUT_MS] if none is set), and
+ * every configuration is started with the time remaining from it. Each configuration writes its
+ * artifacts to a folder of its own, and only the first conclusive one is copied to the output
+ * directory. If none of them succeeds, the sequential COMPLEX portfolio is used as a fallback.
+ */
+fun parallelPortfolio(
+  xcfa: XCFA,
+  mcm: MCM,
+  parseContext: ParseContext,
+  portfolioConfig: XcfaConfig<*, *>,
+  logger: Logger,
+  uniqueLogger: Logger,
+): STM {
+  val resultFolder = portfolioConfig.outputConfig.resultFolder
+  resultFolder.mkdirs()
+  val raceFolder = createTempDirectory(resultFolder.toPath(), "parallel").toFile()
+  Runtime.getRuntime().addShutdownHook(Thread { raceFolder.deleteRecursively() })
+
+  val portfolioTimeoutMs =
+    portfolioConfig.backendConfig.timeoutMs.takeIf { it > 0 } ?: DEFAULT_PORTFOLIO_TIMEOUT_MS
+  val deadline = System.currentTimeMillis() + portfolioTimeoutMs / 2
+  val winner = AtomicBoolean(false)
+  val checker = { config: XcfaConfig<*, *> ->
+    val remainingMs = maxOf(deadline - System.currentTimeMillis(), 1L)
+    val result = runConfig(config.withTimeout(remainingMs), logger, uniqueLogger, true)
+    val conclusive = (result as? SafetyResult<*, *>)?.let { it.isSafe || it.isUnsafe } ?: true
+    if (conclusive && winner.compareAndSet(false, true)) {
+      config.outputConfig.resultFolder.listFiles()?.forEach {
+        it.copyRecursively(resultFolder.resolve(it.name), overwrite = true)
+      }
+    }
+    result
+  }
+
+  val baseCegarConfig = baseCegarConfig(xcfa, mcm, parseContext, portfolioConfig, false)
+  val baseBoundedConfig = baseBoundedConfig(xcfa, mcm, parseContext, portfolioConfig, false)
+  val baseMddConfig = baseMddConfig(xcfa, mcm, parseContext, portfolioConfig, false)
+  val baseIc3Config = baseIc3Config(xcfa, mcm, parseContext, portfolioConfig, false)
+
+  fun cegar(domain: Domain, refinement: Refinement): Pair<String, XcfaConfig<*, *>> =
+    "${domain.name}-${refinement.name}-parallel" to
+      baseCegarConfig.adaptConfig(
+        inProcess = true,
+        domain = domain,
+        refinement = refinement,
+        exprSplitter = ExprSplitterOptions.WHOLE,
+      )
+
+  fun bounded(name: String, bmc: Boolean, ind: Boolean, itp: Boolean) =
+    "$name-parallel" to
+      baseBoundedConfig.adaptConfig(
+        inProcess = true,
+        bmcEnabled = bmc,
+        indEnabled = ind,
+        itpEnabled = itp,
+      )
+
+  val configs =
+    mutableListOf<Pair<String, XcfaConfig<*, *>>>(
+      cegar(EXPL, SEQ_ITP),
+      cegar(PRED_CART, BW_BIN_ITP),
+      bounded("BMC", bmc = true, ind = false, itp = false),
+      bounded("KIND", bmc = true, ind = true, itp = false),
+      bounded("IMC", bmc = false, ind = false, itp = true),
+      "IC3-parallel" to
+        baseIc3Config.copy(
+          backendConfig =
+            baseIc3Config.backendConfig.copy(
+              specConfig = baseIc3Config.backendConfig.specConfig!!.copy(reversed = true)
+            )
+        ),
+      "MDD-parallel" to baseMddConfig,
+    )
+  if (parseContext.multiThreading) {
+    configs.add(
+      "OC-parallel" to
+        XcfaConfig(
+          inputConfig = baseCegarConfig.inputConfig,
+          frontendConfig = baseCegarConfig.frontendConfig.copy(lbeLevel = NO_LBE),
+          backendConfig =
+            BackendConfig(
+              backend = OC,
+              solverHome = portfolioConfig.backendConfig.solverHome,
+              specConfig = OcConfig(decisionProcedure = OcDecisionProcedureType.BASIC),
+            ),
+          outputConfig = baseCegarConfig.outputConfig,
+          debugConfig = baseCegarConfig.debugConfig,
+        )
+    )
+  }
+
+  val configuredThreads =
+    (portfolioConfig.backendConfig.specConfig as? PortfolioConfig)?.portfolioThreads ?: 0
+  val threads =
+    if (configuredThreads > 0) configuredThreads else Runtime.getRuntime().availableProcessors()
+  val memlimit = portfolioConfig.backendConfig.memlimit / minOf(threads, configs.size)
+
+  val nodes =
+    configs.map { (name, config) ->
+      ConfigNode(name, config.inWorker(memlimit, raceFolder.resolve(name)), checker)
+    }
+
+  val parallel = ParallelNode("Parallel", nodes, threads)
+  val sequential =
+    HierarchicalNode(
+      "Sequential",
+      complex26(xcfa, mcm, parseContext, portfolioConfig, logger, uniqueLogger),
+    )
+
+  logger.benchmark("Using parallel portfolio with $threads threads for ${nodes.size} configs\n")
+
+  return STM(parallel, setOf(Edge(parallel, sequential, anyError)))
+}
+
+private fun <F : SpecFrontendConfig, B : SpecBackendConfig> XcfaConfig<F, B>.inWorker(
+  memlimit: Long,
+  resultFolder: File,
+): XcfaConfig<F, B> =
+  copy(
+    backendConfig =
+      backendConfig.copy(inProcess = true, parseInProcess = true, memlimit = memlimit),
+    outputConfig = outputConfig.copy(resultFolder = resultFolder),
+  )
+
+private fun <F : SpecFrontendConfig, B : SpecBackendConfig> XcfaConfig<F, B>.withTimeout(
+  timeoutMs: Long
+): XcfaConfig<F, B> = copy(backendConfig = backendConfig.copy(timeoutMs = timeoutMs))
+
+/** Timeout of the parallel portfolio if none is given, the usual competition time limit. */
+private const val DEFAULT_PORTFOLIO_TIMEOUT_MS = 900_000L
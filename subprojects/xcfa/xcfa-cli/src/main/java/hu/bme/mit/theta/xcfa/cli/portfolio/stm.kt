@@ -16,10 +16,16 @@
 package hu.bme.mit.theta.xcfa.cli.portfolio
 
 import hu.bme.mit.theta.analysis.algorithm.Result
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult
 import hu.bme.mit.theta.common.logging.Logger
 import hu.bme.mit.theta.xcfa.cli.params.Backend
 import hu.bme.mit.theta.xcfa.cli.params.BoundedConfig
 import hu.bme.mit.theta.xcfa.cli.params.XcfaConfig
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorCompletionService
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+import java.util.concurrent.TimeUnit
 
 abstract class Node(val name: String) {
 
@@ -42,6 +48,68 @@ ${innerSTM.visualize()}
       .trimIndent()
 }
 
+/**
+ * Races the inner nodes against each other, running at most [parallelism] of them at the same time.
+ * The first node returning a conclusive (safe or unsafe) result wins, and all other nodes are
+ * cancelled. Nodes should run their configurations in a separate process (see `inProcess`), so
+ * that cancelling them kills the worker process instead of leaving it running. If no node returns
+ * a conclusive result, the first inconclusive result is returned; if every node fails, the first
+ * exception is rethrown so that the outgoing edges of this node can handle it.
+ */
+class ParallelNode(name: String, val innerNodes: List<Node>, val parallelism: Int) : Node(name) {
+
+  init {
+    check(innerNodes.isNotEmpty()) { "ParallelNode needs at least one inner node" }
+    check(parallelism > 0) { "Parallelism must be positive (was $parallelism)" }
+  }
+
+  override fun execute(logger: Logger): Pair<Any, Any> {
+    val executor = Executors.newFixedThreadPool(minOf(parallelism, innerNodes.size))
+    val completionService = ExecutorCompletionService<Pair<Any, Any>>(executor)
+    val futures: List<Future<Pair<Any, Any>>> =
+      innerNodes.map { node -> completionService.submit { node.execute(logger) } }
+    var inconclusive: Pair<Any, Any>? = null
+    var firstException: Throwable? = null
+    try {
+      repeat(futures.size) {
+        val future = completionService.take()
+        try {
+          val result = future.get()
+          if (result.second.isConclusive()) {
+            return result
+          }
+          logger.benchmark("Inconclusive result in parallel node $name: ${result.second}")
+          inconclusive = inconclusive ?: result
+        } catch (e: ExecutionException) {
+          logger.benchmark("Caught exception in parallel node $name: ${e.cause}")
+          firstException = firstException ?: e.cause ?: e
+        }
+      }
+    } finally {
+      futures.forEach { it.cancel(true) }
+      executor.shutdownNow()
+      if (!executor.awaitTermination(CANCEL_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        logger.benchmark("Some configurations of parallel node $name did not stop in time")
+      }
+    }
+    return inconclusive ?: throw firstException!!
+  }
+
+  private fun Any.isConclusive(): Boolean =
+    (this as? SafetyResult<*, *>)?.let { it.isSafe || it.isUnsafe } ?: true
+
+  override fun visualize(): String =
+    """state $name {
+${innerNodes.joinToString("\n--\n") { it.visualize() }}
+}"""
+      .trimIndent()
+
+  companion object {
+
+    private const val CANCEL_TIMEOUT_SECONDS = 10L
+  }
+}
+
 fun XcfaConfig<*, *>.visualize(): String =
   if (backendConfig.backend == Backend.BOUNDED) {
     val specConfig = backendConfig.specConfig as BoundedConfig
@@ -25,6 +25,7 @@ object CachingFileSerializer {
    * key: unique id for serialization groups obj: object to serialize func: generator function if a
    * cache miss occurs
    */
+  @Synchronized
   fun serialize(key: String, obj: Any, func: (Any) -> String): File =
     if (cache.containsKey(Pair(key, obj))) {
       cache[Pair(key, obj)]!!
@@ -777,7 +777,8 @@ private fun Proof.toContent(inputFile: File, parseContext: ParseContext): List<C
         .toList()
         .mapNotNull {
           it as ArgNode<XcfaState<*>, XcfaAction>
-          val loc = it.state.processes.values.firstOrNull()?.locs?.peek() ?: return@mapNotNull null
+          val loc =
+            it.state.processes.values.firstOrNull()?.locs?.firstOrNull() ?: return@mapNotNull null
           val locLoc =
             Location(
               fileName = inputFile.name,
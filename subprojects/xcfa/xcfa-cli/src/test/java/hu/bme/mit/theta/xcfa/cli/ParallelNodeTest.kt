@@ -0,0 +1,84 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xcfa.cli
+
+import hu.bme.mit.theta.analysis.EmptyCex
+import hu.bme.mit.theta.analysis.algorithm.EmptyProof
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult
+import hu.bme.mit.theta.common.logging.Logger
+import hu.bme.mit.theta.common.logging.NullLogger
+import hu.bme.mit.theta.xcfa.cli.portfolio.Node
+import hu.bme.mit.theta.xcfa.cli.portfolio.ParallelNode
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import org.junit.jupiter.api.Assertions
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+
+class ParallelNodeTest {
+
+  private class TestNode(name: String, private val action: () -> Any) : Node(name) {
+
+    override fun execute(logger: Logger): Pair<Any, Any> = Pair(name, action())
+
+    override fun visualize(): String = "state $name"
+  }
+
+  private val safe = SafetyResult.safe<EmptyProof, EmptyCex>(EmptyProof.getInstance())
+  private val unknown = SafetyResult.unknown<EmptyProof, EmptyCex>()
+
+  @Test
+  fun testFirstConclusiveWinsAndCancelsOthers() {
+    val cancelled = CountDownLatch(1)
+    val slow =
+      TestNode("slow") {
+        try {
+          Thread.sleep(60_000)
+        } catch (e: InterruptedException) {
+          cancelled.countDown()
+          throw e
+        }
+        unknown
+      }
+    val fast = TestNode("fast") { safe }
+
+    val result = ParallelNode("race", listOf(slow, fast), 2).execute(NullLogger.getInstance())
+
+    Assertions.assertEquals("fast", result.first)
+    Assertions.assertSame(safe, result.second)
+    Assertions.assertTrue(cancelled.await(10, TimeUnit.SECONDS))
+  }
+
+  @Test
+  fun testInconclusiveResultIsReturnedWhenNoneSucceeds() {
+    val failing = TestNode("failing") { throw IllegalStateException() }
+    val inconclusive = TestNode("inconclusive") { unknown }
+
+    val result =
+      ParallelNode("race", listOf(failing, inconclusive), 1).execute(NullLogger.getInstance())
+
+    Assertions.assertEquals("inconclusive", result.first)
+  }
+
+  @Test
+  fun testExceptionIsRethrownWhenAllFail() {
+    val failing = TestNode("failing") { throw IllegalStateException() }
+
+    assertThrows<IllegalStateException> {
+      ParallelNode("race", listOf(failing, failing), 2).execute(NullLogger.getInstance())
+    }
+  }
+}
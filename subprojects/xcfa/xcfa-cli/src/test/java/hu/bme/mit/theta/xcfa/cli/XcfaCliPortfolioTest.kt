@@ -68,6 +68,17 @@ class XcfaCliPortfolioTest {
           uniqueLogger: Logger ->
           hornPortfolio(xcfa, mcm, parseContext, portfolioConfig, logger, uniqueLogger)
         }
+
+      val parallelPortfolio =
+        {
+          xcfa: XCFA,
+          mcm: MCM,
+          parseContext: ParseContext,
+          portfolioConfig: XcfaConfig<*, *>,
+          logger: Logger,
+          uniqueLogger: Logger ->
+          parallelPortfolio(xcfa, mcm, parseContext, portfolioConfig, logger, uniqueLogger)
+        }
     }
 
     private object Programs {
@@ -146,6 +157,8 @@ class XcfaCliPortfolioTest {
         arrayOf(Portfolios.hornPortfolio, Programs.arr, defaultCheck),
         arrayOf(Portfolios.hornPortfolio, Programs.bitwise, defaultCheck),
         arrayOf(Portfolios.hornPortfolio, Programs.nonlin, defaultCheck),
+        arrayOf(Portfolios.parallelPortfolio, Programs.basic, defaultCheck),
+        arrayOf(Portfolios.parallelPortfolio, Programs.multithread, defaultCheck),
       )
   }
 
@@ -36,6 +36,8 @@ class XstsCliIC3 :
   private val notBOpt: Boolean by option().boolean().default(true)
   private val propagateOpt: Boolean by option().boolean().default(true)
   private val filterOpt: Boolean by option().boolean().default(true)
+  private val solverPerFrameOpt: Boolean by
+    option(help = "Use a separate solver instance for each IC3 frame").boolean().default(false)
 
   private fun printResult(status: SafetyResult<InvariantProof, *>, xsts: XSTS, totalTimeMs: Long) {
     if (!outputOptions.benchmarkMode) {
@@ -71,6 +73,7 @@ class XstsCliIC3 :
           propagateOpt,
           filterOpt,
           true,
+          solverPerFrameOpt,
           logger,
         )
       }
@@ -16,6 +16,7 @@
 package hu.bme.mit.theta.xsts.cli
 
 import com.github.ajalt.clikt.parameters.groups.provideDelegate
+import com.github.ajalt.clikt.parameters.options.convert
 import com.github.ajalt.clikt.parameters.options.default
 import com.github.ajalt.clikt.parameters.options.option
 import com.github.ajalt.clikt.parameters.types.enum
@@ -62,6 +63,14 @@ class XstsCliPetrinetMdd :
     option(help = "The state space generation algorithm to use")
       .enum<MddChecker.IterationStrategy>()
       .default(MddChecker.IterationStrategy.GSAT)
+  private val opCache: CachePolicy by
+    option(
+        help =
+          "Size policy of the saturation operation caches: unbounded, generational, or the " +
+            "number of slots of a lossy direct-mapped cache per level"
+      )
+      .convert { CachePolicy.parse(it) }
+      .default(CachePolicy.unbounded())
   private val dependencyOutput by PetrinetDependencyOutputOptions()
 
   private fun loadOrdering(petriNet: PetriNet): List<Place> =
@@ -88,8 +97,19 @@ class XstsCliPetrinetMdd :
     val provider: StateSpaceEnumerationProvider =
       when (iterationStrategy) {
         MddChecker.IterationStrategy.BFS -> BfsProvider(variableOrder)
-        MddChecker.IterationStrategy.SAT -> SimpleSaturationProvider(variableOrder)
-        MddChecker.IterationStrategy.GSAT -> GeneralizedSaturationProvider(variableOrder)
+        MddChecker.IterationStrategy.SAT ->
+          SimpleSaturationProvider(
+            variableOrder,
+            LegacyRelationalProductProvider(variableOrder),
+            opCache,
+          )
+        MddChecker.IterationStrategy.GSAT ->
+          GeneralizedSaturationProvider(
+            variableOrder,
+            LegacyRelationalProductProvider(variableOrder),
+            opCache,
+          )
+        MddChecker.IterationStrategy.PGSAT -> ParallelSaturationProvider(variableOrder)
       }
     val stateSpace =
       provider.compute(
@@ -110,6 +130,9 @@ class XstsCliPetrinetMdd :
           provider.cacheSize,
         )
       logger.writeln(Logger.Level.MAINSTEP, statistics.toString())
+      provider.cacheStatisticsPerLevel.forEach { (level, levelStatistics) ->
+        logger.writeln(Logger.Level.DETAIL, "Operation caches of $level: $levelStatistics")
+      }
       logger.writeln(Logger.Level.RESULT, "(SafetyResult Safe)")
     } else {
       val unionProvider = variableOrder.defaultUnionProvider
@@ -129,14 +152,22 @@ class XstsCliPetrinetMdd :
         .forEach(writer::cell)
       if (
         iterationStrategy in
-          setOf(MddChecker.IterationStrategy.GSAT, MddChecker.IterationStrategy.SAT)
+          setOf(
+            MddChecker.IterationStrategy.GSAT,
+            MddChecker.IterationStrategy.PGSAT,
+            MddChecker.IterationStrategy.SAT,
+          )
       ) {
         listOf(provider.cacheSize, provider.queryCount, provider.hitCount).forEach(writer::cell)
       }
       listOf(provider.cacheSize, provider.queryCount, provider.hitCount).forEach(writer::cell)
       if (
         iterationStrategy in
-          setOf(MddChecker.IterationStrategy.GSAT, MddChecker.IterationStrategy.SAT)
+          setOf(
+            MddChecker.IterationStrategy.GSAT,
+            MddChecker.IterationStrategy.PGSAT,
+            MddChecker.IterationStrategy.SAT,
+          )
       ) {
         val collector: MutableSet<MddNode> = mutableSetOf()
         provider.clear()